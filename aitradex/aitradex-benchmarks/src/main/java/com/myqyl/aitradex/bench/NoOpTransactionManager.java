@@ -0,0 +1,26 @@
+package com.myqyl.aitradex.bench;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+/**
+ * Transaction manager that begins and commits nothing, for code paths that wrap their work in a
+ * {@code TransactionTemplate} but run against {@link Stubs} in a benchmark.
+ */
+public final class NoOpTransactionManager implements PlatformTransactionManager {
+
+  @Override
+  public TransactionStatus getTransaction(TransactionDefinition definition) {
+    return new SimpleTransactionStatus();
+  }
+
+  @Override
+  public void commit(TransactionStatus status) {
+  }
+
+  @Override
+  public void rollback(TransactionStatus status) {
+  }
+}
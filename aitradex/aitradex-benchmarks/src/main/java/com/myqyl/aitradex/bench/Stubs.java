@@ -0,0 +1,36 @@
+package com.myqyl.aitradex.bench;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * In-memory stand-ins for Spring Data repositories. Benchmarks measure the service code, not a
+ * database or a mocking framework, so each stub answers only the methods the measured path calls
+ * and fails loudly on anything else.
+ */
+public final class Stubs {
+
+  private Stubs() {
+  }
+
+  /**
+   * Returns an implementation of {@code type} whose methods are answered by name from
+   * {@code answers}; each answer receives the call's arguments.
+   */
+  public static <T> T of(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+    Object stub = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+      Function<Object[], Object> answer = answers.get(method.getName());
+      if (answer != null) {
+        return answer.apply(args);
+      }
+      return switch (method.getName()) {
+        case "toString" -> type.getSimpleName() + " stub";
+        case "hashCode" -> System.identityHashCode(proxy);
+        case "equals" -> proxy == args[0];
+        default -> throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+      };
+    });
+    return type.cast(stub);
+  }
+}
@@ -0,0 +1,111 @@
+package com.myqyl.aitradex.etrade.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myqyl.aitradex.etrade.config.EtradeProperties;
+import com.myqyl.aitradex.etrade.market.dto.GetOptionChainsRequest;
+import com.myqyl.aitradex.etrade.market.dto.GetQuotesRequest;
+import com.myqyl.aitradex.etrade.market.dto.OptionChainResponse;
+import com.myqyl.aitradex.etrade.market.dto.QuoteResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Response parsing in {@link EtradeApiClientMarketAPI}: a 25-symbol {@code detailFlag=ALL} quote
+ * response and a 40-strike option chain with greeks. Both payloads ({@code payloads/*.json}) follow
+ * E*TRADE's JSON response shape. The HTTP client is replaced by one that returns them as-is, so
+ * the measurement is JSON tree parsing plus DTO mapping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MarketApiParsingBenchmark {
+
+  private EtradeApiClientMarketAPI marketApi;
+  private GetQuotesRequest quotesRequest;
+  private GetOptionChainsRequest optionChainRequest;
+
+  @Setup
+  public void setUp() {
+    ObjectMapper objectMapper = new ObjectMapper();
+    EtradeProperties properties = new EtradeProperties();
+    properties.setBaseUrl("https://api.etrade.com");
+    properties.setConsumerKey("benchmark-consumer-key");
+    EtradeApiClient client = new RecordedClient(objectMapper, Map.of(
+        properties.getOptionChainsUrl(), payload("optionchain-aapl.json")),
+        payload("quotes-all.json"));
+    marketApi = new EtradeApiClientMarketAPI(client, properties, objectMapper);
+
+    quotesRequest = new GetQuotesRequest();
+    quotesRequest.setSymbols("AAPL,MSFT,GOOGL,AMZN,NVDA");
+    quotesRequest.setDetailFlag("ALL");
+    optionChainRequest = new GetOptionChainsRequest();
+    optionChainRequest.setSymbol("AAPL");
+  }
+
+  @Benchmark
+  public QuoteResponse parseQuotes() {
+    return marketApi.getQuotes(UUID.randomUUID(), quotesRequest);
+  }
+
+  @Benchmark
+  public OptionChainResponse parseOptionChain() {
+    return marketApi.getOptionChains(optionChainRequest);
+  }
+
+  private static String payload(String name) {
+    try (InputStream in = MarketApiParsingBenchmark.class.getResourceAsStream("/payloads/" + name)) {
+      if (in == null) {
+        throw new IllegalStateException("Missing payload " + name);
+      }
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * Serves canned bodies by URL; every authenticated request gets the quote payload.
+   */
+  private static final class RecordedClient extends EtradeApiClient {
+
+    private final Map<String, String> unauthenticated;
+    private final String authenticated;
+
+    RecordedClient(ObjectMapper objectMapper, Map<String, String> unauthenticated, String authenticated) {
+      super(null, null, null, objectMapper, new SimpleMeterRegistry());
+      this.unauthenticated = unauthenticated;
+      this.authenticated = authenticated;
+    }
+
+    @Override
+    public String makeRequest(String method, String url, Map<String, String> queryParams,
+        String requestBody, UUID accountId) {
+      return authenticated;
+    }
+
+    @Override
+    public String makeRequestWithoutOAuth(String method, String url, Map<String, String> queryParams,
+        String requestBody) {
+      return unauthenticated.get(url);
+    }
+  }
+}
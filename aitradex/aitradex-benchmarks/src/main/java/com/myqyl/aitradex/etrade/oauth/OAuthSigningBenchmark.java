@@ -0,0 +1,64 @@
+package com.myqyl.aitradex.etrade.oauth;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link EtradeOAuth1Template#generateAuthorizationHeader} for a quote request and for an order
+ * preview with a typical query string. Every signed E*TRADE call pays this cost once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OAuthSigningBenchmark {
+
+  private static final String TOKEN = "Ab3dE9kLmN0pQr5StUvWxYz1234567890abcdEFGHij=";
+  private static final String TOKEN_SECRET = "s3cr3tT0k3nV4lu3F0rB3nchm4rk1ng0nly+/=";
+
+  private EtradeOAuth1Template template;
+  private Map<String, String> quoteParams;
+  private Map<String, String> orderParams;
+
+  @Setup
+  public void setUp() {
+    template = new EtradeOAuth1Template("benchmark-consumer-key", "benchmark-consumer-secret");
+    quoteParams = Map.of("detailFlag", "ALL");
+    orderParams = new TreeMap<>(Map.of(
+        "accountIdKey", "dBZOKt9xDrtRSAOl4MSiiA",
+        "symbol", "AAPL",
+        "orderAction", "BUY",
+        "priceType", "LIMIT",
+        "limitPrice", "187.25",
+        "quantity", "100",
+        "orderTerm", "GOOD_FOR_DAY",
+        "marketSession", "REGULAR",
+        "clientOrderId", "0123456789abcdef"));
+  }
+
+  @Benchmark
+  public String signQuote() {
+    return template.generateAuthorizationHeader(
+        "GET", "https://api.etrade.com/v1/market/quote/AAPL,MSFT,GOOGL.json", quoteParams, TOKEN, TOKEN_SECRET);
+  }
+
+  @Benchmark
+  public String signOrderPreview() {
+    return template.generateAuthorizationHeader(
+        "POST", "https://api.etrade.com/v1/accounts/dBZOKt9xDrtRSAOl4MSiiA/orders/preview",
+        orderParams, TOKEN, TOKEN_SECRET);
+  }
+}
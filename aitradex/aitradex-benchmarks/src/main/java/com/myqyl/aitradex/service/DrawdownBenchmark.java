@@ -0,0 +1,87 @@
+package com.myqyl.aitradex.service;
+
+import com.myqyl.aitradex.api.dto.AnalyticsSummaryDto;
+import com.myqyl.aitradex.bench.Stubs;
+import com.myqyl.aitradex.domain.Account;
+import com.myqyl.aitradex.domain.PortfolioSnapshot;
+import com.myqyl.aitradex.repository.AccountRepository;
+import com.myqyl.aitradex.repository.PortfolioSnapshotRepository;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link AnalyticsService#summarizeAccount}: return and max-drawdown math over one year and ten
+ * years of daily equity snapshots, served from memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DrawdownBenchmark {
+
+  @Param({"252", "2520"})
+  int snapshots;
+
+  private AnalyticsService analytics;
+  private UUID accountId;
+
+  @Setup
+  public void setUp() {
+    Account account = Account.builder().id(UUID.randomUUID()).cashBalance(new BigDecimal("100000")).build();
+    accountId = account.getId();
+    List<PortfolioSnapshot> curve = equityCurve(account, snapshots);
+
+    AccountRepository accounts = Stubs.of(AccountRepository.class, Map.of(
+        "findById", args -> Optional.of(account)));
+    PortfolioSnapshotRepository snapshotRepository = Stubs.of(PortfolioSnapshotRepository.class, Map.of(
+        "findByAccountIdOrderByAsOfDateAsc", args -> curve));
+    analytics = new AnalyticsService(snapshotRepository, accounts, null, null);
+  }
+
+  @Benchmark
+  public AnalyticsSummaryDto summarize() {
+    return analytics.summarizeAccount(accountId);
+  }
+
+  /**
+   * A seeded random walk with roughly equity-like daily volatility.
+   */
+  private static List<PortfolioSnapshot> equityCurve(Account account, int days) {
+    Random random = new Random(42);
+    List<PortfolioSnapshot> curve = new ArrayList<>(days);
+    BigDecimal equity = new BigDecimal("100000.00");
+    LocalDate date = LocalDate.of(2015, 1, 2);
+    for (int i = 0; i < days; i++) {
+      double dailyReturn = 0.0003 + random.nextGaussian() * 0.012;
+      equity = equity.multiply(BigDecimal.valueOf(1 + dailyReturn)).setScale(2, RoundingMode.HALF_UP);
+      curve.add(PortfolioSnapshot.builder()
+          .account(account)
+          .asOfDate(date.plusDays(i))
+          .equity(equity)
+          .cash(BigDecimal.ZERO)
+          .build());
+    }
+    return curve;
+  }
+}
@@ -0,0 +1,137 @@
+package com.myqyl.aitradex.service;
+
+import com.myqyl.aitradex.api.dto.BulkResultDto;
+import com.myqyl.aitradex.api.dto.CreateExecutionRequest;
+import com.myqyl.aitradex.api.dto.ExecutionDto;
+import com.myqyl.aitradex.bench.NoOpTransactionManager;
+import com.myqyl.aitradex.bench.Stubs;
+import com.myqyl.aitradex.config.RiskProperties;
+import com.myqyl.aitradex.domain.Account;
+import com.myqyl.aitradex.domain.Order;
+import com.myqyl.aitradex.domain.OrderSide;
+import com.myqyl.aitradex.domain.OrderStatus;
+import com.myqyl.aitradex.domain.OrderType;
+import com.myqyl.aitradex.domain.Position;
+import com.myqyl.aitradex.repository.AccountRepository;
+import com.myqyl.aitradex.repository.ExecutionRepository;
+import com.myqyl.aitradex.repository.OrderRepository;
+import com.myqyl.aitradex.repository.PositionRepository;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Fill settlement in {@link ExecutionService}: cash, position cost basis and running order
+ * totals, applied through a real {@link ExecutionPipeline} partition. {@code fill} pays one
+ * partition hand-off per fill; {@code fillBatch} settles 100 fills in one task, which is close to
+ * the bare settlement math. Repositories are in-memory and the order is large enough never to
+ * fill completely.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecutionSettlementBenchmark {
+
+  private static final int BATCH = 100;
+
+  private ExecutionPipeline pipeline;
+  private ExecutionService executions;
+  private CreateExecutionRequest fill;
+  private List<CreateExecutionRequest> batch;
+
+  @Setup
+  public void setUp() {
+    Account account = Account.builder().id(UUID.randomUUID()).cashBalance(new BigDecimal("1000000000")).build();
+    Order order = Order.builder()
+        .id(UUID.randomUUID())
+        .account(account)
+        .symbol("AAPL")
+        .side(OrderSide.BUY)
+        .type(OrderType.MARKET)
+        .status(OrderStatus.ROUTED)
+        .quantity(new BigDecimal("1000000000000"))
+        .filledQuantity(BigDecimal.ZERO)
+        .routedAt(OffsetDateTime.now())
+        .build();
+    Position position = Position.builder()
+        .id(UUID.randomUUID())
+        .account(account)
+        .symbol("AAPL")
+        .quantity(new BigDecimal("100"))
+        .costBasis(new BigDecimal("180.00"))
+        .openedAt(OffsetDateTime.now())
+        .build();
+
+    AccountRepository accounts = Stubs.of(AccountRepository.class, Map.of(
+        "findById", args -> Optional.of(account)));
+    PositionRepository positions = Stubs.of(PositionRepository.class, Map.of(
+        "findByAccountIdAndSymbolAndClosedAtIsNull", args -> Optional.of(position),
+        "save", args -> args[0]));
+    OrderRepository orders = Stubs.of(OrderRepository.class, Map.of(
+        "findById", args -> Optional.of(order),
+        "findAllById", args -> List.of(order),
+        "findAccountIdById", args -> Optional.of(account.getId()),
+        "findAccountIdsByIdIn", args -> List.of(new OrderRepository.OrderAccountRow() {
+          @Override
+          public UUID getOrderId() {
+            return order.getId();
+          }
+
+          @Override
+          public UUID getAccountId() {
+            return account.getId();
+          }
+        })));
+    ExecutionRepository executionRepository = Stubs.of(ExecutionRepository.class, Map.of(
+        "save", args -> args[0]));
+
+    pipeline = new ExecutionPipeline(
+        new TransactionTemplate(new NoOpTransactionManager()), accounts, positions, 1, 256, 30_000);
+    PreTradeRiskEngine risk = new PreTradeRiskEngine(accounts, positions, orders, new RiskProperties(),
+        ClusterEventBus.inProcess());
+    executions = new ExecutionService(executionRepository, orders, pipeline, risk);
+
+    OffsetDateTime executedAt = OffsetDateTime.now();
+    fill = new CreateExecutionRequest(order.getId(), new BigDecimal("187.25"), new BigDecimal("10"), "BENCH", executedAt);
+    batch = new ArrayList<>(BATCH);
+    for (int i = 0; i < BATCH; i++) {
+      batch.add(new CreateExecutionRequest(
+          order.getId(), new BigDecimal("187.25").add(BigDecimal.valueOf(i % 7, 2)), BigDecimal.ONE, "BENCH", executedAt));
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    pipeline.shutdown();
+  }
+
+  @Benchmark
+  public ExecutionDto fill() {
+    return executions.create(fill);
+  }
+
+  @Benchmark
+  public BulkResultDto<ExecutionDto> fillBatch() {
+    return executions.createAll(batch);
+  }
+}
@@ -0,0 +1,100 @@
+package com.myqyl.aitradex.service;
+
+import com.myqyl.aitradex.api.dto.MarketDataQuoteDto;
+import com.myqyl.aitradex.config.MarketDataProperties;
+import com.myqyl.aitradex.marketdata.MarketDataAdapter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * {@link MarketDataService#latestQuote(String)} with several threads hitting the quote cache at
+ * once. {@code hit} reads a warmed symbol set; {@code miss} uses a zero TTL so every call goes to
+ * the adapter and replaces the cache entry. The adapter returns a canned quote, so a miss costs
+ * only the cache churn and key handling, not a network call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class MarketDataCacheBenchmark {
+
+  @Param({"64", "4096"})
+  int symbols;
+
+  private MarketDataService warm;
+  private MarketDataService cold;
+  private String[] universe;
+
+  @Setup
+  public void setUp() {
+    universe = new String[symbols];
+    for (int i = 0; i < symbols; i++) {
+      universe[i] = "SYM" + i;
+    }
+    warm = service(Duration.ofHours(1));
+    for (String symbol : universe) {
+      warm.latestQuote(symbol);
+    }
+    cold = service(Duration.ZERO);
+  }
+
+  @Benchmark
+  public MarketDataQuoteDto hit() {
+    return warm.latestQuote(randomSymbol());
+  }
+
+  @Benchmark
+  public void miss(Blackhole blackhole) {
+    blackhole.consume(cold.latestQuote(randomSymbol()));
+  }
+
+  private String randomSymbol() {
+    return universe[ThreadLocalRandom.current().nextInt(universe.length)];
+  }
+
+  private static MarketDataService service(Duration ttl) {
+    MarketDataProperties properties = new MarketDataProperties();
+    properties.setDefaultSource("canned");
+    properties.setCacheTtl(ttl);
+    return new MarketDataService(
+        List.of(new CannedAdapter()), null, properties, ClusterEventBus.inProcess(),
+        new SimpleMeterRegistry());
+  }
+
+  private static final class CannedAdapter implements MarketDataAdapter {
+
+    private static final OffsetDateTime AS_OF = OffsetDateTime.parse("2025-07-07T16:00:00-04:00");
+
+    @Override
+    public String name() {
+      return "canned";
+    }
+
+    @Override
+    public MarketDataQuoteDto latestQuote(String symbol) {
+      return new MarketDataQuoteDto(symbol, AS_OF, new BigDecimal("187.12"), new BigDecimal("189.40"),
+          new BigDecimal("186.55"), new BigDecimal("188.90"), 48_201_334L, "canned");
+    }
+  }
+}
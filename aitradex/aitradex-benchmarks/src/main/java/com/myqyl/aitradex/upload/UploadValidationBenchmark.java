@@ -0,0 +1,89 @@
+package com.myqyl.aitradex.upload;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myqyl.aitradex.domain.UploadType;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Upload validation as run by {@code UploadService}: {@link UploadValidator} streaming a trade-log
+ * CSV from disk and checking it in parallel chunks. One row in every thousand is malformed, so the
+ * error collector is exercised as well. The file sits in the page cache after the first
+ * iteration, so this measures parsing and checking, not disk reads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UploadValidationBenchmark {
+
+  @Param({"10000", "200000"})
+  int rows;
+
+  private UploadValidator validator;
+  private Path file;
+  private long size;
+
+  @Setup
+  public void setUp() throws IOException {
+    validator = new UploadValidator(new ObjectMapper(), 0, 5000, 50);
+    file = Files.createTempFile("aitradex-bench-", ".csv");
+    writeTradeLog(file, rows);
+    size = Files.size(file);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    validator.shutdown();
+    Files.deleteIfExists(file);
+  }
+
+  @Benchmark
+  public ValidationResult validateCsv() {
+    return validator.validate(file, UploadType.CSV, new UploadValidationProgress(UUID.randomUUID(), size));
+  }
+
+  private static void writeTradeLog(Path file, int rows) throws IOException {
+    String[] symbols = {"AAPL", "MSFT", "NVDA", "AZTR", "CSAI", "IINN", "CADL", "ABEO"};
+    Random random = new Random(7);
+    LocalDate date = LocalDate.of(2025, 1, 2);
+    try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      out.write("Date,Ticker,Shares Bought,Buy Price,Cost Basis,PnL,Reason,Shares Sold,Sell Price\n");
+      for (int i = 0; i < rows; i++) {
+        String symbol = symbols[random.nextInt(symbols.length)];
+        double price = 1 + random.nextInt(50_000) / 100.0;
+        int shares = 1 + random.nextInt(500);
+        if (i % 1000 == 999) {
+          out.write("%s,%s,%d\n".formatted(date.plusDays(i / 40), symbol, shares));
+        } else if (random.nextBoolean()) {
+          out.write("%s,%s,%d,%.2f,%.2f,0.0,\"MANUAL BUY - New position, sized %d\",,\n"
+              .formatted(date.plusDays(i / 40), symbol, shares, price, shares * price, shares));
+        } else {
+          out.write("%s,%s,,,%.2f,%.2f,MANUAL SELL,%d,%.2f\n"
+              .formatted(date.plusDays(i / 40), symbol, shares * price, random.nextGaussian() * 25, shares, price));
+        }
+      }
+    }
+  }
+}
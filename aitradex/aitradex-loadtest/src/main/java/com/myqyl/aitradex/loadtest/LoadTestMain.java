@@ -0,0 +1,111 @@
+package com.myqyl.aitradex.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.myqyl.aitradex.loadtest.driver.ApiClient;
+import com.myqyl.aitradex.loadtest.driver.LoadDriver;
+import com.myqyl.aitradex.loadtest.driver.LoadReport;
+import com.myqyl.aitradex.loadtest.scenario.BulkOrderScenario;
+import com.myqyl.aitradex.loadtest.scenario.QuoteStormScenario;
+import com.myqyl.aitradex.loadtest.scenario.Scenario;
+import com.myqyl.aitradex.loadtest.scenario.SseFanoutScenario;
+import com.myqyl.aitradex.loadtest.scenario.StopLossSweepScenario;
+import com.myqyl.aitradex.loadtest.stub.FaultProfile;
+import com.myqyl.aitradex.loadtest.stub.StubServer;
+import java.io.File;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Entry point of {@code loadtest.jar}.
+ *
+ * <pre>
+ *   java -jar loadtest.jar stub --port 9090 --latency-ms 80 --jitter-ms 40 --error-rate 0.01 --throttle-rate 0.02
+ *   java -jar loadtest.jar run quote-storm --concurrency 64 --duration 60s
+ *   java -jar loadtest.jar run bulk-orders --rate 200 --batch-size 20 --out bulk.json
+ * </pre>
+ *
+ * {@code run} prints the report and writes it as JSON to {@code --out} (default
+ * {@code loadtest-<scenario>.json}). Scenarios: {@code quote-storm}, {@code sse-fanout},
+ * {@code bulk-orders}, {@code stop-loss-sweep}.
+ */
+public final class LoadTestMain {
+
+  private LoadTestMain() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    Options options = new Options(args);
+    switch (options.positional(0, "")) {
+      case "stub" -> stub(options);
+      case "run" -> run(options);
+      default -> {
+        System.err.println("usage: loadtest.jar stub [--port 9090] [--latency-ms N] [--jitter-ms N]"
+            + " [--error-rate F] [--throttle-rate F] [--retry-after-seconds N]");
+        System.err.println("       loadtest.jar run <quote-storm|sse-fanout|bulk-orders|stop-loss-sweep>"
+            + " [--target http://localhost:8085] [--duration 60s] [--warmup 10s]"
+            + " [--concurrency N | --rate N] [--out file]");
+        System.exit(2);
+      }
+    }
+  }
+
+  private static void stub(Options options) throws Exception {
+    FaultProfile faults = new FaultProfile(
+        options.integer("latency-ms", 0),
+        options.integer("jitter-ms", 0),
+        options.decimal("error-rate", 0),
+        options.decimal("throttle-rate", 0),
+        options.integer("retry-after-seconds", 1));
+    StubServer server = new StubServer(options.integer("port", 9090), faults);
+    CountDownLatch stopped = new CountDownLatch(1);
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+      server.stop();
+      System.out.println("stub requests " + server.requestCounts());
+      stopped.countDown();
+    }));
+    server.start();
+    System.out.println("stub listening on http://localhost:" + server.port() + " with " + faults);
+    stopped.await();
+  }
+
+  private static void run(Options options) throws Exception {
+    Scenario scenario = scenario(options.positional(1, ""), options);
+    ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    ApiClient api = new ApiClient(
+        options.string("target", "http://localhost:8085"),
+        options.duration("timeout", Duration.ofSeconds(30)),
+        objectMapper);
+    LoadDriver driver = new LoadDriver(
+        api,
+        options.duration("warmup", Duration.ofSeconds(10)),
+        options.duration("duration", Duration.ofSeconds(60)),
+        options.integer("concurrency", 32),
+        options.decimal("rate", 0),
+        options.integer("max-in-flight", 10_000));
+    LoadReport report = driver.run(scenario);
+    System.out.print(report.toText());
+    File out = new File(options.string("out", "loadtest-" + scenario.name() + ".json"));
+    objectMapper.writeValue(out, report);
+    System.out.println("report     " + out.getAbsolutePath());
+  }
+
+  private static Scenario scenario(String name, Options options) {
+    List<String> symbols = options.list("symbols", "AAPL,MSFT,GOOGL,AMZN,NVDA,META,TSLA,JPM");
+    String source = options.string("source", null);
+    return switch (name) {
+      case "quote-storm" -> new QuoteStormScenario(symbols, source);
+      case "sse-fanout" -> new SseFanoutScenario(symbols, source, options.duration("hold", Duration.ofSeconds(30)));
+      case "bulk-orders" -> new BulkOrderScenario(
+          symbols, options.integer("accounts", 10), options.integer("batch-size", 20));
+      case "stop-loss-sweep" -> new StopLossSweepScenario(
+          symbols,
+          options.integer("accounts", 10),
+          options.integer("positions-per-account", 20),
+          options.decimal("stop-loss", 0.01),
+          source);
+      default -> throw new IllegalArgumentException("Unknown scenario: " + name);
+    };
+  }
+}
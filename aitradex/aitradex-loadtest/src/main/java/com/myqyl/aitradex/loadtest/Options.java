@@ -0,0 +1,78 @@
+package com.myqyl.aitradex.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line of the form {@code <positional>... --name value --name=value}. Durations accept
+ * {@code 500ms}, {@code 30s}, {@code 5m} or plain seconds.
+ */
+public final class Options {
+
+  private final List<String> positional = new ArrayList<>();
+  private final Map<String, String> named = new HashMap<>();
+
+  public Options(String... args) {
+    for (int i = 0; i < args.length; i++) {
+      String arg = args[i];
+      if (!arg.startsWith("--")) {
+        positional.add(arg);
+        continue;
+      }
+      int equals = arg.indexOf('=');
+      if (equals > 0) {
+        named.put(arg.substring(2, equals), arg.substring(equals + 1));
+      } else if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+        named.put(arg.substring(2), args[++i]);
+      } else {
+        named.put(arg.substring(2), "true");
+      }
+    }
+  }
+
+  public String positional(int index, String defaultValue) {
+    return index < positional.size() ? positional.get(index) : defaultValue;
+  }
+
+  public String string(String name, String defaultValue) {
+    return named.getOrDefault(name, defaultValue);
+  }
+
+  public int integer(String name, int defaultValue) {
+    String value = named.get(name);
+    return value == null ? defaultValue : Integer.parseInt(value);
+  }
+
+  public double decimal(String name, double defaultValue) {
+    String value = named.get(name);
+    return value == null ? defaultValue : Double.parseDouble(value);
+  }
+
+  public List<String> list(String name, String defaultValue) {
+    return Arrays.stream(string(name, defaultValue).split(","))
+        .map(String::trim)
+        .filter(value -> !value.isEmpty())
+        .toList();
+  }
+
+  public Duration duration(String name, Duration defaultValue) {
+    String value = named.get(name);
+    if (value == null) {
+      return defaultValue;
+    }
+    if (value.endsWith("ms")) {
+      return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+    }
+    if (value.endsWith("s")) {
+      return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+    }
+    if (value.endsWith("m")) {
+      return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+    }
+    return Duration.ofSeconds(Long.parseLong(value));
+  }
+}
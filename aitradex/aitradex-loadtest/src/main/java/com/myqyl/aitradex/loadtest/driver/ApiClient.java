@@ -0,0 +1,79 @@
+package com.myqyl.aitradex.loadtest.driver;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Thin JSON client for the aitradex-service REST API. One instance, and so one connection pool,
+ * is shared by every worker of a run. Non-2xx responses throw {@link HttpStatusException}.
+ */
+public class ApiClient {
+
+  private final HttpClient httpClient;
+  private final ObjectMapper objectMapper;
+  private final String target;
+  private final Duration timeout;
+
+  public ApiClient(String target, Duration timeout, ObjectMapper objectMapper) {
+    this.httpClient = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(timeout)
+        .build();
+    this.objectMapper = objectMapper;
+    this.target = target.replaceAll("/+$", "");
+    this.timeout = timeout;
+  }
+
+  public JsonNode get(String path) throws IOException, InterruptedException {
+    return send("GET", path, HttpRequest.newBuilder(uri(path)).GET());
+  }
+
+  public JsonNode post(String path, Object body) throws IOException, InterruptedException {
+    HttpRequest.BodyPublisher publisher = body == null
+        ? HttpRequest.BodyPublishers.noBody()
+        : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+    return send("POST", path, HttpRequest.newBuilder(uri(path))
+        .header("Content-Type", "application/json")
+        .POST(publisher));
+  }
+
+  /**
+   * Opens a {@code text/event-stream}; the caller reads and closes the body. The request timeout
+   * does not apply once headers have arrived.
+   */
+  public InputStream stream(String path) throws IOException, InterruptedException {
+    HttpRequest request = HttpRequest.newBuilder(uri(path))
+        .header("Accept", "text/event-stream")
+        .GET()
+        .build();
+    HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+    if (response.statusCode() / 100 != 2) {
+      response.body().close();
+      throw new HttpStatusException("GET", path, response.statusCode());
+    }
+    return response.body();
+  }
+
+  private JsonNode send(String method, String path, HttpRequest.Builder builder)
+      throws IOException, InterruptedException {
+    HttpResponse<byte[]> response = httpClient.send(
+        builder.header("Accept", "application/json").timeout(timeout).build(),
+        HttpResponse.BodyHandlers.ofByteArray());
+    if (response.statusCode() / 100 != 2) {
+      throw new HttpStatusException(method, path, response.statusCode());
+    }
+    byte[] body = response.body();
+    return body.length == 0 ? objectMapper.missingNode() : objectMapper.readTree(body);
+  }
+
+  private URI uri(String path) {
+    return URI.create(target + path);
+  }
+}
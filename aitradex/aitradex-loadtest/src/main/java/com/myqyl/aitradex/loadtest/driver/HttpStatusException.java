@@ -0,0 +1,18 @@
+package com.myqyl.aitradex.loadtest.driver;
+
+/**
+ * A response outside 2xx; the report groups failures by {@link #status()}.
+ */
+public class HttpStatusException extends RuntimeException {
+
+  private final int status;
+
+  public HttpStatusException(String method, String path, int status) {
+    super(method + " " + path + " returned " + status);
+    this.status = status;
+  }
+
+  public int status() {
+    return status;
+  }
+}
@@ -0,0 +1,76 @@
+package com.myqyl.aitradex.loadtest.driver;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram in microseconds with log-linear buckets: exact below 128
+ * microseconds, then 64 buckets per power of two, so any reported percentile is within 1% of the
+ * recorded value. Recording is a few atomic updates, cheap enough for every request of a run.
+ */
+public final class LatencyHistogram {
+
+  private static final int SUB_BUCKETS = 64;
+  private static final int LINEAR_LIMIT = 2 * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(bucketOf(Long.MAX_VALUE) + 1);
+  private final AtomicLong total = new AtomicLong();
+  private final AtomicLong max = new AtomicLong();
+
+  public void recordMicros(long micros) {
+    long value = Math.max(0, micros);
+    counts.incrementAndGet(bucketOf(value));
+    total.incrementAndGet();
+    max.accumulateAndGet(value, Math::max);
+  }
+
+  public void recordNanos(long nanos) {
+    recordMicros(nanos / 1000);
+  }
+
+  public long count() {
+    return total.get();
+  }
+
+  public long maxMicros() {
+    return max.get();
+  }
+
+  /**
+   * The latency below which {@code percentile} percent of the recorded values fall, in
+   * microseconds; 0 when nothing was recorded.
+   */
+  public long percentileMicros(double percentile) {
+    long recorded = total.get();
+    if (recorded == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * recorded));
+    long seen = 0;
+    for (int bucket = 0; bucket < counts.length(); bucket++) {
+      seen += counts.get(bucket);
+      if (seen >= rank) {
+        return Math.min(valueOf(bucket), max.get());
+      }
+    }
+    return max.get();
+  }
+
+  static int bucketOf(long value) {
+    if (value < LINEAR_LIMIT) {
+      return (int) value;
+    }
+    int shift = 63 - Long.numberOfLeadingZeros(value) - 6;
+    return shift * SUB_BUCKETS + (int) (value >>> shift);
+  }
+
+  /** Midpoint of a bucket's range. */
+  static long valueOf(int bucket) {
+    if (bucket < LINEAR_LIMIT) {
+      return bucket;
+    }
+    int shift = bucket / SUB_BUCKETS - 1;
+    long lower = (long) (bucket - shift * SUB_BUCKETS) << shift;
+    return lower + ((1L << shift) >> 1);
+  }
+}
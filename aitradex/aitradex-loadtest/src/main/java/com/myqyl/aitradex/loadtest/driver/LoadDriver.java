@@ -0,0 +1,161 @@
+package com.myqyl.aitradex.loadtest.driver;
+
+import com.myqyl.aitradex.loadtest.scenario.Scenario;
+import java.io.IOException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs a {@link Scenario} for a warm-up period and then a measured period, on virtual threads.
+ *
+ * <p>Closed loop ({@code rate <= 0}): {@code concurrency} workers each run operations back to
+ * back, which finds the saturation throughput. Open loop ({@code rate > 0}): operations start on a
+ * fixed schedule whatever the server does, and latency is taken from the scheduled start, which
+ * shows what callers see at a given arrival rate. At most {@code maxInFlight} open-loop operations
+ * run at once; starts beyond that are counted as {@code client.backlog} errors instead of letting
+ * the driver itself fall over.
+ */
+public class LoadDriver {
+
+  private final ApiClient api;
+  private final Duration warmup;
+  private final Duration duration;
+  private final int concurrency;
+  private final double rate;
+  private final int maxInFlight;
+
+  public LoadDriver(
+      ApiClient api, Duration warmup, Duration duration, int concurrency, double rate, int maxInFlight) {
+    this.api = api;
+    this.warmup = warmup;
+    this.duration = duration;
+    this.concurrency = Math.max(1, concurrency);
+    this.rate = rate;
+    this.maxInFlight = Math.max(1, maxInFlight);
+  }
+
+  public LoadReport run(Scenario scenario) throws Exception {
+    scenario.setUp(api);
+    Run run = new Run(scenario, System.nanoTime() + warmup.toNanos());
+    long end = run.measureStart + duration.toNanos();
+    Thread.ofVirtual().start(() -> {
+      LockSupport.parkNanos(warmup.toNanos());
+      run.metrics.startMeasuring();
+    });
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      if (rate > 0) {
+        openLoop(run, executor, end);
+      } else {
+        for (int worker = 0; worker < concurrency; worker++) {
+          executor.execute(() -> {
+            long start;
+            while ((start = System.nanoTime()) < end && !Thread.currentThread().isInterrupted()) {
+              run.attempt(start);
+            }
+          });
+        }
+      }
+    }
+    return run.report(rate > 0 ? "open" : "closed");
+  }
+
+  private void openLoop(Run run, ExecutorService executor, long end) {
+    Semaphore inFlight = new Semaphore(maxInFlight);
+    long interval = (long) (1_000_000_000L / rate);
+    long begin = System.nanoTime();
+    for (long i = 0; ; i++) {
+      long intended = begin + i * interval;
+      if (intended >= end) {
+        return;
+      }
+      long wait;
+      while ((wait = intended - System.nanoTime()) > 0) {
+        LockSupport.parkNanos(wait);
+      }
+      if (!inFlight.tryAcquire()) {
+        run.failed(intended, "client.backlog");
+        continue;
+      }
+      executor.execute(() -> {
+        try {
+          run.attempt(intended);
+        } finally {
+          inFlight.release();
+        }
+      });
+    }
+  }
+
+  private final class Run {
+
+    final Scenario scenario;
+    final long measureStart;
+    final LatencyHistogram histogram = new LatencyHistogram();
+    final LongAdder operations = new LongAdder();
+    final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    final Metrics metrics = new Metrics();
+
+    Run(Scenario scenario, long measureStart) {
+      this.scenario = scenario;
+      this.measureStart = measureStart;
+    }
+
+    void attempt(long intendedStart) {
+      String error;
+      try {
+        scenario.execute(api, metrics);
+        if (intendedStart >= measureStart) {
+          histogram.recordNanos(System.nanoTime() - intendedStart);
+          operations.increment();
+        }
+        return;
+      } catch (HttpStatusException ex) {
+        error = "http." + ex.status();
+      } catch (HttpTimeoutException ex) {
+        error = "timeout";
+      } catch (IOException ex) {
+        error = "io";
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (Exception ex) {
+        error = ex.getClass().getSimpleName();
+      }
+      failed(intendedStart, error);
+    }
+
+    void failed(long intendedStart, String error) {
+      if (intendedStart >= measureStart) {
+        operations.increment();
+        errors.computeIfAbsent(error, key -> new LongAdder()).increment();
+      }
+    }
+
+    LoadReport report(String mode) {
+      double seconds = duration.toNanos() / 1e9;
+      Map<String, Long> errorCounts = new TreeMap<>();
+      errors.forEach((name, count) -> errorCounts.put(name, count.sum()));
+      return new LoadReport(
+          scenario.name(),
+          mode,
+          concurrency,
+          rate,
+          seconds,
+          operations.sum(),
+          histogram.count(),
+          histogram.count() / seconds,
+          LoadReport.latencies(histogram),
+          errorCounts,
+          metrics.counters(),
+          metrics.timings());
+    }
+  }
+}
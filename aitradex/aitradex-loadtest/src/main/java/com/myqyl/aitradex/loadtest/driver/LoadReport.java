@@ -0,0 +1,67 @@
+package com.myqyl.aitradex.loadtest.driver;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Outcome of one measured run. Latencies are in milliseconds and cover successful operations
+ * only; in open-loop mode they are counted from the intended start time, so time spent queued
+ * behind a slow server is included rather than hidden.
+ */
+public record LoadReport(
+    String scenario,
+    String mode,
+    int concurrency,
+    double targetRate,
+    double durationSeconds,
+    long operations,
+    long successes,
+    double throughputPerSecond,
+    Map<String, Double> latencyMillis,
+    Map<String, Long> errors,
+    Map<String, Long> counters,
+    Map<String, Map<String, Double>> timings) {
+
+  static Map<String, Double> latencies(LatencyHistogram histogram) {
+    Map<String, Double> latencies = new LinkedHashMap<>();
+    latencies.put("p50", millis(histogram.percentileMicros(50)));
+    latencies.put("p90", millis(histogram.percentileMicros(90)));
+    latencies.put("p99", millis(histogram.percentileMicros(99)));
+    latencies.put("p99.9", millis(histogram.percentileMicros(99.9)));
+    latencies.put("max", millis(histogram.maxMicros()));
+    return latencies;
+  }
+
+  public String toText() {
+    StringBuilder text = new StringBuilder();
+    text.append("scenario   ").append(scenario).append(" (").append(mode);
+    if ("open".equals(mode)) {
+      text.append(", target ").append(targetRate).append("/s");
+    } else {
+      text.append(", ").append(concurrency).append(" workers");
+    }
+    text.append(")\n");
+    text.append(String.format("duration   %.1f s%n", durationSeconds));
+    text.append(String.format("ops        %d (%d ok, %d failed)%n", operations, successes, operations - successes));
+    text.append(String.format("throughput %.1f ops/s%n", throughputPerSecond));
+    text.append("latency   ");
+    latencyMillis.forEach((name, value) -> text.append(String.format(" %s=%.2fms", name, value)));
+    text.append('\n');
+    if (!errors.isEmpty()) {
+      text.append("errors     ").append(errors).append('\n');
+    }
+    if (!counters.isEmpty()) {
+      text.append("counters   ").append(counters).append('\n');
+    }
+    timings.forEach((name, latencies) -> {
+      text.append(name).append(':');
+      latencies.forEach((percentile, value) -> text.append(String.format(" %s=%.2fms", percentile, value)));
+      text.append('\n');
+    });
+    return text.toString();
+  }
+
+  private static double millis(long micros) {
+    return micros / 1000.0;
+  }
+}
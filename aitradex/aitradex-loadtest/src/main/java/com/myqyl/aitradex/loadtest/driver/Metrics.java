@@ -0,0 +1,50 @@
+package com.myqyl.aitradex.loadtest.driver;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Scenario-specific measurements taken next to the driver's own operation timing, e.g. SSE events
+ * received or the time to a stream's first quote. Only values recorded during the measured phase
+ * reach the report.
+ */
+public class Metrics {
+
+  private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+  private final Map<String, LatencyHistogram> timings = new ConcurrentHashMap<>();
+  private volatile boolean measuring;
+
+  public void add(String name, long delta) {
+    if (measuring) {
+      counters.computeIfAbsent(name, key -> new LongAdder()).add(delta);
+    }
+  }
+
+  public void increment(String name) {
+    add(name, 1);
+  }
+
+  public void recordNanos(String name, long nanos) {
+    if (measuring) {
+      timings.computeIfAbsent(name, key -> new LatencyHistogram()).recordNanos(nanos);
+    }
+  }
+
+  void startMeasuring() {
+    measuring = true;
+  }
+
+  Map<String, Long> counters() {
+    Map<String, Long> values = new TreeMap<>();
+    counters.forEach((name, adder) -> values.put(name, adder.sum()));
+    return values;
+  }
+
+  Map<String, Map<String, Double>> timings() {
+    Map<String, Map<String, Double>> values = new TreeMap<>();
+    timings.forEach((name, histogram) -> values.put(name, LoadReport.latencies(histogram)));
+    return values;
+  }
+}
@@ -0,0 +1,70 @@
+package com.myqyl.aitradex.loadtest.scenario;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.myqyl.aitradex.loadtest.driver.ApiClient;
+import com.myqyl.aitradex.loadtest.driver.Metrics;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Order entry. Set-up creates {@code accounts} funded paper accounts; each operation submits
+ * {@code batchSize} one-share limit buys far below the market to a random account, through
+ * {@code POST /api/orders} for a batch of one and {@code POST /api/orders/bulk} otherwise. The low
+ * limit keeps orders resting, so every operation exercises validation, the pre-trade risk check
+ * and the insert rather than fills.
+ */
+public class BulkOrderScenario implements Scenario {
+
+  private final List<String> symbols;
+  private final int accounts;
+  private final int batchSize;
+  private final List<String> accountIds = new ArrayList<>();
+
+  public BulkOrderScenario(List<String> symbols, int accounts, int batchSize) {
+    this.symbols = symbols;
+    this.accounts = Math.max(1, accounts);
+    this.batchSize = Math.max(1, batchSize);
+  }
+
+  @Override
+  public String name() {
+    return "bulk-orders";
+  }
+
+  @Override
+  public void setUp(ApiClient api) throws Exception {
+    accountIds.addAll(Fixtures.createAccounts(api, accounts));
+  }
+
+  @Override
+  public void execute(ApiClient api, Metrics metrics) throws Exception {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    String accountId = accountIds.get(random.nextInt(accountIds.size()));
+    if (batchSize == 1) {
+      api.post("/api/orders", order(accountId, symbols.get(random.nextInt(symbols.size()))));
+      metrics.increment("orders.created");
+      return;
+    }
+    List<Map<String, Object>> batch = new ArrayList<>(batchSize);
+    for (int i = 0; i < batchSize; i++) {
+      batch.add(order(accountId, symbols.get(random.nextInt(symbols.size()))));
+    }
+    JsonNode result = api.post("/api/orders/bulk", batch);
+    metrics.add("orders.created", result.path("succeeded").asLong());
+    metrics.add("orders.rejected", result.path("failed").asLong());
+  }
+
+  private static Map<String, Object> order(String accountId, String symbol) {
+    return Map.of(
+        "accountId", accountId,
+        "symbol", symbol,
+        "side", "BUY",
+        "type", "LIMIT",
+        "source", "AUTOMATION",
+        "limitPrice", 1,
+        "quantity", 1,
+        "notes", "loadtest");
+  }
+}
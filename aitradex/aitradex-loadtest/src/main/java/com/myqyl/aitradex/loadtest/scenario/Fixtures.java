@@ -0,0 +1,35 @@
+package com.myqyl.aitradex.loadtest.scenario;
+
+import com.myqyl.aitradex.loadtest.driver.ApiClient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Test data created through the public API, so runs work against any database. Every run makes a
+ * fresh user, which keeps its accounts and orders apart from earlier runs.
+ */
+final class Fixtures {
+
+  private Fixtures() {
+  }
+
+  static List<String> createAccounts(ApiClient api, int count) throws Exception {
+    String runId = UUID.randomUUID().toString().substring(0, 8);
+    String userId = api.post("/api/users", Map.of(
+            "email", "loadtest-" + runId + "@example.com",
+            "displayName", "Load test " + runId,
+            "role", "USER"))
+        .path("id").asText();
+    List<String> accountIds = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      accountIds.add(api.post("/api/accounts", Map.of(
+              "userId", userId,
+              "baseCurrency", "USD",
+              "initialCash", 10_000_000))
+          .path("id").asText());
+    }
+    return accountIds;
+  }
+}
@@ -0,0 +1,35 @@
+package com.myqyl.aitradex.loadtest.scenario;
+
+import com.myqyl.aitradex.loadtest.driver.ApiClient;
+import com.myqyl.aitradex.loadtest.driver.Metrics;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Latest-quote lookups for a random symbol from the list. With few symbols this is mostly cache
+ * hits; with many, or a short {@code app.market-data.cache-ttl}, it drives the provider adapters.
+ */
+public class QuoteStormScenario implements Scenario {
+
+  private final List<String> symbols;
+  private final String sourceParam;
+
+  public QuoteStormScenario(List<String> symbols, String source) {
+    this.symbols = symbols;
+    this.sourceParam = source == null ? "" : "&source=" + URLEncoder.encode(source, StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public String name() {
+    return "quote-storm";
+  }
+
+  @Override
+  public void execute(ApiClient api, Metrics metrics) throws Exception {
+    String symbol = symbols.get(ThreadLocalRandom.current().nextInt(symbols.size()));
+    api.get("/api/market-data/quotes/latest?symbol=" + URLEncoder.encode(symbol, StandardCharsets.UTF_8)
+        + sourceParam);
+  }
+}
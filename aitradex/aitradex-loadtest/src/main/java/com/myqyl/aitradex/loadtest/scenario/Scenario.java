@@ -0,0 +1,22 @@
+package com.myqyl.aitradex.loadtest.scenario;
+
+import com.myqyl.aitradex.loadtest.driver.ApiClient;
+import com.myqyl.aitradex.loadtest.driver.Metrics;
+
+/**
+ * One end-to-end workload against the service. The driver calls {@link #execute} concurrently
+ * from many virtual threads and times each call; returning normally counts as success.
+ */
+public interface Scenario {
+
+  String name();
+
+  /**
+   * Runs once before any operation is timed, e.g. to create the users, accounts and positions the
+   * operations work on.
+   */
+  default void setUp(ApiClient api) throws Exception {
+  }
+
+  void execute(ApiClient api, Metrics metrics) throws Exception;
+}
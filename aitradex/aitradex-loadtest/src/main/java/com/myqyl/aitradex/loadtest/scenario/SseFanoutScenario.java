@@ -0,0 +1,68 @@
+package com.myqyl.aitradex.loadtest.scenario;
+
+import com.myqyl.aitradex.loadtest.driver.ApiClient;
+import com.myqyl.aitradex.loadtest.driver.Metrics;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Quote stream subscribers. Each operation opens {@code /api/quotes/stream/{symbol}}, holds it for
+ * {@code hold} and closes it, so the driver's concurrency is the number of live subscribers. The
+ * operation time is mostly the hold; the numbers to read are {@code sse.first-quote} (subscribe to
+ * first quote) and {@code sse.quotes} (quotes delivered). A stream is only closed once the next
+ * event arrives after the hold, so it can stay open up to one poll interval longer.
+ */
+public class SseFanoutScenario implements Scenario {
+
+  private final List<String> symbols;
+  private final String sourceParam;
+  private final long holdNanos;
+
+  public SseFanoutScenario(List<String> symbols, String source, Duration hold) {
+    this.symbols = symbols;
+    this.sourceParam = source == null ? "" : "?source=" + URLEncoder.encode(source, StandardCharsets.UTF_8);
+    this.holdNanos = hold.toNanos();
+  }
+
+  @Override
+  public String name() {
+    return "sse-fanout";
+  }
+
+  @Override
+  public void execute(ApiClient api, Metrics metrics) throws Exception {
+    String symbol = symbols.get(ThreadLocalRandom.current().nextInt(symbols.size()));
+    long opened = System.nanoTime();
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+        api.stream("/api/quotes/stream/" + URLEncoder.encode(symbol, StandardCharsets.UTF_8) + sourceParam),
+        StandardCharsets.UTF_8))) {
+      metrics.increment("sse.streams");
+      boolean firstQuote = true;
+      String event = null;
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.startsWith("event:")) {
+          event = line.substring(6).trim();
+        } else if (line.isEmpty() && event != null) {
+          if (event.equals("quote")) {
+            metrics.increment("sse.quotes");
+            if (firstQuote) {
+              metrics.recordNanos("sse.first-quote", System.nanoTime() - opened);
+              firstQuote = false;
+            }
+          }
+          event = null;
+          if (System.nanoTime() - opened >= holdNanos) {
+            return;
+          }
+        }
+      }
+      metrics.increment("sse.closed-by-server");
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package com.myqyl.aitradex.loadtest.scenario;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.myqyl.aitradex.loadtest.driver.ApiClient;
+import com.myqyl.aitradex.loadtest.driver.Metrics;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stop-loss sweeps over a book of open positions. Set-up opens {@code positionsPerAccount}
+ * positions with a stop loss in each of {@code accounts} accounts, spread over the symbols; each
+ * operation is one {@code POST /api/risk/stop-loss/run}. Stops sit at {@code stopLoss}, far below
+ * any replayed price by default, so every sweep checks every position without placing orders;
+ * raise it above the market to measure the triggering path instead.
+ */
+public class StopLossSweepScenario implements Scenario {
+
+  private final List<String> symbols;
+  private final int accounts;
+  private final int positionsPerAccount;
+  private final double stopLoss;
+  private final String sourceParam;
+
+  public StopLossSweepScenario(
+      List<String> symbols, int accounts, int positionsPerAccount, double stopLoss, String source) {
+    this.symbols = symbols;
+    this.accounts = Math.max(1, accounts);
+    this.positionsPerAccount = Math.max(1, positionsPerAccount);
+    this.stopLoss = stopLoss;
+    this.sourceParam = source == null ? "" : "?source=" + URLEncoder.encode(source, StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public String name() {
+    return "stop-loss-sweep";
+  }
+
+  @Override
+  public void setUp(ApiClient api) throws Exception {
+    String openedAt = OffsetDateTime.now().toString();
+    int created = 0;
+    for (String accountId : Fixtures.createAccounts(api, accounts)) {
+      for (int i = 0; i < positionsPerAccount; i++) {
+        api.post("/api/positions", Map.of(
+            "accountId", accountId,
+            "symbol", symbols.get(created++ % symbols.size()),
+            "quantity", 10,
+            "costBasis", 100,
+            "stopLoss", stopLoss,
+            "openedAt", openedAt));
+      }
+    }
+  }
+
+  @Override
+  public void execute(ApiClient api, Metrics metrics) throws Exception {
+    JsonNode triggered = api.post("/api/risk/stop-loss/run" + sourceParam, null);
+    metrics.add("stop-loss.triggered", triggered.asLong());
+  }
+}
@@ -0,0 +1,37 @@
+package com.myqyl.aitradex.loadtest.stub;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How the stub misbehaves: every response waits {@code latencyMs} give or take up to
+ * {@code jitterMs}, then a {@code throttleRate} fraction is answered as rate limited and an
+ * {@code errorRate} fraction as a server error.
+ */
+public record FaultProfile(
+    long latencyMs, long jitterMs, double errorRate, double throttleRate, int retryAfterSeconds) {
+
+  public enum Outcome {
+    OK,
+    THROTTLED,
+    ERROR
+  }
+
+  public static FaultProfile none() {
+    return new FaultProfile(0, 0, 0, 0, 1);
+  }
+
+  long delayMillis() {
+    if (jitterMs <= 0) {
+      return latencyMs;
+    }
+    return Math.max(0, latencyMs + ThreadLocalRandom.current().nextLong(-jitterMs, jitterMs + 1));
+  }
+
+  Outcome roll() {
+    double roll = ThreadLocalRandom.current().nextDouble();
+    if (roll < throttleRate) {
+      return Outcome.THROTTLED;
+    }
+    return roll < throttleRate + errorRate ? Outcome.ERROR : Outcome.OK;
+  }
+}
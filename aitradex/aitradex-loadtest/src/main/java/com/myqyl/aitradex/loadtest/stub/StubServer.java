@@ -0,0 +1,222 @@
+package com.myqyl.aitradex.loadtest.stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local stand-in for E*TRADE, Alpha Vantage, Yahoo Finance and Stooq, so load runs never reach a
+ * real provider or its rate limits. E*TRADE quote and option chain responses are replayed from
+ * recorded payloads; provider quotes are rendered from recorded templates with a random walk per
+ * symbol, so repeated fetches do not return identical prices. Every response goes through the
+ * {@link FaultProfile}.
+ *
+ * <p>Point the service at it with {@code ETRADE_BASE_URL}, {@code ALPHA_VANTAGE_BASE_URL},
+ * {@code APP_MARKET_DATA_YAHOO_BASE_URL} and {@code APP_MARKET_DATA_STOOQ_BASE_URL}. Per-route
+ * request counts are served at {@code /__stats}, which is never delayed or failed.
+ */
+public class StubServer {
+
+  private static final String OAUTH_RESPONSE =
+      "oauth_token=stub-token&oauth_token_secret=stub-secret&oauth_callback_confirmed=true";
+  private static final String ALPHA_VANTAGE_NOTE =
+      "{\"Note\":\"Thank you for using Alpha Vantage! Our standard API rate limit is 25 requests per day.\"}";
+
+  private final FaultProfile faults;
+  private final HttpServer server;
+  private final Map<String, byte[]> recorded = new ConcurrentHashMap<>();
+  private final Map<String, LongAdder> requests = new ConcurrentHashMap<>();
+  private final Map<String, Double> prices = new ConcurrentHashMap<>();
+
+  public StubServer(int port, FaultProfile faults) throws IOException {
+    this.faults = faults;
+    this.server = HttpServer.create(new InetSocketAddress(port), 1024);
+    server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    server.createContext("/", this::handle);
+  }
+
+  public void start() {
+    server.start();
+  }
+
+  public void stop() {
+    server.stop(0);
+  }
+
+  public int port() {
+    return server.getAddress().getPort();
+  }
+
+  public Map<String, Long> requestCounts() {
+    Map<String, Long> counts = new TreeMap<>();
+    requests.forEach((route, count) -> counts.put(route, count.sum()));
+    return counts;
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try (exchange) {
+      String path = exchange.getRequestURI().getPath();
+      if (path.equals("/__stats")) {
+        respond(exchange, 200, "application/json", statsJson());
+        return;
+      }
+      String route = route(path);
+      requests.computeIfAbsent(route, key -> new LongAdder()).increment();
+      exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+
+      long delay = faults.delayMillis();
+      if (delay > 0) {
+        Thread.sleep(delay);
+      }
+      switch (faults.roll()) {
+        case THROTTLED -> {
+          if (route.equals("alphavantage")) {
+            // Alpha Vantage reports its limit in a 200 body rather than with a status code.
+            respond(exchange, 200, "application/json", ALPHA_VANTAGE_NOTE);
+          } else {
+            exchange.getResponseHeaders().set("Retry-After", String.valueOf(faults.retryAfterSeconds()));
+            respond(exchange, 429, "application/json", "{\"error\":\"rate limited by stub\"}");
+          }
+        }
+        case ERROR -> respond(exchange, 500, "application/json", "{\"error\":\"injected by stub\"}");
+        case OK -> respondRecorded(exchange, route);
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static String route(String path) {
+    if (path.startsWith("/oauth/")) {
+      return "etrade.oauth";
+    }
+    if (path.startsWith("/v1/market/quote")) {
+      return "etrade.quote";
+    }
+    if (path.startsWith("/v1/market/optionchains")) {
+      return "etrade.optionchains";
+    }
+    if (path.equals("/query")) {
+      return "alphavantage";
+    }
+    if (path.startsWith("/v7/finance/quote")) {
+      return "yahoo";
+    }
+    if (path.startsWith("/q/l")) {
+      return "stooq";
+    }
+    return "unrecorded";
+  }
+
+  private void respondRecorded(HttpExchange exchange, String route) throws IOException {
+    Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+    switch (route) {
+      case "etrade.oauth" -> respond(exchange, 200, "application/x-www-form-urlencoded", OAUTH_RESPONSE);
+      case "etrade.quote" -> respond(exchange, 200, "application/json", recorded("quotes-all.json"));
+      case "etrade.optionchains" -> respond(exchange, 200, "application/json", recorded("optionchain-aapl.json"));
+      case "alphavantage" -> respond(exchange, 200, "application/json",
+          render("alphavantage-global-quote.json", query.getOrDefault("symbol", "AAPL")));
+      case "yahoo" -> respond(exchange, 200, "application/json",
+          render("yahoo-quote.json", query.getOrDefault("symbols", "AAPL")));
+      case "stooq" -> respond(exchange, 200, "text/csv",
+          render("stooq-quote.csv", query.getOrDefault("s", "aapl.us").replaceFirst("\\.us$", "")));
+      default -> respond(exchange, 404, "application/json", "{\"error\":\"no recorded payload for this path\"}");
+    }
+  }
+
+  /**
+   * Fills a provider template for {@code symbol}, moving its price by up to half a percent from
+   * the previous response.
+   */
+  private String render(String template, String symbol) {
+    String normalized = symbol.toUpperCase(Locale.ROOT);
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    double price = prices.compute(normalized, (key, previous) -> previous == null
+        ? 50 + Math.floorMod(key.hashCode(), 450)
+        : previous * (1 + random.nextDouble(-0.005, 0.005)));
+    return new String(recorded(template), StandardCharsets.UTF_8)
+        .replace("${symbol}", normalized)
+        .replace("${open}", decimal(price * 0.99))
+        .replace("${high}", decimal(price * 1.01))
+        .replace("${low}", decimal(price * 0.98))
+        .replace("${price}", decimal(price))
+        .replace("${volume}", String.valueOf(random.nextLong(1_000_000, 50_000_000)))
+        .replace("${date}", LocalDate.now(ZoneOffset.UTC).toString())
+        .replace("${time}", LocalTime.now(ZoneOffset.UTC).format(DateTimeFormatter.ofPattern("HH:mm:ss")))
+        .replace("${epoch}", String.valueOf(System.currentTimeMillis() / 1000));
+  }
+
+  private byte[] recorded(String name) {
+    return recorded.computeIfAbsent(name, key -> {
+      try (InputStream in = StubServer.class.getResourceAsStream("/payloads/" + key)) {
+        if (in == null) {
+          throw new IllegalStateException("Missing recorded payload " + key);
+        }
+        return in.readAllBytes();
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    });
+  }
+
+  private String statsJson() {
+    StringBuilder json = new StringBuilder("{");
+    requestCounts().forEach((route, count) -> {
+      if (json.length() > 1) {
+        json.append(',');
+      }
+      json.append('"').append(route).append("\":").append(count);
+    });
+    return json.append('}').toString();
+  }
+
+  private static Map<String, String> query(String rawQuery) {
+    Map<String, String> params = new TreeMap<>();
+    if (rawQuery == null) {
+      return params;
+    }
+    for (String pair : rawQuery.split("&")) {
+      int equals = pair.indexOf('=');
+      if (equals > 0) {
+        params.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+            URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+      }
+    }
+    return params;
+  }
+
+  private static String decimal(double value) {
+    return String.format(Locale.ROOT, "%.2f", value);
+  }
+
+  private static void respond(HttpExchange exchange, int status, String contentType, String body)
+      throws IOException {
+    respond(exchange, status, contentType, body.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static void respond(HttpExchange exchange, int status, String contentType, byte[] body)
+      throws IOException {
+    exchange.getResponseHeaders().set("Content-Type", contentType);
+    exchange.sendResponseHeaders(status, body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+}
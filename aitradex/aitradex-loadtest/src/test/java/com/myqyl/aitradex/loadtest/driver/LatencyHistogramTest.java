@@ -0,0 +1,54 @@
+package com.myqyl.aitradex.loadtest.driver;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for LatencyHistogram bucketing and percentiles.
+ */
+class LatencyHistogramTest {
+
+  @Test
+  void percentileMicros_isWithinOnePercentOfTheExactValue() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long i = 1; i <= 10_000; i++) {
+      histogram.recordMicros(i * 100);
+    }
+
+    assertEquals(10_000, histogram.count());
+    assertEquals(500_000, histogram.percentileMicros(50), 5_000);
+    assertEquals(990_000, histogram.percentileMicros(99), 9_900);
+    assertEquals(999_000, histogram.percentileMicros(99.9), 9_990);
+    assertEquals(1_000_000, histogram.maxMicros());
+    assertEquals(1_000_000, histogram.percentileMicros(100));
+  }
+
+  @Test
+  void percentileMicros_isExactForSmallValues() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 0; i < 100; i++) {
+      histogram.recordMicros(i);
+    }
+
+    assertEquals(49, histogram.percentileMicros(50));
+    assertEquals(98, histogram.percentileMicros(99));
+  }
+
+  @Test
+  void bucketOf_coversTheFullRangeWithoutGaps() {
+    for (long value = 1; value < 1 << 16; value++) {
+      int step = LatencyHistogram.bucketOf(value) - LatencyHistogram.bucketOf(value - 1);
+      assertTrue(step == 0 || step == 1, "gap at " + value);
+    }
+    assertTrue(LatencyHistogram.bucketOf(Long.MAX_VALUE) > LatencyHistogram.bucketOf(1L << 40));
+  }
+
+  @Test
+  void emptyHistogram_reportsZero() {
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    assertEquals(0, histogram.percentileMicros(99));
+    assertEquals(0, histogram.maxMicros());
+  }
+}
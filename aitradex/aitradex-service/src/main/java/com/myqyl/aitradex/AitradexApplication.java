@@ -2,18 +2,27 @@ package com.myqyl.aitradex;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import com.myqyl.aitradex.config.AlphaVantageProperties;
 import com.myqyl.aitradex.config.MarketDataProperties;
+import com.myqyl.aitradex.config.ReadReplicaProperties;
+import com.myqyl.aitradex.config.RiskProperties;
+import com.myqyl.aitradex.config.SchedulerClusterProperties;
 import com.myqyl.aitradex.etrade.config.EtradeProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-@EnableConfigurationProperties({MarketDataProperties.class, AlphaVantageProperties.class, EtradeProperties.class})
+@EnableConfigurationProperties({
+    MarketDataProperties.class, AlphaVantageProperties.class, EtradeProperties.class, RiskProperties.class,
+    SchedulerClusterProperties.class, ReadReplicaProperties.class})
 @EnableScheduling
 public class AitradexApplication {
 
   public static void main(String[] args) {
-    SpringApplication.run(AitradexApplication.class, args);
+    SpringApplication application = new SpringApplication(AitradexApplication.class);
+    // Records startup steps for /actuator/startup
+    application.setApplicationStartup(new BufferingApplicationStartup(4096));
+    application.run(args);
   }
 }
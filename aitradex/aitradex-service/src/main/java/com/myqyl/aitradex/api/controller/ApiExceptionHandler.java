@@ -6,13 +6,17 @@ import com.myqyl.aitradex.exception.NotFoundException;
 import java.time.OffsetDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Stream;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
+import org.springframework.validation.method.ParameterErrors;
+import org.springframework.validation.method.ParameterValidationResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 @ControllerAdvice
 public class ApiExceptionHandler {
@@ -46,6 +50,43 @@ public class ApiExceptionHandler {
     return ResponseEntity.badRequest().body(response);
   }
 
+  /**
+   * Validation of {@code @Valid} list bodies such as the bulk endpoints; details are prefixed
+   * with the item index.
+   */
+  @ExceptionHandler(HandlerMethodValidationException.class)
+  public ResponseEntity<ErrorResponse> handleMethodValidationErrors(
+      HandlerMethodValidationException ex, WebRequest request) {
+    List<String> details =
+        ex.getAllValidationResults().stream()
+            .flatMap(ApiExceptionHandler::formatParameterErrors)
+            .toList();
+    ErrorResponse response =
+        new ErrorResponse(
+            "VALIDATION_ERROR",
+            "Validation failed",
+            HttpStatus.BAD_REQUEST.value(),
+            OffsetDateTime.now(),
+            details);
+    return ResponseEntity.badRequest().body(response);
+  }
+
+  /**
+   * Request values the services reject, such as a malformed log cursor, an out-of-range limit or a
+   * metadata filter that is not a JSON object.
+   */
+  @ExceptionHandler(IllegalArgumentException.class)
+  public ResponseEntity<ErrorResponse> handleBadRequest(IllegalArgumentException ex, WebRequest request) {
+    ErrorResponse response =
+        new ErrorResponse(
+            "BAD_REQUEST",
+            ex.getMessage(),
+            HttpStatus.BAD_REQUEST.value(),
+            OffsetDateTime.now(),
+            Collections.emptyList());
+    return ResponseEntity.badRequest().body(response);
+  }
+
   @ExceptionHandler(EtradeApiException.class)
   public ResponseEntity<ErrorResponse> handleEtradeApiException(EtradeApiException ex, WebRequest request) {
     ErrorResponse response =
@@ -58,6 +99,14 @@ public class ApiExceptionHandler {
     return ResponseEntity.status(ex.getHttpStatus()).body(response);
   }
 
+  private static Stream<String> formatParameterErrors(ParameterValidationResult result) {
+    String prefix = result.getContainerIndex() != null ? "[%d].".formatted(result.getContainerIndex()) : "";
+    if (result instanceof ParameterErrors errors) {
+      return errors.getFieldErrors().stream().map(error -> prefix + formatFieldError(error));
+    }
+    return result.getResolvableErrors().stream().map(error -> prefix + error.getDefaultMessage());
+  }
+
   private static String formatFieldError(FieldError error) {
     String field = error.getField();
     String defaultMessage = error.getDefaultMessage();
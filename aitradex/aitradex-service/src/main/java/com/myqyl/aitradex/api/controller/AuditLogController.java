@@ -2,10 +2,12 @@ package com.myqyl.aitradex.api.controller;
 
 import com.myqyl.aitradex.api.dto.AuditLogDto;
 import com.myqyl.aitradex.api.dto.CreateAuditLogRequest;
+import com.myqyl.aitradex.api.dto.LogPageDto;
 import com.myqyl.aitradex.service.AuditLogService;
 import jakarta.validation.Valid;
-import java.util.List;
+import java.time.OffsetDateTime;
 import java.util.UUID;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -32,14 +34,19 @@ public class AuditLogController {
     return auditLogService.create(request);
   }
 
+  /**
+   * Pages through audit logs newest first; pass the returned {@code nextCursor} back as
+   * {@code cursor} for the next page. {@code to} is exclusive.
+   */
   @GetMapping
-  public List<AuditLogDto> list(
+  public LogPageDto<AuditLogDto> list(
       @RequestParam(value = "entityRef", required = false) String entityRef,
-      @RequestParam(value = "actor", required = false) String actor) {
-    if (actor != null && !actor.isBlank()) {
-      return auditLogService.listByActor(actor);
-    }
-    return auditLogService.list(entityRef);
+      @RequestParam(value = "actor", required = false) String actor,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @RequestParam(value = "limit", required = false) Integer limit) {
+    return auditLogService.list(entityRef, actor, from, to, cursor, limit);
   }
 
   @GetMapping("/{id}")
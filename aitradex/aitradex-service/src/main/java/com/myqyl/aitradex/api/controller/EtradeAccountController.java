@@ -1,9 +1,11 @@
 package com.myqyl.aitradex.api.controller;
 
 import com.myqyl.aitradex.api.dto.EtradeAccountDto;
+import com.myqyl.aitradex.api.dto.EtradeTransactionSyncStateDto;
 import com.myqyl.aitradex.etrade.accounts.dto.BalanceResponse;
 import com.myqyl.aitradex.etrade.accounts.dto.PortfolioResponse;
 import com.myqyl.aitradex.etrade.service.EtradeAccountService;
+import com.myqyl.aitradex.etrade.service.EtradeTransactionBackfillService;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -24,9 +26,12 @@ public class EtradeAccountController {
   private static final Logger log = LoggerFactory.getLogger(EtradeAccountController.class);
 
   private final EtradeAccountService accountService;
+  private final EtradeTransactionBackfillService backfillService;
 
-  public EtradeAccountController(EtradeAccountService accountService) {
+  public EtradeAccountController(EtradeAccountService accountService,
+                                 EtradeTransactionBackfillService backfillService) {
     this.accountService = accountService;
+    this.backfillService = backfillService;
   }
 
   /**
@@ -168,6 +173,24 @@ public class EtradeAccountController {
     return ResponseEntity.ok(details);
   }
 
+  /**
+   * Starts (or resumes) a transaction history backfill for the given accounts, or all linked accounts.
+   */
+  @PostMapping("/transactions/backfill")
+  public ResponseEntity<List<EtradeTransactionSyncStateDto>> backfillTransactions(
+      @RequestParam(required = false) List<UUID> accountId) {
+    log.debug("POST /api/etrade/accounts/transactions/backfill - accountIds: {}", accountId);
+    return ResponseEntity.accepted().body(backfillService.startBackfill(accountId));
+  }
+
+  /**
+   * Gets the transaction backfill/delta sync checkpoint for an account.
+   */
+  @GetMapping("/{accountId}/transaction-sync")
+  public ResponseEntity<EtradeTransactionSyncStateDto> getTransactionSyncState(@PathVariable UUID accountId) {
+    return ResponseEntity.ok(backfillService.getState(accountId));
+  }
+
   /**
    * Unlinks an account.
    */
@@ -1,8 +1,13 @@
 package com.myqyl.aitradex.api.controller;
 
+import com.myqyl.aitradex.api.dto.OptionSurfacePointDto;
 import com.myqyl.aitradex.etrade.market.dto.*;
 import com.myqyl.aitradex.etrade.service.EtradeQuoteService;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.web.bind.annotation.*;
@@ -63,14 +68,16 @@ public class EtradeQuoteController {
 
   /**
    * Looks up products by symbol or company name using DTOs.
+   * Served from the local product index unless it has no match or refresh=true.
    */
   @GetMapping("/lookup")
   public ResponseEntity<LookupProductResponse> lookupProduct(
-      @RequestParam String input) {
+      @RequestParam String input,
+      @RequestParam(defaultValue = "false") boolean refresh) {
     LookupProductRequest request = new LookupProductRequest();
     request.setInput(input);
     
-    LookupProductResponse response = quoteService.lookupProduct(request);
+    LookupProductResponse response = quoteService.lookupProduct(request, refresh);
     return ResponseEntity.ok(response);
   }
 
@@ -115,4 +122,23 @@ public class EtradeQuoteController {
     OptionExpireDateResponse response = quoteService.getOptionExpireDates(request);
     return ResponseEntity.ok(response);
   }
+
+  /**
+   * Gets stored option chain history (one point per snapshot and strike) for IV/greeks surfaces.
+   */
+  @GetMapping("/option-surface")
+  public ResponseEntity<List<OptionSurfacePointDto>> getOptionSurface(
+      @RequestParam String symbol,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate expiryFrom,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate expiryTo,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+      @RequestParam(required = false) Double minStrike,
+      @RequestParam(required = false) Double maxStrike,
+      @RequestParam(required = false) Double minDelta,
+      @RequestParam(required = false) Double maxDelta,
+      @RequestParam(required = false) Integer limit) {
+    return ResponseEntity.ok(quoteService.getOptionSurface(
+        symbol, expiryFrom, expiryTo, from, to, minStrike, maxStrike, minDelta, maxDelta, limit));
+  }
 }
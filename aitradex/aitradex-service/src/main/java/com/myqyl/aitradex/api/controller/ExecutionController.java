@@ -1,12 +1,17 @@
 package com.myqyl.aitradex.api.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myqyl.aitradex.api.dto.BulkResultDto;
 import com.myqyl.aitradex.api.dto.CreateExecutionRequest;
 import com.myqyl.aitradex.api.dto.ExecutionDto;
 import com.myqyl.aitradex.service.ExecutionService;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import java.io.InputStream;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -21,9 +26,13 @@ import org.springframework.web.bind.annotation.RestController;
 public class ExecutionController {
 
   private final ExecutionService executionService;
+  private final ObjectMapper objectMapper;
+  private final Validator validator;
 
-  public ExecutionController(ExecutionService executionService) {
+  public ExecutionController(ExecutionService executionService, ObjectMapper objectMapper, Validator validator) {
     this.executionService = executionService;
+    this.objectMapper = objectMapper;
+    this.validator = validator;
   }
 
   @PostMapping
@@ -32,6 +41,17 @@ public class ExecutionController {
     return executionService.create(request);
   }
 
+  @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public BulkResultDto<ExecutionDto> createBulk(@Valid @RequestBody List<CreateExecutionRequest> requests) {
+    return executionService.createAll(requests);
+  }
+
+  @PostMapping(path = "/bulk", consumes = NdjsonRequests.MEDIA_TYPE)
+  public BulkResultDto<ExecutionDto> createBulkNdjson(InputStream body) {
+    return executionService.createAll(
+        NdjsonRequests.read(objectMapper, validator, body, CreateExecutionRequest.class));
+  }
+
   @GetMapping
   public List<ExecutionDto> list(
       @RequestParam(value = "orderId", required = false) UUID orderId) {
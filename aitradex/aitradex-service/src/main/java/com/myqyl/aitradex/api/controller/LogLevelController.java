@@ -0,0 +1,42 @@
+package com.myqyl.aitradex.api.controller;
+
+import com.myqyl.aitradex.api.dto.LogLevelDto;
+import com.myqyl.aitradex.api.dto.UpdateLogLevelRequest;
+import com.myqyl.aitradex.service.LogLevelService;
+import jakarta.validation.Valid;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/log-levels")
+public class LogLevelController {
+
+  private final LogLevelService logLevelService;
+
+  public LogLevelController(LogLevelService logLevelService) {
+    this.logLevelService = logLevelService;
+  }
+
+  @GetMapping
+  public List<LogLevelDto> temporaryLevels() {
+    return logLevelService.temporaryLevels();
+  }
+
+  @PutMapping("/{logger}")
+  public LogLevelDto setLevel(@PathVariable String logger, @Valid @RequestBody UpdateLogLevelRequest request) {
+    Duration duration = request.durationSeconds() != null ? Duration.ofSeconds(request.durationSeconds()) : null;
+    return logLevelService.setLevel(logger, request.level(), duration);
+  }
+
+  @DeleteMapping("/{logger}")
+  public LogLevelDto reset(@PathVariable String logger) {
+    return logLevelService.reset(logger);
+  }
+}
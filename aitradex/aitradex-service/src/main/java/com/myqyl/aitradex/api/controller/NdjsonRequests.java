@@ -0,0 +1,52 @@
+package com.myqyl.aitradex.api.controller;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Reads newline-delimited JSON request bodies for the bulk endpoints, one object per line, and
+ * validates each object as {@code @Valid} does for a JSON array body.
+ */
+final class NdjsonRequests {
+
+  static final String MEDIA_TYPE = "application/x-ndjson";
+
+  private NdjsonRequests() {
+  }
+
+  static <T> List<T> read(ObjectMapper objectMapper, Validator validator, InputStream body, Class<T> type) {
+    List<T> items = new ArrayList<>();
+    try (MappingIterator<T> values = objectMapper.readerFor(type).readValues(body)) {
+      while (values.hasNextValue()) {
+        T item = values.nextValue();
+        Set<ConstraintViolation<T>> violations = validator.validate(item);
+        if (!violations.isEmpty()) {
+          throw new ResponseStatusException(
+              HttpStatus.BAD_REQUEST, "Invalid item %d: %s".formatted(items.size(), describe(violations)));
+        }
+        items.add(item);
+      }
+    } catch (IOException ex) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "Invalid NDJSON at item %d: %s".formatted(items.size(), ex.getMessage()), ex);
+    }
+    return items;
+  }
+
+  private static String describe(Set<? extends ConstraintViolation<?>> violations) {
+    return violations.stream()
+        .map(violation -> "%s: %s".formatted(violation.getPropertyPath(), violation.getMessage()))
+        .sorted()
+        .collect(Collectors.joining(", "));
+  }
+}
@@ -1,14 +1,19 @@
 package com.myqyl.aitradex.api.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myqyl.aitradex.api.dto.BulkResultDto;
 import com.myqyl.aitradex.api.dto.CreateOrderRequest;
 import com.myqyl.aitradex.api.dto.OrderDto;
 import com.myqyl.aitradex.api.dto.UpdateOrderStatusRequest;
 import com.myqyl.aitradex.domain.OrderStatus;
 import com.myqyl.aitradex.service.OrderService;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import java.io.InputStream;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -24,9 +29,13 @@ import org.springframework.web.bind.annotation.RestController;
 public class OrderController {
 
   private final OrderService orderService;
+  private final ObjectMapper objectMapper;
+  private final Validator validator;
 
-  public OrderController(OrderService orderService) {
+  public OrderController(OrderService orderService, ObjectMapper objectMapper, Validator validator) {
     this.orderService = orderService;
+    this.objectMapper = objectMapper;
+    this.validator = validator;
   }
 
   @PostMapping
@@ -35,6 +44,16 @@ public class OrderController {
     return orderService.create(request);
   }
 
+  @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public BulkResultDto<OrderDto> createBulk(@Valid @RequestBody List<CreateOrderRequest> requests) {
+    return orderService.createAll(requests);
+  }
+
+  @PostMapping(path = "/bulk", consumes = NdjsonRequests.MEDIA_TYPE)
+  public BulkResultDto<OrderDto> createBulkNdjson(InputStream body) {
+    return orderService.createAll(NdjsonRequests.read(objectMapper, validator, body, CreateOrderRequest.class));
+  }
+
   @GetMapping
   public List<OrderDto> listOrders(
       @RequestParam(value = "accountId", required = false) UUID accountId,
@@ -0,0 +1,82 @@
+package com.myqyl.aitradex.api.controller;
+
+import com.myqyl.aitradex.api.dto.RecordingDto;
+import com.myqyl.aitradex.api.dto.StartRecordingRequest;
+import com.myqyl.aitradex.service.ProfilingService;
+import com.myqyl.aitradex.service.ProfilingService.RecordingFile;
+import jakarta.validation.Valid;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/admin/profiling")
+public class ProfilingController {
+
+  private final ProfilingService profilingService;
+
+  public ProfilingController(ProfilingService profilingService) {
+    this.profilingService = profilingService;
+  }
+
+  @GetMapping("/recordings")
+  public List<RecordingDto> recordings() {
+    return profilingService.list();
+  }
+
+  @PostMapping("/recordings")
+  @ResponseStatus(HttpStatus.CREATED)
+  public RecordingDto start(@Valid @RequestBody StartRecordingRequest request) {
+    Duration duration = request.durationSeconds() != null ? Duration.ofSeconds(request.durationSeconds()) : null;
+    return profilingService.start(request.template(), duration);
+  }
+
+  @PostMapping("/recordings/{id}/stop")
+  public RecordingDto stop(@PathVariable long id) {
+    return profilingService.stop(id);
+  }
+
+  /**
+   * The recording as a {@code .jfr} file; a running recording sends what it holds so far.
+   */
+  @GetMapping("/recordings/{id}/file")
+  public ResponseEntity<StreamingResponseBody> file(@PathVariable long id) {
+    return send(profilingService.file(id));
+  }
+
+  @DeleteMapping("/recordings/{id}")
+  @ResponseStatus(HttpStatus.NO_CONTENT)
+  public void delete(@PathVariable long id) {
+    profilingService.delete(id);
+  }
+
+  /**
+   * What the always-on recording holds, as a {@code .jfr} file.
+   */
+  @GetMapping("/continuous/file")
+  public ResponseEntity<StreamingResponseBody> continuousFile() {
+    return send(profilingService.continuousFile());
+  }
+
+  private ResponseEntity<StreamingResponseBody> send(RecordingFile file) {
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+        .contentLength(file.size())
+        .header(HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename(file.fileName()).build().toString())
+        .body(out -> profilingService.write(file, out));
+  }
+}
@@ -1,7 +1,12 @@
 package com.myqyl.aitradex.api.controller;
 
+import com.myqyl.aitradex.api.dto.RiskExposureDto;
+import com.myqyl.aitradex.service.PreTradeRiskEngine;
 import com.myqyl.aitradex.service.StopLossService;
+import java.util.UUID;
 import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -13,9 +18,11 @@ import org.springframework.web.bind.annotation.RestController;
 public class RiskController {
 
   private final StopLossService stopLossService;
+  private final PreTradeRiskEngine riskEngine;
 
-  public RiskController(StopLossService stopLossService) {
+  public RiskController(StopLossService stopLossService, PreTradeRiskEngine riskEngine) {
     this.stopLossService = stopLossService;
+    this.riskEngine = riskEngine;
   }
 
   @PostMapping("/stop-loss/run")
@@ -23,4 +30,9 @@ public class RiskController {
   public int runStopLosses(@RequestParam(value = "source", required = false) String source) {
     return stopLossService.enforceStopLosses(source);
   }
+
+  @GetMapping("/exposure/{accountId}")
+  public RiskExposureDto exposure(@PathVariable UUID accountId) {
+    return riskEngine.exposureOf(accountId);
+  }
 }
@@ -1,11 +1,13 @@
 package com.myqyl.aitradex.api.controller;
 
 import com.myqyl.aitradex.api.dto.CreateTradeLogRequest;
+import com.myqyl.aitradex.api.dto.LogPageDto;
 import com.myqyl.aitradex.api.dto.TradeLogDto;
 import com.myqyl.aitradex.service.TradeLogService;
 import jakarta.validation.Valid;
-import java.util.List;
+import java.time.OffsetDateTime;
 import java.util.UUID;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -32,10 +34,20 @@ public class TradeLogController {
     return tradeLogService.create(request);
   }
 
+  /**
+   * Pages through trade logs newest first; pass the returned {@code nextCursor} back as
+   * {@code cursor} for the next page. {@code to} is exclusive.
+   */
   @GetMapping
-  public List<TradeLogDto> list(
-      @RequestParam(value = "accountId", required = false) UUID accountId) {
-    return tradeLogService.list(accountId);
+  public LogPageDto<TradeLogDto> list(
+      @RequestParam(value = "accountId", required = false) UUID accountId,
+      @RequestParam(value = "action", required = false) String action,
+      @RequestParam(value = "metadata", required = false) String metadata,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @RequestParam(value = "limit", required = false) Integer limit) {
+    return tradeLogService.list(accountId, action, metadata, from, to, cursor, limit);
   }
 
   @GetMapping("/{id}")
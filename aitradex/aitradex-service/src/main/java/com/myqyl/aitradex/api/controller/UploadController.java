@@ -1,35 +1,47 @@
 package com.myqyl.aitradex.api.controller;
 
 import com.myqyl.aitradex.api.dto.CreateUploadRequest;
+import com.myqyl.aitradex.api.dto.StartUploadImportRequest;
 import com.myqyl.aitradex.api.dto.UpdateUploadStatusRequest;
 import com.myqyl.aitradex.api.dto.UploadDto;
+import com.myqyl.aitradex.api.dto.UploadImportDto;
+import com.myqyl.aitradex.api.dto.UploadProgressDto;
 import com.myqyl.aitradex.domain.UploadStatus;
 import com.myqyl.aitradex.domain.UploadType;
+import com.myqyl.aitradex.service.UploadImportService;
 import com.myqyl.aitradex.service.UploadService;
+import com.myqyl.aitradex.upload.UploadContent;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/uploads")
 public class UploadController {
 
   private final UploadService uploadService;
+  private final UploadImportService uploadImportService;
 
-  public UploadController(UploadService uploadService) {
+  public UploadController(UploadService uploadService, UploadImportService uploadImportService) {
     this.uploadService = uploadService;
+    this.uploadImportService = uploadImportService;
   }
 
   @PostMapping
@@ -59,6 +71,30 @@ public class UploadController {
     return uploadService.get(id);
   }
 
+  /**
+   * Streams the stored file back. The body is written off the request thread with a channel
+   * transfer; identical content shares an ETag, its SHA-256.
+   */
+  @GetMapping("/{id}/content")
+  public ResponseEntity<StreamingResponseBody> content(
+      @PathVariable UUID id,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    UploadContent content = uploadService.content(id);
+    String etag = content.contentHash() != null ? "\"" + content.contentHash() + "\"" : null;
+    if (etag != null && etag.equals(ifNoneMatch)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+        .contentLength(content.size())
+        .header(HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename(content.fileName()).build().toString());
+    if (etag != null) {
+      response.eTag(etag);
+    }
+    return response.body(out -> uploadService.writeContent(content, out));
+  }
+
   @PatchMapping("/{id}/status")
   public UploadDto updateStatus(
       @PathVariable UUID id, @Valid @RequestBody UpdateUploadStatusRequest request) {
@@ -66,7 +102,25 @@ public class UploadController {
   }
 
   @PostMapping("/{id}/validate")
+  @ResponseStatus(HttpStatus.ACCEPTED)
   public UploadDto validate(@PathVariable UUID id) {
     return uploadService.validateAndStage(id);
   }
+
+  @GetMapping("/{id}/progress")
+  public UploadProgressDto progress(@PathVariable UUID id) {
+    return uploadService.progress(id);
+  }
+
+  @PostMapping("/{id}/import")
+  @ResponseStatus(HttpStatus.ACCEPTED)
+  public UploadImportDto startImport(
+      @PathVariable UUID id, @Valid @RequestBody StartUploadImportRequest request) {
+    return uploadImportService.start(id, request);
+  }
+
+  @GetMapping("/{id}/import")
+  public UploadImportDto importStatus(@PathVariable UUID id) {
+    return uploadImportService.get(id);
+  }
 }
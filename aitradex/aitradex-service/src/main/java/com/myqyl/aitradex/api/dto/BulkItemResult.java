@@ -0,0 +1,15 @@
+package com.myqyl.aitradex.api.dto;
+
+/**
+ * Outcome of one item in a bulk request; {@code index} is the item's position in the request.
+ */
+public record BulkItemResult<T>(int index, boolean success, T result, String error) {
+
+  public static <T> BulkItemResult<T> ok(int index, T result) {
+    return new BulkItemResult<>(index, true, result, null);
+  }
+
+  public static <T> BulkItemResult<T> failed(int index, String error) {
+    return new BulkItemResult<>(index, false, null, error);
+  }
+}
@@ -0,0 +1,15 @@
+package com.myqyl.aitradex.api.dto;
+
+import java.util.List;
+
+public record BulkResultDto<T>(
+    int submitted,
+    int succeeded,
+    int failed,
+    List<BulkItemResult<T>> items) {
+
+  public static <T> BulkResultDto<T> of(List<BulkItemResult<T>> items) {
+    int succeeded = (int) items.stream().filter(BulkItemResult::success).count();
+    return new BulkResultDto<>(items.size(), succeeded, items.size() - succeeded, items);
+  }
+}
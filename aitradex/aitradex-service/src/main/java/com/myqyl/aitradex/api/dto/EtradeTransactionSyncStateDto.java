@@ -0,0 +1,17 @@
+package com.myqyl.aitradex.api.dto;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record EtradeTransactionSyncStateDto(
+    UUID accountId,
+    String status,
+    boolean running,
+    String backfillMarker,
+    long pagesFetched,
+    long transactionsSynced,
+    Long newestTransactionDate,
+    OffsetDateTime backfillStartedAt,
+    OffsetDateTime backfillCompletedAt,
+    OffsetDateTime lastDeltaSyncAt,
+    String lastError) {}
@@ -0,0 +1,10 @@
+package com.myqyl.aitradex.api.dto;
+
+import java.time.OffsetDateTime;
+
+public record LogLevelDto(
+    String logger,
+    String configuredLevel,
+    String effectiveLevel,
+    String revertsTo,
+    OffsetDateTime revertsAt) {}
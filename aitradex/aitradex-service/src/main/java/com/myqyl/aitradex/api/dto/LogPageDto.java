@@ -0,0 +1,9 @@
+package com.myqyl.aitradex.api.dto;
+
+import java.util.List;
+
+/**
+ * One page of log entries, newest first. {@code nextCursor} is passed back as {@code cursor} to
+ * fetch the following page and is null on the last page.
+ */
+public record LogPageDto<T>(List<T> items, String nextCursor) {}
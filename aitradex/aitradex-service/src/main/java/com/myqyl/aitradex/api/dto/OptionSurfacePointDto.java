@@ -0,0 +1,19 @@
+package com.myqyl.aitradex.api.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+public record OptionSurfacePointDto(
+    OffsetDateTime requestTime,
+    LocalDate expiryDate,
+    BigDecimal nearPrice,
+    Double strike,
+    Double callBid,
+    Double callAsk,
+    Double callIv,
+    Double callDelta,
+    Double putBid,
+    Double putAsk,
+    Double putIv,
+    Double putDelta) {}
@@ -19,6 +19,8 @@ public record OrderDto(
     BigDecimal limitPrice,
     BigDecimal stopPrice,
     BigDecimal quantity,
+    BigDecimal filledQuantity,
+    BigDecimal avgFillPrice,
     OffsetDateTime routedAt,
     OffsetDateTime filledAt,
     String notes,
@@ -0,0 +1,15 @@
+package com.myqyl.aitradex.api.dto;
+
+import java.time.OffsetDateTime;
+
+/**
+ * A JFR recording. {@code sizeBytes} is the recorded data so far, or the file size once stopped.
+ */
+public record RecordingDto(
+    long id,
+    String name,
+    String template,
+    String state,
+    OffsetDateTime startedAt,
+    OffsetDateTime stopsAt,
+    long sizeBytes) {}
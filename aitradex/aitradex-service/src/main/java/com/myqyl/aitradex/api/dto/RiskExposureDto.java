@@ -0,0 +1,16 @@
+package com.myqyl.aitradex.api.dto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+public record RiskExposureDto(
+    UUID accountId,
+    BigDecimal cash,
+    BigDecimal reservedCash,
+    BigDecimal availableCash,
+    int openOrders,
+    BigDecimal grossNotional,
+    BigDecimal netNotional,
+    BigDecimal realizedPnlToday,
+    Map<String, BigDecimal> notionalBySymbol) {}
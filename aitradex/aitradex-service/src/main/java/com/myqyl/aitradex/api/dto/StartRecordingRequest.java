@@ -0,0 +1,10 @@
+package com.myqyl.aitradex.api.dto;
+
+import com.myqyl.aitradex.profiling.ProfilingTemplate;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * {@code durationSeconds} defaults to the configured maximum when omitted.
+ */
+public record StartRecordingRequest(@NotNull ProfilingTemplate template, @Positive Long durationSeconds) {}
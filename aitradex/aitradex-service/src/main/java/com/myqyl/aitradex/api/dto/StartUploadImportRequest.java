@@ -0,0 +1,7 @@
+package com.myqyl.aitradex.api.dto;
+
+import com.myqyl.aitradex.domain.ImportKind;
+import jakarta.validation.constraints.NotNull;
+import java.util.UUID;
+
+public record StartUploadImportRequest(@NotNull UUID accountId, @NotNull ImportKind kind) {}
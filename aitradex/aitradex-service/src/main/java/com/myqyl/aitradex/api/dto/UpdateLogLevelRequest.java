@@ -0,0 +1,10 @@
+package com.myqyl.aitradex.api.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.logging.LogLevel;
+
+/**
+ * {@code durationSeconds} defaults to the configured maximum when omitted.
+ */
+public record UpdateLogLevelRequest(@NotNull LogLevel level, @Positive Long durationSeconds) {}
@@ -12,6 +12,8 @@ public record UploadDto(
     UploadStatus status,
     String fileName,
     String storedPath,
+    String contentHash,
+    Long sizeBytes,
     Integer parsedRowCount,
     String errorReport,
     OffsetDateTime createdAt,
@@ -0,0 +1,21 @@
+package com.myqyl.aitradex.api.dto;
+
+import com.myqyl.aitradex.domain.ImportKind;
+import com.myqyl.aitradex.domain.UploadStatus;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record UploadImportDto(
+    UUID uploadId,
+    UUID accountId,
+    ImportKind kind,
+    UploadStatus status,
+    int lastCommittedRow,
+    int rowsImported,
+    int rowsSkipped,
+    int rowsRejected,
+    int chunksCommitted,
+    Double lastChunkRowsPerSecond,
+    String errorReport,
+    OffsetDateTime startedAt,
+    OffsetDateTime completedAt) {}
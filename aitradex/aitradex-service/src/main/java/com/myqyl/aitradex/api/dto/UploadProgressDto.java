@@ -0,0 +1,14 @@
+package com.myqyl.aitradex.api.dto;
+
+import com.myqyl.aitradex.domain.UploadStatus;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record UploadProgressDto(
+    UUID uploadId,
+    UploadStatus status,
+    long bytesRead,
+    long totalBytes,
+    int rowsParsed,
+    Integer errorCount,
+    OffsetDateTime startedAt) {}
@@ -0,0 +1,108 @@
+package com.myqyl.aitradex.config;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import liquibase.exception.LiquibaseException;
+import liquibase.integration.spring.SpringLiquibase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link SpringLiquibase} that lets one replica migrate while the others wait and skip it.
+ *
+ * <ul>
+ *   <li>{@link Mode#ALWAYS}: every replica runs Liquibase, as before.
+ *   <li>{@link Mode#LEADER}: the replica that takes a Postgres session advisory lock runs
+ *       Liquibase. Replicas that start at the same time block on the lock until the leader is
+ *       done and then skip parsing and checking the changelog, so JPA validation still sees the
+ *       migrated schema. A replica that starts alone takes the lock and migrates.
+ *   <li>{@link Mode#SKIP}: never migrates, for replicas deployed after a migration job.
+ * </ul>
+ */
+public class LeaderElectedLiquibase extends SpringLiquibase {
+
+  private static final Logger log = LoggerFactory.getLogger(LeaderElectedLiquibase.class);
+  /** Advisory lock key shared by all replicas; the bytes of "aitradex" as a long. */
+  static final long LOCK_KEY = 0x6169747261646578L;
+
+  public enum Mode { ALWAYS, LEADER, SKIP }
+
+  public enum Outcome { DISABLED, MIGRATED, WAITED_FOR_LEADER, SKIPPED }
+
+  private final Mode mode;
+  private Outcome outcome = Outcome.DISABLED;
+  private Duration elapsed = Duration.ZERO;
+
+  public LeaderElectedLiquibase(Mode mode) {
+    this.mode = mode;
+  }
+
+  @Override
+  public void afterPropertiesSet() throws LiquibaseException {
+    if (!shouldRun) {
+      return;
+    }
+    long start = System.nanoTime();
+    try {
+      switch (mode) {
+        case ALWAYS -> {
+          super.afterPropertiesSet();
+          outcome = Outcome.MIGRATED;
+        }
+        case SKIP -> {
+          log.info("Skipping Liquibase on this replica (app.migrations.mode=skip)");
+          outcome = Outcome.SKIPPED;
+        }
+        case LEADER -> migrateAsLeaderOrWait();
+      }
+    } finally {
+      elapsed = Duration.ofNanos(System.nanoTime() - start);
+    }
+  }
+
+  private void migrateAsLeaderOrWait() throws LiquibaseException {
+    try (Connection connection = getDataSource().getConnection()) {
+      if (query(connection, "select pg_try_advisory_lock(?)")) {
+        try {
+          log.info("Running Liquibase as migration leader");
+          super.afterPropertiesSet();
+          outcome = Outcome.MIGRATED;
+        } finally {
+          query(connection, "select pg_advisory_unlock(?)");
+        }
+        return;
+      }
+      log.info("Another replica is migrating; waiting for it to finish");
+      query(connection, "select pg_advisory_lock(?)");
+      query(connection, "select pg_advisory_unlock(?)");
+      log.info("Migration leader finished; skipping Liquibase on this replica");
+      outcome = Outcome.WAITED_FOR_LEADER;
+    } catch (SQLException ex) {
+      throw new LiquibaseException("Could not coordinate migrations via advisory lock", ex);
+    }
+  }
+
+  private static boolean query(Connection connection, String sql) throws SQLException {
+    try (PreparedStatement statement = connection.prepareStatement(sql)) {
+      statement.setLong(1, LOCK_KEY);
+      try (ResultSet rs = statement.executeQuery()) {
+        return rs.next() && rs.getBoolean(1);
+      }
+    }
+  }
+
+  public Mode getMode() {
+    return mode;
+  }
+
+  public Outcome getOutcome() {
+    return outcome;
+  }
+
+  public Duration getElapsed() {
+    return elapsed;
+  }
+}
@@ -0,0 +1,48 @@
+package com.myqyl.aitradex.config;
+
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Replaces Spring Boot's Liquibase bean with {@link LeaderElectedLiquibase}; the
+ * {@code spring.liquibase.*} properties still apply.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(LiquibaseProperties.class)
+public class LiquibaseConfig {
+
+  @Bean
+  public LeaderElectedLiquibase liquibase(
+      DataSource dataSource,
+      LiquibaseProperties properties,
+      @Value("${app.migrations.mode:always}") LeaderElectedLiquibase.Mode mode) {
+    LeaderElectedLiquibase liquibase = new LeaderElectedLiquibase(mode);
+    liquibase.setDataSource(dataSource);
+    liquibase.setChangeLog(properties.getChangeLog());
+    liquibase.setContexts(properties.getContexts());
+    liquibase.setLabelFilter(properties.getLabelFilter());
+    liquibase.setDefaultSchema(properties.getDefaultSchema());
+    liquibase.setDropFirst(properties.isDropFirst());
+    liquibase.setClearCheckSums(properties.isClearChecksums());
+    liquibase.setChangeLogParameters(properties.getParameters());
+    liquibase.setShouldRun(properties.isEnabled());
+    return liquibase;
+  }
+
+  @Bean
+  public MeterBinder migrationMetrics(LeaderElectedLiquibase liquibase) {
+    return registry -> TimeGauge.builder("aitradex.startup.migrations", liquibase, TimeUnit.MILLISECONDS,
+            l -> l.getElapsed().toMillis())
+        .description("Time spent on schema migrations during startup")
+        .tag("mode", liquibase.getMode().name().toLowerCase())
+        .tag("outcome", liquibase.getOutcome().name().toLowerCase())
+        .register(registry);
+  }
+}
@@ -60,6 +60,8 @@ public class MarketDataProperties {
   public static class ProviderConfig {
     private boolean enabled = true;
     private int priority = 0;
+    /** Overrides the provider's public endpoint, e.g. to point at a load-test stub. */
+    private String baseUrl;
 
     public boolean isEnabled() {
       return enabled;
@@ -76,5 +78,22 @@ public class MarketDataProperties {
     public void setPriority(int priority) {
       this.priority = priority;
     }
+
+    public String getBaseUrl() {
+      return baseUrl;
+    }
+
+    public void setBaseUrl(String baseUrl) {
+      this.baseUrl = baseUrl;
+    }
+  }
+
+  /**
+   * The configured base URL of {@code provider}, or {@code defaultUrl} when none is set.
+   */
+  public String providerBaseUrl(String provider, String defaultUrl) {
+    ProviderConfig config = providers.get(provider);
+    String baseUrl = config != null ? config.getBaseUrl() : null;
+    return baseUrl == null || baseUrl.isBlank() ? defaultUrl : baseUrl.replaceAll("/+$", "");
   }
 }
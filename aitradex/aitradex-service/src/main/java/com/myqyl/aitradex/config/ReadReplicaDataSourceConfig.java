@@ -0,0 +1,62 @@
+package com.myqyl.aitradex.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Two Hikari pools, primary ({@code spring.datasource.*}) and replica
+ * ({@code app.datasource.replica.*}), behind a {@link ReadReplicaRoutingDataSource}. Without a
+ * replica URL this configuration is skipped and Spring Boot's single pool is used.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "url")
+public class ReadReplicaDataSourceConfig {
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  @Bean
+  @ConfigurationProperties("app.datasource.replica.hikari")
+  public HikariDataSource replicaDataSource(DataSourceProperties primary, ReadReplicaProperties replica) {
+    return DataSourceBuilder.create()
+        .type(HikariDataSource.class)
+        .driverClassName(primary.determineDriverClassName())
+        .url(replica.getUrl())
+        .username(replica.getUsername() != null ? replica.getUsername() : primary.determineUsername())
+        .password(replica.getPassword() != null ? replica.getPassword() : primary.determinePassword())
+        .build();
+  }
+
+  @Bean
+  public ReadReplicaRoutingDataSource readReplicaRoutingDataSource(
+      @Qualifier("primaryDataSource") DataSource primary,
+      @Qualifier("replicaDataSource") DataSource replica) {
+    return new ReadReplicaRoutingDataSource(primary, replica);
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(ReadReplicaRoutingDataSource routingDataSource) {
+    return new LazyConnectionDataSourceProxy(routingDataSource);
+  }
+
+  @Bean
+  public ReplicaLagMonitor replicaLagMonitor(
+      ReadReplicaRoutingDataSource routingDataSource, ReadReplicaProperties properties,
+      MeterRegistry meterRegistry) {
+    return new ReplicaLagMonitor(routingDataSource, properties, meterRegistry);
+  }
+}
@@ -0,0 +1,60 @@
+package com.myqyl.aitradex.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Optional Postgres read replica for {@code @Transactional(readOnly = true)} work. Routing is only
+ * set up when {@code url} is configured; pool sizing goes under {@code app.datasource.replica.hikari}
+ * and is independent of the primary pool. Reads fall back to the primary while the replica is
+ * unreachable or more than {@code maxLag} behind.
+ */
+@ConfigurationProperties(prefix = "app.datasource.replica")
+public class ReadReplicaProperties {
+
+  private String url;
+  private String username;
+  private String password;
+  private Duration maxLag = Duration.ofSeconds(2);
+  private long lagCheckIntervalMs = 2000;
+
+  public String getUrl() {
+    return url;
+  }
+
+  public void setUrl(String url) {
+    this.url = url;
+  }
+
+  public String getUsername() {
+    return username;
+  }
+
+  public void setUsername(String username) {
+    this.username = username;
+  }
+
+  public String getPassword() {
+    return password;
+  }
+
+  public void setPassword(String password) {
+    this.password = password;
+  }
+
+  public Duration getMaxLag() {
+    return maxLag;
+  }
+
+  public void setMaxLag(Duration maxLag) {
+    this.maxLag = maxLag;
+  }
+
+  public long getLagCheckIntervalMs() {
+    return lagCheckIntervalMs;
+  }
+
+  public void setLagCheckIntervalMs(long lagCheckIntervalMs) {
+    this.lagCheckIntervalMs = lagCheckIntervalMs;
+  }
+}
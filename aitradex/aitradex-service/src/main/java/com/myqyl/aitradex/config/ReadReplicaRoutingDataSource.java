@@ -0,0 +1,111 @@
+package com.myqyl.aitradex.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections for read-only transactions to the replica pool and everything else to the
+ * primary. The replica is skipped while {@link ReplicaLagMonitor} reports it unavailable or
+ * lagging, and a replica connection that cannot be obtained falls back to the primary and takes
+ * the replica out of rotation until the next successful check.
+ *
+ * Must sit behind a {@code LazyConnectionDataSourceProxy}: the transaction manager asks for a
+ * connection before the read-only flag of the new transaction is visible here.
+ */
+public final class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+  private static final Logger log = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+  enum Route { PRIMARY, REPLICA }
+
+  private final DataSource primary;
+  private final DataSource replica;
+  private final LongAdder primaryConnections = new LongAdder();
+  private final LongAdder replicaConnections = new LongAdder();
+  private final LongAdder fallbacks = new LongAdder();
+  private volatile boolean replicaAvailable = true;
+
+  public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+    this.primary = primary;
+    this.replica = replica;
+    setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+    setDefaultTargetDataSource(primary);
+    setLenientFallback(false);
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    return replicaAvailable && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+        ? Route.REPLICA
+        : Route.PRIMARY;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    if (determineCurrentLookupKey() == Route.REPLICA) {
+      try {
+        Connection connection = replica.getConnection();
+        replicaConnections.increment();
+        return connection;
+      } catch (SQLException ex) {
+        fallBack(ex);
+      }
+    }
+    primaryConnections.increment();
+    return primary.getConnection();
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    if (determineCurrentLookupKey() == Route.REPLICA) {
+      try {
+        Connection connection = replica.getConnection(username, password);
+        replicaConnections.increment();
+        return connection;
+      } catch (SQLException ex) {
+        fallBack(ex);
+      }
+    }
+    primaryConnections.increment();
+    return primary.getConnection(username, password);
+  }
+
+  private void fallBack(SQLException ex) {
+    fallbacks.increment();
+    if (replicaAvailable) {
+      log.warn("Read replica connection failed ({}); routing reads to the primary", ex.getMessage());
+      replicaAvailable = false;
+    }
+  }
+
+  DataSource replica() {
+    return replica;
+  }
+
+  boolean isReplicaAvailable() {
+    return replicaAvailable;
+  }
+
+  void setReplicaAvailable(boolean replicaAvailable) {
+    this.replicaAvailable = replicaAvailable;
+  }
+
+  long primaryConnections() {
+    return primaryConnections.sum();
+  }
+
+  long replicaConnections() {
+    return replicaConnections.sum();
+  }
+
+  long fallbacks() {
+    return fallbacks.sum();
+  }
+}
@@ -0,0 +1,87 @@
+package com.myqyl.aitradex.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.function.ToDoubleFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Measures replication lag on the read replica and takes it out of rotation while it is
+ * unreachable or more than {@code app.datasource.replica.max-lag} behind. A replica whose
+ * received WAL is fully replayed counts as caught up, so an idle primary does not look like lag.
+ */
+public final class ReplicaLagMonitor {
+
+  private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+  static final String LAG_QUERY = """
+      select case
+        when not pg_is_in_recovery() then 0
+        when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+        else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0)
+      end""";
+
+  private final ReadReplicaRoutingDataSource routingDataSource;
+  private final Duration maxLag;
+  private volatile double lagSeconds = Double.NaN;
+
+  public ReplicaLagMonitor(
+      ReadReplicaRoutingDataSource routingDataSource, ReadReplicaProperties properties,
+      MeterRegistry meterRegistry) {
+    this.routingDataSource = routingDataSource;
+    this.maxLag = properties.getMaxLag();
+    Gauge.builder("aitradex.datasource.replica.lag", this, monitor -> monitor.lagSeconds)
+        .description("Replication lag of the read replica in seconds; NaN while unreachable")
+        .baseUnit("seconds")
+        .register(meterRegistry);
+    Gauge.builder("aitradex.datasource.replica.available", routingDataSource,
+            ds -> ds.isReplicaAvailable() ? 1 : 0)
+        .description("1 while read-only transactions are routed to the replica")
+        .register(meterRegistry);
+    routedCounter(meterRegistry, "primary", ReadReplicaRoutingDataSource::primaryConnections);
+    routedCounter(meterRegistry, "replica", ReadReplicaRoutingDataSource::replicaConnections);
+    routedCounter(meterRegistry, "fallback", ReadReplicaRoutingDataSource::fallbacks);
+  }
+
+  @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:2000}")
+  public void check() {
+    boolean available;
+    try (Connection connection = routingDataSource.replica().getConnection();
+        Statement statement = connection.createStatement();
+        ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+      lagSeconds = rs.next() ? rs.getDouble(1) : 0;
+      available = lagSeconds * 1000 <= maxLag.toMillis();
+    } catch (SQLException ex) {
+      lagSeconds = Double.NaN;
+      available = false;
+      log.debug("Replica lag check failed: {}", ex.getMessage());
+    }
+    if (available != routingDataSource.isReplicaAvailable()) {
+      if (available) {
+        log.info("Read replica back in rotation (lag {}s)", lagSeconds);
+      } else {
+        log.warn("Read replica out of rotation (lag {}s, max {})", lagSeconds, maxLag);
+      }
+    }
+    routingDataSource.setReplicaAvailable(available);
+  }
+
+  double lagSeconds() {
+    return lagSeconds;
+  }
+
+  private void routedCounter(MeterRegistry meterRegistry, String target,
+      ToDoubleFunction<ReadReplicaRoutingDataSource> count) {
+    FunctionCounter.builder("aitradex.datasource.connections.routed", routingDataSource, count)
+        .description("Connections handed out by the routing data source, by target")
+        .tag("target", target)
+        .register(meterRegistry);
+  }
+}
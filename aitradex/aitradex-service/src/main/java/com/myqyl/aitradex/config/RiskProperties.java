@@ -0,0 +1,58 @@
+package com.myqyl.aitradex.config;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Pre-trade risk limits applied to every internal order. A null or zero limit is disabled.
+ */
+@ConfigurationProperties(prefix = "app.risk")
+public class RiskProperties {
+
+  private BigDecimal maxOrderNotional;
+  private BigDecimal maxPositionPct;
+  private BigDecimal maxDailyLoss;
+  private int maxOpenOrders;
+  private ZoneId tradingZone = ZoneId.of("America/New_York");
+
+  public BigDecimal getMaxOrderNotional() {
+    return maxOrderNotional;
+  }
+
+  public void setMaxOrderNotional(BigDecimal maxOrderNotional) {
+    this.maxOrderNotional = maxOrderNotional;
+  }
+
+  public BigDecimal getMaxPositionPct() {
+    return maxPositionPct;
+  }
+
+  public void setMaxPositionPct(BigDecimal maxPositionPct) {
+    this.maxPositionPct = maxPositionPct;
+  }
+
+  public BigDecimal getMaxDailyLoss() {
+    return maxDailyLoss;
+  }
+
+  public void setMaxDailyLoss(BigDecimal maxDailyLoss) {
+    this.maxDailyLoss = maxDailyLoss;
+  }
+
+  public int getMaxOpenOrders() {
+    return maxOpenOrders;
+  }
+
+  public void setMaxOpenOrders(int maxOpenOrders) {
+    this.maxOpenOrders = maxOpenOrders;
+  }
+
+  public ZoneId getTradingZone() {
+    return tradingZone;
+  }
+
+  public void setTradingZone(ZoneId tradingZone) {
+    this.tradingZone = tradingZone;
+  }
+}
@@ -0,0 +1,59 @@
+package com.myqyl.aitradex.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Coordination of {@code @Scheduled} work across service replicas. Each replica heartbeats a
+ * lease row in Postgres; live replicas split accounts between them on a consistent-hash ring.
+ * With {@code enabled=false} every replica processes every account (single-instance setups).
+ */
+@ConfigurationProperties(prefix = "app.scheduler.cluster")
+public class SchedulerClusterProperties {
+
+  private boolean enabled = true;
+  private String nodeId;
+  private long heartbeatMs = 5000;
+  private Duration leaseTtl = Duration.ofSeconds(20);
+  private int virtualNodes = 128;
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public String getNodeId() {
+    return nodeId;
+  }
+
+  public void setNodeId(String nodeId) {
+    this.nodeId = nodeId;
+  }
+
+  public long getHeartbeatMs() {
+    return heartbeatMs;
+  }
+
+  public void setHeartbeatMs(long heartbeatMs) {
+    this.heartbeatMs = heartbeatMs;
+  }
+
+  public Duration getLeaseTtl() {
+    return leaseTtl;
+  }
+
+  public void setLeaseTtl(Duration leaseTtl) {
+    this.leaseTtl = leaseTtl;
+  }
+
+  public int getVirtualNodes() {
+    return virtualNodes;
+  }
+
+  public void setVirtualNodes(int virtualNodes) {
+    this.virtualNodes = virtualNodes;
+  }
+}
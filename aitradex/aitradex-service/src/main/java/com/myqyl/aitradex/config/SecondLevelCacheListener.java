@@ -0,0 +1,31 @@
+package com.myqyl.aitradex.config;
+
+import com.myqyl.aitradex.service.SecondLevelCacheSync;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * JPA entity listener for second-level cached entities; reports each write to
+ * {@link SecondLevelCacheSync}. Hibernate creates it through Spring, and the sync bean is looked up
+ * lazily because it depends on the entity manager factory that creates this listener.
+ */
+public class SecondLevelCacheListener {
+
+  private final ObjectProvider<SecondLevelCacheSync> cacheSync;
+
+  public SecondLevelCacheListener(ObjectProvider<SecondLevelCacheSync> cacheSync) {
+    this.cacheSync = cacheSync;
+  }
+
+  @PostPersist
+  @PostUpdate
+  @PostRemove
+  public void changed(Object entity) {
+    SecondLevelCacheSync sync = cacheSync.getIfAvailable();
+    if (sync != null) {
+      sync.changed(entity);
+    }
+  }
+}
@@ -8,6 +8,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.UUID;
@@ -16,7 +17,6 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.hibernate.annotations.UuidGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -33,7 +33,7 @@ public class Account {
 
   @Id
   @GeneratedValue
-  @UuidGenerator
+  @UuidV7
   private UUID id;
 
   @ManyToOne(fetch = FetchType.LAZY)
@@ -46,6 +46,10 @@ public class Account {
   @Column(name = "cash_balance", precision = 19, scale = 4, nullable = false)
   private BigDecimal cashBalance;
 
+  @Version
+  @Column(nullable = false)
+  private Long version;
+
   @CreatedDate
   @Column(name = "created_at", nullable = false, updatable = false)
   private OffsetDateTime createdAt;
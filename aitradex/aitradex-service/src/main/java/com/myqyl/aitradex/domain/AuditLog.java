@@ -14,9 +14,6 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.hibernate.annotations.UuidGenerator;
-import org.springframework.data.annotation.CreatedDate;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 @Entity
 @Table(name = "audit_logs")
@@ -25,12 +22,11 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@jakarta.persistence.EntityListeners(AuditingEntityListener.class)
 public class AuditLog {
 
   @Id
   @GeneratedValue
-  @UuidGenerator
+  @UuidV7
   private UUID id;
 
   @Column(nullable = false, length = 64)
@@ -52,7 +48,7 @@ public class AuditLog {
   @Column(name = "after_state", columnDefinition = "jsonb")
   private String afterState;
 
-  @CreatedDate
+  /** Set when the entry is recorded, not when the write-behind batch reaches the database. */
   @Column(name = "occurred_at", nullable = false, updatable = false)
   private OffsetDateTime occurredAt;
 }
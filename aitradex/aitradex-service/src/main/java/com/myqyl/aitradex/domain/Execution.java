@@ -16,7 +16,6 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.hibernate.annotations.UuidGenerator;
 
 @Entity
 @Table(name = "executions")
@@ -29,7 +28,7 @@ public class Execution {
 
   @Id
   @GeneratedValue
-  @UuidGenerator
+  @UuidV7
   private UUID id;
 
   @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,6 @@
+package com.myqyl.aitradex.domain;
+
+public enum ImportKind {
+  PORTFOLIO,
+  TRADE_LOG
+}
@@ -18,7 +18,6 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.hibernate.annotations.UuidGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -35,7 +34,7 @@ public class Order {
 
   @Id
   @GeneratedValue
-  @UuidGenerator
+  @UuidV7
   private UUID id;
 
   @ManyToOne(fetch = FetchType.LAZY)
@@ -66,6 +65,13 @@ public class Order {
   @Column(nullable = false, precision = 19, scale = 8)
   private BigDecimal quantity;
 
+  @Builder.Default
+  @Column(name = "filled_quantity", nullable = false, precision = 19, scale = 8)
+  private BigDecimal filledQuantity = BigDecimal.ZERO;
+
+  @Column(name = "avg_fill_price", precision = 19, scale = 8)
+  private BigDecimal avgFillPrice;
+
   @Column(name = "routed_at")
   private OffsetDateTime routedAt;
 
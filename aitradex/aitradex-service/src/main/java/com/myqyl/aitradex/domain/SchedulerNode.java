@@ -0,0 +1,37 @@
+package com.myqyl.aitradex.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.OffsetDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Lease row for one service replica. Rows are written through the native upsert in
+ * {@link com.myqyl.aitradex.repository.SchedulerNodeRepository} so timestamps come from the
+ * database clock rather than each replica's.
+ */
+@Entity
+@Table(name = "scheduler_nodes")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulerNode {
+
+  @Id
+  @Column(name = "node_id", length = 128)
+  private String nodeId;
+
+  @Column(name = "started_at", nullable = false)
+  private OffsetDateTime startedAt;
+
+  @Column(name = "heartbeat_at", nullable = false)
+  private OffsetDateTime heartbeatAt;
+}
@@ -15,7 +15,8 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 @Entity
 @Table(name = "trade_logs")
@@ -28,7 +29,7 @@ public class TradeLog {
 
   @Id
   @GeneratedValue
-  @UuidGenerator
+  @UuidV7
   private UUID id;
 
   @ManyToOne(fetch = FetchType.LAZY)
@@ -42,8 +43,13 @@ public class TradeLog {
   private String reason;
 
   @Column(columnDefinition = "jsonb")
+  @JdbcTypeCode(SqlTypes.JSON)
   private String metadata;
 
   @Column(name = "occurred_at", nullable = false)
   private OffsetDateTime occurredAt;
+
+  /** Natural key of an imported entry, unique per account; null for entries logged directly. */
+  @Column(name = "external_ref", length = 128)
+  private String externalRef;
 }
@@ -17,7 +17,6 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.hibernate.annotations.UuidGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -33,7 +32,7 @@ public class Upload {
 
   @Id
   @GeneratedValue
-  @UuidGenerator
+  @UuidV7
   private UUID id;
 
   @ManyToOne(fetch = FetchType.LAZY)
@@ -54,6 +53,13 @@ public class Upload {
   @Column(name = "stored_path", length = 512)
   private String storedPath;
 
+  /** SHA-256 of the stored file, hex encoded; uploads with the same hash share one stored object. */
+  @Column(name = "content_hash", length = 64)
+  private String contentHash;
+
+  @Column(name = "size_bytes")
+  private Long sizeBytes;
+
   @Column(name = "parsed_row_count")
   private Integer parsedRowCount;
 
@@ -0,0 +1,96 @@
+package com.myqyl.aitradex.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+/**
+ * Import of a stored upload into the ledger. One row per upload; {@code lastCommittedRow} is the
+ * checkpoint an interrupted import resumes from.
+ */
+@Entity
+@Table(name = "upload_imports")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@jakarta.persistence.EntityListeners(AuditingEntityListener.class)
+public class UploadImport {
+
+  @Id
+  @GeneratedValue
+  @UuidV7
+  private UUID id;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "upload_id", nullable = false, unique = true)
+  private Upload upload;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "account_id", nullable = false)
+  private Account account;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 24)
+  private ImportKind kind;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 24)
+  private UploadStatus status;
+
+  @Column(name = "last_committed_row", nullable = false)
+  private int lastCommittedRow;
+
+  @Column(name = "rows_imported", nullable = false)
+  private int rowsImported;
+
+  @Column(name = "rows_skipped", nullable = false)
+  private int rowsSkipped;
+
+  @Column(name = "rows_rejected", nullable = false)
+  private int rowsRejected;
+
+  @Column(name = "chunks_committed", nullable = false)
+  private int chunksCommitted;
+
+  @Column(name = "last_chunk_rows")
+  private Integer lastChunkRows;
+
+  @Column(name = "last_chunk_millis")
+  private Long lastChunkMillis;
+
+  @Column(name = "error_report", columnDefinition = "jsonb")
+  private String errorReport;
+
+  @Column(name = "started_at")
+  private OffsetDateTime startedAt;
+
+  @Column(name = "completed_at")
+  private OffsetDateTime completedAt;
+
+  @CreatedDate
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private OffsetDateTime createdAt;
+
+  @LastModifiedDate
+  @Column(name = "updated_at")
+  private OffsetDateTime updatedAt;
+}
@@ -0,0 +1,55 @@
+package com.myqyl.aitradex.domain;
+
+import java.lang.reflect.Member;
+import java.security.SecureRandom;
+import java.util.UUID;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+/**
+ * Hibernate generator behind {@link UuidV7}.
+ *
+ * Layout: 48-bit Unix millisecond timestamp, version 7, a 12-bit counter, variant, and 62 random
+ * bits. The counter restarts at a random value each millisecond and increments for ids issued in
+ * the same millisecond, so ids from one JVM are strictly increasing; if it overflows, the
+ * timestamp is advanced by one millisecond rather than repeating.
+ */
+public class UuidV7Generator implements IdentifierGenerator {
+
+  private static final SecureRandom RANDOM = new SecureRandom();
+  private static final Object LOCK = new Object();
+  private static long lastMillis;
+  private static int counter;
+
+  public UuidV7Generator(UuidV7 config, Member idMember, CustomIdGeneratorCreationContext context) {
+  }
+
+  @Override
+  public Object generate(SharedSessionContractImplementor session, Object owner) {
+    return next();
+  }
+
+  public static UUID next() {
+    long millis;
+    int sequence;
+    synchronized (LOCK) {
+      millis = Math.max(System.currentTimeMillis(), lastMillis);
+      if (millis == lastMillis) {
+        counter++;
+        if (counter > 0xfff) {
+          millis++;
+          counter = RANDOM.nextInt(0x800);
+        }
+      } else {
+        // Start in the lower half so a burst has room to count up within the millisecond
+        counter = RANDOM.nextInt(0x800);
+      }
+      lastMillis = millis;
+      sequence = counter;
+    }
+    long msb = (millis << 16) | 0x7000L | sequence;
+    long lsb = (RANDOM.nextLong() & 0x3fffffffffffffffL) | 0x8000000000000000L;
+    return new UUID(msb, lsb);
+  }
+}
@@ -4,8 +4,13 @@ import com.myqyl.aitradex.etrade.exception.EtradeApiException;
 import com.myqyl.aitradex.etrade.oauth.EtradeOAuth1Template;
 import com.myqyl.aitradex.etrade.oauth.EtradeTokenService;
 import com.myqyl.aitradex.etrade.repository.EtradeAuditLogRepository;
+import com.myqyl.aitradex.profiling.EtradeCallEvent;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
@@ -14,7 +19,10 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
@@ -29,22 +37,27 @@ public class EtradeApiClient {
   private static final Logger log = LoggerFactory.getLogger(EtradeApiClient.class);
   private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
   private static final int MAX_RETRIES = 3;
+  /** Path segments whose next segment is free-form input (symbols, search text) rather than a resource. */
+  private static final Set<String> INPUT_PARENTS = Set.of("quote", "lookup");
 
   private final EtradeOAuth1Template oauthTemplate;
   private final EtradeTokenService tokenService;
   private final EtradeAuditLogRepository auditLogRepository;
   private final ObjectMapper objectMapper;
   private final HttpClient httpClient;
+  private final MeterRegistry meterRegistry;
 
   public EtradeApiClient(
       EtradeOAuth1Template oauthTemplate,
       EtradeTokenService tokenService,
       EtradeAuditLogRepository auditLogRepository,
-      ObjectMapper objectMapper) {
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry) {
     this.oauthTemplate = oauthTemplate;
     this.tokenService = tokenService;
     this.auditLogRepository = auditLogRepository;
     this.objectMapper = objectMapper;
+    this.meterRegistry = meterRegistry;
     this.httpClient = HttpClient.newBuilder()
         .connectTimeout(REQUEST_TIMEOUT)
         .build();
@@ -67,13 +80,22 @@ public class EtradeApiClient {
     return makeRequestWithoutOAuthWithRetry(method, url, queryParams, requestBody, 0);
   }
 
+  /**
+   * UUID-formatted id for log correlation. It does not need to be unguessable, so it avoids the
+   * contended SecureRandom behind {@link UUID#randomUUID()}.
+   */
+  static String newCorrelationId() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    return new UUID(random.nextLong(), random.nextLong()).toString();
+  }
+
   private String makeRequestWithoutOAuthWithRetry(String method, String url, Map<String, String> queryParams,
                                                   String requestBody, int retryCount) {
     Instant startTime = Instant.now();
     String action = method + " " + url;
     String auditRequestBody = requestBody;
     
-    String correlationId = UUID.randomUUID().toString();
+    String correlationId = newCorrelationId();
     MDC.put("correlationId", correlationId);
     MDC.put("accountId", "unauthenticated");
     
@@ -101,7 +123,7 @@ public class EtradeApiClient {
       }
 
       HttpRequest request = requestBuilder.build();
-      HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+      HttpResponse<String> response = send(method, url, request);
       
       long durationMs = Duration.between(startTime, Instant.now()).toMillis();
 
@@ -156,7 +178,7 @@ public class EtradeApiClient {
     String auditRequestBody = requestBody;
     
     // Generate correlation ID for request tracking
-    String correlationId = UUID.randomUUID().toString();
+    String correlationId = newCorrelationId();
     MDC.put("correlationId", correlationId);
     MDC.put("accountId", accountId != null ? accountId.toString() : "unknown");
     
@@ -197,7 +219,7 @@ public class EtradeApiClient {
       }
 
       HttpRequest request = requestBuilder.build();
-      HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+      HttpResponse<String> response = send(method, url, request);
       
       long durationMs = Duration.between(startTime, Instant.now()).toMillis();
 
@@ -245,6 +267,80 @@ public class EtradeApiClient {
     }
   }
 
+  /**
+   * Sends one attempt and records its latency under {@code aitradex.etrade.requests}, tagged by
+   * normalized endpoint and status, plus a separate counter for 429 responses.
+   */
+  private HttpResponse<String> send(String method, String url, HttpRequest request)
+      throws IOException, InterruptedException {
+    String endpoint = endpointOf(url);
+    EtradeCallEvent event = new EtradeCallEvent();
+    event.begin();
+    long start = System.nanoTime();
+    String status = "IO_ERROR";
+    try {
+      HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+      status = Integer.toString(response.statusCode());
+      if (response.statusCode() == 429) {
+        Counter.builder("aitradex.etrade.rate_limited")
+            .description("E*TRADE responses rejected with HTTP 429")
+            .tag("endpoint", endpoint)
+            .register(meterRegistry)
+            .increment();
+      }
+      return response;
+    } finally {
+      event.finish(method, endpoint, status);
+      Timer.builder("aitradex.etrade.requests")
+          .description("E*TRADE API round trips, one per attempt")
+          .tag("method", method)
+          .tag("endpoint", endpoint)
+          .tag("status", status)
+          .tag("outcome", outcomeOf(status))
+          .publishPercentileHistogram()
+          .register(meterRegistry)
+          .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private static String outcomeOf(String status) {
+    return switch (status.charAt(0)) {
+      case '2', '3' -> "SUCCESS";
+      case '4' -> "CLIENT_ERROR";
+      case '5' -> "SERVER_ERROR";
+      default -> "UNKNOWN";
+    };
+  }
+
+  /**
+   * Reduces a request URL to a low-cardinality endpoint tag: host and extension dropped, and
+   * account keys, order ids and symbol lists replaced by {@code {id}}.
+   */
+  static String endpointOf(String url) {
+    String path;
+    try {
+      path = URI.create(url).getPath();
+    } catch (IllegalArgumentException e) {
+      return "unparseable";
+    }
+    if (path == null || path.isEmpty()) {
+      return "/";
+    }
+    StringBuilder endpoint = new StringBuilder();
+    String previous = "";
+    for (String segment : path.split("/")) {
+      if (segment.isEmpty()) {
+        continue;
+      }
+      int dot = segment.lastIndexOf('.');
+      String name = dot > 0 ? segment.substring(0, dot) : segment;
+      boolean resource = !INPUT_PARENTS.contains(previous) && name.matches("[a-z][a-z0-9_]*");
+      endpoint.append('/').append(resource ? name : "{id}");
+      previous = name;
+    }
+    return endpoint.toString();
+  }
+
   /**
    * Extracts error code from E*TRADE API error response.
    */
@@ -0,0 +1,51 @@
+package com.myqyl.aitradex.etrade.client;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Minimal spacing rate limiter for outbound E*TRADE calls.
+ *
+ * Each permit reserves the next free slot, so callers are spaced at least one interval apart
+ * without a background refill thread. Thread-safe; waiting happens outside the lock.
+ */
+public class EtradeRateLimiter {
+
+  private final long intervalNanos;
+  private long nextFreeNanos;
+
+  public EtradeRateLimiter(Duration minInterval) {
+    this.intervalNanos = Math.max(0L, minInterval.toNanos());
+    this.nextFreeNanos = System.nanoTime();
+  }
+
+  /**
+   * Creates a limiter allowing at most {@code permitsPerSecond} calls per second.
+   */
+  public static EtradeRateLimiter perSecond(double permitsPerSecond) {
+    if (permitsPerSecond <= 0) {
+      return new EtradeRateLimiter(Duration.ZERO);
+    }
+    return new EtradeRateLimiter(Duration.ofNanos((long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond)));
+  }
+
+  /**
+   * Blocks until a permit is available.
+   */
+  public void acquire() throws InterruptedException {
+    long waitNanos = reserve();
+    if (waitNanos > 0) {
+      TimeUnit.NANOSECONDS.sleep(waitNanos);
+    }
+  }
+
+  /**
+   * Reserves the next slot and returns how long the caller must wait for it, in nanoseconds.
+   */
+  synchronized long reserve() {
+    long now = System.nanoTime();
+    long slot = Math.max(now, nextFreeNanos);
+    nextFreeNanos = slot + intervalNanos;
+    return slot - now;
+  }
+}
@@ -0,0 +1,43 @@
+package com.myqyl.aitradex.etrade.config;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * With {@code app.etrade.enabled=false}, marks the E*TRADE services, clients and controllers
+ * lazy so startup does not build them; they are only created if something actually calls them.
+ * E*TRADE repositories are covered by the deferred repository bootstrap mode.
+ */
+@Component
+public class EtradeLazyInitPostProcessor implements BeanFactoryPostProcessor, EnvironmentAware {
+
+  private static final String ETRADE_PACKAGE = "com.myqyl.aitradex.etrade.";
+  private static final String ETRADE_CONTROLLER_PREFIX = "com.myqyl.aitradex.api.controller.Etrade";
+
+  private Environment environment;
+
+  @Override
+  public void setEnvironment(Environment environment) {
+    this.environment = environment;
+  }
+
+  @Override
+  public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+    if (environment.getProperty("app.etrade.enabled", Boolean.class, false)) {
+      return;
+    }
+    for (String name : beanFactory.getBeanDefinitionNames()) {
+      BeanDefinition definition = beanFactory.getBeanDefinition(name);
+      String className = definition.getBeanClassName();
+      if (className != null && !className.equals(getClass().getName())
+          && (className.startsWith(ETRADE_PACKAGE) || className.startsWith(ETRADE_CONTROLLER_PREFIX))) {
+        definition.setLazyInit(true);
+      }
+    }
+  }
+}
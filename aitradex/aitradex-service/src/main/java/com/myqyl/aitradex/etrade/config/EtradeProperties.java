@@ -2,6 +2,7 @@ package com.myqyl.aitradex.etrade.config;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
@@ -37,6 +38,10 @@ public class EtradeProperties {
   @NotBlank
   private String encryptionKey;
 
+  private TransactionSync transactions = new TransactionSync();
+
+  private OrderTracking orders = new OrderTracking();
+
   public enum Environment {
     SANDBOX,
     PRODUCTION
@@ -112,6 +117,22 @@ public class EtradeProperties {
     this.encryptionKey = encryptionKey;
   }
 
+  public TransactionSync getTransactions() {
+    return transactions;
+  }
+
+  public void setTransactions(TransactionSync transactions) {
+    this.transactions = transactions;
+  }
+
+  public OrderTracking getOrders() {
+    return orders;
+  }
+
+  public void setOrders(OrderTracking orders) {
+    this.orders = orders;
+  }
+
   // API endpoints
   public String getOAuthRequestTokenUrl() {
     return baseUrl + "/oauth/request_token";
@@ -208,4 +229,107 @@ public class EtradeProperties {
   public String getAlertsDeleteUrl(String alertIdList) {
     return baseUrl + "/v1/user/alerts/" + alertIdList;
   }
+
+  /**
+   * Settings for the transaction history backfill and delta sync.
+   */
+  public static class TransactionSync {
+    private int pageSize = 50;
+    private int maxConcurrentAccounts = 4;
+    private double globalRequestsPerSecond = 4.0;
+    private Duration perAccountMinInterval = Duration.ofMillis(500);
+    private Duration deltaLookback = Duration.ofDays(3);
+
+    public int getPageSize() {
+      return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+      this.pageSize = pageSize;
+    }
+
+    public int getMaxConcurrentAccounts() {
+      return maxConcurrentAccounts;
+    }
+
+    public void setMaxConcurrentAccounts(int maxConcurrentAccounts) {
+      this.maxConcurrentAccounts = maxConcurrentAccounts;
+    }
+
+    public double getGlobalRequestsPerSecond() {
+      return globalRequestsPerSecond;
+    }
+
+    public void setGlobalRequestsPerSecond(double globalRequestsPerSecond) {
+      this.globalRequestsPerSecond = globalRequestsPerSecond;
+    }
+
+    public Duration getPerAccountMinInterval() {
+      return perAccountMinInterval;
+    }
+
+    public void setPerAccountMinInterval(Duration perAccountMinInterval) {
+      this.perAccountMinInterval = perAccountMinInterval;
+    }
+
+    public Duration getDeltaLookback() {
+      return deltaLookback;
+    }
+
+    public void setDeltaLookback(Duration deltaLookback) {
+      this.deltaLookback = deltaLookback;
+    }
+  }
+
+  /**
+   * Settings for open-order status polling. An account is polled every
+   * {@code youngestOpenOrderAge * pollAgeFactor}, clamped to [minPollInterval, maxPollInterval].
+   */
+  public static class OrderTracking {
+    private Duration minPollInterval = Duration.ofSeconds(2);
+    private Duration maxPollInterval = Duration.ofSeconds(60);
+    private double pollAgeFactor = 0.1;
+    private double requestsPerSecond = 2.0;
+    private Duration fillRefreshDebounce = Duration.ofSeconds(1);
+
+    public Duration getMinPollInterval() {
+      return minPollInterval;
+    }
+
+    public void setMinPollInterval(Duration minPollInterval) {
+      this.minPollInterval = minPollInterval;
+    }
+
+    public Duration getMaxPollInterval() {
+      return maxPollInterval;
+    }
+
+    public void setMaxPollInterval(Duration maxPollInterval) {
+      this.maxPollInterval = maxPollInterval;
+    }
+
+    public double getPollAgeFactor() {
+      return pollAgeFactor;
+    }
+
+    public void setPollAgeFactor(double pollAgeFactor) {
+      this.pollAgeFactor = pollAgeFactor;
+    }
+
+    public double getRequestsPerSecond() {
+      return requestsPerSecond;
+    }
+
+    public void setRequestsPerSecond(double requestsPerSecond) {
+      this.requestsPerSecond = requestsPerSecond;
+    }
+
+    public Duration getFillRefreshDebounce() {
+      return fillRefreshDebounce;
+    }
+
+    public void setFillRefreshDebounce(Duration fillRefreshDebounce) {
+      this.fillRefreshDebounce = fillRefreshDebounce;
+    }
+  }
 }
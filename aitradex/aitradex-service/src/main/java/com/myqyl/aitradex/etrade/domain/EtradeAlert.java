@@ -1,5 +1,6 @@
 package com.myqyl.aitradex.etrade.domain;
 
+import com.myqyl.aitradex.domain.UuidV7;
 import jakarta.persistence.*;
 import java.time.OffsetDateTime;
 import java.util.UUID;
@@ -21,7 +22,8 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 public class EtradeAlert {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.AUTO)
+  @GeneratedValue
+  @UuidV7
   private UUID id;
 
   @Column(name = "account_id", nullable = false)
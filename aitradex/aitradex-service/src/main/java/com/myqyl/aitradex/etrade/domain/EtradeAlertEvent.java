@@ -1,5 +1,6 @@
 package com.myqyl.aitradex.etrade.domain;
 
+import com.myqyl.aitradex.domain.UuidV7;
 import jakarta.persistence.*;
 import java.time.OffsetDateTime;
 import java.util.UUID;
@@ -20,7 +21,8 @@ import org.hibernate.type.SqlTypes;
 public class EtradeAlertEvent {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.AUTO)
+  @GeneratedValue
+  @UuidV7
   private UUID id;
 
   @Column(name = "alert_id", nullable = false)
@@ -1,5 +1,6 @@
 package com.myqyl.aitradex.etrade.domain;
 
+import com.myqyl.aitradex.domain.UuidV7;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
@@ -19,7 +20,8 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 public class EtradeBalance {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.AUTO)
+  @GeneratedValue
+  @UuidV7
   private UUID id;
 
   @Column(name = "account_id", nullable = false)
@@ -1,8 +1,12 @@
 package com.myqyl.aitradex.etrade.domain;
 
+import com.myqyl.aitradex.config.SecondLevelCacheListener;
+import com.myqyl.aitradex.domain.UuidV7;
 import jakarta.persistence.*;
 import java.time.OffsetDateTime;
 import java.util.UUID;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -17,11 +21,14 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 @Table(name = "etrade_lookup_product", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"symbol", "product_type"})
 })
-@EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@EntityListeners({AuditingEntityListener.class, SecondLevelCacheListener.class})
 public class EtradeLookupProduct {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.AUTO)
+  @GeneratedValue
+  @UuidV7
   private UUID id;
 
   @Column(name = "symbol", nullable = false)
@@ -1,9 +1,13 @@
 package com.myqyl.aitradex.etrade.domain;
 
+import com.myqyl.aitradex.domain.UuidV7;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.UUID;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -12,6 +16,9 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
  * 
  * Represents a snapshot of option chains for a symbol and expiration date.
  * Append-only snapshot per (symbol, expiry, requestTime).
+ *
+ * The chain itself is stored column-wise: one float8[] per field, sorted by strike, where index i
+ * of every array describes the same strike. Missing values are stored as NULL elements.
  */
 @Entity
 @Table(name = "etrade_option_chain_snapshot")
@@ -19,7 +26,8 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 public class EtradeOptionChainSnapshot {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.AUTO)
+  @GeneratedValue
+  @UuidV7
   private UUID id;
 
   @Column(name = "symbol", nullable = false)
@@ -56,6 +64,89 @@ public class EtradeOptionChainSnapshot {
   @org.hibernate.annotations.ColumnTransformer(write = "?::jsonb")
   private String rawResponse;
 
+  @Column(name = "expiry_date")
+  private LocalDate expiryDate;
+
+  @Column(name = "strike_count")
+  private Integer strikeCount;
+
+  // Columnar chain (index-aligned with strikes)
+  @JdbcTypeCode(SqlTypes.ARRAY)
+  @Column(name = "strikes", columnDefinition = "float8[]")
+  private Double[] strikes;
+
+  @JdbcTypeCode(SqlTypes.ARRAY)
+  @Column(name = "call_bid", columnDefinition = "float8[]")
+  private Double[] callBid;
+
+  @JdbcTypeCode(SqlTypes.ARRAY)
+  @Column(name = "call_ask", columnDefinition = "float8[]")
+  private Double[] callAsk;
+
+  @JdbcTypeCode(SqlTypes.ARRAY)
+  @Column(name = "call_last", columnDefinition = "float8[]")
+  private Double[] callLast;
+
+  @JdbcTypeCode(SqlTypes.ARRAY)
+  @Column(name = "call_iv", columnDefinition = "float8[]")
+  private Double[] callIv;
+
+  @JdbcTypeCode(SqlTypes.ARRAY)
+  @Column(name = "call_delta", columnDefinition = "float8[]")
+  private Double[] callDelta;
+
+  @JdbcTypeCode(SqlTypes.ARRAY)
+  @Column(name = "call_gamma", columnDefinition = "float8[]")
+  private Double[] callGamma;
+
+  @JdbcTypeCode(SqlTypes.ARRAY)
+  @Column(name = "call_theta", columnDefinition = "float8[]")
+  private Double[] callTheta;
+
+  @JdbcTypeCode(SqlTypes.ARRAY)
+  @Column(name = "call_vega", columnDefinition = "float8[]")
+  private Double[] callVega;
+
+  @JdbcTypeCode(SqlTypes.ARRAY)
+  @Column(name = "call_open_interest", columnDefinition = "float8[]")
+  private Double[] callOpenInterest;
+
+  @JdbcTypeCode(SqlTypes.ARRAY)
+  @Column(name = "put_bid", columnDefinition = "float8[]")
+  private Double[] putBid;
+
+  @JdbcTypeCode(SqlTypes.ARRAY)
+  @Column(name = "put_ask", columnDefinition = "float8[]")
+  private Double[] putAsk;
+
+  @JdbcTypeCode(SqlTypes.ARRAY)
+  @Column(name = "put_last", columnDefinition = "float8[]")
+  private Double[] putLast;
+
+  @JdbcTypeCode(SqlTypes.ARRAY)
+  @Column(name = "put_iv", columnDefinition = "float8[]")
+  private Double[] putIv;
+
+  @JdbcTypeCode(SqlTypes.ARRAY)
+  @Column(name = "put_delta", columnDefinition = "float8[]")
+  private Double[] putDelta;
+
+  @JdbcTypeCode(SqlTypes.ARRAY)
+  @Column(name = "put_gamma", columnDefinition = "float8[]")
+  private Double[] putGamma;
+
+  @JdbcTypeCode(SqlTypes.ARRAY)
+  @Column(name = "put_theta", columnDefinition = "float8[]")
+  private Double[] putTheta;
+
+  @JdbcTypeCode(SqlTypes.ARRAY)
+  @Column(name = "put_vega", columnDefinition = "float8[]")
+  private Double[] putVega;
+
+  @JdbcTypeCode(SqlTypes.ARRAY)
+  @Column(name = "put_open_interest", columnDefinition = "float8[]")
+  private Double[] putOpenInterest;
+
   @CreatedDate
   @Column(name = "created_at", nullable = false)
   private OffsetDateTime createdAt;
@@ -168,4 +259,172 @@ public class EtradeOptionChainSnapshot {
   public void setCreatedAt(OffsetDateTime createdAt) {
     this.createdAt = createdAt;
   }
+
+  public LocalDate getExpiryDate() {
+    return expiryDate;
+  }
+
+  public void setExpiryDate(LocalDate expiryDate) {
+    this.expiryDate = expiryDate;
+  }
+
+  public Integer getStrikeCount() {
+    return strikeCount;
+  }
+
+  public void setStrikeCount(Integer strikeCount) {
+    this.strikeCount = strikeCount;
+  }
+
+  public Double[] getStrikes() {
+    return strikes;
+  }
+
+  public void setStrikes(Double[] strikes) {
+    this.strikes = strikes;
+  }
+
+  public Double[] getCallBid() {
+    return callBid;
+  }
+
+  public void setCallBid(Double[] callBid) {
+    this.callBid = callBid;
+  }
+
+  public Double[] getCallAsk() {
+    return callAsk;
+  }
+
+  public void setCallAsk(Double[] callAsk) {
+    this.callAsk = callAsk;
+  }
+
+  public Double[] getCallLast() {
+    return callLast;
+  }
+
+  public void setCallLast(Double[] callLast) {
+    this.callLast = callLast;
+  }
+
+  public Double[] getCallIv() {
+    return callIv;
+  }
+
+  public void setCallIv(Double[] callIv) {
+    this.callIv = callIv;
+  }
+
+  public Double[] getCallDelta() {
+    return callDelta;
+  }
+
+  public void setCallDelta(Double[] callDelta) {
+    this.callDelta = callDelta;
+  }
+
+  public Double[] getCallGamma() {
+    return callGamma;
+  }
+
+  public void setCallGamma(Double[] callGamma) {
+    this.callGamma = callGamma;
+  }
+
+  public Double[] getCallTheta() {
+    return callTheta;
+  }
+
+  public void setCallTheta(Double[] callTheta) {
+    this.callTheta = callTheta;
+  }
+
+  public Double[] getCallVega() {
+    return callVega;
+  }
+
+  public void setCallVega(Double[] callVega) {
+    this.callVega = callVega;
+  }
+
+  public Double[] getCallOpenInterest() {
+    return callOpenInterest;
+  }
+
+  public void setCallOpenInterest(Double[] callOpenInterest) {
+    this.callOpenInterest = callOpenInterest;
+  }
+
+  public Double[] getPutBid() {
+    return putBid;
+  }
+
+  public void setPutBid(Double[] putBid) {
+    this.putBid = putBid;
+  }
+
+  public Double[] getPutAsk() {
+    return putAsk;
+  }
+
+  public void setPutAsk(Double[] putAsk) {
+    this.putAsk = putAsk;
+  }
+
+  public Double[] getPutLast() {
+    return putLast;
+  }
+
+  public void setPutLast(Double[] putLast) {
+    this.putLast = putLast;
+  }
+
+  public Double[] getPutIv() {
+    return putIv;
+  }
+
+  public void setPutIv(Double[] putIv) {
+    this.putIv = putIv;
+  }
+
+  public Double[] getPutDelta() {
+    return putDelta;
+  }
+
+  public void setPutDelta(Double[] putDelta) {
+    this.putDelta = putDelta;
+  }
+
+  public Double[] getPutGamma() {
+    return putGamma;
+  }
+
+  public void setPutGamma(Double[] putGamma) {
+    this.putGamma = putGamma;
+  }
+
+  public Double[] getPutTheta() {
+    return putTheta;
+  }
+
+  public void setPutTheta(Double[] putTheta) {
+    this.putTheta = putTheta;
+  }
+
+  public Double[] getPutVega() {
+    return putVega;
+  }
+
+  public void setPutVega(Double[] putVega) {
+    this.putVega = putVega;
+  }
+
+  public Double[] getPutOpenInterest() {
+    return putOpenInterest;
+  }
+
+  public void setPutOpenInterest(Double[] putOpenInterest) {
+    this.putOpenInterest = putOpenInterest;
+  }
 }
@@ -1,8 +1,10 @@
 package com.myqyl.aitradex.etrade.domain;
 
+import com.myqyl.aitradex.domain.UuidV7;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.util.Set;
 import java.util.UUID;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
@@ -13,8 +15,22 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 @EntityListeners(AuditingEntityListener.class)
 public class EtradeOrder {
 
+  /** Local status right after placement, before E*TRADE reports one. */
+  public static final String STATUS_SUBMITTED = "SUBMITTED";
+
+  /** Statuses that can still change on E*TRADE's side and are polled by the order tracker. */
+  public static final Set<String> OPEN_STATUSES =
+      Set.of(STATUS_SUBMITTED, "OPEN", "PARTIAL", "INDIVIDUAL_FILLS", "CANCEL_REQUESTED");
+
+  /** Statuses that mean some or all of the order quantity executed. */
+  public static final Set<String> FILL_STATUSES = Set.of("EXECUTED", "PARTIAL", "INDIVIDUAL_FILLS");
+
+  /** Statuses that end the order without (further) executions. */
+  public static final Set<String> CANCELLED_STATUSES = Set.of("CANCELLED", "EXPIRED", "REJECTED");
+
   @Id
-  @GeneratedValue(strategy = GenerationType.AUTO)
+  @GeneratedValue
+  @UuidV7
   private UUID id;
 
   @Column(name = "account_id", nullable = false)
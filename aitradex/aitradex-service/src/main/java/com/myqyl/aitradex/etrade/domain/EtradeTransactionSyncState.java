@@ -0,0 +1,117 @@
+package com.myqyl.aitradex.etrade.domain;
+
+import com.myqyl.aitradex.domain.UuidV7;
+import jakarta.persistence.*;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+/**
+ * E*TRADE transaction history sync checkpoint.
+ *
+ * One row per account. Tracks the last marker committed by the history backfill so it can
+ * resume after a restart, and the newest transaction date seen so delta syncs only request
+ * recent pages.
+ */
+@Entity
+@Table(name = "etrade_transaction_sync_state", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"account_id"}, name = "uk_etrade_transaction_sync_state_account")
+})
+@EntityListeners(AuditingEntityListener.class)
+public class EtradeTransactionSyncState {
+
+  public static final String STATUS_PENDING = "PENDING";
+  public static final String STATUS_BACKFILLING = "BACKFILLING";
+  public static final String STATUS_BACKFILLED = "BACKFILLED";
+  public static final String STATUS_FAILED = "FAILED";
+
+  @Id
+  @GeneratedValue
+  @UuidV7
+  private UUID id;
+
+  @Column(name = "account_id", nullable = false)
+  private UUID accountId;
+
+  @Column(name = "status", nullable = false, length = 20)
+  private String status;
+
+  @Column(name = "backfill_marker")
+  private String backfillMarker; // Marker of the next page to fetch; null before the first page
+
+  @Column(name = "backfill_started_at")
+  private OffsetDateTime backfillStartedAt;
+
+  @Column(name = "backfill_completed_at")
+  private OffsetDateTime backfillCompletedAt;
+
+  @Column(name = "pages_fetched", nullable = false)
+  private long pagesFetched;
+
+  @Column(name = "transactions_synced", nullable = false)
+  private long transactionsSynced;
+
+  @Column(name = "newest_transaction_date")
+  private Long newestTransactionDate; // Epoch milliseconds
+
+  @Column(name = "last_delta_sync_at")
+  private OffsetDateTime lastDeltaSyncAt;
+
+  @Column(name = "last_error", columnDefinition = "text")
+  private String lastError;
+
+  @CreatedDate
+  @Column(name = "created_at", nullable = false)
+  private OffsetDateTime createdAt;
+
+  @LastModifiedDate
+  @Column(name = "updated_at", nullable = false)
+  private OffsetDateTime updatedAt;
+
+  // Constructors
+  public EtradeTransactionSyncState() {
+    this.status = STATUS_PENDING;
+  }
+
+  // Getters and Setters
+  public UUID getId() { return id; }
+  public void setId(UUID id) { this.id = id; }
+
+  public UUID getAccountId() { return accountId; }
+  public void setAccountId(UUID accountId) { this.accountId = accountId; }
+
+  public String getStatus() { return status; }
+  public void setStatus(String status) { this.status = status; }
+
+  public String getBackfillMarker() { return backfillMarker; }
+  public void setBackfillMarker(String backfillMarker) { this.backfillMarker = backfillMarker; }
+
+  public OffsetDateTime getBackfillStartedAt() { return backfillStartedAt; }
+  public void setBackfillStartedAt(OffsetDateTime backfillStartedAt) { this.backfillStartedAt = backfillStartedAt; }
+
+  public OffsetDateTime getBackfillCompletedAt() { return backfillCompletedAt; }
+  public void setBackfillCompletedAt(OffsetDateTime backfillCompletedAt) { this.backfillCompletedAt = backfillCompletedAt; }
+
+  public long getPagesFetched() { return pagesFetched; }
+  public void setPagesFetched(long pagesFetched) { this.pagesFetched = pagesFetched; }
+
+  public long getTransactionsSynced() { return transactionsSynced; }
+  public void setTransactionsSynced(long transactionsSynced) { this.transactionsSynced = transactionsSynced; }
+
+  public Long getNewestTransactionDate() { return newestTransactionDate; }
+  public void setNewestTransactionDate(Long newestTransactionDate) { this.newestTransactionDate = newestTransactionDate; }
+
+  public OffsetDateTime getLastDeltaSyncAt() { return lastDeltaSyncAt; }
+  public void setLastDeltaSyncAt(OffsetDateTime lastDeltaSyncAt) { this.lastDeltaSyncAt = lastDeltaSyncAt; }
+
+  public String getLastError() { return lastError; }
+  public void setLastError(String lastError) { this.lastError = lastError; }
+
+  public OffsetDateTime getCreatedAt() { return createdAt; }
+  public void setCreatedAt(OffsetDateTime createdAt) { this.createdAt = createdAt; }
+
+  public OffsetDateTime getUpdatedAt() { return updatedAt; }
+  public void setUpdatedAt(OffsetDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
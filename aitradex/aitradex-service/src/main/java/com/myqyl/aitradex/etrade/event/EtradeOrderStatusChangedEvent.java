@@ -0,0 +1,24 @@
+package com.myqyl.aitradex.etrade.event;
+
+import com.myqyl.aitradex.etrade.domain.EtradeOrder;
+import java.util.UUID;
+
+/**
+ * Published when a synced E*TRADE order changes status.
+ */
+public record EtradeOrderStatusChangedEvent(
+    UUID accountId,
+    String accountIdKey,
+    UUID orderId,
+    String etradeOrderId,
+    String symbol,
+    String previousStatus,
+    String newStatus) {
+
+  /**
+   * True when the new status reports executed quantity.
+   */
+  public boolean isFill() {
+    return newStatus != null && EtradeOrder.FILL_STATUSES.contains(newStatus);
+  }
+}
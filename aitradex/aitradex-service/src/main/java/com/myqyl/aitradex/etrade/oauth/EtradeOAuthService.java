@@ -32,16 +32,19 @@ public class EtradeOAuthService {
   private final EtradeApiClientAuthorizationAPI authorizationApi;
   private final EtradeTokenEncryption tokenEncryption;
   private final EtradeOAuthTokenRepository tokenRepository;
+  private final EtradeTokenService tokenService;
 
   public EtradeOAuthService(
       EtradeProperties properties,
       EtradeApiClientAuthorizationAPI authorizationApi,
       EtradeTokenEncryption tokenEncryption,
-      EtradeOAuthTokenRepository tokenRepository) {
+      EtradeOAuthTokenRepository tokenRepository,
+      EtradeTokenService tokenService) {
     this.properties = properties;
     this.authorizationApi = authorizationApi;
     this.tokenEncryption = tokenEncryption;
     this.tokenRepository = tokenRepository;
+    this.tokenService = tokenService;
   }
 
   /**
@@ -312,6 +315,9 @@ public class EtradeOAuthService {
       authAttempt.setExpiresAt(expiresAt);
 
       tokenRepository.save(authAttempt);
+      if (accountId != null) {
+        tokenService.invalidate(accountId);
+      }
       log.info("Access token stored for account {} (correlationId: {})", accountId, 
                authAttempt.getCorrelationId());
 
@@ -409,6 +415,7 @@ public class EtradeOAuthService {
       
       // Delete token from database after successful revocation
       tokenRepository.deleteByAccountId(accountId);
+      tokenService.invalidate(accountId);
       log.info("Access token revoked and deleted for account {}", accountId);
       
       return response;
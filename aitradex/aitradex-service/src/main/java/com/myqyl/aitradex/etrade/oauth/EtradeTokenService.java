@@ -2,15 +2,25 @@ package com.myqyl.aitradex.etrade.oauth;
 
 import com.myqyl.aitradex.etrade.domain.EtradeOAuthToken;
 import com.myqyl.aitradex.etrade.repository.EtradeOAuthTokenRepository;
+import com.myqyl.aitradex.event.ClusterEventsResyncEvent;
+import com.myqyl.aitradex.event.TokenInvalidatedEvent;
+import com.myqyl.aitradex.service.ClusterEventBus;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Service for managing OAuth token storage and retrieval.
+ * Decrypted tokens are cached per account, since every signed E*TRADE call needs one; any write
+ * evicts the entry here and, through the {@link ClusterEventBus}, on the other replicas.
  */
 @Service
 public class EtradeTokenService {
@@ -19,12 +29,16 @@ public class EtradeTokenService {
 
   private final EtradeOAuthTokenRepository tokenRepository;
   private final EtradeTokenEncryption tokenEncryption;
+  private final ClusterEventBus eventBus;
+  private final Map<UUID, AccessTokenPair> cache = new ConcurrentHashMap<>();
 
   public EtradeTokenService(
       EtradeOAuthTokenRepository tokenRepository,
-      EtradeTokenEncryption tokenEncryption) {
+      EtradeTokenEncryption tokenEncryption,
+      ClusterEventBus eventBus) {
     this.tokenRepository = tokenRepository;
     this.tokenEncryption = tokenEncryption;
+    this.eventBus = eventBus;
   }
 
   /**
@@ -46,6 +60,7 @@ public class EtradeTokenService {
     token.setAccessTokenSecretEncrypted(tokenEncryption.encrypt(accessTokenSecret));
     
     tokenRepository.save(token);
+    invalidate(accountId);
     log.info("Access token stored for account {}", accountId);
   }
 
@@ -53,10 +68,16 @@ public class EtradeTokenService {
    * Gets access token pair for an account (decrypted).
    */
   public Optional<AccessTokenPair> getAccessToken(UUID accountId) {
-    return tokenRepository.findByAccountId(accountId)
+    AccessTokenPair cached = cache.get(accountId);
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+    Optional<AccessTokenPair> loaded = tokenRepository.findByAccountId(accountId)
         .map(token -> new AccessTokenPair(
             tokenEncryption.decrypt(token.getAccessTokenEncrypted()),
             tokenEncryption.decrypt(token.getAccessTokenSecretEncrypted())));
+    loaded.ifPresent(pair -> cache.put(accountId, pair));
+    return loaded;
   }
 
   /**
@@ -65,9 +86,38 @@ public class EtradeTokenService {
   @Transactional
   public void deleteAccessToken(UUID accountId) {
     tokenRepository.deleteByAccountId(accountId);
+    invalidate(accountId);
     log.info("Access token deleted for account {}", accountId);
   }
 
+  /**
+   * Evicts the cached token for an account whose token row was written, here and on the other
+   * replicas. Inside a transaction the local entry is evicted again once it completes, so a read
+   * racing the write cannot re-cache the old token.
+   */
+  public void invalidate(UUID accountId) {
+    cache.remove(accountId);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          cache.remove(accountId);
+        }
+      });
+    }
+    eventBus.publish(new TokenInvalidatedEvent(accountId));
+  }
+
+  @EventListener
+  public void onTokenInvalidated(TokenInvalidatedEvent event) {
+    cache.remove(event.accountId());
+  }
+
+  @EventListener
+  public void onResync(ClusterEventsResyncEvent event) {
+    cache.clear();
+  }
+
   /**
    * Checks if account has valid access token.
    */
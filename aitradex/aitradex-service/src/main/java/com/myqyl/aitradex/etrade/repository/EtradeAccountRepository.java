@@ -1,8 +1,12 @@
 package com.myqyl.aitradex.etrade.repository;
 
 import com.myqyl.aitradex.etrade.domain.EtradeAccount;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -10,9 +14,17 @@ import java.util.UUID;
 @Repository
 public interface EtradeAccountRepository extends JpaRepository<EtradeAccount, UUID> {
   
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+      @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query.EtradeAccount")})
   List<EtradeAccount> findByUserId(UUID userId);
   
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+      @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query.EtradeAccount")})
   Optional<EtradeAccount> findByAccountIdKey(String accountIdKey);
+
+  List<EtradeAccount> findByAccountIdKeyIn(Collection<String> accountIdKeys);
   
   boolean existsByAccountIdKey(String accountIdKey);
 }
@@ -1,6 +1,7 @@
 package com.myqyl.aitradex.etrade.repository;
 
 import com.myqyl.aitradex.etrade.domain.EtradeAlert;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,6 +19,11 @@ public interface EtradeAlertRepository extends JpaRepository<EtradeAlert, UUID>
    */
   Optional<EtradeAlert> findByAccountIdAndAlertId(UUID accountId, Long alertId);
 
+  /**
+   * Find all alerts for an account matching any of the given E*TRADE alert IDs (bulk upsert lookup).
+   */
+  List<EtradeAlert> findByAccountIdAndAlertIdIn(UUID accountId, Collection<Long> alertIds);
+
   /**
    * Find all alerts for an account.
    */
@@ -1,15 +1,23 @@
 package com.myqyl.aitradex.etrade.repository;
 
 import com.myqyl.aitradex.etrade.domain.EtradeLookupProduct;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface EtradeLookupProductRepository extends JpaRepository<EtradeLookupProduct, UUID> {
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+      @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query.EtradeLookupProduct")})
   Optional<EtradeLookupProduct> findBySymbolAndProductType(String symbol, String productType);
   List<EtradeLookupProduct> findBySymbol(String symbol);
+  List<EtradeLookupProduct> findBySymbolIn(Collection<String> symbols);
   List<EtradeLookupProduct> findBySymbolOrderByLastSeenAtDesc(String symbol);
 }
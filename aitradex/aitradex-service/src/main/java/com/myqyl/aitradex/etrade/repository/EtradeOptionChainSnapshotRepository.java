@@ -1,9 +1,15 @@
 package com.myqyl.aitradex.etrade.repository;
 
 import com.myqyl.aitradex.etrade.domain.EtradeOptionChainSnapshot;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -11,4 +17,58 @@ public interface EtradeOptionChainSnapshotRepository extends JpaRepository<Etrad
   List<EtradeOptionChainSnapshot> findBySymbolOrderByRequestTimeDesc(String symbol);
   List<EtradeOptionChainSnapshot> findBySymbolAndExpiryYearAndExpiryMonthAndExpiryDayOrderByRequestTimeDesc(
       String symbol, Integer expiryYear, Integer expiryMonth, Integer expiryDay);
+
+  /**
+   * Unnests the columnar chains of matching snapshots into one row per strike, filtering on strike
+   * and (call or put) delta without materializing snapshot entities.
+   */
+  @Query(value = """
+      SELECT s.request_time AS requestTime, s.expiry_date AS expiryDate, s.near_price AS nearPrice,
+             c.strike AS strike,
+             c.call_bid AS callBid, c.call_ask AS callAsk, c.call_iv AS callIv, c.call_delta AS callDelta,
+             c.put_bid AS putBid, c.put_ask AS putAsk, c.put_iv AS putIv, c.put_delta AS putDelta
+      FROM etrade_option_chain_snapshot s
+      CROSS JOIN LATERAL unnest(s.strikes, s.call_bid, s.call_ask, s.call_iv, s.call_delta,
+                                s.put_bid, s.put_ask, s.put_iv, s.put_delta)
+          AS c(strike, call_bid, call_ask, call_iv, call_delta, put_bid, put_ask, put_iv, put_delta)
+      WHERE s.symbol = :symbol
+        AND s.expiry_date BETWEEN :expiryFrom AND :expiryTo
+        AND s.request_time BETWEEN :from AND :to
+        AND c.strike BETWEEN :minStrike AND :maxStrike
+        AND (:anyDelta = true
+             OR c.call_delta BETWEEN :minDelta AND :maxDelta
+             OR c.put_delta BETWEEN :minDelta AND :maxDelta)
+      ORDER BY s.request_time, s.expiry_date, c.strike
+      LIMIT :limit
+      """, nativeQuery = true)
+  List<OptionSurfaceRow> findSurface(
+      @Param("symbol") String symbol,
+      @Param("expiryFrom") LocalDate expiryFrom,
+      @Param("expiryTo") LocalDate expiryTo,
+      @Param("from") OffsetDateTime from,
+      @Param("to") OffsetDateTime to,
+      @Param("minStrike") double minStrike,
+      @Param("maxStrike") double maxStrike,
+      @Param("anyDelta") boolean anyDelta,
+      @Param("minDelta") double minDelta,
+      @Param("maxDelta") double maxDelta,
+      @Param("limit") int limit);
+
+  /**
+   * One strike of one snapshot, as returned by {@link #findSurface}.
+   */
+  interface OptionSurfaceRow {
+    Instant getRequestTime();
+    LocalDate getExpiryDate();
+    BigDecimal getNearPrice();
+    Double getStrike();
+    Double getCallBid();
+    Double getCallAsk();
+    Double getCallIv();
+    Double getCallDelta();
+    Double getPutBid();
+    Double getPutAsk();
+    Double getPutIv();
+    Double getPutDelta();
+  }
 }
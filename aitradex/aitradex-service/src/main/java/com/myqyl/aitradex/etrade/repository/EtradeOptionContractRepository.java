@@ -1,6 +1,7 @@
 package com.myqyl.aitradex.etrade.repository;
 
 import com.myqyl.aitradex.etrade.domain.EtradeOptionContract;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface EtradeOptionContractRepository extends JpaRepository<EtradeOptionContract, UUID> {
   Optional<EtradeOptionContract> findByOptionSymbol(String optionSymbol);
+  List<EtradeOptionContract> findByOptionSymbolIn(Collection<String> optionSymbols);
   Optional<EtradeOptionContract> findByOsiKey(String osiKey);
   List<EtradeOptionContract> findByUnderlyingSymbol(String underlyingSymbol);
   List<EtradeOptionContract> findByUnderlyingSymbolAndExpiryYearAndExpiryMonthAndExpiryDay(
@@ -5,6 +5,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,6 +21,10 @@ public interface EtradeOrderRepository extends JpaRepository<EtradeOrder, UUID>
   
   Optional<EtradeOrder> findByEtradeOrderIdAndAccountIdKey(String etradeOrderId, String accountIdKey);
   
+  List<EtradeOrder> findByAccountIdKeyAndEtradeOrderIdIn(String accountIdKey, Collection<String> etradeOrderIds);
+  
+  List<EtradeOrder> findByOrderStatusInAndEtradeOrderIdIsNotNull(Collection<String> orderStatuses);
+  
   Optional<EtradeOrder> findByPreviewId(String previewId);
   
   List<EtradeOrder> findByAccountIdAndOrderStatus(UUID accountId, String orderStatus);
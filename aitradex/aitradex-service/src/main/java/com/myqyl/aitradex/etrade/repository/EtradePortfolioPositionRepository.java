@@ -1,6 +1,7 @@
 package com.myqyl.aitradex.etrade.repository;
 
 import com.myqyl.aitradex.etrade.domain.EtradePortfolioPosition;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,6 +19,11 @@ public interface EtradePortfolioPositionRepository extends JpaRepository<EtradeP
    */
   Optional<EtradePortfolioPosition> findByAccountIdAndPositionId(UUID accountId, Long positionId);
 
+  /**
+   * Finds all positions for an account matching any of the given position IDs (bulk upsert lookup).
+   */
+  List<EtradePortfolioPosition> findByAccountIdAndPositionIdIn(UUID accountId, Collection<Long> positionIds);
+
   /**
    * Finds all positions for an account, ordered by snapshot time descending (most recent first).
    */
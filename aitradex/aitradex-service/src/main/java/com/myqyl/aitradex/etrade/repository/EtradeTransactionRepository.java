@@ -1,6 +1,7 @@
 package com.myqyl.aitradex.etrade.repository;
 
 import com.myqyl.aitradex.etrade.domain.EtradeTransaction;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,6 +19,11 @@ public interface EtradeTransactionRepository extends JpaRepository<EtradeTransac
    */
   Optional<EtradeTransaction> findByTransactionId(String transactionId);
 
+  /**
+   * Finds all transactions matching any of the given transaction IDs (bulk upsert lookup).
+   */
+  List<EtradeTransaction> findByTransactionIdIn(Collection<String> transactionIds);
+
   /**
    * Finds all transactions for an account, ordered by transaction date descending (most recent first).
    */
@@ -0,0 +1,26 @@
+package com.myqyl.aitradex.etrade.repository;
+
+import com.myqyl.aitradex.etrade.domain.EtradeTransactionSyncState;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for E*TRADE transaction sync checkpoints.
+ */
+@Repository
+public interface EtradeTransactionSyncStateRepository extends JpaRepository<EtradeTransactionSyncState, UUID> {
+
+  /**
+   * Finds the sync checkpoint for an account (unique).
+   */
+  Optional<EtradeTransactionSyncState> findByAccountId(UUID accountId);
+
+  /**
+   * Finds all checkpoints in any of the given statuses.
+   */
+  List<EtradeTransactionSyncState> findByStatusIn(Collection<String> statuses);
+}
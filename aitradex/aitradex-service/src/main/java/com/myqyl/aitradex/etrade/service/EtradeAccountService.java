@@ -24,10 +24,13 @@ import com.myqyl.aitradex.etrade.repository.EtradePortfolioPositionRepository;
 import com.myqyl.aitradex.etrade.repository.EtradeTransactionRepository;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -263,42 +266,53 @@ public class EtradeAccountService {
       List<EtradeAccountModel> accounts = response.getAccountList();
       log.debug("Received {} account(s) from E*TRADE", accounts.size());
       
-      final int[] updated = {0};
-      final int[] created = {0};
-      
+      // Load every known account for this response in one query, then diff in memory
+      List<String> accountIdKeys = accounts.stream()
+          .map(EtradeAccountModel::getAccountIdKey)
+          .filter(key -> key != null && !key.isEmpty())
+          .distinct()
+          .collect(Collectors.toList());
+      Map<String, EtradeAccount> existingByKey = accountIdKeys.isEmpty()
+          ? new HashMap<>()
+          : accountRepository.findByAccountIdKeyIn(accountIdKeys).stream()
+              .collect(Collectors.toMap(EtradeAccount::getAccountIdKey, Function.identity()));
+
+      OffsetDateTime now = OffsetDateTime.now();
+      Map<String, EtradeAccount> toSave = new LinkedHashMap<>();
+      int updated = 0;
+      int created = 0;
+
       for (EtradeAccountModel accountData : accounts) {
         String accountIdKey = accountData.getAccountIdKey();
+        if (accountIdKey == null || accountIdKey.isEmpty()) {
+          log.warn("Account data missing accountIdKey, skipping persistence");
+          continue;
+        }
         log.debug("Processing account - accountIdKey: {}, accountName: {}", 
             accountIdKey, accountData.getAccountName());
-        
-        accountRepository.findByAccountIdKey(accountIdKey)
-            .ifPresentOrElse(
-                existingAccount -> {
-                  log.debug("Updating existing account - accountIdKey: {}", accountIdKey);
-                  existingAccount.setAccountType(accountData.getAccountType());
-                  existingAccount.setAccountName(accountData.getAccountName());
-                  existingAccount.setAccountStatus(accountData.getAccountStatus());
-                  existingAccount.setLastSyncedAt(OffsetDateTime.now());
-                  accountRepository.save(existingAccount);
-                  updated[0]++;
-                },
-                () -> {
-                  log.debug("Creating new account - accountIdKey: {}", accountIdKey);
-                  EtradeAccount newAccount = new EtradeAccount();
-                  newAccount.setUserId(userId);
-                  newAccount.setAccountIdKey(accountIdKey);
-                  newAccount.setAccountType(accountData.getAccountType());
-                  newAccount.setAccountName(accountData.getAccountName());
-                  newAccount.setAccountStatus(accountData.getAccountStatus());
-                  newAccount.setLinkedAt(OffsetDateTime.now());
-                  newAccount.setLastSyncedAt(OffsetDateTime.now());
-                  accountRepository.save(newAccount);
-                  created[0]++;
-                });
+
+        EtradeAccount account = existingByKey.get(accountIdKey);
+        if (account != null) {
+          updated++;
+        } else {
+          account = new EtradeAccount();
+          account.setUserId(userId);
+          account.setAccountIdKey(accountIdKey);
+          account.setLinkedAt(now);
+          existingByKey.put(accountIdKey, account);
+          created++;
+        }
+        account.setAccountType(accountData.getAccountType());
+        account.setAccountName(accountData.getAccountName());
+        account.setAccountStatus(accountData.getAccountStatus());
+        account.setLastSyncedAt(now);
+        toSave.put(accountIdKey, account);
       }
 
+      accountRepository.saveAll(toSave.values());
+
       log.debug("Account sync completed - created: {}, updated: {}, total: {}", 
-          created[0], updated[0], accounts.size());
+          created, updated, accounts.size());
       
       List<EtradeAccountDto> result = getUserAccounts(userId);
       log.debug("Returning {} account(s) for userId: {}", result.size(), userId);
@@ -332,13 +346,11 @@ public class EtradeAccountService {
     Map<String, Object> result = accountClient.getTransactions(accountId, account.accountIdKey(), marker, count,
                                          startDate, endDate, sortOrder, accept, storeId);
     
-    // Persist transactions (upsert by transactionId)
+    // Persist transactions (bulk upsert by transactionId)
     @SuppressWarnings("unchecked")
     List<Map<String, Object>> transactions = (List<Map<String, Object>>) result.get("transactions");
     if (transactions != null) {
-      for (Map<String, Object> transactionData : transactions) {
-        persistTransaction(accountId, transactionData);
-      }
+      persistTransactions(accountId, transactions);
     }
     
     return result;
@@ -352,10 +364,8 @@ public class EtradeAccountService {
     EtradeAccountDto account = getAccount(accountId);
     List<Map<String, Object>> transactions = accountClient.getTransactions(accountId, account.accountIdKey(), marker, count);
     
-    // Persist transactions (upsert by transactionId)
-    for (Map<String, Object> transactionData : transactions) {
-      persistTransaction(accountId, transactionData);
-    }
+    // Persist transactions (bulk upsert by transactionId)
+    persistTransactions(accountId, transactions);
     
     return transactions;
   }
@@ -472,64 +482,104 @@ public class EtradeAccountService {
   }
 
   /**
-   * Persists/updates a transaction (upsert by transactionId).
+   * Persists/updates a page of transactions, logging instead of throwing on failure.
    */
-  private void persistTransaction(UUID accountId, Map<String, Object> transactionData) {
+  private void persistTransactions(UUID accountId, List<Map<String, Object>> transactions) {
     try {
+      upsertTransactions(accountId, transactions);
+    } catch (Exception e) {
+      log.error("Failed to persist transactions for account {}", accountId, e);
+      // Don't throw - persistence failure should not break the API call
+    }
+  }
+
+  /**
+   * Upserts a page of transactions by transactionId in bulk.
+   *
+   * Existing rows are loaded with a single IN query and diffed in memory; inserts and updates
+   * are flushed together through saveAll so Hibernate can group them into JDBC batches.
+   * Unlike the API-call paths, failures propagate so callers such as the transaction backfill
+   * can avoid advancing their checkpoint past an unpersisted page.
+   *
+   * @return number of transactions not stored before, so re-reading an overlapping window does
+   *     not inflate sync totals
+   */
+  @Transactional
+  public int upsertTransactions(UUID accountId, List<Map<String, Object>> transactions) {
+    if (transactions == null || transactions.isEmpty()) {
+      return 0;
+    }
+    List<String> transactionIds = transactions.stream()
+        .map(data -> (String) data.get("transactionId"))
+        .filter(id -> id != null && !id.isEmpty())
+        .distinct()
+        .collect(Collectors.toList());
+    if (transactionIds.isEmpty()) {
+      log.warn("Transaction page for account {} has no transactionIds, skipping persistence", accountId);
+      return 0;
+    }
+
+    Map<String, EtradeTransaction> existingById = transactionRepository.findByTransactionIdIn(transactionIds)
+        .stream()
+        .collect(Collectors.toMap(EtradeTransaction::getTransactionId, Function.identity()));
+
+    OffsetDateTime now = OffsetDateTime.now();
+    Map<String, EtradeTransaction> toSave = new LinkedHashMap<>();
+    int inserted = 0;
+    for (Map<String, Object> transactionData : transactions) {
       String transactionId = (String) transactionData.get("transactionId");
       if (transactionId == null || transactionId.isEmpty()) {
         log.warn("Transaction data missing transactionId, skipping persistence");
-        return;
+        continue;
       }
-      
-      Optional<EtradeTransaction> existing = transactionRepository.findByTransactionId(transactionId);
-      EtradeTransaction transaction;
-      
-      if (existing.isPresent()) {
-        // Update existing transaction
-        transaction = existing.get();
-        transaction.setLastUpdatedAt(OffsetDateTime.now());
-      } else {
-        // Create new transaction
-        transaction = new EtradeTransaction();
-        transaction.setAccountId(accountId);
-        transaction.setTransactionId(transactionId);
-        transaction.setFirstSeenAt(OffsetDateTime.now());
-        transaction.setLastUpdatedAt(OffsetDateTime.now());
+      if (!existingById.containsKey(transactionId)) {
+        inserted++;
       }
-      
-      // Update fields from transaction data
-      transaction.setAccountIdFromResponse((String) transactionData.get("accountId"));
-      Object transactionDateObj = transactionData.get("transactionDate");
-      if (transactionDateObj != null) {
-        if (transactionDateObj instanceof Long) {
-          transaction.setTransactionDate((Long) transactionDateObj);
-        } else if (transactionDateObj instanceof String) {
-          try {
-            transaction.setTransactionDate(Long.parseLong((String) transactionDateObj));
-          } catch (NumberFormatException e) {
-            log.warn("Invalid transaction date format: {}", transactionDateObj);
-          }
+      EtradeTransaction transaction = existingById.computeIfAbsent(transactionId, id -> {
+        EtradeTransaction created = new EtradeTransaction();
+        created.setAccountId(accountId);
+        created.setTransactionId(id);
+        created.setFirstSeenAt(now);
+        return created;
+      });
+      transaction.setLastUpdatedAt(now);
+      applyTransactionData(transaction, transactionData);
+      toSave.put(transactionId, transaction);
+    }
+
+    transactionRepository.saveAll(toSave.values());
+    log.debug("Persisted {} transactions ({} new) for account {}", toSave.size(), inserted, accountId);
+    return inserted;
+  }
+
+  /**
+   * Copies List Transactions fields onto a transaction entity.
+   */
+  private void applyTransactionData(EtradeTransaction transaction, Map<String, Object> transactionData) {
+    transaction.setAccountIdFromResponse((String) transactionData.get("accountId"));
+    Object transactionDateObj = transactionData.get("transactionDate");
+    if (transactionDateObj != null) {
+      if (transactionDateObj instanceof Long) {
+        transaction.setTransactionDate((Long) transactionDateObj);
+      } else if (transactionDateObj instanceof String) {
+        try {
+          transaction.setTransactionDate(Long.parseLong((String) transactionDateObj));
+        } catch (NumberFormatException e) {
+          log.warn("Invalid transaction date format: {}", transactionDateObj);
         }
       }
-      transaction.setAmount(toBigDecimal(transactionData.get("amount")));
-      transaction.setDescription((String) transactionData.get("description"));
-      transaction.setTransactionType((String) transactionData.get("transactionType"));
-      transaction.setInstType((String) transactionData.get("instType"));
-      transaction.setDetailsUri((String) transactionData.get("detailsURI"));
-      
-      // Optional: Store raw response as JSON
-      try {
-        transaction.setRawResponse(objectMapper.writeValueAsString(transactionData));
-      } catch (Exception e) {
-        log.warn("Failed to serialize transaction data to JSON", e);
-      }
-      
-      transactionRepository.save(transaction);
-      log.debug("Persisted transaction {} for account {}", transactionId, accountId);
+    }
+    transaction.setAmount(toBigDecimal(transactionData.get("amount")));
+    transaction.setDescription((String) transactionData.get("description"));
+    transaction.setTransactionType((String) transactionData.get("transactionType"));
+    transaction.setInstType((String) transactionData.get("instType"));
+    transaction.setDetailsUri((String) transactionData.get("detailsURI"));
+    
+    // Optional: Store raw response as JSON
+    try {
+      transaction.setRawResponse(objectMapper.writeValueAsString(transactionData));
     } catch (Exception e) {
-      log.error("Failed to persist transaction for account {}", accountId, e);
-      // Don't throw - persistence failure should not break the API call
+      log.warn("Failed to serialize transaction data to JSON", e);
     }
   }
 
@@ -609,7 +659,10 @@ public class EtradeAccountService {
   }
 
   /**
-   * Persists/updates portfolio positions (upsert by positionId).
+   * Persists/updates portfolio positions (bulk upsert by positionId).
+   *
+   * Existing positions for the account are loaded with a single IN query and diffed in memory;
+   * inserts and updates are then handed to saveAll so they go out as JDBC batches.
    */
   private void persistPortfolioPositions(UUID accountId, PortfolioResponse portfolioResponse) {
     try {
@@ -618,49 +671,59 @@ public class EtradeAccountService {
         log.debug("No positions to persist for account {}", accountId);
         return;
       }
-      
+
+      List<Long> positionIds = positions.stream()
+          .map(PositionDto::getPositionId)
+          .filter(id -> id != null)
+          .distinct()
+          .collect(Collectors.toList());
+      if (positionIds.isEmpty()) {
+        log.warn("Portfolio for account {} has no positionIds, skipping persistence", accountId);
+        return;
+      }
+
+      Map<Long, EtradePortfolioPosition> existingById = positionRepository
+          .findByAccountIdAndPositionIdIn(accountId, positionIds).stream()
+          .collect(Collectors.toMap(EtradePortfolioPosition::getPositionId, Function.identity()));
+
       OffsetDateTime snapshotTime = OffsetDateTime.now();
-      
+      Map<Long, EtradePortfolioPosition> toSave = new LinkedHashMap<>();
+      int inserted = 0;
+
       for (PositionDto positionDto : positions) {
         if (positionDto.getPositionId() == null) {
           log.warn("Position missing positionId, skipping persistence");
           continue;
         }
-        
-        Optional<EtradePortfolioPosition> existing = positionRepository.findByAccountIdAndPositionId(
-            accountId, positionDto.getPositionId());
-        EtradePortfolioPosition position;
-        
-        if (existing.isPresent()) {
-          // Update existing position
-          position = existing.get();
-          position.setLastUpdatedAt(OffsetDateTime.now());
-          position.setSnapshotTime(snapshotTime);
-        } else {
-          // Create new position
+
+        EtradePortfolioPosition position = existingById.get(positionDto.getPositionId());
+        if (position == null) {
           position = new EtradePortfolioPosition();
           position.setAccountId(accountId);
           position.setPositionId(positionDto.getPositionId());
-          position.setFirstSeenAt(OffsetDateTime.now());
-          position.setLastUpdatedAt(OffsetDateTime.now());
-          position.setSnapshotTime(snapshotTime);
+          position.setFirstSeenAt(snapshotTime);
+          existingById.put(positionDto.getPositionId(), position);
+          inserted++;
         }
-        
+        position.setLastUpdatedAt(snapshotTime);
+        position.setSnapshotTime(snapshotTime);
+
         // Update all position fields from DTO
         updatePositionFromDto(position, positionDto);
-        
+
         // Optional: Store raw response as JSON
         try {
           position.setRawResponse(objectMapper.writeValueAsString(positionDto));
         } catch (Exception e) {
           log.warn("Failed to serialize position to JSON", e);
         }
-        
-        positionRepository.save(position);
-        log.debug("Persisted position {} for account {}", positionDto.getPositionId(), accountId);
+
+        toSave.put(positionDto.getPositionId(), position);
       }
-      
-      log.info("Persisted {} positions for account {}", positions.size(), accountId);
+
+      positionRepository.saveAll(toSave.values());
+      log.info("Persisted {} positions for account {} (inserted: {}, updated: {})",
+          toSave.size(), accountId, inserted, toSave.size() - inserted);
     } catch (Exception e) {
       log.error("Failed to persist portfolio positions for account {}", accountId, e);
       // Don't throw - persistence failure should not break the API call
@@ -11,10 +11,18 @@ import com.myqyl.aitradex.etrade.repository.EtradeAlertDetailRepository;
 import com.myqyl.aitradex.etrade.repository.EtradeAlertEventRepository;
 import com.myqyl.aitradex.etrade.repository.EtradeAlertRepository;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -135,30 +143,33 @@ public class EtradeAlertsService {
   // ============================================================================
 
   /**
-   * Persists alerts from List Alerts response (upsert by accountId + alertId).
+   * Persists alerts from List Alerts response (bulk upsert by accountId + alertId).
+   * Existing alerts are loaded with one IN query and all changes are written through saveAll.
    */
   private void persistAlerts(UUID accountId, AlertsResponse response) {
     if (response == null || response.getAlerts() == null) {
       return;
     }
 
+    Map<Long, EtradeAlert> existingByAlertId = findAlertsByAlertId(accountId, response.getAlerts().stream()
+        .filter(alertDto -> alertDto != null && alertDto.getId() != null)
+        .map(AlertDto::getId)
+        .collect(Collectors.toSet()));
+
     OffsetDateTime now = OffsetDateTime.now();
+    Map<Long, EtradeAlert> toSave = new LinkedHashMap<>();
 
     for (AlertDto alertDto : response.getAlerts()) {
       if (alertDto == null || alertDto.getId() == null) {
         continue;
       }
 
-      Optional<EtradeAlert> existingAlert = alertRepository.findByAccountIdAndAlertId(accountId, alertDto.getId());
-      
-      EtradeAlert alert;
-      if (existingAlert.isPresent()) {
-        alert = existingAlert.get();
-      } else {
-        alert = new EtradeAlert();
-        alert.setAccountId(accountId);
-        alert.setAlertId(alertDto.getId());
-      }
+      EtradeAlert alert = existingByAlertId.computeIfAbsent(alertDto.getId(), alertId -> {
+        EtradeAlert created = new EtradeAlert();
+        created.setAccountId(accountId);
+        created.setAlertId(alertId);
+        return created;
+      });
 
       // Update fields from DTO
       alert.setCreateTime(alertDto.getCreateTime());
@@ -166,10 +177,11 @@ public class EtradeAlertsService {
       alert.setStatus(alertDto.getStatus());
       alert.setLastSyncedAt(now);
 
-      alertRepository.save(alert);
+      toSave.put(alertDto.getId(), alert);
     }
 
-    log.debug("Persisted {} alerts for account {}", response.getAlerts().size(), accountId);
+    alertRepository.saveAll(toSave.values());
+    log.debug("Persisted {} alerts for account {}", toSave.size(), accountId);
   }
 
   /**
@@ -238,58 +250,76 @@ public class EtradeAlertsService {
 
     OffsetDateTime now = OffsetDateTime.now();
 
-    // Process successfully deleted alerts
+    Set<Long> alertIds = new LinkedHashSet<>();
     for (String alertIdStr : request.getAlertIds()) {
       try {
-        Long alertId = Long.parseLong(alertIdStr);
-        Optional<EtradeAlert> alertOpt = alertRepository.findByAccountIdAndAlertId(accountId, alertId);
-        
-        if (alertOpt.isPresent()) {
-          EtradeAlert alert = alertOpt.get();
-          
-          // Check if this alert ID was in the failed list
-          boolean failed = response.getFailedAlerts() != null &&
-              response.getFailedAlerts().stream()
-                  .anyMatch(failedAlert -> failedAlert.getId() != null && failedAlert.getId().equals(alertId));
-          
-          if (!failed) {
-            // Successfully deleted - update status
-            alert.setStatus("DELETED");
-            alert.setLastSyncedAt(now);
-            alertRepository.save(alert);
-            
-            // Create success event
-            createAlertEvent(alert.getId(), "DELETE_SUCCESS", "SUCCESS", null, null);
-          } else {
-            // Failed to delete - create failure event
-            String reason = response.getFailedAlerts().stream()
-                .filter(failedAlert -> failedAlert.getId() != null && failedAlert.getId().equals(alertId))
-                .findFirst()
-                .map(FailedAlertDto::getReason)
-                .orElse("Unknown reason");
-            
-            createAlertEvent(alert.getId(), "DELETE_FAILURE", "FAILURE", reason, null);
-          }
-        }
+        alertIds.add(Long.parseLong(alertIdStr));
       } catch (NumberFormatException e) {
         log.warn("Invalid alert ID format: {}", alertIdStr);
       }
     }
+    Map<Long, EtradeAlert> existingByAlertId = findAlertsByAlertId(accountId, alertIds);
+
+    // Index failed alert reasons once instead of scanning the failed list per alert
+    Map<Long, String> failedReasons = new HashMap<>();
+    if (response.getFailedAlerts() != null) {
+      for (FailedAlertDto failedAlert : response.getFailedAlerts()) {
+        if (failedAlert.getId() != null) {
+          failedReasons.putIfAbsent(failedAlert.getId(),
+              failedAlert.getReason() != null ? failedAlert.getReason() : "Unknown reason");
+        }
+      }
+    }
+
+    List<EtradeAlert> deleted = new ArrayList<>();
+    List<EtradeAlertEvent> events = new ArrayList<>();
+
+    for (Long alertId : alertIds) {
+      EtradeAlert alert = existingByAlertId.get(alertId);
+      if (alert == null) {
+        continue;
+      }
+
+      String reason = failedReasons.get(alertId);
+      if (reason == null) {
+        // Successfully deleted - update status and record success event
+        alert.setStatus("DELETED");
+        alert.setLastSyncedAt(now);
+        deleted.add(alert);
+        events.add(newAlertEvent(alert.getId(), "DELETE_SUCCESS", "SUCCESS", null, null));
+      } else {
+        // Failed to delete - record failure event
+        events.add(newAlertEvent(alert.getId(), "DELETE_FAILURE", "FAILURE", reason, null));
+      }
+    }
+
+    alertRepository.saveAll(deleted);
+    alertEventRepository.saveAll(events);
 
     log.debug("Processed delete alerts response for account {}", accountId);
   }
 
   /**
-   * Creates an alert event record for auditability.
+   * Loads existing alerts for the given E*TRADE alert IDs in one query, keyed by alert ID.
    */
-  private void createAlertEvent(UUID alertId, String eventType, String eventStatus, String errorMessage, String eventData) {
+  private Map<Long, EtradeAlert> findAlertsByAlertId(UUID accountId, Collection<Long> alertIds) {
+    if (alertIds.isEmpty()) {
+      return new HashMap<>();
+    }
+    return alertRepository.findByAccountIdAndAlertIdIn(accountId, alertIds).stream()
+        .collect(Collectors.toMap(EtradeAlert::getAlertId, Function.identity()));
+  }
+
+  /**
+   * Builds an alert event record for auditability.
+   */
+  private EtradeAlertEvent newAlertEvent(UUID alertId, String eventType, String eventStatus, String errorMessage, String eventData) {
     EtradeAlertEvent event = new EtradeAlertEvent();
     event.setAlertId(alertId);
     event.setEventType(eventType);
     event.setEventStatus(eventStatus);
     event.setErrorMessage(errorMessage);
     event.setEventData(eventData);
-    
-    alertEventRepository.save(event);
+    return event;
   }
 }
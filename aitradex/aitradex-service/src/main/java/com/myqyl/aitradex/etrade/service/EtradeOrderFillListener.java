@@ -0,0 +1,75 @@
+package com.myqyl.aitradex.etrade.service;
+
+import com.myqyl.aitradex.etrade.config.EtradeProperties;
+import com.myqyl.aitradex.etrade.event.EtradeOrderStatusChangedEvent;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Refreshes balances and positions for an account as soon as one of its orders fills.
+ *
+ * Runs after the order upsert commits, so the refresh writes go in a new transaction of their own.
+ * Fills from the same poll (within the debounce window, which should stay below the tracker's
+ * minimum poll interval) trigger a single refresh.
+ */
+@Component
+@ConditionalOnProperty(name = "app.etrade.enabled", havingValue = "true", matchIfMissing = false)
+public class EtradeOrderFillListener {
+
+  private static final Logger log = LoggerFactory.getLogger(EtradeOrderFillListener.class);
+
+  private final EtradeAccountService accountService;
+  private final EtradeProperties.OrderTracking config;
+  private final TransactionTemplate transactionTemplate;
+  private final Clock clock = Clock.systemUTC();
+  private final Map<UUID, Instant> lastRefresh = new ConcurrentHashMap<>();
+
+  public EtradeOrderFillListener(EtradeAccountService accountService, EtradeProperties properties,
+                                 PlatformTransactionManager transactionManager) {
+    this.accountService = accountService;
+    this.config = properties.getOrders();
+    // After commit the order upsert's transaction is finished but still bound to the thread;
+    // joining it would leave the refreshed balances and positions uncommitted.
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onOrderStatusChanged(EtradeOrderStatusChangedEvent event) {
+    log.info("E*TRADE order {} ({}) changed {} -> {}", event.etradeOrderId(), event.symbol(),
+        event.previousStatus(), event.newStatus());
+    if (!event.isFill() || event.accountIdKey() == null) {
+      return;
+    }
+
+    Instant now = clock.instant();
+    Instant previous = lastRefresh.get(event.accountId());
+    if (previous != null && previous.plus(config.getFillRefreshDebounce()).isAfter(now)) {
+      return;
+    }
+    lastRefresh.put(event.accountId(), now);
+
+    try {
+      transactionTemplate.executeWithoutResult(status -> {
+        accountService.getAccountBalance(event.accountId(), event.accountIdKey());
+        accountService.getAccountPortfolio(event.accountId(), event.accountIdKey());
+      });
+      log.info("Refreshed balance and positions for account {} after fill of order {}",
+          event.accountId(), event.etradeOrderId());
+    } catch (Exception ex) {
+      lastRefresh.remove(event.accountId());
+      log.warn("Post-fill refresh failed for account {}: {}", event.accountId(), ex.getMessage());
+    }
+  }
+}
@@ -6,17 +6,23 @@ import com.myqyl.aitradex.etrade.client.EtradeApiClientOrderAPI;
 import com.myqyl.aitradex.etrade.client.EtradeOrderClient;
 import com.myqyl.aitradex.etrade.domain.EtradeAccount;
 import com.myqyl.aitradex.etrade.domain.EtradeOrder;
+import com.myqyl.aitradex.etrade.event.EtradeOrderStatusChangedEvent;
 import com.myqyl.aitradex.etrade.orders.dto.*;
 import com.myqyl.aitradex.etrade.repository.EtradeAccountRepository;
 import com.myqyl.aitradex.etrade.repository.EtradeOrderRepository;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -39,18 +45,21 @@ public class EtradeOrderService {
   private final EtradeOrderClient orderClient; // Deprecated - use orderApi instead
   private final EtradeApiClientOrderAPI orderApi; // New API client with DTOs
   private final ObjectMapper objectMapper;
+  private final ApplicationEventPublisher eventPublisher;
 
   public EtradeOrderService(
       EtradeOrderRepository orderRepository,
       EtradeAccountRepository accountRepository,
       EtradeOrderClient orderClient,
       EtradeApiClientOrderAPI orderApi,
-      ObjectMapper objectMapper) {
+      ObjectMapper objectMapper,
+      ApplicationEventPublisher eventPublisher) {
     this.orderRepository = orderRepository;
     this.accountRepository = accountRepository;
     this.orderClient = orderClient;
     this.orderApi = orderApi;
     this.objectMapper = objectMapper;
+    this.eventPublisher = eventPublisher;
   }
 
   /**
@@ -175,7 +184,7 @@ public class EtradeOrderService {
       log.warn("Failed to serialize order data", e);
     }
 
-    order.setOrderStatus("SUBMITTED");
+    order.setOrderStatus(EtradeOrder.STATUS_SUBMITTED);
 
     EtradeOrder saved = orderRepository.save(order);
     log.info("Placed E*TRADE order {} for account {}", saved.getEtradeOrderId(), accountId);
@@ -241,7 +250,7 @@ public class EtradeOrderService {
       log.warn("Failed to serialize order data", e);
     }
 
-    order.setOrderStatus("SUBMITTED");
+    order.setOrderStatus(EtradeOrder.STATUS_SUBMITTED);
     order.setPlacedAt(OffsetDateTime.now());
 
     EtradeOrder saved = orderRepository.save(order);
@@ -270,6 +279,30 @@ public class EtradeOrderService {
     return response;
   }
 
+  /**
+   * Re-reads orders placed since {@code fromDate} (MMddyyyy) for an account, walking every page,
+   * and upserts them in one batch per page. Used by the open-order tracker.
+   *
+   * @return number of orders whose status changed
+   */
+  @Transactional(noRollbackFor = com.myqyl.aitradex.etrade.exception.EtradeApiException.class)
+  public int refreshOrders(UUID accountId, String accountIdKey, String fromDate) {
+    int changed = 0;
+    String marker = null;
+    do {
+      ListOrdersRequest request = new ListOrdersRequest();
+      request.setFromDate(fromDate);
+      request.setCount(100);
+      request.setMarker(marker);
+      OrdersResponse response = orderApi.listOrders(accountId, accountIdKey, request);
+      changed += persistOrders(accountId, accountIdKey, response);
+
+      String next = response.getMarker();
+      marker = Boolean.TRUE.equals(response.getMoreOrders()) && next != null && !next.equals(marker) ? next : null;
+    } while (marker != null);
+    return changed;
+  }
+
   /**
    * Gets orders for an account (paged from database).
    * Fetches from database with pagination.
@@ -411,7 +444,7 @@ public class EtradeOrderService {
       log.warn("Failed to serialize order data", e);
     }
 
-    order.setOrderStatus("SUBMITTED");
+    order.setOrderStatus(EtradeOrder.STATUS_SUBMITTED);
 
     EtradeOrder saved = orderRepository.save(order);
     log.info("Placed changed E*TRADE order {} for account {}", saved.getEtradeOrderId(), accountId);
@@ -458,7 +491,7 @@ public class EtradeOrderService {
       log.warn("Failed to serialize order data", e);
     }
 
-    order.setOrderStatus("SUBMITTED");
+    order.setOrderStatus(EtradeOrder.STATUS_SUBMITTED);
     order.setPlacedAt(OffsetDateTime.now());
 
     EtradeOrder saved = orderRepository.save(order);
@@ -523,40 +556,51 @@ public class EtradeOrderService {
 
   /**
    * Persists orders from List Orders response (upsert by orderId + accountIdKey).
+   * Existing orders are loaded with one IN query and written with saveAll; every status change is
+   * published as an {@link EtradeOrderStatusChangedEvent}.
+   *
+   * @return number of orders whose status changed
    */
-  private void persistOrders(UUID accountId, String accountIdKey, OrdersResponse response) {
+  private int persistOrders(UUID accountId, String accountIdKey, OrdersResponse response) {
     try {
       List<EtradeOrderModel> orders = response.getOrders();
       if (orders == null || orders.isEmpty()) {
         log.debug("No orders to persist for account {}", accountId);
-        return;
+        return 0;
       }
       
       OffsetDateTime syncTime = OffsetDateTime.now();
-      
+
+      Map<String, EtradeOrderModel> byOrderId = new LinkedHashMap<>();
       for (EtradeOrderModel orderModel : orders) {
         if (orderModel.getOrderId() == null || orderModel.getOrderId().isEmpty()) {
           log.warn("Order missing orderId, skipping persistence");
           continue;
         }
-        
-        // Upsert by orderId + accountIdKey
-        Optional<EtradeOrder> existing = orderRepository.findByEtradeOrderIdAndAccountIdKey(
-            orderModel.getOrderId(), accountIdKey);
-        EtradeOrder order;
-        
-        if (existing.isPresent()) {
-          // Update existing order
-          order = existing.get();
-          order.setLastSyncedAt(syncTime);
-        } else {
+        byOrderId.put(orderModel.getOrderId(), orderModel);
+      }
+      if (byOrderId.isEmpty()) {
+        return 0;
+      }
+
+      // Upsert by orderId + accountIdKey
+      Map<String, EtradeOrder> existing = orderRepository
+          .findByAccountIdKeyAndEtradeOrderIdIn(accountIdKey, byOrderId.keySet()).stream()
+          .collect(Collectors.toMap(EtradeOrder::getEtradeOrderId, Function.identity(), (a, b) -> a));
+
+      List<EtradeOrder> toSave = new ArrayList<>(byOrderId.size());
+      List<String> previousStatuses = new ArrayList<>(byOrderId.size());
+      for (EtradeOrderModel orderModel : byOrderId.values()) {
+        EtradeOrder order = existing.get(orderModel.getOrderId());
+        if (order == null) {
           // Create new order
           order = new EtradeOrder();
           order.setAccountId(accountId);
           order.setAccountIdKey(accountIdKey);
           order.setEtradeOrderId(orderModel.getOrderId());
-          order.setLastSyncedAt(syncTime);
         }
+        order.setLastSyncedAt(syncTime);
+        previousStatuses.add(order.getOrderStatus());
         
         // Update order fields from model
         updateOrderFromModel(order, orderModel);
@@ -567,15 +611,28 @@ public class EtradeOrderService {
         } catch (Exception e) {
           log.warn("Failed to serialize order to JSON", e);
         }
-        
-        orderRepository.save(order);
-        log.debug("Persisted order {} for account {}", orderModel.getOrderId(), accountId);
+        toSave.add(order);
       }
-      
-      log.info("Persisted {} orders for account {}", orders.size(), accountId);
+
+      List<EtradeOrder> saved = orderRepository.saveAll(toSave);
+
+      int changed = 0;
+      for (int i = 0; i < saved.size(); i++) {
+        EtradeOrder order = saved.get(i);
+        String previousStatus = previousStatuses.get(i);
+        if (previousStatus != null && !Objects.equals(previousStatus, order.getOrderStatus())) {
+          changed++;
+          eventPublisher.publishEvent(new EtradeOrderStatusChangedEvent(accountId, accountIdKey, order.getId(),
+              order.getEtradeOrderId(), order.getSymbol(), previousStatus, order.getOrderStatus()));
+        }
+      }
+
+      log.info("Persisted {} orders for account {} ({} status changes)", saved.size(), accountId, changed);
+      return changed;
     } catch (Exception e) {
       log.error("Failed to persist orders for account {}", accountId, e);
       // Don't throw - persistence failure shouldn't break the API call
+      return 0;
     }
   }
 
@@ -652,9 +709,18 @@ public class EtradeOrderService {
    * Updates order entity from EtradeOrderModel DTO.
    */
   private void updateOrderFromModel(EtradeOrder order, EtradeOrderModel orderModel) {
+    String previousStatus = order.getOrderStatus();
     order.setOrderType(orderModel.getOrderType());
     order.setOrderStatus(orderModel.getOrderStatus());
     order.setClientOrderId(orderModel.getClientOrderId());
+
+    if (orderModel.getOrderStatus() != null && !orderModel.getOrderStatus().equals(previousStatus)) {
+      if ("EXECUTED".equals(orderModel.getOrderStatus()) && order.getExecutedAt() == null) {
+        order.setExecutedAt(OffsetDateTime.now());
+      } else if (EtradeOrder.CANCELLED_STATUSES.contains(orderModel.getOrderStatus()) && order.getCancelledAt() == null) {
+        order.setCancelledAt(OffsetDateTime.now());
+      }
+    }
     
     if (orderModel.getPlacedTime() != null) {
       order.setPlacedTime(orderModel.getPlacedTime());
@@ -0,0 +1,135 @@
+package com.myqyl.aitradex.etrade.service;
+
+import com.myqyl.aitradex.etrade.client.EtradeRateLimiter;
+import com.myqyl.aitradex.etrade.config.EtradeProperties;
+import com.myqyl.aitradex.etrade.domain.EtradeOrder;
+import com.myqyl.aitradex.etrade.repository.EtradeOrderRepository;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Tracks open E*TRADE orders until they reach a terminal status.
+ *
+ * Only accounts that have open orders locally are polled. Each account gets its own adaptive
+ * interval derived from the age of its youngest open order: a freshly placed order is checked
+ * every couple of seconds, an order that has been resting for a while only once a minute. Each
+ * poll lists orders placed since the oldest open order and batch-upserts them through
+ * {@link EtradeOrderService#refreshOrders}, which publishes status-change (fill) events.
+ */
+@Service
+@ConditionalOnProperty(name = "app.etrade.enabled", havingValue = "true", matchIfMissing = false)
+public class EtradeOrderTrackingService {
+
+  private static final Logger log = LoggerFactory.getLogger(EtradeOrderTrackingService.class);
+  private static final DateTimeFormatter ETRADE_DATE = DateTimeFormatter.ofPattern("MMddyyyy");
+  private static final ZoneId ETRADE_ZONE = ZoneId.of("America/New_York");
+
+  private final EtradeOrderRepository orderRepository;
+  private final EtradeOrderService orderService;
+  private final EtradeProperties.OrderTracking config;
+  private final Clock clock;
+  private final EtradeRateLimiter limiter;
+  private final Map<UUID, Instant> nextPollAt = new ConcurrentHashMap<>();
+
+  @Autowired
+  public EtradeOrderTrackingService(
+      EtradeOrderRepository orderRepository,
+      EtradeOrderService orderService,
+      EtradeProperties properties) {
+    this(orderRepository, orderService, properties.getOrders(), Clock.systemUTC());
+  }
+
+  // Constructor for testing
+  EtradeOrderTrackingService(
+      EtradeOrderRepository orderRepository,
+      EtradeOrderService orderService,
+      EtradeProperties.OrderTracking config,
+      Clock clock) {
+    this.orderRepository = orderRepository;
+    this.orderService = orderService;
+    this.config = config;
+    this.clock = clock;
+    this.limiter = EtradeRateLimiter.perSecond(config.getRequestsPerSecond());
+  }
+
+  /**
+   * Polls every account whose open orders are due for a status check.
+   */
+  @Scheduled(fixedDelayString = "${app.etrade.orders.tracker-tick-ms:1000}")
+  public void pollOpenOrders() {
+    Map<UUID, List<EtradeOrder>> openByAccount = orderRepository
+        .findByOrderStatusInAndEtradeOrderIdIsNotNull(EtradeOrder.OPEN_STATUSES).stream()
+        .collect(Collectors.groupingBy(EtradeOrder::getAccountId));
+    nextPollAt.keySet().retainAll(openByAccount.keySet());
+
+    Instant now = clock.instant();
+    for (Map.Entry<UUID, List<EtradeOrder>> entry : openByAccount.entrySet()) {
+      Instant due = nextPollAt.get(entry.getKey());
+      if (due == null || !now.isBefore(due)) {
+        poll(entry.getKey(), entry.getValue(), now);
+      }
+      if (Thread.currentThread().isInterrupted()) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Interval until the next poll of an account whose youngest open order is {@code age} old.
+   */
+  static Duration pollInterval(Duration age, EtradeProperties.OrderTracking config) {
+    Duration scaled = Duration.ofMillis((long) (Math.max(0L, age.toMillis()) * config.getPollAgeFactor()));
+    if (scaled.compareTo(config.getMinPollInterval()) < 0) {
+      return config.getMinPollInterval();
+    }
+    return scaled.compareTo(config.getMaxPollInterval()) > 0 ? config.getMaxPollInterval() : scaled;
+  }
+
+  Instant nextPollAt(UUID accountId) {
+    return nextPollAt.get(accountId);
+  }
+
+  private void poll(UUID accountId, List<EtradeOrder> openOrders, Instant now) {
+    Instant youngest = openOrders.stream().map(o -> orderTime(o, now)).max(Comparator.naturalOrder()).orElse(now);
+    Instant oldest = openOrders.stream().map(o -> orderTime(o, now)).min(Comparator.naturalOrder()).orElse(now);
+    String accountIdKey = openOrders.get(0).getAccountIdKey();
+    // One day of slack so orders placed around midnight Eastern are not cut off
+    String fromDate = ETRADE_DATE.format(oldest.atZone(ETRADE_ZONE).minusDays(1));
+
+    Duration interval = pollInterval(Duration.between(youngest, now), config);
+    try {
+      limiter.acquire();
+      int changed = orderService.refreshOrders(accountId, accountIdKey, fromDate);
+      log.debug("Polled {} open order(s) for account {}: {} status change(s), next poll in {}",
+          openOrders.size(), accountId, changed, interval);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return;
+    } catch (Exception ex) {
+      log.warn("Order status poll failed for account {}: {}", accountId, ex.getMessage());
+      interval = config.getMaxPollInterval();
+    }
+    nextPollAt.put(accountId, now.plus(interval));
+  }
+
+  private static Instant orderTime(EtradeOrder order, Instant fallback) {
+    OffsetDateTime time = order.getPlacedAt() != null ? order.getPlacedAt() : order.getCreatedAt();
+    return time != null ? time.toInstant() : fallback;
+  }
+}
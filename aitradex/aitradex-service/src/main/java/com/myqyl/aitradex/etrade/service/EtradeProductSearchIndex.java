@@ -0,0 +1,173 @@
+package com.myqyl.aitradex.etrade.service;
+
+import com.myqyl.aitradex.etrade.domain.EtradeLookupProduct;
+import com.myqyl.aitradex.etrade.market.dto.LookupProductDto;
+import com.myqyl.aitradex.etrade.repository.EtradeLookupProductRepository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory prefix index over stored {@link EtradeLookupProduct} rows.
+ *
+ * Symbols and the words of each description are kept in sorted skip-list maps, one per term
+ * length, so a prefix query is a sub-map range scan of each length in turn, shortest first. The
+ * index is loaded once at startup and updated whenever lookup results are persisted; it never calls
+ * E*TRADE itself.
+ */
+@Component
+public class EtradeProductSearchIndex {
+
+  private static final Logger log = LoggerFactory.getLogger(EtradeProductSearchIndex.class);
+
+  private final EtradeLookupProductRepository lookupProductRepository;
+
+  /** symbol|type -> product */
+  private final Map<String, LookupProductDto> products = new ConcurrentHashMap<>();
+  /** upper-case symbol -> product keys */
+  private final Terms symbolTerms = new Terms();
+  /** upper-case description word -> product keys */
+  private final Terms wordTerms = new Terms();
+
+  public EtradeProductSearchIndex(EtradeLookupProductRepository lookupProductRepository) {
+    this.lookupProductRepository = lookupProductRepository;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    try {
+      List<EtradeLookupProduct> stored = lookupProductRepository.findAll();
+      for (EtradeLookupProduct product : stored) {
+        put(product.getSymbol(), product.getProductType(), product.getDescription());
+      }
+      log.info("Loaded {} lookup products into the local search index", products.size());
+    } catch (Exception e) {
+      log.warn("Failed to load lookup product search index: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Adds or refreshes products in the index.
+   */
+  public void indexAll(Collection<EtradeLookupProduct> updated) {
+    for (EtradeLookupProduct product : updated) {
+      put(product.getSymbol(), product.getProductType(), product.getDescription());
+    }
+  }
+
+  /**
+   * Returns up to {@code limit} products whose symbol or any description word starts with the
+   * input. Symbol matches come first, then description matches; within each, products whose
+   * matching term is shortest (an exact match first) lead, ties going alphabetically.
+   */
+  public List<LookupProductDto> search(String input, int limit) {
+    String prefix = normalize(input);
+    if (prefix.isEmpty() || limit <= 0) {
+      return List.of();
+    }
+
+    Map<String, LookupProductDto> results = new LinkedHashMap<>();
+    collect(symbolTerms, prefix, results, limit);
+    if (results.size() < limit) {
+      collect(wordTerms, prefix, results, limit);
+    }
+    return new ArrayList<>(results.values());
+  }
+
+  public int size() {
+    return products.size();
+  }
+
+  synchronized void put(String symbol, String productType, String description) {
+    if (symbol == null || symbol.isBlank() || productType == null) {
+      return;
+    }
+    String key = symbol + "|" + productType;
+    LookupProductDto previous = products.get(key);
+    if (previous != null) {
+      wordTerms.unlink(words(previous.getDescription()), key);
+    }
+
+    LookupProductDto dto = new LookupProductDto();
+    dto.setSymbol(symbol);
+    dto.setType(productType);
+    dto.setDescription(description);
+    products.put(key, dto);
+
+    symbolTerms.link(List.of(normalize(symbol)), key);
+    wordTerms.link(words(description), key);
+  }
+
+  private void collect(Terms terms, String prefix, Map<String, LookupProductDto> results, int limit) {
+    // Terms are visited shortest first and alphabetically within a length, so the first term that
+    // reaches a product is its best one and the scan stops as soon as the limit is filled; nothing
+    // later in the walk could rank higher.
+    for (NavigableMap<String, Set<String>> bucket : terms.byLength.tailMap(prefix.length(), true).values()) {
+      for (Set<String> keys : bucket.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values()) {
+        for (String key : keys.size() > 1 ? new TreeSet<>(keys) : keys) {
+          LookupProductDto product = products.get(key);
+          if (product != null && results.putIfAbsent(key, product) == null && results.size() >= limit) {
+            return;
+          }
+        }
+      }
+    }
+  }
+
+  private static List<String> words(String description) {
+    if (description == null || description.isBlank()) {
+      return List.of();
+    }
+    List<String> words = new ArrayList<>();
+    for (String word : normalize(description).split("[^A-Z0-9]+")) {
+      if (!word.isEmpty()) {
+        words.add(word);
+      }
+    }
+    return words;
+  }
+
+  private static String normalize(String value) {
+    return value == null ? "" : value.trim().toUpperCase(Locale.ROOT);
+  }
+
+  /**
+   * Term -> product keys, bucketed by term length.
+   */
+  private static final class Terms {
+    private final NavigableMap<Integer, NavigableMap<String, Set<String>>> byLength = new ConcurrentSkipListMap<>();
+
+    void link(Collection<String> words, String key) {
+      for (String word : words) {
+        byLength.computeIfAbsent(word.length(), length -> new ConcurrentSkipListMap<>())
+            .computeIfAbsent(word, w -> ConcurrentHashMap.newKeySet())
+            .add(key);
+      }
+    }
+
+    void unlink(Collection<String> words, String key) {
+      for (String word : words) {
+        NavigableMap<String, Set<String>> bucket = byLength.get(word.length());
+        if (bucket != null) {
+          bucket.computeIfPresent(word, (w, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+          });
+        }
+      }
+    }
+  }
+}
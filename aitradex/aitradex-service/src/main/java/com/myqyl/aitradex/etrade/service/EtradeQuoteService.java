@@ -1,17 +1,25 @@
 package com.myqyl.aitradex.etrade.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myqyl.aitradex.api.dto.OptionSurfacePointDto;
 import com.myqyl.aitradex.etrade.client.EtradeApiClientMarketAPI;
 import com.myqyl.aitradex.etrade.client.EtradeQuoteClient;
 import com.myqyl.aitradex.etrade.domain.*;
 import com.myqyl.aitradex.etrade.market.dto.*;
 import com.myqyl.aitradex.etrade.repository.*;
 import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -28,6 +36,13 @@ import org.springframework.transaction.annotation.Transactional;
 public class EtradeQuoteService {
 
   private static final Logger log = LoggerFactory.getLogger(EtradeQuoteService.class);
+  /** Per-request persistence logging; sampled in logback-spring.xml. */
+  private static final Logger persistLog =
+      LoggerFactory.getLogger(EtradeQuoteService.class.getName() + ".persists");
+
+  private static final int LOOKUP_LOCAL_LIMIT = 20;
+  private static final int DEFAULT_SURFACE_LIMIT = 5_000;
+  private static final int MAX_SURFACE_LIMIT = 50_000;
 
   private final EtradeQuoteClient quoteClient; // Deprecated - use marketApi instead
   private final EtradeApiClientMarketAPI marketApi; // New API client with DTOs
@@ -36,6 +51,7 @@ public class EtradeQuoteService {
   private final EtradeOptionExpireDateRepository optionExpireDateRepository;
   private final EtradeOptionChainSnapshotRepository optionChainSnapshotRepository;
   private final EtradeOptionContractRepository optionContractRepository;
+  private final EtradeProductSearchIndex productSearchIndex;
   private final ObjectMapper objectMapper;
 
   public EtradeQuoteService(
@@ -46,6 +62,7 @@ public class EtradeQuoteService {
       EtradeOptionExpireDateRepository optionExpireDateRepository,
       EtradeOptionChainSnapshotRepository optionChainSnapshotRepository,
       EtradeOptionContractRepository optionContractRepository,
+      EtradeProductSearchIndex productSearchIndex,
       ObjectMapper objectMapper) {
     this.quoteClient = quoteClient;
     this.marketApi = marketApi;
@@ -54,6 +71,7 @@ public class EtradeQuoteService {
     this.optionExpireDateRepository = optionExpireDateRepository;
     this.optionChainSnapshotRepository = optionChainSnapshotRepository;
     this.optionContractRepository = optionContractRepository;
+    this.productSearchIndex = productSearchIndex;
     this.objectMapper = objectMapper;
   }
 
@@ -134,11 +152,24 @@ public class EtradeQuoteService {
   /**
    * Looks up products by symbol or company name using DTOs and persists lookup products.
    * 
+   * Answers from the local product index when it has prefix matches; E*TRADE is only called on a
+   * local miss (or when {@code refresh} is set), and its results are persisted and indexed.
+   * Not transactional so local hits never touch the database.
+   * 
    * @param request LookupProductRequest DTO containing search input
+   * @param refresh true to bypass the local index and query E*TRADE
    * @return LookupProductResponse DTO containing list of matching products
    */
-  @Transactional(noRollbackFor = com.myqyl.aitradex.etrade.exception.EtradeApiException.class)
-  public LookupProductResponse lookupProduct(LookupProductRequest request) {
+  public LookupProductResponse lookupProduct(LookupProductRequest request, boolean refresh) {
+    if (!refresh) {
+      List<LookupProductDto> local = productSearchIndex.search(request.getInput(), LOOKUP_LOCAL_LIMIT);
+      if (!local.isEmpty()) {
+        LookupProductResponse response = new LookupProductResponse();
+        response.setData(local);
+        return response;
+      }
+    }
+
     LookupProductResponse response = marketApi.lookupProduct(request);
     
     // Persist lookup products (upsert by symbol+type)
@@ -147,6 +178,13 @@ public class EtradeQuoteService {
     return response;
   }
 
+  /**
+   * Looks up products, preferring the local product index.
+   */
+  public LookupProductResponse lookupProduct(LookupProductRequest request) {
+    return lookupProduct(request, false);
+  }
+
   /**
    * Looks up products by symbol or company name (deprecated - uses Maps).
    * @deprecated Use {@link #lookupProduct(LookupProductRequest)} instead
@@ -207,7 +245,7 @@ public class EtradeQuoteService {
   // ============================================================================
 
   /**
-   * Persists lookup products (upsert by symbol+type).
+   * Persists lookup products (upsert by symbol+type) and refreshes the local search index.
    */
   private void persistLookupProducts(LookupProductResponse response) {
     try {
@@ -217,36 +255,44 @@ public class EtradeQuoteService {
         return;
       }
 
+      Map<String, LookupProductDto> bySymbolAndType = new LinkedHashMap<>();
       for (LookupProductDto productDto : products) {
         if (productDto.getSymbol() == null || productDto.getType() == null) {
           log.warn("Lookup product missing symbol or type, skipping persistence");
           continue;
         }
+        bySymbolAndType.put(productDto.getSymbol() + "|" + productDto.getType(), productDto);
+      }
+      if (bySymbolAndType.isEmpty()) {
+        return;
+      }
 
-        Optional<EtradeLookupProduct> existing = lookupProductRepository
-            .findBySymbolAndProductType(productDto.getSymbol(), productDto.getType());
-        
-        EtradeLookupProduct product;
-        if (existing.isPresent()) {
-          // Update existing
-          product = existing.get();
-          product.setUpdatedAt(OffsetDateTime.now());
+      Map<String, EtradeLookupProduct> existing = lookupProductRepository
+          .findBySymbolIn(bySymbolAndType.values().stream().map(LookupProductDto::getSymbol).toList()).stream()
+          .collect(Collectors.toMap(p -> p.getSymbol() + "|" + p.getProductType(), Function.identity(), (a, b) -> a));
+
+      OffsetDateTime now = OffsetDateTime.now();
+      List<EtradeLookupProduct> toSave = new ArrayList<>(bySymbolAndType.size());
+      for (Map.Entry<String, LookupProductDto> entry : bySymbolAndType.entrySet()) {
+        LookupProductDto productDto = entry.getValue();
+        EtradeLookupProduct product = existing.get(entry.getKey());
+        if (product != null) {
+          product.setUpdatedAt(now);
         } else {
-          // Create new
           product = new EtradeLookupProduct();
-          product.setCreatedAt(OffsetDateTime.now());
+          product.setCreatedAt(now);
         }
 
         product.setSymbol(productDto.getSymbol());
         product.setProductType(productDto.getType());
         product.setDescription(productDto.getDescription());
-        product.setLastSeenAt(OffsetDateTime.now());
-
-        lookupProductRepository.save(product);
-        log.debug("Persisted lookup product: {} ({})", productDto.getSymbol(), productDto.getType());
+        product.setLastSeenAt(now);
+        toSave.add(product);
       }
 
-      log.info("Persisted {} lookup products", products.size());
+      lookupProductRepository.saveAll(toSave);
+      productSearchIndex.indexAll(toSave);
+      persistLog.info("Persisted {} lookup products", toSave.size());
     } catch (Exception e) {
       log.error("Failed to persist lookup products", e);
       // Don't throw - persistence failure shouldn't break API call
@@ -264,6 +310,7 @@ public class EtradeQuoteService {
         return;
       }
 
+      List<EtradeQuoteSnapshot> snapshots = new ArrayList<>(quotes.size());
       for (EtradeQuoteModel quoteModel : quotes) {
         // Use All details if available, otherwise try other detail sections
         AllQuoteDetailsDto details = quoteModel.getAll();
@@ -329,11 +376,12 @@ public class EtradeQuoteService {
           log.warn("Failed to serialize quote to JSON", e);
         }
 
-        quoteSnapshotRepository.save(snapshot);
-        log.debug("Persisted quote snapshot for symbol: {}", symbol);
+        snapshots.add(snapshot);
       }
 
-      log.info("Persisted {} quote snapshots", quotes.size());
+      // One saveAll so the inserts go out as a single JDBC batch
+      quoteSnapshotRepository.saveAll(snapshots);
+      persistLog.info("Persisted {} quote snapshots", snapshots.size());
     } catch (Exception e) {
       log.error("Failed to persist quote snapshots", e);
       // Don't throw - persistence failure shouldn't break API call
@@ -380,11 +428,11 @@ public class EtradeQuoteService {
         expireDate.setLastSyncedAt(OffsetDateTime.now());
 
         optionExpireDateRepository.save(expireDate);
-        log.debug("Persisted expiration date: {}/{}/{} for {}", 
+        persistLog.debug("Persisted expiration date: {}/{}/{} for {}", 
             dateDto.getYear(), dateDto.getMonth(), dateDto.getDay(), symbol);
       }
 
-      log.info("Persisted {} expiration dates for symbol: {}", expireDates.size(), symbol);
+      persistLog.info("Persisted {} expiration dates for symbol: {}", expireDates.size(), symbol);
     } catch (Exception e) {
       log.error("Failed to persist option expiration dates", e);
       // Don't throw - persistence failure shouldn't break API call
@@ -407,6 +455,14 @@ public class EtradeQuoteService {
       snapshot.setExpiryYear(request.getExpiryYear());
       snapshot.setExpiryMonth(request.getExpiryMonth());
       snapshot.setExpiryDay(request.getExpiryDay());
+      SelectedEDDto selectedED = response.getSelectedED();
+      if (selectedED != null && selectedED.getYear() != null) {
+        snapshot.setExpiryYear(selectedED.getYear());
+        snapshot.setExpiryMonth(selectedED.getMonth());
+        snapshot.setExpiryDay(selectedED.getDay());
+      }
+      snapshot.setExpiryDate(toExpiryDate(
+          snapshot.getExpiryYear(), snapshot.getExpiryMonth(), snapshot.getExpiryDay()));
       snapshot.setNearPrice(toBigDecimal(response.getNearPrice()));
       snapshot.setAdjustedFlag(response.getAdjustedFlag());
       snapshot.setOptionChainType(response.getOptionChainType());
@@ -414,15 +470,11 @@ public class EtradeQuoteService {
       snapshot.setTimestamp(response.getTimestamp());
       snapshot.setRequestTime(OffsetDateTime.now());
 
-      // Store raw response as JSON
-      try {
-        snapshot.setRawResponse(objectMapper.writeValueAsString(response));
-      } catch (Exception e) {
-        log.warn("Failed to serialize option chain to JSON", e);
-      }
+      // Chain is stored column-wise; the raw JSON is no longer kept for new snapshots
+      int strikes = OptionChainColumns.apply(snapshot, response.getOptionPairs());
 
       optionChainSnapshotRepository.save(snapshot);
-      log.debug("Persisted option chain snapshot for symbol: {}", response.getSymbol());
+      persistLog.debug("Persisted option chain snapshot for symbol: {} ({} strikes)", response.getSymbol(), strikes);
     } catch (Exception e) {
       log.error("Failed to persist option chain snapshot", e);
       // Don't throw - persistence failure shouldn't break API call
@@ -431,6 +483,7 @@ public class EtradeQuoteService {
 
   /**
    * Persists option contracts (upsert by optionSymbol).
+   * Existing contracts are loaded with one IN query and the whole chain is written with saveAll.
    */
   private void persistOptionContracts(OptionChainResponse response) {
     try {
@@ -440,22 +493,45 @@ public class EtradeQuoteService {
         return;
       }
 
-      int persistedCount = 0;
+      Map<String, OptionDto> options = new LinkedHashMap<>();
       for (OptionPairDto pair : pairs) {
-        // Persist Call option if present
-        if (pair.getCall() != null) {
-          persistOptionContract(response.getSymbol(), pair.getCall(), response.getSelectedED());
-          persistedCount++;
+        for (OptionDto option : new OptionDto[] {pair.getCall(), pair.getPut()}) {
+          if (option == null) {
+            continue;
+          }
+          if (option.getSymbol() == null || option.getSymbol().isEmpty()) {
+            log.warn("Option missing symbol, skipping persistence");
+            continue;
+          }
+          options.put(option.getSymbol(), option);
         }
+      }
+      if (options.isEmpty()) {
+        return;
+      }
+
+      Map<String, EtradeOptionContract> existing = optionContractRepository
+          .findByOptionSymbolIn(options.keySet()).stream()
+          .collect(Collectors.toMap(EtradeOptionContract::getOptionSymbol, Function.identity(), (a, b) -> a));
 
-        // Persist Put option if present
-        if (pair.getPut() != null) {
-          persistOptionContract(response.getSymbol(), pair.getPut(), response.getSelectedED());
-          persistedCount++;
+      OffsetDateTime now = OffsetDateTime.now();
+      List<EtradeOptionContract> toSave = new ArrayList<>(options.size());
+      for (OptionDto optionDto : options.values()) {
+        EtradeOptionContract contract = existing.get(optionDto.getSymbol());
+        if (contract != null) {
+          contract.setUpdatedAt(now);
+        } else {
+          contract = new EtradeOptionContract();
+          contract.setCreatedAt(now);
         }
+        applyOptionContract(contract, response.getSymbol(), optionDto, response.getSelectedED());
+        contract.setLastSyncedAt(now);
+        toSave.add(contract);
       }
 
-      log.info("Persisted {} option contracts for symbol: {}", persistedCount, response.getSymbol());
+      optionContractRepository.saveAll(toSave);
+      persistLog.info("Persisted {} option contracts for symbol: {} ({} new)",
+          toSave.size(), response.getSymbol(), toSave.size() - existing.size());
     } catch (Exception e) {
       log.error("Failed to persist option contracts", e);
       // Don't throw - persistence failure shouldn't break API call
@@ -463,78 +539,93 @@ public class EtradeQuoteService {
   }
 
   /**
-   * Persists a single option contract (upsert by optionSymbol).
+   * Copies option DTO fields onto a contract entity.
    */
-  private void persistOptionContract(String underlyingSymbol, OptionDto optionDto, SelectedEDDto selectedED) {
-    try {
-      if (optionDto.getSymbol() == null || optionDto.getSymbol().isEmpty()) {
-        log.warn("Option missing symbol, skipping persistence");
-        return;
-      }
+  private void applyOptionContract(EtradeOptionContract contract, String underlyingSymbol,
+      OptionDto optionDto, SelectedEDDto selectedED) {
+    contract.setOptionSymbol(optionDto.getSymbol());
+    contract.setOsiKey(optionDto.getOsiKey());
+    contract.setUnderlyingSymbol(underlyingSymbol);
+    contract.setOptionType(optionDto.getOptionType());
+    contract.setStrikePrice(toBigDecimal(optionDto.getStrikePrice()));
+
+    // Use SelectedED from response if available, otherwise from optionDto
+    if (selectedED != null) {
+      contract.setExpiryYear(selectedED.getYear());
+      contract.setExpiryMonth(selectedED.getMonth());
+      contract.setExpiryDay(selectedED.getDay());
+    }
 
-      Optional<EtradeOptionContract> existing = optionContractRepository
-          .findByOptionSymbol(optionDto.getSymbol());
-      
-      EtradeOptionContract contract;
-      if (existing.isPresent()) {
-        // Update existing
-        contract = existing.get();
-        contract.setUpdatedAt(OffsetDateTime.now());
-      } else {
-        // Create new
-        contract = new EtradeOptionContract();
-        contract.setCreatedAt(OffsetDateTime.now());
-      }
+    contract.setOptionCategory(optionDto.getOptionCategory());
+    contract.setOptionRootSymbol(optionDto.getOptionRootSymbol());
+    contract.setDisplaySymbol(optionDto.getDisplaySymbol());
+    contract.setAdjustedFlag(optionDto.getAdjustedFlag());
+
+    // Quote fields
+    contract.setBid(toBigDecimal(optionDto.getBid()));
+    contract.setAsk(toBigDecimal(optionDto.getAsk()));
+    contract.setBidSize(optionDto.getBidSize());
+    contract.setAskSize(optionDto.getAskSize());
+    contract.setLastPrice(toBigDecimal(optionDto.getLastPrice()));
+    contract.setVolume(optionDto.getVolume());
+    contract.setOpenInterest(optionDto.getOpenInterest());
+    contract.setNetChange(toBigDecimal(optionDto.getNetChange()));
+    contract.setInTheMoney(optionDto.getInTheMoney());
+    contract.setQuoteDetail(optionDto.getQuoteDetail());
+
+    // Option Greeks
+    if (optionDto.getOptionGreeks() != null) {
+      OptionGreeksDto greeks = optionDto.getOptionGreeks();
+      contract.setDelta(toBigDecimal(greeks.getDelta()));
+      contract.setGamma(toBigDecimal(greeks.getGamma()));
+      contract.setTheta(toBigDecimal(greeks.getTheta()));
+      contract.setVega(toBigDecimal(greeks.getVega()));
+      contract.setRho(toBigDecimal(greeks.getRho()));
+      contract.setIv(toBigDecimal(greeks.getIv()));
+      contract.setGreeksCurrentValue(greeks.getCurrentValue());
+    }
+  }
 
-      contract.setOptionSymbol(optionDto.getSymbol());
-      contract.setOsiKey(optionDto.getOsiKey());
-      contract.setUnderlyingSymbol(underlyingSymbol);
-      contract.setOptionType(optionDto.getOptionType());
-      contract.setStrikePrice(toBigDecimal(optionDto.getStrikePrice()));
-      
-      // Use SelectedED from response if available, otherwise from optionDto
-      if (selectedED != null) {
-        contract.setExpiryYear(selectedED.getYear());
-        contract.setExpiryMonth(selectedED.getMonth());
-        contract.setExpiryDay(selectedED.getDay());
-      }
-      
-      contract.setOptionCategory(optionDto.getOptionCategory());
-      contract.setOptionRootSymbol(optionDto.getOptionRootSymbol());
-      contract.setDisplaySymbol(optionDto.getDisplaySymbol());
-      contract.setAdjustedFlag(optionDto.getAdjustedFlag());
-      
-      // Quote fields
-      contract.setBid(toBigDecimal(optionDto.getBid()));
-      contract.setAsk(toBigDecimal(optionDto.getAsk()));
-      contract.setBidSize(optionDto.getBidSize());
-      contract.setAskSize(optionDto.getAskSize());
-      contract.setLastPrice(toBigDecimal(optionDto.getLastPrice()));
-      contract.setVolume(optionDto.getVolume());
-      contract.setOpenInterest(optionDto.getOpenInterest());
-      contract.setNetChange(toBigDecimal(optionDto.getNetChange()));
-      contract.setInTheMoney(optionDto.getInTheMoney());
-      contract.setQuoteDetail(optionDto.getQuoteDetail());
-      
-      // Option Greeks
-      if (optionDto.getOptionGreeks() != null) {
-        OptionGreeksDto greeks = optionDto.getOptionGreeks();
-        contract.setDelta(toBigDecimal(greeks.getDelta()));
-        contract.setGamma(toBigDecimal(greeks.getGamma()));
-        contract.setTheta(toBigDecimal(greeks.getTheta()));
-        contract.setVega(toBigDecimal(greeks.getVega()));
-        contract.setRho(toBigDecimal(greeks.getRho()));
-        contract.setIv(toBigDecimal(greeks.getIv()));
-        contract.setGreeksCurrentValue(greeks.getCurrentValue());
-      }
-      
-      contract.setLastSyncedAt(OffsetDateTime.now());
+  /**
+   * Returns persisted option chain history for a symbol, one point per snapshot and strike.
+   * All bounds are optional; the request-time window defaults to the last 30 days.
+   */
+  @Transactional(readOnly = true)
+  public List<OptionSurfacePointDto> getOptionSurface(String symbol, LocalDate expiryFrom, LocalDate expiryTo,
+      OffsetDateTime from, OffsetDateTime to, Double minStrike, Double maxStrike,
+      Double minDelta, Double maxDelta, Integer limit) {
+    OffsetDateTime end = to != null ? to : OffsetDateTime.now();
+    OffsetDateTime start = from != null ? from : end.minusDays(30);
+    boolean anyDelta = minDelta == null && maxDelta == null;
+    int rowLimit = limit == null || limit <= 0 ? DEFAULT_SURFACE_LIMIT : Math.min(limit, MAX_SURFACE_LIMIT);
+
+    return optionChainSnapshotRepository.findSurface(
+            symbol.toUpperCase(),
+            expiryFrom != null ? expiryFrom : LocalDate.of(1900, 1, 1),
+            expiryTo != null ? expiryTo : LocalDate.of(9999, 12, 31),
+            start, end,
+            minStrike != null ? minStrike : 0d,
+            maxStrike != null ? maxStrike : Double.MAX_VALUE,
+            anyDelta,
+            minDelta != null ? minDelta : -1d,
+            maxDelta != null ? maxDelta : 1d,
+            rowLimit).stream()
+        .map(row -> new OptionSurfacePointDto(
+            row.getRequestTime() != null ? row.getRequestTime().atOffset(ZoneOffset.UTC) : null,
+            row.getExpiryDate(), row.getNearPrice(), row.getStrike(),
+            row.getCallBid(), row.getCallAsk(), row.getCallIv(), row.getCallDelta(),
+            row.getPutBid(), row.getPutAsk(), row.getPutIv(), row.getPutDelta()))
+        .toList();
+  }
 
-      optionContractRepository.save(contract);
-      log.debug("Persisted option contract: {}", optionDto.getSymbol());
-    } catch (Exception e) {
-      log.error("Failed to persist option contract: {}", optionDto.getSymbol(), e);
-      // Don't throw - persistence failure shouldn't break API call
+  private static LocalDate toExpiryDate(Integer year, Integer month, Integer day) {
+    if (year == null || month == null || day == null) {
+      return null;
+    }
+    try {
+      return LocalDate.of(year, month, day);
+    } catch (DateTimeException e) {
+      return null;
     }
   }
 
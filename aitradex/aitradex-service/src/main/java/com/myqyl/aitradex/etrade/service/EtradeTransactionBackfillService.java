@@ -0,0 +1,387 @@
+package com.myqyl.aitradex.etrade.service;
+
+import com.myqyl.aitradex.api.dto.EtradeTransactionSyncStateDto;
+import com.myqyl.aitradex.etrade.client.EtradeAccountClient;
+import com.myqyl.aitradex.etrade.client.EtradeRateLimiter;
+import com.myqyl.aitradex.etrade.config.EtradeProperties;
+import com.myqyl.aitradex.etrade.domain.EtradeAccount;
+import com.myqyl.aitradex.etrade.domain.EtradeTransactionSyncState;
+import com.myqyl.aitradex.etrade.repository.EtradeAccountRepository;
+import com.myqyl.aitradex.etrade.repository.EtradeTransactionSyncStateRepository;
+import com.myqyl.aitradex.exception.NotFoundException;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Walks E*TRADE transaction history pages for many accounts concurrently.
+ *
+ * Each account's backfill follows the List Transactions marker chain from newest to oldest.
+ * Every page is upserted together with its checkpoint in one database transaction, so a
+ * restart resumes from the last committed marker. Once an account is fully backfilled it is
+ * kept current by periodic delta syncs over a short trailing date window.
+ *
+ * Calls are bounded by a global rate limit shared across all accounts, a per-account minimum
+ * spacing, and a fixed number of worker threads.
+ */
+@Service
+@ConditionalOnProperty(name = "app.etrade.enabled", havingValue = "true", matchIfMissing = false)
+public class EtradeTransactionBackfillService {
+
+  private static final Logger log = LoggerFactory.getLogger(EtradeTransactionBackfillService.class);
+  private static final DateTimeFormatter ETRADE_DATE = DateTimeFormatter.ofPattern("MMddyyyy");
+  private static final ZoneId ETRADE_ZONE = ZoneId.of("America/New_York");
+  private static final int MAX_DELTA_PAGES = 100;
+
+  private final EtradeAccountRepository accountRepository;
+  private final EtradeTransactionSyncStateRepository syncStateRepository;
+  private final EtradeAccountClient accountClient;
+  private final EtradeAccountService accountService;
+  private final TransactionTemplate transactionTemplate;
+  private final EtradeProperties.TransactionSync config;
+  private final ExecutorService executor;
+  private final EtradeRateLimiter globalLimiter;
+  private final Map<UUID, EtradeRateLimiter> accountLimiters = new ConcurrentHashMap<>();
+  private final Set<UUID> running = ConcurrentHashMap.newKeySet();
+
+  @Autowired
+  public EtradeTransactionBackfillService(
+      EtradeAccountRepository accountRepository,
+      EtradeTransactionSyncStateRepository syncStateRepository,
+      EtradeAccountClient accountClient,
+      EtradeAccountService accountService,
+      TransactionTemplate transactionTemplate,
+      EtradeProperties properties) {
+    this(accountRepository, syncStateRepository, accountClient, accountService, transactionTemplate,
+        properties.getTransactions(), newWorkerPool(properties.getTransactions().getMaxConcurrentAccounts()));
+  }
+
+  // Constructor for testing
+  EtradeTransactionBackfillService(
+      EtradeAccountRepository accountRepository,
+      EtradeTransactionSyncStateRepository syncStateRepository,
+      EtradeAccountClient accountClient,
+      EtradeAccountService accountService,
+      TransactionTemplate transactionTemplate,
+      EtradeProperties.TransactionSync config,
+      ExecutorService executor) {
+    this.accountRepository = accountRepository;
+    this.syncStateRepository = syncStateRepository;
+    this.accountClient = accountClient;
+    this.accountService = accountService;
+    this.transactionTemplate = transactionTemplate;
+    this.config = config;
+    this.executor = executor;
+    this.globalLimiter = EtradeRateLimiter.perSecond(config.getGlobalRequestsPerSecond());
+  }
+
+  private static ExecutorService newWorkerPool(int threads) {
+    AtomicInteger counter = new AtomicInteger();
+    return Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+      Thread thread = new Thread(r, "etrade-txn-backfill-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Queues a history backfill for the given accounts (all linked accounts when empty).
+   * Accounts that are already being synced are left alone; completed accounts are skipped.
+   */
+  public List<EtradeTransactionSyncStateDto> startBackfill(Collection<UUID> accountIds) {
+    List<UUID> targets = accountIds == null || accountIds.isEmpty()
+        ? accountRepository.findAll().stream().map(EtradeAccount::getId).toList()
+        : List.copyOf(accountIds);
+
+    List<EtradeTransactionSyncStateDto> states = new ArrayList<>();
+    for (UUID accountId : targets) {
+      if (!accountRepository.existsById(accountId)) {
+        throw new NotFoundException("E*TRADE account not found: " + accountId);
+      }
+      EtradeTransactionSyncState state = loadOrCreateState(accountId);
+      if (!EtradeTransactionSyncState.STATUS_BACKFILLED.equals(state.getStatus())) {
+        submit(accountId, () -> backfillAccount(accountId));
+      }
+      states.add(toDto(state));
+    }
+    log.info("Queued transaction backfill for {} account(s)", states.size());
+    return states;
+  }
+
+  /**
+   * Gets the sync checkpoint for an account.
+   */
+  public EtradeTransactionSyncStateDto getState(UUID accountId) {
+    return syncStateRepository.findByAccountId(accountId)
+        .map(this::toDto)
+        .orElseThrow(() -> new NotFoundException("No transaction sync state for account " + accountId));
+  }
+
+  /**
+   * Resumes backfills interrupted by a shutdown, starting from their last committed marker.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void resumeInterruptedBackfills() {
+    List<EtradeTransactionSyncState> interrupted = syncStateRepository.findByStatusIn(
+        List.of(EtradeTransactionSyncState.STATUS_PENDING, EtradeTransactionSyncState.STATUS_BACKFILLING));
+    for (EtradeTransactionSyncState state : interrupted) {
+      UUID accountId = state.getAccountId();
+      log.info("Resuming transaction backfill for account {} from marker {}", accountId, state.getBackfillMarker());
+      submit(accountId, () -> backfillAccount(accountId));
+    }
+  }
+
+  /**
+   * Runs delta syncs for backfilled accounts and retries failed backfills.
+   */
+  @Scheduled(fixedDelayString = "${app.etrade.transactions.delta-sync-interval-ms:900000}",
+      initialDelayString = "${app.etrade.transactions.delta-sync-interval-ms:900000}")
+  public void runDeltaSyncs() {
+    for (EtradeTransactionSyncState state : syncStateRepository.findByStatusIn(
+        List.of(EtradeTransactionSyncState.STATUS_BACKFILLED, EtradeTransactionSyncState.STATUS_FAILED))) {
+      UUID accountId = state.getAccountId();
+      if (EtradeTransactionSyncState.STATUS_FAILED.equals(state.getStatus())) {
+        submit(accountId, () -> backfillAccount(accountId));
+      } else {
+        submit(accountId, () -> deltaSyncAccount(accountId));
+      }
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+    try {
+      executor.awaitTermination(5, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  boolean isRunning(UUID accountId) {
+    return running.contains(accountId);
+  }
+
+  private void submit(UUID accountId, Runnable job) {
+    if (!running.add(accountId)) {
+      log.debug("Transaction sync already running for account {}", accountId);
+      return;
+    }
+    executor.execute(() -> {
+      try {
+        job.run();
+      } finally {
+        running.remove(accountId);
+      }
+    });
+  }
+
+  /**
+   * Walks the marker chain from the last checkpoint until E*TRADE reports no more pages.
+   */
+  void backfillAccount(UUID accountId) {
+    EtradeTransactionSyncState state = loadOrCreateState(accountId);
+    try {
+      String accountIdKey = accountKey(accountId);
+      if (state.getBackfillStartedAt() == null) {
+        state.setBackfillStartedAt(OffsetDateTime.now());
+      }
+      state.setStatus(EtradeTransactionSyncState.STATUS_BACKFILLING);
+      state.setLastError(null);
+      state = syncStateRepository.save(state);
+
+      String marker = state.getBackfillMarker();
+      while (!Thread.currentThread().isInterrupted()) {
+        Page page = fetchPage(accountId, accountIdKey, marker, null, null);
+        boolean done = !page.more() || page.nextMarker() == null || page.nextMarker().equals(marker);
+        state = commitPage(state, page, done ? null : page.nextMarker(), done);
+        if (done) {
+          log.info("Transaction backfill complete for account {} ({} pages, {} transactions)",
+              accountId, state.getPagesFetched(), state.getTransactionsSynced());
+          return;
+        }
+        marker = page.nextMarker();
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      log.info("Transaction backfill for account {} interrupted at marker {}", accountId, state.getBackfillMarker());
+    } catch (Exception ex) {
+      log.error("Transaction backfill failed for account {} at marker {}", accountId, state.getBackfillMarker(), ex);
+      markFailed(accountId, ex);
+    }
+  }
+
+  /**
+   * Re-reads the trailing date window since the newest known transaction; the upsert dedupes and
+   * only transactions not seen before add to the synced total.
+   */
+  void deltaSyncAccount(UUID accountId) {
+    EtradeTransactionSyncState state = loadOrCreateState(accountId);
+    try {
+      String accountIdKey = accountKey(accountId);
+      long fromMillis = state.getNewestTransactionDate() != null
+          ? state.getNewestTransactionDate()
+          : System.currentTimeMillis();
+      Instant from = Instant.ofEpochMilli(fromMillis).minus(config.getDeltaLookback());
+      String startDate = ETRADE_DATE.format(from.atZone(ETRADE_ZONE));
+      String endDate = ETRADE_DATE.format(Instant.now().atZone(ETRADE_ZONE));
+
+      String marker = null;
+      for (int pages = 0; pages < MAX_DELTA_PAGES; pages++) {
+        Page page = fetchPage(accountId, accountIdKey, marker, startDate, endDate);
+        state = commitPage(state, page, state.getBackfillMarker(), false);
+        if (!page.more() || page.nextMarker() == null || page.nextMarker().equals(marker)) {
+          break;
+        }
+        marker = page.nextMarker();
+      }
+      state.setLastDeltaSyncAt(OffsetDateTime.now());
+      syncStateRepository.save(state);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    } catch (Exception ex) {
+      // Delta failures are retried on the next run; the backfill itself stays complete
+      log.warn("Transaction delta sync failed for account {}: {}", accountId, ex.getMessage());
+    }
+  }
+
+  private Page fetchPage(UUID accountId, String accountIdKey, String marker, String startDate, String endDate)
+      throws InterruptedException {
+    accountLimiters
+        .computeIfAbsent(accountId, id -> new EtradeRateLimiter(config.getPerAccountMinInterval()))
+        .acquire();
+    globalLimiter.acquire();
+
+    Map<String, Object> result = accountClient.getTransactions(accountId, accountIdKey, marker,
+        config.getPageSize(), startDate, endDate, null, null, null);
+
+    @SuppressWarnings("unchecked")
+    List<Map<String, Object>> transactions = (List<Map<String, Object>>) result.get("transactions");
+    boolean more = Boolean.TRUE.equals(result.get("moreTransactions"));
+    return new Page(transactions != null ? transactions : List.of(), more, nextMarker(result));
+  }
+
+  /**
+   * Upserts a page and advances the checkpoint in the same database transaction.
+   */
+  private EtradeTransactionSyncState commitPage(EtradeTransactionSyncState state, Page page,
+                                                String checkpointMarker, boolean complete) {
+    return transactionTemplate.execute(status -> {
+      int inserted = accountService.upsertTransactions(state.getAccountId(), page.transactions());
+      state.setPagesFetched(state.getPagesFetched() + 1);
+      state.setTransactionsSynced(state.getTransactionsSynced() + inserted);
+      state.setBackfillMarker(checkpointMarker);
+      Long newest = newestTransactionDate(page.transactions());
+      if (newest != null && (state.getNewestTransactionDate() == null || newest > state.getNewestTransactionDate())) {
+        state.setNewestTransactionDate(newest);
+      }
+      if (complete) {
+        state.setStatus(EtradeTransactionSyncState.STATUS_BACKFILLED);
+        state.setBackfillCompletedAt(OffsetDateTime.now());
+      }
+      return syncStateRepository.save(state);
+    });
+  }
+
+  private void markFailed(UUID accountId, Exception ex) {
+    syncStateRepository.findByAccountId(accountId).ifPresent(state -> {
+      state.setStatus(EtradeTransactionSyncState.STATUS_FAILED);
+      state.setLastError(ex.getMessage());
+      syncStateRepository.save(state);
+    });
+  }
+
+  private EtradeTransactionSyncState loadOrCreateState(UUID accountId) {
+    return syncStateRepository.findByAccountId(accountId).orElseGet(() -> {
+      EtradeTransactionSyncState state = new EtradeTransactionSyncState();
+      state.setAccountId(accountId);
+      return syncStateRepository.save(state);
+    });
+  }
+
+  private String accountKey(UUID accountId) {
+    return accountRepository.findById(accountId)
+        .map(EtradeAccount::getAccountIdKey)
+        .orElseThrow(() -> new NotFoundException("E*TRADE account not found: " + accountId));
+  }
+
+  /**
+   * Resolves the marker for the next page, falling back to the marker parameter of the next URL.
+   */
+  static String nextMarker(Map<String, Object> result) {
+    Object marker = result.get("marker");
+    if (marker instanceof String value && !value.isBlank()) {
+      return value;
+    }
+    Object next = result.get("next");
+    if (next instanceof String url) {
+      int start = url.indexOf("marker=");
+      if (start >= 0) {
+        int end = url.indexOf('&', start);
+        String value = url.substring(start + "marker=".length(), end < 0 ? url.length() : end);
+        return value.isBlank() ? null : value;
+      }
+    }
+    return null;
+  }
+
+  private static Long newestTransactionDate(List<Map<String, Object>> transactions) {
+    Long newest = null;
+    for (Map<String, Object> transaction : transactions) {
+      Object value = transaction.get("transactionDate");
+      Long date = null;
+      if (value instanceof Number number) {
+        date = number.longValue();
+      } else if (value instanceof String text) {
+        try {
+          date = Long.parseLong(text);
+        } catch (NumberFormatException ignored) {
+          // Unparseable dates are skipped; the upsert logs them
+        }
+      }
+      if (date != null && (newest == null || date > newest)) {
+        newest = date;
+      }
+    }
+    return newest;
+  }
+
+  private EtradeTransactionSyncStateDto toDto(EtradeTransactionSyncState state) {
+    return new EtradeTransactionSyncStateDto(
+        state.getAccountId(),
+        state.getStatus(),
+        running.contains(state.getAccountId()),
+        state.getBackfillMarker(),
+        state.getPagesFetched(),
+        state.getTransactionsSynced(),
+        state.getNewestTransactionDate(),
+        state.getBackfillStartedAt(),
+        state.getBackfillCompletedAt(),
+        state.getLastDeltaSyncAt(),
+        state.getLastError());
+  }
+
+  private record Page(List<Map<String, Object>> transactions, boolean more, String nextMarker) {}
+}
@@ -0,0 +1,91 @@
+package com.myqyl.aitradex.etrade.service;
+
+import com.myqyl.aitradex.etrade.domain.EtradeOptionChainSnapshot;
+import com.myqyl.aitradex.etrade.market.dto.OptionDto;
+import com.myqyl.aitradex.etrade.market.dto.OptionGreeksDto;
+import com.myqyl.aitradex.etrade.market.dto.OptionPairDto;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Encodes an option chain into the index-aligned arrays stored on {@link EtradeOptionChainSnapshot}.
+ *
+ * Pairs are sorted by strike; pairs without a resolvable strike are dropped. A missing call/put leg
+ * or greek yields a NULL element so every array keeps the same length as {@code strikes}.
+ */
+final class OptionChainColumns {
+
+  private OptionChainColumns() {
+  }
+
+  /**
+   * Writes the columnar chain onto the snapshot and returns the number of strikes encoded.
+   */
+  static int apply(EtradeOptionChainSnapshot snapshot, List<OptionPairDto> pairs) {
+    List<OptionPairDto> sorted = new ArrayList<>();
+    if (pairs != null) {
+      for (OptionPairDto pair : pairs) {
+        if (pair != null && strikeOf(pair) != null) {
+          sorted.add(pair);
+        }
+      }
+    }
+    sorted.sort(Comparator.comparing(OptionChainColumns::strikeOf));
+
+    snapshot.setStrikeCount(sorted.size());
+    snapshot.setStrikes(column(sorted, OptionChainColumns::strikeOf));
+
+    snapshot.setCallBid(column(sorted, p -> quote(p.getCall(), OptionDto::getBid)));
+    snapshot.setCallAsk(column(sorted, p -> quote(p.getCall(), OptionDto::getAsk)));
+    snapshot.setCallLast(column(sorted, p -> quote(p.getCall(), OptionDto::getLastPrice)));
+    snapshot.setCallOpenInterest(column(sorted, p -> openInterest(p.getCall())));
+    snapshot.setCallIv(column(sorted, p -> greek(p.getCall(), OptionGreeksDto::getIv)));
+    snapshot.setCallDelta(column(sorted, p -> greek(p.getCall(), OptionGreeksDto::getDelta)));
+    snapshot.setCallGamma(column(sorted, p -> greek(p.getCall(), OptionGreeksDto::getGamma)));
+    snapshot.setCallTheta(column(sorted, p -> greek(p.getCall(), OptionGreeksDto::getTheta)));
+    snapshot.setCallVega(column(sorted, p -> greek(p.getCall(), OptionGreeksDto::getVega)));
+
+    snapshot.setPutBid(column(sorted, p -> quote(p.getPut(), OptionDto::getBid)));
+    snapshot.setPutAsk(column(sorted, p -> quote(p.getPut(), OptionDto::getAsk)));
+    snapshot.setPutLast(column(sorted, p -> quote(p.getPut(), OptionDto::getLastPrice)));
+    snapshot.setPutOpenInterest(column(sorted, p -> openInterest(p.getPut())));
+    snapshot.setPutIv(column(sorted, p -> greek(p.getPut(), OptionGreeksDto::getIv)));
+    snapshot.setPutDelta(column(sorted, p -> greek(p.getPut(), OptionGreeksDto::getDelta)));
+    snapshot.setPutGamma(column(sorted, p -> greek(p.getPut(), OptionGreeksDto::getGamma)));
+    snapshot.setPutTheta(column(sorted, p -> greek(p.getPut(), OptionGreeksDto::getTheta)));
+    snapshot.setPutVega(column(sorted, p -> greek(p.getPut(), OptionGreeksDto::getVega)));
+    return sorted.size();
+  }
+
+  static Double strikeOf(OptionPairDto pair) {
+    if (pair.getStrikePrice() != null) {
+      return pair.getStrikePrice();
+    }
+    if (pair.getCall() != null && pair.getCall().getStrikePrice() != null) {
+      return pair.getCall().getStrikePrice();
+    }
+    return pair.getPut() != null ? pair.getPut().getStrikePrice() : null;
+  }
+
+  private static Double[] column(List<OptionPairDto> pairs, Function<OptionPairDto, Double> extractor) {
+    Double[] values = new Double[pairs.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = extractor.apply(pairs.get(i));
+    }
+    return values;
+  }
+
+  private static Double quote(OptionDto option, Function<OptionDto, Double> field) {
+    return option != null ? field.apply(option) : null;
+  }
+
+  private static Double openInterest(OptionDto option) {
+    return option != null && option.getOpenInterest() != null ? option.getOpenInterest().doubleValue() : null;
+  }
+
+  private static Double greek(OptionDto option, Function<OptionGreeksDto, Double> field) {
+    return option != null && option.getOptionGreeks() != null ? field.apply(option.getOptionGreeks()) : null;
+  }
+}
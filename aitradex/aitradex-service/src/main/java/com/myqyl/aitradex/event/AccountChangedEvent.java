@@ -0,0 +1,14 @@
+package com.myqyl.aitradex.event;
+
+import java.util.UUID;
+
+/**
+ * An account's orders, fills or positions changed; replicas drop any aggregate cached for it.
+ */
+public record AccountChangedEvent(UUID accountId) implements ClusterEvent {
+
+  @Override
+  public String coalesceKey() {
+    return "account:" + accountId;
+  }
+}
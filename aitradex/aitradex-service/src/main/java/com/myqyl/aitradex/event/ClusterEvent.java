@@ -0,0 +1,24 @@
+package com.myqyl.aitradex.event;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+/**
+ * Event shared between service replicas through
+ * {@link com.myqyl.aitradex.service.ClusterEventBus}. Replicas receive each other's events as
+ * ordinary Spring application events; a replica never receives its own.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+@JsonSubTypes({
+    @JsonSubTypes.Type(value = QuoteTickEvent.class, name = "quote"),
+    @JsonSubTypes.Type(value = AccountChangedEvent.class, name = "account"),
+    @JsonSubTypes.Type(value = TokenInvalidatedEvent.class, name = "token"),
+    @JsonSubTypes.Type(value = EntityCacheEvictedEvent.class, name = "entity")})
+public sealed interface ClusterEvent
+    permits QuoteTickEvent, AccountChangedEvent, TokenInvalidatedEvent, EntityCacheEvictedEvent {
+
+  /**
+   * Events with the same key published within one flush interval are coalesced to the latest.
+   */
+  String coalesceKey();
+}
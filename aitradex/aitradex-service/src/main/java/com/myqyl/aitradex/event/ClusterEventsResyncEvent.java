@@ -0,0 +1,7 @@
+package com.myqyl.aitradex.event;
+
+/**
+ * Published locally after the event bus reconnects to Postgres. Notifications sent while it was
+ * disconnected are lost, so listeners should drop whatever the missed events would have evicted.
+ */
+public record ClusterEventsResyncEvent() {}
@@ -0,0 +1,15 @@
+package com.myqyl.aitradex.event;
+
+import java.util.UUID;
+
+/**
+ * A second-level cached entity was inserted, updated or deleted; replicas evict their copy and
+ * the cached query results for that entity.
+ */
+public record EntityCacheEvictedEvent(String entity, UUID id) implements ClusterEvent {
+
+  @Override
+  public String coalesceKey() {
+    return "entity:" + entity + ":" + id;
+  }
+}
@@ -0,0 +1,8 @@
+package com.myqyl.aitradex.event;
+
+import com.myqyl.aitradex.api.dto.OrderDto;
+
+/**
+ * Published when an internal order is placed or its status is changed through the API.
+ */
+public record OrderUpdatedEvent(OrderDto order) {}
@@ -0,0 +1,17 @@
+package com.myqyl.aitradex.event;
+
+import com.myqyl.aitradex.api.dto.MarketDataQuoteDto;
+import java.time.Instant;
+
+/**
+ * A quote one replica fetched from a provider, so the others can serve it from cache until
+ * {@code fetchedAt} plus their cache TTL instead of fetching it again.
+ */
+public record QuoteTickEvent(String source, MarketDataQuoteDto quote, Instant fetchedAt)
+    implements ClusterEvent {
+
+  @Override
+  public String coalesceKey() {
+    return "quote:" + source.toLowerCase() + ":" + quote.symbol().toUpperCase();
+  }
+}
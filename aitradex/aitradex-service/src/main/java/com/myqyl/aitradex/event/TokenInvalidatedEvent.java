@@ -0,0 +1,14 @@
+package com.myqyl.aitradex.event;
+
+import java.util.UUID;
+
+/**
+ * An E*TRADE access token for the account was stored, renewed or deleted.
+ */
+public record TokenInvalidatedEvent(UUID accountId) implements ClusterEvent {
+
+  @Override
+  public String coalesceKey() {
+    return "token:" + accountId;
+  }
+}
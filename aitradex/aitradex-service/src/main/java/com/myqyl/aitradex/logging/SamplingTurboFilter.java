@@ -0,0 +1,91 @@
+package com.myqyl.aitradex.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Marker;
+
+/**
+ * Logback turbo filter that keeps one in N events for high-frequency log categories, decided
+ * before the event is built. Configured in logback-spring.xml as {@code <rates>} of the form
+ * {@code category=N,category=N}; a category matches its logger and the loggers below it. Only
+ * events at or below {@code maxLevel} (INFO by default) are sampled, so warnings and errors are
+ * never dropped.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+  private final Map<String, Long> rates = new ConcurrentHashMap<>();
+  private final Map<String, Sampler> samplers = new ConcurrentHashMap<>();
+  private Level maxLevel = Level.INFO;
+
+  public void setRates(String spec) {
+    rates.clear();
+    samplers.clear();
+    if (spec == null) {
+      return;
+    }
+    for (String entry : spec.split(",")) {
+      int eq = entry.indexOf('=');
+      if (eq <= 0) {
+        continue;
+      }
+      String category = entry.substring(0, eq).trim();
+      try {
+        long oneIn = Long.parseLong(entry.substring(eq + 1).trim());
+        if (oneIn > 1) {
+          rates.put(category, oneIn);
+        }
+      } catch (NumberFormatException ex) {
+        addWarn("Ignoring sampling rate for " + category + ": " + ex.getMessage());
+      }
+    }
+  }
+
+  public void setMaxLevel(String level) {
+    this.maxLevel = Level.toLevel(level, Level.INFO);
+  }
+
+  @Override
+  public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+      Throwable t) {
+    if (rates.isEmpty() || level == null || level.isGreaterOrEqual(Level.WARN)
+        || !maxLevel.isGreaterOrEqual(level) || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+      return FilterReply.NEUTRAL;
+    }
+    Sampler sampler = samplers.computeIfAbsent(logger.getName(), this::samplerFor);
+    return sampler.keep() ? FilterReply.NEUTRAL : FilterReply.DENY;
+  }
+
+  /**
+   * The rate of the closest configured category at or above {@code loggerName}.
+   */
+  private Sampler samplerFor(String loggerName) {
+    for (String name = loggerName; ; ) {
+      Long oneIn = rates.get(name);
+      if (oneIn != null) {
+        return new Sampler(oneIn);
+      }
+      int dot = name.lastIndexOf('.');
+      if (dot < 0) {
+        return Sampler.ALL;
+      }
+      name = name.substring(0, dot);
+    }
+  }
+
+  private record Sampler(long oneIn, AtomicLong seen) {
+    static final Sampler ALL = new Sampler(1);
+
+    Sampler(long oneIn) {
+      this(oneIn, new AtomicLong());
+    }
+
+    boolean keep() {
+      return oneIn <= 1 || seen.getAndIncrement() % oneIn == 0;
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package com.myqyl.aitradex.marketdata;
 
 import com.myqyl.aitradex.api.dto.MarketDataQuoteDto;
+import com.myqyl.aitradex.config.MarketDataProperties;
 import com.myqyl.aitradex.exception.NotFoundException;
 import java.io.IOException;
 import java.math.BigDecimal;
@@ -21,12 +22,14 @@ import org.springframework.stereotype.Component;
 @ConditionalOnProperty(name = "app.market-data.providers.stooq.enabled", havingValue = "true", matchIfMissing = false)
 public class StooqAdapter implements MarketDataAdapter {
 
-  private static final String ENDPOINT = "https://stooq.com/q/l/?s=%s&i=d";
+  private static final String DEFAULT_BASE_URL = "https://stooq.com";
 
   private final HttpClient httpClient;
+  private final String endpoint;
 
-  public StooqAdapter() {
+  public StooqAdapter(MarketDataProperties properties) {
     this.httpClient = HttpClient.newHttpClient();
+    this.endpoint = properties.providerBaseUrl("stooq", DEFAULT_BASE_URL) + "/q/l/?s=%s&i=d";
   }
 
   @Override
@@ -38,7 +41,7 @@ public class StooqAdapter implements MarketDataAdapter {
   public MarketDataQuoteDto latestQuote(String symbol) {
     String stooqSymbol = toStooqSymbol(symbol);
     HttpRequest request =
-        HttpRequest.newBuilder(URI.create(ENDPOINT.formatted(stooqSymbol))).GET().build();
+        HttpRequest.newBuilder(URI.create(endpoint.formatted(stooqSymbol))).GET().build();
 
     try {
       HttpResponse<String> response =
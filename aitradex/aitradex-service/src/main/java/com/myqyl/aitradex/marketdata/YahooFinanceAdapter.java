@@ -3,6 +3,7 @@ package com.myqyl.aitradex.marketdata;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.myqyl.aitradex.api.dto.MarketDataQuoteDto;
+import com.myqyl.aitradex.config.MarketDataProperties;
 import com.myqyl.aitradex.exception.NotFoundException;
 import java.io.IOException;
 import java.math.BigDecimal;
@@ -20,15 +21,16 @@ import org.springframework.stereotype.Component;
 @ConditionalOnProperty(name = "app.market-data.providers.yahoo.enabled", havingValue = "true", matchIfMissing = false)
 public class YahooFinanceAdapter implements MarketDataAdapter {
 
-  private static final String ENDPOINT =
-      "https://query1.finance.yahoo.com/v7/finance/quote?symbols=";
+  private static final String DEFAULT_BASE_URL = "https://query1.finance.yahoo.com";
 
   private final HttpClient httpClient;
   private final ObjectMapper objectMapper;
+  private final String endpoint;
 
-  public YahooFinanceAdapter(ObjectMapper objectMapper) {
+  public YahooFinanceAdapter(ObjectMapper objectMapper, MarketDataProperties properties) {
     this.httpClient = HttpClient.newHttpClient();
     this.objectMapper = objectMapper;
+    this.endpoint = properties.providerBaseUrl("yahoo", DEFAULT_BASE_URL) + "/v7/finance/quote?symbols=";
   }
 
   @Override
@@ -40,7 +42,7 @@ public class YahooFinanceAdapter implements MarketDataAdapter {
   public MarketDataQuoteDto latestQuote(String symbol) {
     String normalized = symbol.toUpperCase();
     HttpRequest request =
-        HttpRequest.newBuilder(URI.create(ENDPOINT + normalized)).GET().build();
+        HttpRequest.newBuilder(URI.create(endpoint + normalized)).GET().build();
 
     try {
       HttpResponse<String> response =
@@ -0,0 +1,40 @@
+package com.myqyl.aitradex.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One E*TRADE API round trip; retries are separate events.
+ */
+@Name("com.myqyl.aitradex.EtradeCall")
+@Label("E*TRADE Call")
+@Category({"Aitradex", "E*TRADE"})
+@Description("E*TRADE API round trip, one per attempt")
+@StackTrace(false)
+public class EtradeCallEvent extends Event {
+
+  @Label("Method")
+  private String method;
+
+  @Label("Endpoint")
+  @Description("Normalized path, with account keys, order ids and symbols replaced by {id}")
+  private String endpoint;
+
+  @Label("Status")
+  @Description("HTTP status, or IO_ERROR when no response arrived")
+  private String status;
+
+  public void finish(String method, String endpoint, String status) {
+    end();
+    if (shouldCommit()) {
+      this.method = method;
+      this.endpoint = endpoint;
+      this.status = status;
+      commit();
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package com.myqyl.aitradex.profiling;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+import jdk.jfr.Configuration;
+
+/**
+ * JFR settings for aitradex recordings: one of the JDK's built-in configurations with a few
+ * settings overridden. {@link #CONTINUOUS} stays around 1% overhead: it keeps quote fetches and
+ * E*TRADE calls slower than 20 ms and every snapshot run, stop-loss run and upload validation (each
+ * a handful per minute at most), all without stack traces. The on-demand templates record every
+ * aitradex event with its stack trace and sharpen one kind of JDK event.
+ */
+public enum ProfilingTemplate {
+
+  /**
+   * Always-on recording; see {@code app.profiling.continuous-*}. Only the per-request events get a
+   * threshold; the batch events are rare enough to keep in full.
+   */
+  CONTINUOUS("default", Map.of(
+      "com.myqyl.aitradex.QuoteFetch#threshold", "20 ms",
+      "com.myqyl.aitradex.EtradeCall#threshold", "20 ms")),
+
+  /** Where CPU time goes: method samples every 10 ms instead of 20 ms. */
+  CPU("profile", Map.of(
+      "jdk.ExecutionSample#period", "10 ms",
+      "jdk.NativeMethodSample#period", "10 ms")),
+
+  /** Where threads wait: monitor, park and socket events from 1 ms rather than 10-20 ms. */
+  LOCKS("profile", Map.of(
+      "jdk.JavaMonitorEnter#threshold", "1 ms",
+      "jdk.JavaMonitorWait#threshold", "1 ms",
+      "jdk.ThreadPark#threshold", "1 ms",
+      "jdk.SocketRead#threshold", "1 ms",
+      "jdk.SocketWrite#threshold", "1 ms")),
+
+  /** What allocates: five times the default allocation sampling rate, plus old-object samples. */
+  ALLOCATION("profile", Map.of(
+      "jdk.ObjectAllocationSample#throttle", "1500/s",
+      "jdk.OldObjectSample#enabled", "true",
+      "jdk.OldObjectSample#cutoff", "infinity"));
+
+  private static final String[] EVENTS = {
+      "com.myqyl.aitradex.QuoteFetch",
+      "com.myqyl.aitradex.EtradeCall",
+      "com.myqyl.aitradex.SnapshotRun",
+      "com.myqyl.aitradex.StopLossRun",
+      "com.myqyl.aitradex.UploadValidation"};
+
+  private final String base;
+  private final Map<String, String> overrides;
+
+  ProfilingTemplate(String base, Map<String, String> overrides) {
+    this.base = base;
+    this.overrides = overrides;
+  }
+
+  public Map<String, String> settings() {
+    Map<String, String> settings;
+    try {
+      settings = new HashMap<>(Configuration.getConfiguration(base).getSettings());
+    } catch (IOException | ParseException ex) {
+      throw new IllegalStateException("JFR configuration " + base + " is unavailable", ex);
+    }
+    for (String event : EVENTS) {
+      settings.put(event + "#enabled", "true");
+      settings.put(event + "#threshold", "0 ms");
+      settings.put(event + "#stackTrace", this == CONTINUOUS ? "false" : "true");
+    }
+    settings.putAll(overrides);
+    return settings;
+  }
+}
@@ -0,0 +1,38 @@
+package com.myqyl.aitradex.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One quote fetched from a market data provider on a cache miss.
+ */
+@Name("com.myqyl.aitradex.QuoteFetch")
+@Label("Quote Fetch")
+@Category({"Aitradex", "Market Data"})
+@Description("Quote fetched from a market data provider on a cache miss")
+@StackTrace(false)
+public class QuoteFetchEvent extends Event {
+
+  @Label("Source")
+  private String source;
+
+  @Label("Symbol")
+  private String symbol;
+
+  @Label("Success")
+  private boolean success;
+
+  public void finish(String source, String symbol, boolean success) {
+    end();
+    if (shouldCommit()) {
+      this.source = source;
+      this.symbol = symbol;
+      this.success = success;
+      commit();
+    }
+  }
+}
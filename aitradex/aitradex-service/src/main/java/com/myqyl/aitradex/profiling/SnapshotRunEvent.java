@@ -0,0 +1,34 @@
+package com.myqyl.aitradex.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One scheduled portfolio snapshot run on this replica.
+ */
+@Name("com.myqyl.aitradex.SnapshotRun")
+@Label("Portfolio Snapshot Run")
+@Category({"Aitradex", "Scheduler"})
+@Description("Scheduled portfolio snapshot run over the accounts this replica owns")
+@StackTrace(false)
+public class SnapshotRunEvent extends Event {
+
+  @Label("Source")
+  private String source;
+
+  @Label("Accounts Captured")
+  private int accounts;
+
+  public void finish(String source, int accounts) {
+    end();
+    if (shouldCommit()) {
+      this.source = source;
+      this.accounts = accounts;
+      commit();
+    }
+  }
+}
@@ -0,0 +1,39 @@
+package com.myqyl.aitradex.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One stop-loss check over the open positions with a stop.
+ */
+@Name("com.myqyl.aitradex.StopLossRun")
+@Label("Stop-Loss Run")
+@Category({"Aitradex", "Scheduler"})
+@Description("Stop-loss check over open positions, scheduled or requested through the API")
+@StackTrace(false)
+public class StopLossRunEvent extends Event {
+
+  @Label("Source")
+  private String source;
+
+  @Label("Positions")
+  @Description("Open positions with a stop loss loaded for the run")
+  private int positions;
+
+  @Label("Triggered")
+  private int triggered;
+
+  public void finish(String source, int positions, int triggered) {
+    end();
+    if (shouldCommit()) {
+      this.source = source;
+      this.positions = positions;
+      this.triggered = triggered;
+      commit();
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package com.myqyl.aitradex.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Validation of one uploaded file.
+ */
+@Name("com.myqyl.aitradex.UploadValidation")
+@Label("Upload Validation")
+@Category({"Aitradex", "Uploads"})
+@Description("Parse and validation pass over an uploaded file")
+@StackTrace(false)
+public class UploadValidationEvent extends Event {
+
+  @Label("Type")
+  private String type;
+
+  @Label("Size")
+  @DataAmount
+  private long bytes;
+
+  @Label("Rows")
+  private int rows;
+
+  @Label("Errors")
+  private int errors;
+
+  public void finish(String type, long bytes, int rows, int errors) {
+    end();
+    if (shouldCommit()) {
+      this.type = type;
+      this.bytes = bytes;
+      this.rows = rows;
+      this.errors = errors;
+      commit();
+    }
+  }
+}
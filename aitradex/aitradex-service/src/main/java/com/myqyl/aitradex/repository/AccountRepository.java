@@ -1,8 +1,15 @@
 package com.myqyl.aitradex.repository;
 
 import com.myqyl.aitradex.domain.Account;
+import java.util.Collection;
+import java.util.Set;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface AccountRepository extends JpaRepository<Account, UUID> {
+
+  @Query("select a.id from Account a where a.id in :ids")
+  Set<UUID> findIdsByIdIn(@Param("ids") Collection<UUID> ids);
 }
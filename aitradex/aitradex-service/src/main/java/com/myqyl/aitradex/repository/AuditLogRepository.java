@@ -1,15 +1,57 @@
 package com.myqyl.aitradex.repository;
 
 import com.myqyl.aitradex.domain.AuditLog;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+/**
+ * Audit log listings are keyset pages ordered by {@code (occurredAt, id)} descending; each query
+ * has a matching composite index so a page is a bounded range scan.
+ */
 public interface AuditLogRepository extends JpaRepository<AuditLog, UUID> {
 
-  List<AuditLog> findByEntityRefOrderByOccurredAtDesc(String entityRef);
+  @Query("""
+      select a from AuditLog a
+      where a.entityRef = :entityRef
+        and a.occurredAt >= :from
+        and (a.occurredAt, a.id) < (:beforeAt, :beforeId)
+      order by a.occurredAt desc, a.id desc
+      """)
+  List<AuditLog> findPageByEntityRef(
+      @Param("entityRef") String entityRef,
+      @Param("from") OffsetDateTime from,
+      @Param("beforeAt") OffsetDateTime beforeAt,
+      @Param("beforeId") UUID beforeId,
+      Limit limit);
 
-  List<AuditLog> findAllByOrderByOccurredAtDesc();
+  @Query("""
+      select a from AuditLog a
+      where a.actor = :actor
+        and a.occurredAt >= :from
+        and (a.occurredAt, a.id) < (:beforeAt, :beforeId)
+      order by a.occurredAt desc, a.id desc
+      """)
+  List<AuditLog> findPageByActor(
+      @Param("actor") String actor,
+      @Param("from") OffsetDateTime from,
+      @Param("beforeAt") OffsetDateTime beforeAt,
+      @Param("beforeId") UUID beforeId,
+      Limit limit);
 
-  List<AuditLog> findByActorOrderByOccurredAtDesc(String actor);
+  @Query("""
+      select a from AuditLog a
+      where a.occurredAt >= :from
+        and (a.occurredAt, a.id) < (:beforeAt, :beforeId)
+      order by a.occurredAt desc, a.id desc
+      """)
+  List<AuditLog> findPage(
+      @Param("from") OffsetDateTime from,
+      @Param("beforeAt") OffsetDateTime beforeAt,
+      @Param("beforeId") UUID beforeId,
+      Limit limit);
 }
@@ -1,11 +1,17 @@
 package com.myqyl.aitradex.repository;
 
 import com.myqyl.aitradex.domain.Benchmark;
+import jakarta.persistence.QueryHint;
 import java.util.Optional;
 import java.util.UUID;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface BenchmarkRepository extends JpaRepository<Benchmark, UUID> {
 
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+      @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query.Benchmark")})
   Optional<Benchmark> findBySymbol(String symbol);
 }
@@ -2,9 +2,13 @@ package com.myqyl.aitradex.repository;
 
 import com.myqyl.aitradex.domain.Order;
 import com.myqyl.aitradex.domain.OrderStatus;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface OrderRepository extends JpaRepository<Order, UUID> {
   List<Order> findByAccountIdOrderByCreatedAtDesc(UUID accountId);
@@ -13,5 +17,21 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
 
   List<Order> findByStatusOrderByCreatedAtDesc(OrderStatus status);
 
+  List<Order> findByStatusIn(Collection<OrderStatus> statuses);
+
+  List<Order> findByAccountIdAndStatusIn(UUID accountId, Collection<OrderStatus> statuses);
+
+  @Query("select o.account.id from Order o where o.id = :id")
+  Optional<UUID> findAccountIdById(@Param("id") UUID id);
+
+  @Query("select o.id as orderId, o.account.id as accountId from Order o where o.id in :ids")
+  List<OrderAccountRow> findAccountIdsByIdIn(@Param("ids") Collection<UUID> ids);
+
   boolean existsByAccountIdAndSymbolAndStatusIn(UUID accountId, String symbol, List<OrderStatus> statuses);
+
+  interface OrderAccountRow {
+    UUID getOrderId();
+
+    UUID getAccountId();
+  }
 }
@@ -0,0 +1,59 @@
+package com.myqyl.aitradex.repository;
+
+import com.myqyl.aitradex.domain.SchedulerNode;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface SchedulerNodeRepository extends JpaRepository<SchedulerNode, String> {
+
+  /**
+   * Creates or renews this replica's lease on the database clock.
+   */
+  @Transactional
+  @Modifying
+  @Query(value = """
+      insert into scheduler_nodes (node_id, started_at, heartbeat_at)
+      values (:nodeId, now(), now())
+      on conflict (node_id) do update set heartbeat_at = now()
+      """, nativeQuery = true)
+  void heartbeat(@Param("nodeId") String nodeId);
+
+  /**
+   * Ids of replicas whose lease is younger than {@code ttlSeconds}, sorted so every replica
+   * builds the same ring from the same membership.
+   */
+  @Query(value = """
+      select node_id from scheduler_nodes
+      where heartbeat_at > now() - make_interval(secs => :ttlSeconds)
+      order by node_id
+      """, nativeQuery = true)
+  List<String> findLiveNodeIds(@Param("ttlSeconds") double ttlSeconds);
+
+  /**
+   * Drops leases whose last heartbeat is older than {@code ttlSeconds} so the table does not
+   * collect one row per restarted pod.
+   */
+  @Transactional
+  @Modifying
+  @Query(value = """
+      delete from scheduler_nodes
+      where heartbeat_at < now() - make_interval(secs => :ttlSeconds)
+      """, nativeQuery = true)
+  int deleteExpired(@Param("ttlSeconds") double ttlSeconds);
+
+  @Transactional
+  @Modifying
+  @Query(value = "delete from scheduler_nodes where node_id = :nodeId", nativeQuery = true)
+  void release(@Param("nodeId") String nodeId);
+
+  /**
+   * Transaction-scoped advisory lock; false if another session holds {@code key}. Must run inside
+   * the caller's transaction, which releases the lock on commit or rollback.
+   */
+  @Query(value = "select pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+  boolean tryAdvisoryXactLock(@Param("key") long key);
+}
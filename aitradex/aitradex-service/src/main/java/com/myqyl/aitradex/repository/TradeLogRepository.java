@@ -1,13 +1,61 @@
 package com.myqyl.aitradex.repository;
 
 import com.myqyl.aitradex.domain.TradeLog;
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface TradeLogRepository extends JpaRepository<TradeLog, UUID> {
 
-  List<TradeLog> findByAccountIdOrderByOccurredAtDesc(UUID accountId);
+  /**
+   * Keyset page of an account's log, newest first, served by idx_trade_logs_account_occurred.
+   * {@code metadata} is a JSON document the entry must contain (jsonb {@code @>}, GIN-indexed).
+   */
+  @Query(value = """
+      select * from trade_logs
+      where account_id = :accountId
+        and occurred_at >= :from
+        and (occurred_at, id) < (:beforeAt, :beforeId)
+        and (cast(:action as varchar) is null or action = :action)
+        and (cast(:metadata as jsonb) is null or metadata @> cast(:metadata as jsonb))
+      order by occurred_at desc, id desc
+      limit :limit
+      """, nativeQuery = true)
+  List<TradeLog> findPageByAccountId(
+      @Param("accountId") UUID accountId,
+      @Param("from") OffsetDateTime from,
+      @Param("beforeAt") OffsetDateTime beforeAt,
+      @Param("beforeId") UUID beforeId,
+      @Param("action") String action,
+      @Param("metadata") String metadata,
+      @Param("limit") int limit);
 
-  List<TradeLog> findAllByOrderByOccurredAtDesc();
+  /**
+   * Keyset page across all accounts, newest first, served by idx_trade_logs_occurred.
+   */
+  @Query(value = """
+      select * from trade_logs
+      where occurred_at >= :from
+        and (occurred_at, id) < (:beforeAt, :beforeId)
+        and (cast(:action as varchar) is null or action = :action)
+        and (cast(:metadata as jsonb) is null or metadata @> cast(:metadata as jsonb))
+      order by occurred_at desc, id desc
+      limit :limit
+      """, nativeQuery = true)
+  List<TradeLog> findPage(
+      @Param("from") OffsetDateTime from,
+      @Param("beforeAt") OffsetDateTime beforeAt,
+      @Param("beforeId") UUID beforeId,
+      @Param("action") String action,
+      @Param("metadata") String metadata,
+      @Param("limit") int limit);
+
+  @Query("select t.externalRef from TradeLog t where t.account.id = :accountId and t.externalRef in :refs")
+  Set<String> findExternalRefsByAccountIdAndExternalRefIn(
+      @Param("accountId") UUID accountId, @Param("refs") Collection<String> refs);
 }
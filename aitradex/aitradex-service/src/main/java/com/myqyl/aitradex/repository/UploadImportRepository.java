@@ -0,0 +1,10 @@
+package com.myqyl.aitradex.repository;
+
+import com.myqyl.aitradex.domain.UploadImport;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface UploadImportRepository extends JpaRepository<UploadImport, UUID> {
+  Optional<UploadImport> findByUploadId(UUID uploadId);
+}
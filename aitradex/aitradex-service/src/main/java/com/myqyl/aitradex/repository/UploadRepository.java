@@ -2,7 +2,9 @@ package com.myqyl.aitradex.repository;
 
 import com.myqyl.aitradex.domain.Upload;
 import com.myqyl.aitradex.domain.UploadStatus;
+import com.myqyl.aitradex.domain.UploadType;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
 
@@ -12,4 +14,7 @@ public interface UploadRepository extends JpaRepository<Upload, UUID> {
   List<Upload> findByUserIdAndStatusOrderByCreatedAtDesc(UUID userId, UploadStatus status);
 
   List<Upload> findByStatusOrderByCreatedAtDesc(UploadStatus status);
+
+  Optional<Upload> findFirstByContentHashAndTypeAndStatusAndIdNotOrderByCompletedAtDesc(
+      String contentHash, UploadType type, UploadStatus status, UUID id);
 }
@@ -0,0 +1,233 @@
+package com.myqyl.aitradex.service;
+
+import com.myqyl.aitradex.config.RiskProperties;
+import com.myqyl.aitradex.domain.OrderSide;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * In-memory risk aggregates for one account: cash, cash and quantity reserved by open orders,
+ * per-symbol exposure and gross/net notional. Every update is incremental, so a limit check is a
+ * handful of map lookups and BigDecimal comparisons.
+ *
+ * Positions are marked at the last fill price seen (cost basis until the first fill). Realized
+ * P&L only counts fills seen since the aggregate was loaded and resets each trading day.
+ */
+final class AccountExposure {
+
+  private static final BigDecimal HUNDRED = new BigDecimal("100");
+
+  private final UUID accountId;
+  private BigDecimal cash;
+  private BigDecimal reservedCash = BigDecimal.ZERO;
+  private BigDecimal grossNotional = BigDecimal.ZERO;
+  private BigDecimal netNotional = BigDecimal.ZERO;
+  private BigDecimal realizedPnl = BigDecimal.ZERO;
+  private LocalDate tradingDay;
+  private final Map<String, SymbolExposure> symbols = new HashMap<>();
+  private final Map<UUID, Reservation> openOrders = new HashMap<>();
+
+  AccountExposure(UUID accountId, BigDecimal cash, LocalDate tradingDay) {
+    this.accountId = accountId;
+    this.cash = cash != null ? cash : BigDecimal.ZERO;
+    this.tradingDay = tradingDay;
+  }
+
+  synchronized void addPosition(String symbol, BigDecimal quantity, BigDecimal costBasis) {
+    SymbolExposure exposure = symbol(symbol);
+    BigDecimal before = exposure.notional();
+    exposure.quantity = exposure.quantity.add(quantity);
+    exposure.avgCost = costBasis != null ? costBasis : BigDecimal.ZERO;
+    exposure.mark = exposure.avgCost;
+    adjustNotional(before, exposure.notional());
+  }
+
+  /**
+   * Throws {@link IllegalStateException} naming the first limit the order would breach.
+   */
+  synchronized void check(RiskProperties limits, LocalDate today, OrderSide side, String symbol,
+      BigDecimal quantity, BigDecimal notional) {
+    rollDay(today);
+    if (limits.getMaxOpenOrders() > 0 && openOrders.size() >= limits.getMaxOpenOrders()) {
+      throw new IllegalStateException("Open order limit of %d reached".formatted(limits.getMaxOpenOrders()));
+    }
+    if (enabled(limits.getMaxOrderNotional()) && notional.compareTo(limits.getMaxOrderNotional()) > 0) {
+      throw new IllegalStateException(
+          "Order notional %s exceeds the %s limit".formatted(notional, limits.getMaxOrderNotional()));
+    }
+
+    if (side == OrderSide.SELL) {
+      SymbolExposure exposure = symbols.get(symbol);
+      if (exposure == null || exposure.quantity.signum() <= 0) {
+        throw new IllegalStateException("No open position to sell");
+      }
+      if (exposure.quantity.subtract(exposure.reservedQuantity).compareTo(quantity) < 0) {
+        throw new IllegalStateException("Order quantity exceeds available position size");
+      }
+      return;
+    }
+
+    if (availableCash().compareTo(notional) < 0) {
+      throw new IllegalStateException("Insufficient cash balance for order");
+    }
+    if (enabled(limits.getMaxDailyLoss()) && realizedPnl.negate().compareTo(limits.getMaxDailyLoss()) >= 0) {
+      throw new IllegalStateException("Daily loss limit of %s reached".formatted(limits.getMaxDailyLoss()));
+    }
+    if (enabled(limits.getMaxPositionPct())) {
+      BigDecimal equity = cash.add(netNotional);
+      SymbolExposure exposure = symbols.get(symbol);
+      BigDecimal after = (exposure != null ? exposure.notional() : BigDecimal.ZERO).add(notional);
+      if (equity.signum() > 0) {
+        BigDecimal pct = after.multiply(HUNDRED).divide(equity, 4, RoundingMode.HALF_UP);
+        if (pct.compareTo(limits.getMaxPositionPct()) > 0) {
+          throw new IllegalStateException("Position in %s would be %s%% of equity, above the %s%% limit"
+              .formatted(symbol, pct.stripTrailingZeros().toPlainString(), limits.getMaxPositionPct()));
+        }
+      }
+    }
+  }
+
+  /**
+   * Reserves cash (buys) or position quantity (sells) for an accepted order.
+   */
+  synchronized void reserve(UUID orderId, OrderSide side, String symbol, BigDecimal quantity, BigDecimal notional) {
+    Reservation reservation = new Reservation(side, symbol, quantity,
+        side == OrderSide.BUY ? notional : BigDecimal.ZERO);
+    Reservation previous = openOrders.put(orderId, reservation);
+    if (previous != null) {
+      unreserve(previous);
+    }
+    if (side == OrderSide.BUY) {
+      reservedCash = reservedCash.add(reservation.cash);
+    } else {
+      symbol(symbol).reservedQuantity = symbol(symbol).reservedQuantity.add(quantity);
+    }
+  }
+
+  /**
+   * Drops an order's remaining reservation once it is cancelled, rejected or filled.
+   */
+  synchronized void release(UUID orderId) {
+    Reservation reservation = openOrders.remove(orderId);
+    if (reservation != null) {
+      unreserve(reservation);
+    }
+  }
+
+  synchronized void fill(LocalDate today, UUID orderId, OrderSide side, String symbol, BigDecimal quantity,
+      BigDecimal price, boolean orderComplete) {
+    rollDay(today);
+    Reservation reservation = openOrders.get(orderId);
+    if (reservation != null) {
+      BigDecimal filled = reservation.quantity.min(quantity);
+      if (side == OrderSide.BUY && reservation.quantity.signum() > 0) {
+        BigDecimal released = reservation.cash.multiply(filled).divide(reservation.quantity, 8, RoundingMode.HALF_UP);
+        reservation.cash = reservation.cash.subtract(released);
+        reservedCash = reservedCash.subtract(released);
+      } else if (side == OrderSide.SELL) {
+        symbol(symbol).reservedQuantity = symbol(symbol).reservedQuantity.subtract(filled).max(BigDecimal.ZERO);
+      }
+      reservation.quantity = reservation.quantity.subtract(filled);
+    }
+    if (orderComplete) {
+      release(orderId);
+    }
+
+    BigDecimal value = price.multiply(quantity);
+    SymbolExposure exposure = symbol(symbol);
+    BigDecimal before = exposure.notional();
+    if (side == OrderSide.BUY) {
+      cash = cash.subtract(value);
+      BigDecimal newQuantity = exposure.quantity.add(quantity);
+      exposure.avgCost = exposure.avgCost.multiply(exposure.quantity).add(value)
+          .divide(newQuantity, 8, RoundingMode.HALF_UP);
+      exposure.quantity = newQuantity;
+    } else {
+      cash = cash.add(value);
+      BigDecimal sold = exposure.quantity.min(quantity);
+      realizedPnl = realizedPnl.add(price.subtract(exposure.avgCost).multiply(sold));
+      exposure.quantity = exposure.quantity.subtract(sold);
+    }
+    exposure.mark = price;
+    adjustNotional(before, exposure.notional());
+    if (exposure.quantity.signum() <= 0 && exposure.reservedQuantity.signum() <= 0) {
+      symbols.remove(symbol);
+    }
+  }
+
+  synchronized Snapshot snapshot() {
+    Map<String, BigDecimal> notionalBySymbol = new TreeMap<>();
+    symbols.forEach((symbol, exposure) -> notionalBySymbol.put(symbol, exposure.notional()));
+    return new Snapshot(accountId, cash, reservedCash, availableCash(), openOrders.size(), grossNotional,
+        netNotional, realizedPnl, notionalBySymbol);
+  }
+
+  record Snapshot(UUID accountId, BigDecimal cash, BigDecimal reservedCash, BigDecimal availableCash,
+      int openOrders, BigDecimal grossNotional, BigDecimal netNotional, BigDecimal realizedPnlToday,
+      Map<String, BigDecimal> notionalBySymbol) {}
+
+  private BigDecimal availableCash() {
+    return cash.subtract(reservedCash);
+  }
+
+  private void unreserve(Reservation reservation) {
+    if (reservation.side == OrderSide.BUY) {
+      reservedCash = reservedCash.subtract(reservation.cash);
+    } else {
+      SymbolExposure exposure = symbols.get(reservation.symbol);
+      if (exposure != null) {
+        exposure.reservedQuantity = exposure.reservedQuantity.subtract(reservation.quantity).max(BigDecimal.ZERO);
+      }
+    }
+  }
+
+  private void adjustNotional(BigDecimal before, BigDecimal after) {
+    grossNotional = grossNotional.subtract(before.abs()).add(after.abs());
+    netNotional = netNotional.subtract(before).add(after);
+  }
+
+  private void rollDay(LocalDate today) {
+    if (!today.equals(tradingDay)) {
+      tradingDay = today;
+      realizedPnl = BigDecimal.ZERO;
+    }
+  }
+
+  private SymbolExposure symbol(String symbol) {
+    return symbols.computeIfAbsent(symbol, s -> new SymbolExposure());
+  }
+
+  private static boolean enabled(BigDecimal limit) {
+    return limit != null && limit.signum() > 0;
+  }
+
+  private static final class SymbolExposure {
+    private BigDecimal quantity = BigDecimal.ZERO;
+    private BigDecimal reservedQuantity = BigDecimal.ZERO;
+    private BigDecimal avgCost = BigDecimal.ZERO;
+    private BigDecimal mark = BigDecimal.ZERO;
+
+    private BigDecimal notional() {
+      return quantity.multiply(mark);
+    }
+  }
+
+  private static final class Reservation {
+    private final OrderSide side;
+    private final String symbol;
+    private BigDecimal quantity;
+    private BigDecimal cash;
+
+    private Reservation(OrderSide side, String symbol, BigDecimal quantity, BigDecimal cash) {
+      this.side = side;
+      this.symbol = symbol;
+      this.quantity = quantity;
+      this.cash = cash;
+    }
+  }
+}
@@ -2,12 +2,14 @@ package com.myqyl.aitradex.service;
 
 import com.myqyl.aitradex.api.dto.AuditLogDto;
 import com.myqyl.aitradex.api.dto.CreateAuditLogRequest;
+import com.myqyl.aitradex.api.dto.LogPageDto;
 import com.myqyl.aitradex.domain.AuditLog;
 import com.myqyl.aitradex.exception.NotFoundException;
 import com.myqyl.aitradex.repository.AuditLogRepository;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,39 +17,54 @@ import org.springframework.transaction.annotation.Transactional;
 public class AuditLogService {
 
   private final AuditLogRepository auditLogRepository;
+  private final LogWriteBehindQueue writeBehind;
 
-  public AuditLogService(AuditLogRepository auditLogRepository) {
+  public AuditLogService(AuditLogRepository auditLogRepository, LogWriteBehindQueue writeBehind) {
     this.auditLogRepository = auditLogRepository;
+    this.writeBehind = writeBehind;
   }
 
+  /**
+   * Writes an audit entry immediately and returns it; used by the API.
+   */
   @Transactional
   public AuditLogDto create(CreateAuditLogRequest request) {
-    AuditLog log =
-        AuditLog.builder()
-            .actor(request.actor())
-            .actorType(request.actorType())
-            .action(request.action())
-            .entityRef(request.entityRef())
-            .beforeState(request.beforeState())
-            .afterState(request.afterState())
-            .occurredAt(OffsetDateTime.now())
-            .build();
-    return toDto(auditLogRepository.save(log));
+    return toDto(auditLogRepository.save(newLog(request)));
   }
 
-  @Transactional(readOnly = true)
-  public List<AuditLogDto> list(String entityRef) {
-    List<AuditLog> logs =
-        entityRef != null
-            ? auditLogRepository.findByEntityRefOrderByOccurredAtDesc(entityRef)
-            : auditLogRepository.findAllByOrderByOccurredAtDesc();
-    return logs.stream().map(this::toDto).toList();
+  /**
+   * Queues an audit entry for the write-behind flusher. Inside a transaction the entry is only
+   * queued once that transaction commits.
+   */
+  public void record(CreateAuditLogRequest request) {
+    writeBehind.appendAudit(newLog(request));
   }
 
+  /**
+   * Lists audit entries newest first within {@code [from, to)}, one keyset page at a time,
+   * filtered by actor or else by entity reference.
+   */
   @Transactional(readOnly = true)
-  public List<AuditLogDto> listByActor(String actor) {
-    List<AuditLog> logs = auditLogRepository.findByActorOrderByOccurredAtDesc(actor);
-    return logs.stream().map(this::toDto).toList();
+  public LogPageDto<AuditLogDto> list(
+      String entityRef,
+      String actor,
+      OffsetDateTime from,
+      OffsetDateTime to,
+      String cursor,
+      Integer limit) {
+    LogCursor start = LogCursor.start(cursor, to);
+    int size = LogCursor.limit(limit);
+    Limit fetch = Limit.of(size + 1);
+    List<AuditLog> logs;
+    if (actor != null && !actor.isBlank()) {
+      logs = auditLogRepository.findPageByActor(actor, LogCursor.from(from), start.occurredAt(), start.id(), fetch);
+    } else if (entityRef != null && !entityRef.isBlank()) {
+      logs = auditLogRepository.findPageByEntityRef(
+          entityRef, LogCursor.from(from), start.occurredAt(), start.id(), fetch);
+    } else {
+      logs = auditLogRepository.findPage(LogCursor.from(from), start.occurredAt(), start.id(), fetch);
+    }
+    return LogCursor.page(logs, size, log -> new LogCursor(log.getOccurredAt(), log.getId()), this::toDto);
   }
 
   @Transactional(readOnly = true)
@@ -55,6 +72,18 @@ public class AuditLogService {
     return auditLogRepository.findById(id).map(this::toDto).orElseThrow(() -> auditNotFound(id));
   }
 
+  private AuditLog newLog(CreateAuditLogRequest request) {
+    return AuditLog.builder()
+        .actor(request.actor())
+        .actorType(request.actorType())
+        .action(request.action())
+        .entityRef(request.entityRef())
+        .beforeState(request.beforeState())
+        .afterState(request.afterState())
+        .occurredAt(OffsetDateTime.now())
+        .build();
+  }
+
   private AuditLogDto toDto(AuditLog log) {
     return new AuditLogDto(
         log.getId(),
@@ -0,0 +1,345 @@
+package com.myqyl.aitradex.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.myqyl.aitradex.event.ClusterEvent;
+import com.myqyl.aitradex.event.ClusterEventsResyncEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cross-replica event bus on Postgres LISTEN/NOTIFY, so in-memory caches stay consistent without
+ * an external broker or polling.
+ *
+ * {@link #publish} is non-blocking: events are keyed by {@link ClusterEvent#coalesceKey()} and a
+ * burst for the same key collapses to the latest event. Events published inside a transaction are
+ * only queued once it commits. A single daemon thread owns a dedicated connection outside the
+ * Hikari pool; every flush interval it sends the pending events, packed into as few
+ * {@code pg_notify} payloads as the 8000-byte limit allows, then waits for notifications from
+ * other replicas and republishes each of their events locally through the
+ * {@link ApplicationEventPublisher}. After a reconnect it publishes a
+ * {@link ClusterEventsResyncEvent}, since notifications are not queued for absent listeners.
+ */
+@Component
+public class ClusterEventBus {
+
+  private static final Logger log = LoggerFactory.getLogger(ClusterEventBus.class);
+  /** Postgres rejects NOTIFY payloads of 8000 bytes or more; leave room for the envelope. */
+  static final int MAX_PAYLOAD_BYTES = 7900;
+  private static final long MAX_RECONNECT_BACKOFF_MS = 30_000;
+
+  private final Callable<Connection> connectionFactory;
+  private final ObjectMapper objectMapper;
+  private final ObjectWriter eventWriter;
+  private final ApplicationEventPublisher eventPublisher;
+  private final String nodeId;
+  private final boolean enabled;
+  private final String channel;
+  private final long flushIntervalMs;
+  private final Map<String, ClusterEvent> pending = new ConcurrentHashMap<>();
+  private final Counter published;
+  private final Counter coalesced;
+  private final Counter received;
+  private volatile boolean running;
+  private Thread worker;
+
+  @Autowired
+  public ClusterEventBus(
+      DataSourceProperties dataSourceProperties,
+      ObjectMapper objectMapper,
+      ApplicationEventPublisher eventPublisher,
+      SchedulerCluster schedulerCluster,
+      MeterRegistry meterRegistry,
+      @Value("${app.events.enabled:true}") boolean enabled,
+      @Value("${app.events.channel:aitradex_events}") String channel,
+      @Value("${app.events.flush-interval-ms:50}") long flushIntervalMs) {
+    this(() -> DriverManager.getConnection(
+            dataSourceProperties.determineUrl(),
+            dataSourceProperties.determineUsername(),
+            dataSourceProperties.determinePassword()),
+        objectMapper, eventPublisher, schedulerCluster.nodeId(), meterRegistry, enabled, channel,
+        flushIntervalMs);
+  }
+
+  // Constructor for testing
+  ClusterEventBus(
+      Callable<Connection> connectionFactory,
+      ObjectMapper objectMapper,
+      ApplicationEventPublisher eventPublisher,
+      String nodeId,
+      MeterRegistry meterRegistry,
+      boolean enabled,
+      String channel,
+      long flushIntervalMs) {
+    if (!channel.matches("[a-z_][a-z0-9_]*")) {
+      throw new IllegalArgumentException("Invalid event channel name: " + channel);
+    }
+    this.connectionFactory = connectionFactory;
+    this.objectMapper = objectMapper;
+    this.eventWriter = objectMapper.writerFor(ClusterEvent.class);
+    this.eventPublisher = eventPublisher;
+    this.nodeId = nodeId;
+    this.enabled = enabled;
+    this.channel = channel;
+    this.flushIntervalMs = Math.max(1, flushIntervalMs);
+    this.published = eventCounter(meterRegistry, "published");
+    this.coalesced = eventCounter(meterRegistry, "coalesced");
+    this.received = eventCounter(meterRegistry, "received");
+  }
+
+  /**
+   * Bus that never leaves this JVM; {@link #publish} is a no-op. For tests and benchmarks.
+   */
+  static ClusterEventBus inProcess() {
+    return new ClusterEventBus(() -> null, new ObjectMapper(), event -> { }, "local",
+        new SimpleMeterRegistry(), false, "aitradex_events", 50);
+  }
+
+  @PostConstruct
+  public void start() {
+    if (!enabled) {
+      return;
+    }
+    running = true;
+    worker = new Thread(this::runLoop, "cluster-events");
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    running = false;
+    if (worker != null) {
+      try {
+        worker.join(flushIntervalMs + 5000);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * Queues {@code event} for the other replicas, after the current transaction commits if there
+   * is one.
+   */
+  public void publish(ClusterEvent event) {
+    if (!enabled) {
+      return;
+    }
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          enqueue(event);
+        }
+      });
+    } else {
+      enqueue(event);
+    }
+  }
+
+  public int pending() {
+    return pending.size();
+  }
+
+  private void enqueue(ClusterEvent event) {
+    if (pending.put(event.coalesceKey(), event) != null) {
+      coalesced.increment();
+    }
+  }
+
+  /**
+   * Takes every pending event off the queue.
+   */
+  List<ClusterEvent> drain() {
+    List<ClusterEvent> events = new ArrayList<>(pending.size());
+    for (String key : pending.keySet()) {
+      ClusterEvent event = pending.remove(key);
+      if (event != null) {
+        events.add(event);
+      }
+    }
+    return events;
+  }
+
+  /**
+   * Packs events into as few NOTIFY payloads as the size limit allows.
+   */
+  List<String> pack(List<ClusterEvent> events) {
+    List<String> payloads = new ArrayList<>();
+    String prefix = "{\"origin\":" + quote(nodeId) + ",\"events\":[";
+    int emptyBytes = utf8Length(prefix) + 2;
+    StringBuilder batch = new StringBuilder(prefix);
+    int batchBytes = emptyBytes;
+    int batchEvents = 0;
+    for (ClusterEvent event : events) {
+      String json;
+      try {
+        json = eventWriter.writeValueAsString(event);
+      } catch (JsonProcessingException ex) {
+        log.warn("Dropping unserializable cluster event {}: {}", event.coalesceKey(), ex.getMessage());
+        continue;
+      }
+      int eventBytes = utf8Length(json) + 1;
+      if (emptyBytes + eventBytes > MAX_PAYLOAD_BYTES) {
+        log.warn("Dropping cluster event {} of {} bytes; over the NOTIFY payload limit",
+            event.coalesceKey(), eventBytes);
+        continue;
+      }
+      if (batchBytes + eventBytes > MAX_PAYLOAD_BYTES) {
+        payloads.add(batch.append("]}").toString());
+        batch = new StringBuilder(prefix);
+        batchBytes = emptyBytes;
+        batchEvents = 0;
+      }
+      if (batchEvents > 0) {
+        batch.append(',');
+      }
+      batch.append(json);
+      batchBytes += eventBytes;
+      batchEvents++;
+    }
+    if (batchEvents > 0) {
+      payloads.add(batch.append("]}").toString());
+    }
+    return payloads;
+  }
+
+  /**
+   * Republishes another replica's events locally; our own notifications are ignored.
+   */
+  void deliver(String payload) {
+    EventBatch batch;
+    try {
+      batch = objectMapper.readValue(payload, EventBatch.class);
+    } catch (JsonProcessingException ex) {
+      log.warn("Ignoring malformed cluster event payload: {}", ex.getMessage());
+      return;
+    }
+    if (nodeId.equals(batch.origin()) || batch.events() == null) {
+      return;
+    }
+    for (ClusterEvent event : batch.events()) {
+      received.increment();
+      try {
+        eventPublisher.publishEvent(event);
+      } catch (RuntimeException ex) {
+        log.warn("Cluster event listener failed for {}: {}", event.coalesceKey(), ex.getMessage());
+      }
+    }
+  }
+
+  private void runLoop() {
+    long backoffMs = 1000;
+    boolean connectedBefore = false;
+    while (running) {
+      try (Connection connection = connectionFactory.call()) {
+        try (Statement statement = connection.createStatement()) {
+          statement.execute("LISTEN " + channel);
+        }
+        if (connectedBefore) {
+          log.info("Cluster event bus reconnected; asking listeners to resync");
+          eventPublisher.publishEvent(new ClusterEventsResyncEvent());
+        }
+        connectedBefore = true;
+        backoffMs = 1000;
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        while (running) {
+          send(connection, drain());
+          PGNotification[] notifications = pgConnection.getNotifications((int) flushIntervalMs);
+          if (notifications != null) {
+            for (PGNotification notification : notifications) {
+              deliver(notification.getParameter());
+            }
+          }
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (Exception ex) {
+        log.warn("Cluster event bus connection failed ({}); retrying in {} ms", ex.getMessage(), backoffMs);
+        try {
+          Thread.sleep(backoffMs);
+        } catch (InterruptedException interrupted) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+        backoffMs = Math.min(backoffMs * 2, MAX_RECONNECT_BACKOFF_MS);
+      }
+    }
+  }
+
+  /**
+   * Sends one flush; on failure the events go back on the queue (unless newer ones for the same
+   * keys arrived meanwhile) and are retried after the reconnect.
+   */
+  private void send(Connection connection, List<ClusterEvent> events) throws SQLException {
+    if (events.isEmpty()) {
+      return;
+    }
+    try {
+      List<String> payloads = pack(events);
+      Array array = connection.createArrayOf("text", payloads.toArray());
+      try (PreparedStatement statement =
+          connection.prepareStatement("select pg_notify(?, payload) from unnest(?) as payload")) {
+        statement.setString(1, channel);
+        statement.setArray(2, array);
+        statement.execute();
+      } finally {
+        array.free();
+      }
+      published.increment(events.size());
+    } catch (SQLException | RuntimeException ex) {
+      events.forEach(event -> pending.putIfAbsent(event.coalesceKey(), event));
+      throw ex;
+    }
+  }
+
+  private String quote(String value) {
+    try {
+      return objectMapper.writeValueAsString(value);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private static int utf8Length(String value) {
+    return value.getBytes(StandardCharsets.UTF_8).length;
+  }
+
+  private static Counter eventCounter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("aitradex.events")
+        .description("Cluster bus events by result")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  record EventBatch(String origin, List<ClusterEvent> events) {}
+}
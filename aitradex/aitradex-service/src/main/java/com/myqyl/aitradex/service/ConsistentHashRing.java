@@ -0,0 +1,73 @@
+package com.myqyl.aitradex.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Immutable consistent-hash ring mapping work keys (account ids) to scheduler nodes. Each node is
+ * placed at {@code virtualNodes} points so load stays even with few replicas, and adding or
+ * removing a node only moves the keys in the arcs it gains or loses.
+ */
+final class ConsistentHashRing {
+
+  private static final ConsistentHashRing EMPTY = new ConsistentHashRing(List.of(), new TreeMap<>());
+
+  private final List<String> members;
+  private final NavigableMap<Long, String> ring;
+
+  private ConsistentHashRing(List<String> members, NavigableMap<Long, String> ring) {
+    this.members = members;
+    this.ring = ring;
+  }
+
+  static ConsistentHashRing empty() {
+    return EMPTY;
+  }
+
+  static ConsistentHashRing of(Collection<String> nodeIds, int virtualNodes) {
+    NavigableMap<Long, String> ring = new TreeMap<>();
+    for (String nodeId : nodeIds) {
+      for (int i = 0; i < Math.max(1, virtualNodes); i++) {
+        ring.put(hash(nodeId + "#" + i), nodeId);
+      }
+    }
+    return new ConsistentHashRing(List.copyOf(nodeIds), ring);
+  }
+
+  /**
+   * Node responsible for {@code key}, or null when the ring has no members.
+   */
+  String ownerOf(String key) {
+    if (ring.isEmpty()) {
+      return null;
+    }
+    Map.Entry<Long, String> entry = ring.ceilingEntry(hash(key));
+    return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+  }
+
+  List<String> members() {
+    return members;
+  }
+
+  /**
+   * Stable 64-bit hash (FNV-1a over UTF-8, finished with the MurmurHash3 fmix64 step) so every
+   * replica places nodes and keys identically regardless of JVM.
+   */
+  static long hash(String value) {
+    long h = 0xcbf29ce484222325L;
+    for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+      h ^= b & 0xff;
+      h *= 0x100000001b3L;
+    }
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
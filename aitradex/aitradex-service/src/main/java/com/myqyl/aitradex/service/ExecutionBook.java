@@ -0,0 +1,66 @@
+package com.myqyl.aitradex.service;
+
+import com.myqyl.aitradex.domain.Account;
+import com.myqyl.aitradex.domain.Position;
+import com.myqyl.aitradex.exception.NotFoundException;
+import com.myqyl.aitradex.repository.AccountRepository;
+import com.myqyl.aitradex.repository.PositionRepository;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Account/position state for one {@link ExecutionPipeline} batch.
+ *
+ * Lives inside the batch transaction, so every account and open position is read at most once
+ * per batch and then updated in memory; the managed entities are written by the
+ * batch commit. Only the owning partition worker touches a book, so it needs no synchronization.
+ */
+public class ExecutionBook {
+
+  private final AccountRepository accountRepository;
+  private final PositionRepository positionRepository;
+  private final Map<UUID, Account> accounts = new HashMap<>();
+  private final Map<String, Optional<Position>> openPositions = new HashMap<>();
+
+  ExecutionBook(AccountRepository accountRepository, PositionRepository positionRepository) {
+    this.accountRepository = accountRepository;
+    this.positionRepository = positionRepository;
+  }
+
+  public Account account(UUID accountId) {
+    Account account = accounts.get(accountId);
+    if (account == null) {
+      account = accountRepository.findById(accountId)
+          .orElseThrow(() -> new NotFoundException("Account %s not found".formatted(accountId)));
+      accounts.put(accountId, account);
+    }
+    return account;
+  }
+
+  public Optional<Position> openPosition(UUID accountId, String symbol) {
+    return openPositions.computeIfAbsent(key(accountId, symbol),
+        k -> positionRepository.findByAccountIdAndSymbolAndClosedAtIsNull(accountId, symbol));
+  }
+
+  /**
+   * Persists a newly opened position and makes it the open position for its symbol.
+   */
+  public Position open(Position position) {
+    Position saved = positionRepository.save(position);
+    openPositions.put(key(position.getAccount().getId(), position.getSymbol()), Optional.of(saved));
+    return saved;
+  }
+
+  /**
+   * Marks the symbol as having no open position; the closed entity is written on commit.
+   */
+  public void closed(UUID accountId, String symbol) {
+    openPositions.put(key(accountId, symbol), Optional.empty());
+  }
+
+  private static String key(UUID accountId, String symbol) {
+    return accountId + "|" + symbol;
+  }
+}
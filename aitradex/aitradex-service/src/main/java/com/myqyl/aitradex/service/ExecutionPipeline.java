@@ -0,0 +1,276 @@
+package com.myqyl.aitradex.service;
+
+import com.myqyl.aitradex.repository.AccountRepository;
+import com.myqyl.aitradex.repository.PositionRepository;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Single-writer pipeline for everything that mutates an account's cash and positions.
+ *
+ * Work is routed by account ID to one of a fixed number of partitions. Each partition has a
+ * lock-free queue drained by one dedicated worker thread, so all work for an account runs
+ * sequentially in submission order and never races another writer for the same rows. The worker
+ * applies up to {@code maxBatchSize} queued tasks against one {@link ExecutionBook} in a single
+ * transaction, letting Hibernate batch the resulting writes.
+ *
+ * A task that throws fails on its own and none of its writes are kept: the batch transaction is
+ * rolled back and every task in it is re-run in its own transaction, as when the batch commit
+ * itself fails. Tasks must therefore be safe to re-apply after a rollback.
+ *
+ * A caller that stops waiting, on timeout or interrupt, cancels its task if the worker has not
+ * claimed it yet, so a failure reported that way always means the work was not and will not be
+ * applied. A task already claimed is in flight, and the caller waits for its real outcome instead.
+ */
+@Component
+public class ExecutionPipeline {
+
+  private static final Logger log = LoggerFactory.getLogger(ExecutionPipeline.class);
+
+  private final TransactionTemplate transactionTemplate;
+  private final AccountRepository accountRepository;
+  private final PositionRepository positionRepository;
+  private final int maxBatchSize;
+  private final long timeoutMillis;
+  private final Partition[] partitions;
+
+  public ExecutionPipeline(
+      TransactionTemplate transactionTemplate,
+      AccountRepository accountRepository,
+      PositionRepository positionRepository,
+      @Value("${app.execution.partitions:4}") int partitionCount,
+      @Value("${app.execution.max-batch-size:256}") int maxBatchSize,
+      @Value("${app.execution.timeout-ms:30000}") long timeoutMillis) {
+    this.transactionTemplate = transactionTemplate;
+    this.accountRepository = accountRepository;
+    this.positionRepository = positionRepository;
+    this.maxBatchSize = Math.max(1, maxBatchSize);
+    this.timeoutMillis = timeoutMillis;
+    this.partitions = new Partition[Math.max(1, partitionCount)];
+    for (int i = 0; i < partitions.length; i++) {
+      partitions[i] = new Partition(i);
+    }
+  }
+
+  /**
+   * Queues a task on the account's partition.
+   */
+  public <T> CompletableFuture<T> submit(UUID accountId, Function<ExecutionBook, T> work) {
+    Task<T> task = new Task<>(work);
+    partitions[Math.floorMod(accountId.hashCode(), partitions.length)].offer(task);
+    return task;
+  }
+
+  /**
+   * Queues a task and waits for its result, rethrowing the task's own runtime exception.
+   */
+  public <T> T execute(UUID accountId, Function<ExecutionBook, T> work) {
+    return await(accountId, submit(accountId, work));
+  }
+
+  /**
+   * Waits for a submitted task's result, rethrowing the task's own runtime exception. On timeout or
+   * interrupt the task is cancelled unless the worker has already started it, in which case this
+   * keeps waiting for the outcome.
+   */
+  public <T> T await(UUID accountId, CompletableFuture<T> future) {
+    try {
+      return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (ExecutionException ex) {
+      throw rethrow(ex.getCause());
+    } catch (TimeoutException ex) {
+      return abandon(accountId, future, "Timed out waiting for account %s execution");
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return abandon(accountId, future, "Interrupted waiting for account %s execution");
+    }
+  }
+
+  /**
+   * Gives up on a task the caller stopped waiting for. A task the worker already holds cannot be
+   * withdrawn, so its outcome is awaited without interruption rather than reported as a failure.
+   */
+  private <T> T abandon(UUID accountId, CompletableFuture<T> future, String reason) {
+    if (!(future instanceof Task<?> task) || task.cancelIfQueued()) {
+      throw new IllegalStateException((reason + "; it was not applied").formatted(accountId));
+    }
+    log.warn("Account {} execution is already running; waiting for it to finish", accountId);
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      throw rethrow(ex.getCause());
+    }
+  }
+
+  private static RuntimeException rethrow(Throwable cause) {
+    return cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    for (Partition partition : partitions) {
+      partition.stop();
+    }
+  }
+
+  private void process(List<Task<?>> batch) {
+    Object[] results = new Object[batch.size()];
+    RuntimeException[] errors = new RuntimeException[batch.size()];
+    try {
+      transactionTemplate.executeWithoutResult(status -> {
+        ExecutionBook book = new ExecutionBook(accountRepository, positionRepository);
+        for (int i = 0; i < batch.size(); i++) {
+          try {
+            results[i] = batch.get(i).work.apply(book);
+          } catch (RuntimeException ex) {
+            errors[i] = ex;
+          }
+        }
+        if (anyFailed(errors)) {
+          // The failed task may have written part of its work; keep none of it.
+          status.setRollbackOnly();
+        }
+      });
+    } catch (RuntimeException ex) {
+      if (batch.size() == 1) {
+        batch.get(0).completeExceptionally(ex);
+        return;
+      }
+      log.warn("Execution batch of {} failed to commit ({}); retrying tasks individually",
+          batch.size(), ex.getMessage());
+      retryIndividually(batch);
+      return;
+    }
+    if (batch.size() > 1 && anyFailed(errors)) {
+      log.debug("A task in an execution batch of {} failed; retrying tasks individually", batch.size());
+      retryIndividually(batch);
+      return;
+    }
+    for (int i = 0; i < batch.size(); i++) {
+      batch.get(i).settle(results[i], errors[i]);
+    }
+  }
+
+  private void retryIndividually(List<Task<?>> batch) {
+    for (Task<?> task : batch) {
+      process(List.of(task));
+    }
+  }
+
+  private static boolean anyFailed(RuntimeException[] errors) {
+    for (RuntimeException error : errors) {
+      if (error != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * A queued unit of work and its result. The worker {@link #claim() claims} a task before applying
+   * it and a timed-out caller {@link #cancelIfQueued() cancels} it; only one of the two can win.
+   */
+  private static final class Task<T> extends CompletableFuture<T> {
+    private static final int QUEUED = 0;
+    private static final int CLAIMED = 1;
+    private static final int CANCELLED = 2;
+
+    private final Function<ExecutionBook, T> work;
+    private final AtomicInteger state = new AtomicInteger(QUEUED);
+
+    private Task(Function<ExecutionBook, T> work) {
+      this.work = work;
+    }
+
+    private boolean claim() {
+      return state.compareAndSet(QUEUED, CLAIMED);
+    }
+
+    private boolean cancelIfQueued() {
+      if (!state.compareAndSet(QUEUED, CANCELLED)) {
+        return false;
+      }
+      cancel(false);
+      return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void settle(Object result, RuntimeException error) {
+      if (error != null) {
+        completeExceptionally(error);
+      } else {
+        complete((T) result);
+      }
+    }
+  }
+
+  private final class Partition implements Runnable {
+    private final ConcurrentLinkedQueue<Task<?>> queue = new ConcurrentLinkedQueue<>();
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    private Partition(int index) {
+      worker = new Thread(this, "execution-partition-" + index);
+      worker.setDaemon(true);
+      worker.start();
+    }
+
+    private void offer(Task<?> task) {
+      if (!running) {
+        task.completeExceptionally(new IllegalStateException("Execution pipeline is shut down"));
+        return;
+      }
+      queue.offer(task);
+      LockSupport.unpark(worker);
+    }
+
+    private void stop() {
+      running = false;
+      LockSupport.unpark(worker);
+    }
+
+    @Override
+    public void run() {
+      List<Task<?>> batch = new ArrayList<>(maxBatchSize);
+      while (running) {
+        Task<?> task;
+        while (batch.size() < maxBatchSize && (task = queue.poll()) != null) {
+          if (task.claim()) {
+            batch.add(task);
+          }
+        }
+        if (batch.isEmpty()) {
+          LockSupport.park(this);
+          continue;
+        }
+        try {
+          process(batch);
+        } catch (Throwable ex) {
+          log.error("Execution partition {} failed to process a batch", worker.getName(), ex);
+          batch.forEach(t -> t.completeExceptionally(ex));
+        }
+        batch.clear();
+      }
+      Task<?> task;
+      while ((task = queue.poll()) != null) {
+        task.completeExceptionally(new IllegalStateException("Execution pipeline is shut down"));
+      }
+    }
+  }
+}
@@ -1,5 +1,7 @@
 package com.myqyl.aitradex.service;
 
+import com.myqyl.aitradex.api.dto.BulkItemResult;
+import com.myqyl.aitradex.api.dto.BulkResultDto;
 import com.myqyl.aitradex.api.dto.CreateExecutionRequest;
 import com.myqyl.aitradex.api.dto.ExecutionDto;
 import com.myqyl.aitradex.domain.Account;
@@ -11,13 +13,20 @@ import com.myqyl.aitradex.domain.Position;
 import com.myqyl.aitradex.exception.NotFoundException;
 import com.myqyl.aitradex.repository.ExecutionRepository;
 import com.myqyl.aitradex.repository.OrderRepository;
-import com.myqyl.aitradex.repository.PositionRepository;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,40 +35,87 @@ public class ExecutionService {
 
   private final ExecutionRepository executionRepository;
   private final OrderRepository orderRepository;
-  private final PositionRepository positionRepository;
+  private final ExecutionPipeline executionPipeline;
+  private final PreTradeRiskEngine riskEngine;
 
   public ExecutionService(
       ExecutionRepository executionRepository,
       OrderRepository orderRepository,
-      PositionRepository positionRepository) {
+      ExecutionPipeline executionPipeline,
+      PreTradeRiskEngine riskEngine) {
     this.executionRepository = executionRepository;
     this.orderRepository = orderRepository;
-    this.positionRepository = positionRepository;
+    this.executionPipeline = executionPipeline;
+    this.riskEngine = riskEngine;
   }
 
-  @Transactional
+  /**
+   * Records a fill. The fill is applied on the order account's execution partition, so fills and
+   * order placement for one account never interleave.
+   */
   public ExecutionDto create(CreateExecutionRequest request) {
-    Order order =
+    UUID accountId =
         orderRepository
-            .findById(request.orderId())
+            .findAccountIdById(request.orderId())
             .orElseThrow(() -> orderNotFound(request.orderId()));
-    ensureExecutable(order);
+    return toDto(executionPipeline.execute(accountId, book -> applyExecution(book, request)));
+  }
 
-    Execution execution =
-        Execution.builder()
-            .order(order)
-            .price(request.price())
-            .quantity(request.quantity())
-            .venue(request.venue())
-            .executedAt(request.executedAt() != null ? request.executedAt() : OffsetDateTime.now())
-            .build();
+  /**
+   * Records a batch of fills, returning one result per request in request order. Order-to-account
+   * routing is resolved with one query; each account's fills are then applied in request order as
+   * one pipeline task, so the account, its positions and the affected orders are loaded once and
+   * the inserts are batched on commit. A rejected fill is reported without failing the others.
+   */
+  public BulkResultDto<ExecutionDto> createAll(List<CreateExecutionRequest> requests) {
+    List<BulkItemResult<ExecutionDto>> results = new ArrayList<>(Collections.nCopies(requests.size(), null));
 
-    Execution saved = executionRepository.save(execution);
-    applyExecutionToAccount(order, saved);
-    applyExecutionToPosition(order, saved);
-    updateOrderStatus(order);
+    Set<UUID> orderIds = new HashSet<>();
+    for (int i = 0; i < requests.size(); i++) {
+      try {
+        validateExecution(requests.get(i));
+        orderIds.add(requests.get(i).orderId());
+      } catch (IllegalArgumentException ex) {
+        results.set(i, BulkItemResult.failed(i, ex.getMessage()));
+      }
+    }
+
+    Map<UUID, UUID> accountByOrder =
+        orderIds.isEmpty()
+            ? Map.of()
+            : orderRepository.findAccountIdsByIdIn(orderIds).stream()
+                .collect(Collectors.toMap(
+                    OrderRepository.OrderAccountRow::getOrderId,
+                    OrderRepository.OrderAccountRow::getAccountId,
+                    (a, b) -> a));
+
+    Map<UUID, List<Integer>> byAccount = new LinkedHashMap<>();
+    for (int i = 0; i < requests.size(); i++) {
+      if (results.get(i) != null) {
+        continue;
+      }
+      UUID accountId = accountByOrder.get(requests.get(i).orderId());
+      if (accountId == null) {
+        results.set(i, BulkItemResult.failed(i, orderNotFound(requests.get(i).orderId()).getMessage()));
+        continue;
+      }
+      byAccount.computeIfAbsent(accountId, id -> new ArrayList<>()).add(i);
+    }
 
-    return toDto(saved);
+    Map<UUID, CompletableFuture<List<BulkItemResult<ExecutionDto>>>> futures = new LinkedHashMap<>();
+    byAccount.forEach((accountId, indices) ->
+        futures.put(accountId, executionPipeline.submit(accountId, book -> applyAll(book, requests, indices))));
+
+    futures.forEach((accountId, future) -> {
+      try {
+        executionPipeline.await(accountId, future).forEach(result -> results.set(result.index(), result));
+      } catch (RuntimeException ex) {
+        for (int index : byAccount.get(accountId)) {
+          results.set(index, BulkItemResult.failed(index, ex.getMessage()));
+        }
+      }
+    });
+    return BulkResultDto.of(results);
   }
 
   @Transactional(readOnly = true)
@@ -76,6 +132,46 @@ public class ExecutionService {
     return executionRepository.findById(id).map(this::toDto).orElseThrow(() -> executionNotFound(id));
   }
 
+  private List<BulkItemResult<ExecutionDto>> applyAll(
+      ExecutionBook book, List<CreateExecutionRequest> requests, List<Integer> indices) {
+    // Load the batch's orders in one query; applyExecution's lookups then hit the persistence context.
+    orderRepository.findAllById(indices.stream().map(i -> requests.get(i).orderId()).distinct().toList());
+
+    List<BulkItemResult<ExecutionDto>> results = new ArrayList<>(indices.size());
+    for (int index : indices) {
+      try {
+        results.add(BulkItemResult.ok(index, toDto(applyExecution(book, requests.get(index)))));
+      } catch (RuntimeException ex) {
+        results.add(BulkItemResult.failed(index, ex.getMessage()));
+      }
+    }
+    return results;
+  }
+
+  private Execution applyExecution(ExecutionBook book, CreateExecutionRequest request) {
+    Order order =
+        orderRepository
+            .findById(request.orderId())
+            .orElseThrow(() -> orderNotFound(request.orderId()));
+    ensureExecutable(order);
+
+    Execution execution =
+        Execution.builder()
+            .order(order)
+            .price(request.price())
+            .quantity(request.quantity())
+            .venue(request.venue())
+            .executedAt(request.executedAt() != null ? request.executedAt() : OffsetDateTime.now())
+            .build();
+
+    Execution saved = executionRepository.save(execution);
+    applyExecutionToAccount(book, order, saved);
+    applyExecutionToPosition(book, order, saved);
+    applyExecutionToOrder(order, saved);
+    riskEngine.onFill(order, saved);
+    return saved;
+  }
+
   private ExecutionDto toDto(Execution execution) {
     return new ExecutionDto(
         execution.getId(),
@@ -94,6 +190,18 @@ public class ExecutionService {
     return new NotFoundException("Order %s not found".formatted(id));
   }
 
+  private void validateExecution(CreateExecutionRequest request) {
+    if (request == null
+        || request.orderId() == null
+        || request.price() == null
+        || request.quantity() == null) {
+      throw new IllegalArgumentException("orderId, price and quantity are required");
+    }
+    if (request.price().signum() <= 0 || request.quantity().signum() <= 0) {
+      throw new IllegalArgumentException("Execution price and quantity must be positive");
+    }
+  }
+
   private void ensureExecutable(Order order) {
     if (order.getStatus() == OrderStatus.CANCELLED || order.getStatus() == OrderStatus.REJECTED) {
       throw new IllegalStateException(
@@ -101,8 +209,8 @@ public class ExecutionService {
     }
   }
 
-  private void applyExecutionToAccount(Order order, Execution execution) {
-    Account account = order.getAccount();
+  private void applyExecutionToAccount(ExecutionBook book, Order order, Execution execution) {
+    Account account = book.account(order.getAccount().getId());
     BigDecimal fillValue = execution.getPrice().multiply(execution.getQuantity());
     BigDecimal cashBalance =
         order.getSide() == OrderSide.BUY
@@ -111,23 +219,23 @@ public class ExecutionService {
     account.setCashBalance(cashBalance);
   }
 
-  private void applyExecutionToPosition(Order order, Execution execution) {
+  private void applyExecutionToPosition(ExecutionBook book, Order order, Execution execution) {
     UUID accountId = order.getAccount().getId();
     String symbol = order.getSymbol();
-    Optional<Position> existing =
-        positionRepository.findByAccountIdAndSymbolAndClosedAtIsNull(accountId, symbol);
+    Optional<Position> existing = book.openPosition(accountId, symbol);
 
     if (order.getSide() == OrderSide.BUY) {
       Position position =
           existing.orElseGet(
               () ->
-                  Position.builder()
-                      .account(order.getAccount())
-                      .symbol(symbol)
-                      .quantity(BigDecimal.ZERO)
-                      .costBasis(BigDecimal.ZERO)
-                      .openedAt(execution.getExecutedAt())
-                      .build());
+                  book.open(
+                      Position.builder()
+                          .account(book.account(accountId))
+                          .symbol(symbol)
+                          .quantity(BigDecimal.ZERO)
+                          .costBasis(BigDecimal.ZERO)
+                          .openedAt(execution.getExecutedAt())
+                          .build()));
       BigDecimal currentQuantity = position.getQuantity();
       BigDecimal currentCost = position.getCostBasis().multiply(currentQuantity);
       BigDecimal newQuantity = currentQuantity.add(execution.getQuantity());
@@ -135,7 +243,6 @@ public class ExecutionService {
           currentCost.add(execution.getPrice().multiply(execution.getQuantity()));
       position.setQuantity(newQuantity);
       position.setCostBasis(newCost.divide(newQuantity, 8, RoundingMode.HALF_UP));
-      positionRepository.save(position);
       return;
     }
 
@@ -147,17 +254,31 @@ public class ExecutionService {
     if (newQuantity.signum() <= 0) {
       position.setQuantity(BigDecimal.ZERO);
       position.setClosedAt(execution.getExecutedAt());
+      book.closed(accountId, symbol);
     } else {
       position.setQuantity(newQuantity);
     }
-    positionRepository.save(position);
   }
 
-  private void updateOrderStatus(Order order) {
-    List<Execution> executions =
-        executionRepository.findByOrderIdOrderByExecutedAtDesc(order.getId());
-    BigDecimal filledQuantity =
-        executions.stream().map(Execution::getQuantity).reduce(BigDecimal.ZERO, BigDecimal::add);
+  /**
+   * Rolls the fill into the order's running filled quantity and average price, then derives the
+   * status from them; no other executions are read.
+   */
+  private void applyExecutionToOrder(Order order, Execution execution) {
+    BigDecimal previousQuantity =
+        order.getFilledQuantity() != null ? order.getFilledQuantity() : BigDecimal.ZERO;
+    BigDecimal filledQuantity = previousQuantity.add(execution.getQuantity());
+    if (filledQuantity.signum() > 0) {
+      BigDecimal previousNotional =
+          order.getAvgFillPrice() != null
+              ? order.getAvgFillPrice().multiply(previousQuantity)
+              : BigDecimal.ZERO;
+      BigDecimal notional =
+          previousNotional.add(execution.getPrice().multiply(execution.getQuantity()));
+      order.setAvgFillPrice(notional.divide(filledQuantity, 8, RoundingMode.HALF_UP));
+    }
+    order.setFilledQuantity(filledQuantity);
+
     if (order.getRoutedAt() == null) {
       order.setRoutedAt(OffsetDateTime.now());
     }
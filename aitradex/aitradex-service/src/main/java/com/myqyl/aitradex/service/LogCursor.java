@@ -0,0 +1,79 @@
+package com.myqyl.aitradex.service;
+
+import com.myqyl.aitradex.api.dto.LogPageDto;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Keyset position in a log listing ordered by {@code (occurred_at, id)} descending. A page starts
+ * strictly after its cursor, so paging stays an index range scan however deep the caller goes.
+ * Without a cursor the position is the exclusive upper time bound of the query.
+ */
+record LogCursor(OffsetDateTime occurredAt, UUID id) {
+
+  static final int DEFAULT_LIMIT = 100;
+  static final int MAX_LIMIT = 1000;
+  static final OffsetDateTime EARLIEST = OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+  static final OffsetDateTime LATEST = OffsetDateTime.of(9999, 12, 31, 0, 0, 0, 0, ZoneOffset.UTC);
+
+  private static final UUID MIN_ID = new UUID(0L, 0L);
+
+  /**
+   * Resolves where a page starts: the decoded cursor, or just before {@code to} (default: no
+   * upper bound).
+   */
+  static LogCursor start(String cursor, OffsetDateTime to) {
+    if (cursor != null && !cursor.isBlank()) {
+      return decode(cursor);
+    }
+    return new LogCursor(to != null ? to : LATEST, MIN_ID);
+  }
+
+  static OffsetDateTime from(OffsetDateTime from) {
+    return from != null ? from : EARLIEST;
+  }
+
+  static int limit(Integer limit) {
+    if (limit == null) {
+      return DEFAULT_LIMIT;
+    }
+    if (limit < 1 || limit > MAX_LIMIT) {
+      throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+    }
+    return limit;
+  }
+
+  /**
+   * Builds a page from rows fetched with {@code limit + 1}; the extra row only signals that
+   * another page exists.
+   */
+  static <E, D> LogPageDto<D> page(
+      List<E> rows, int limit, Function<E, LogCursor> position, Function<E, D> mapper) {
+    boolean more = rows.size() > limit;
+    List<E> items = more ? rows.subList(0, limit) : rows;
+    String next = more ? position.apply(items.get(items.size() - 1)).encode() : null;
+    return new LogPageDto<>(items.stream().map(mapper).toList(), next);
+  }
+
+  String encode() {
+    String raw = occurredAt + "|" + id;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  static LogCursor decode(String cursor) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int separator = raw.lastIndexOf('|');
+      return new LogCursor(
+          OffsetDateTime.parse(raw.substring(0, separator)), UUID.fromString(raw.substring(separator + 1)));
+    } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+      throw new IllegalArgumentException("Invalid cursor: " + cursor);
+    }
+  }
+}
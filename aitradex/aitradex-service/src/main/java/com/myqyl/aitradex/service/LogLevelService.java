@@ -0,0 +1,120 @@
+package com.myqyl.aitradex.service;
+
+import com.myqyl.aitradex.api.dto.LogLevelDto;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggerConfiguration;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+/**
+ * Raises log levels at runtime for a bounded time, e.g. {@code org.hibernate.SQL} to DEBUG while
+ * chasing a query, and puts the previous level back when the time runs out. Levels are per
+ * replica.
+ */
+@Service
+public class LogLevelService {
+
+  private static final Logger log = LoggerFactory.getLogger(LogLevelService.class);
+
+  private final LoggingSystem loggingSystem;
+  private final TaskScheduler taskScheduler;
+  private final Duration maxDuration;
+  private final Map<String, TemporaryLevel> temporary = new ConcurrentHashMap<>();
+
+  public LogLevelService(
+      LoggingSystem loggingSystem,
+      TaskScheduler taskScheduler,
+      @Value("${app.logging.max-override-duration:30m}") Duration maxDuration) {
+    this.loggingSystem = loggingSystem;
+    this.taskScheduler = taskScheduler;
+    this.maxDuration = maxDuration;
+  }
+
+  /**
+   * Sets {@code loggerName} to {@code level} for {@code duration} (capped at the configured
+   * maximum, which is also the default). Setting it again restarts the clock but keeps the
+   * original level to revert to.
+   */
+  public synchronized LogLevelDto setLevel(String loggerName, LogLevel level, Duration duration) {
+    String name = normalize(loggerName);
+    Duration effective = duration == null || duration.compareTo(maxDuration) > 0 ? maxDuration : duration;
+    TemporaryLevel previous = temporary.remove(name);
+    LogLevel revertTo;
+    if (previous != null) {
+      previous.revert().cancel(false);
+      revertTo = previous.revertTo();
+    } else {
+      LoggerConfiguration current = loggingSystem.getLoggerConfiguration(name);
+      revertTo = current != null ? current.getConfiguredLevel() : null;
+    }
+    Instant revertsAt = Instant.now().plus(effective);
+    ScheduledFuture<?> revert = taskScheduler.schedule(() -> expire(name, revertsAt), revertsAt);
+    temporary.put(name, new TemporaryLevel(revertTo, revertsAt, revert));
+    loggingSystem.setLogLevel(name, level);
+    log.info("Log level of {} set to {} until {}", name, level, revertsAt);
+    return describe(name);
+  }
+
+  /**
+   * Puts back the level {@code loggerName} had before its temporary override.
+   */
+  public synchronized LogLevelDto reset(String loggerName) {
+    String name = normalize(loggerName);
+    TemporaryLevel override = temporary.remove(name);
+    if (override != null) {
+      override.revert().cancel(false);
+      loggingSystem.setLogLevel(name, override.revertTo());
+      log.info("Log level of {} reverted to {}", name,
+          override.revertTo() != null ? override.revertTo() : "inherited");
+    }
+    return describe(name);
+  }
+
+  private synchronized void expire(String name, Instant revertsAt) {
+    TemporaryLevel override = temporary.get(name);
+    // A later setLevel may have replaced the override this task was scheduled for
+    if (override != null && override.revertsAt().equals(revertsAt)) {
+      reset(name);
+    }
+  }
+
+  public List<LogLevelDto> temporaryLevels() {
+    return temporary.keySet().stream()
+        .sorted(Comparator.naturalOrder())
+        .map(this::describe)
+        .toList();
+  }
+
+  private LogLevelDto describe(String name) {
+    LoggerConfiguration configuration = loggingSystem.getLoggerConfiguration(name);
+    TemporaryLevel override = temporary.get(name);
+    return new LogLevelDto(
+        name,
+        configuration != null && configuration.getConfiguredLevel() != null
+            ? configuration.getConfiguredLevel().name() : null,
+        configuration != null ? configuration.getEffectiveLevel().name() : null,
+        override != null && override.revertTo() != null ? override.revertTo().name() : null,
+        override != null ? OffsetDateTime.ofInstant(override.revertsAt(), ZoneOffset.UTC) : null);
+  }
+
+  private static String normalize(String loggerName) {
+    return loggerName == null || loggerName.isBlank() || LoggingSystem.ROOT_LOGGER_NAME.equalsIgnoreCase(loggerName)
+        ? LoggingSystem.ROOT_LOGGER_NAME
+        : loggerName.trim();
+  }
+
+  private record TemporaryLevel(LogLevel revertTo, Instant revertsAt, ScheduledFuture<?> revert) {}
+}
@@ -0,0 +1,225 @@
+package com.myqyl.aitradex.service;
+
+import com.myqyl.aitradex.domain.AuditLog;
+import com.myqyl.aitradex.domain.TradeLog;
+import com.myqyl.aitradex.repository.AccountRepository;
+import com.myqyl.aitradex.repository.AuditLogRepository;
+import com.myqyl.aitradex.repository.TradeLogRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Write-behind buffer for trade and audit log entries. Callers append to a bounded in-memory
+ * queue and return immediately; a single daemon thread drains the queue and inserts the entries
+ * in JDBC batches. Entries appended inside a transaction are only queued once it commits, so a
+ * rolled-back operation leaves no log behind. When the queue is full the entry is written on the
+ * caller's thread instead of being dropped.
+ */
+@Component
+public class LogWriteBehindQueue {
+
+  private static final Logger log = LoggerFactory.getLogger(LogWriteBehindQueue.class);
+
+  private final BlockingQueue<LogEntry> queue;
+  private final TradeLogRepository tradeLogRepository;
+  private final AuditLogRepository auditLogRepository;
+  private final AccountRepository accountRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+  private final long flushIntervalMs;
+  private final AtomicLong written = new AtomicLong();
+  private final AtomicLong dropped = new AtomicLong();
+  private volatile boolean running;
+  private Thread flusher;
+
+  public LogWriteBehindQueue(
+      TradeLogRepository tradeLogRepository,
+      AuditLogRepository auditLogRepository,
+      AccountRepository accountRepository,
+      PlatformTransactionManager transactionManager,
+      @Value("${app.logs.write-behind.capacity:10000}") int capacity,
+      @Value("${app.logs.write-behind.batch-size:500}") int batchSize,
+      @Value("${app.logs.write-behind.flush-interval-ms:200}") long flushIntervalMs) {
+    this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+    this.tradeLogRepository = tradeLogRepository;
+    this.auditLogRepository = auditLogRepository;
+    this.accountRepository = accountRepository;
+    // Overflow writes can run from an afterCommit callback, where joining the finished
+    // transaction would silently never commit.
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.batchSize = Math.max(1, batchSize);
+    this.flushIntervalMs = Math.max(1, flushIntervalMs);
+  }
+
+  @PostConstruct
+  public void start() {
+    running = true;
+    flusher = new Thread(this::drainLoop, "log-write-behind");
+    flusher.setDaemon(true);
+    flusher.start();
+  }
+
+  /**
+   * Stops the flusher and writes whatever is still queued.
+   */
+  @PreDestroy
+  public void shutdown() {
+    running = false;
+    if (flusher != null) {
+      try {
+        flusher.join(flushIntervalMs + 5000);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    while (flush() > 0) {
+      // drain the remainder on the closing thread
+    }
+  }
+
+  public void appendTrade(UUID accountId, String action, String reason, String metadata) {
+    append(new TradeEntry(accountId, action, reason, metadata, OffsetDateTime.now()));
+  }
+
+  public void appendAudit(AuditLog auditLog) {
+    if (auditLog.getOccurredAt() == null) {
+      auditLog.setOccurredAt(OffsetDateTime.now());
+    }
+    append(new AuditEntry(auditLog));
+  }
+
+  public int pending() {
+    return queue.size();
+  }
+
+  public long written() {
+    return written.get();
+  }
+
+  public long dropped() {
+    return dropped.get();
+  }
+
+  /**
+   * Writes up to one batch of queued entries, returning how many were taken off the queue.
+   */
+  int flush() {
+    List<LogEntry> batch = new ArrayList<>(Math.min(batchSize, queue.size()));
+    queue.drainTo(batch, batchSize);
+    if (!batch.isEmpty()) {
+      write(batch);
+    }
+    return batch.size();
+  }
+
+  private void append(LogEntry entry) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          offer(entry);
+        }
+      });
+    } else {
+      offer(entry);
+    }
+  }
+
+  private void offer(LogEntry entry) {
+    if (!queue.offer(entry)) {
+      log.debug("Log write-behind queue full; writing entry on the caller thread");
+      write(List.of(entry));
+    }
+  }
+
+  private void drainLoop() {
+    while (running) {
+      try {
+        LogEntry first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        List<LogEntry> batch = new ArrayList<>(batchSize);
+        batch.add(first);
+        queue.drainTo(batch, batchSize - 1);
+        write(batch);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException ex) {
+        log.error("Log write-behind flush failed: {}", ex.getMessage(), ex);
+      }
+    }
+  }
+
+  private void write(List<LogEntry> batch) {
+    try {
+      transactionTemplate.executeWithoutResult(status -> insert(batch));
+      written.addAndGet(batch.size());
+    } catch (RuntimeException ex) {
+      if (batch.size() == 1) {
+        dropped.incrementAndGet();
+        log.error("Dropping log entry {}: {}", batch.get(0), ex.getMessage());
+        return;
+      }
+      // One bad entry (e.g. an account deleted meanwhile) must not discard the rest of the batch.
+      log.warn("Log batch of {} failed ({}); retrying entries individually", batch.size(), ex.getMessage());
+      for (LogEntry entry : batch) {
+        write(List.of(entry));
+      }
+    }
+  }
+
+  private void insert(List<LogEntry> batch) {
+    List<TradeLog> trades = new ArrayList<>();
+    List<AuditLog> audits = new ArrayList<>();
+    for (LogEntry entry : batch) {
+      switch (entry) {
+        case TradeEntry trade -> trades.add(TradeLog.builder()
+            .account(accountRepository.getReferenceById(trade.accountId()))
+            .action(trade.action())
+            .reason(trade.reason())
+            .metadata(trade.metadata())
+            .occurredAt(trade.occurredAt())
+            .build());
+        case AuditEntry audit -> {
+          // A failed batch may have assigned an id before rolling back; keep the retry an insert.
+          audit.auditLog().setId(null);
+          audits.add(audit.auditLog());
+        }
+      }
+    }
+    if (!trades.isEmpty()) {
+      tradeLogRepository.saveAll(trades);
+    }
+    if (!audits.isEmpty()) {
+      auditLogRepository.saveAll(audits);
+    }
+  }
+
+  private sealed interface LogEntry permits TradeEntry, AuditEntry {}
+
+  private record TradeEntry(
+      UUID accountId, String action, String reason, String metadata, OffsetDateTime occurredAt)
+      implements LogEntry {}
+
+  private record AuditEntry(AuditLog auditLog) implements LogEntry {}
+}
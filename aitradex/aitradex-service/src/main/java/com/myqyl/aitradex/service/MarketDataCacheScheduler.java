@@ -1,19 +1,35 @@
 package com.myqyl.aitradex.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+/**
+ * Evicts this replica's in-memory quote cache, so it runs on every replica rather than being
+ * partitioned through {@link SchedulerCluster}.
+ */
 @Component
 public class MarketDataCacheScheduler {
 
   private final MarketDataService marketDataService;
+  private final Timer runTimer;
+  private final Counter evicted;
 
-  public MarketDataCacheScheduler(MarketDataService marketDataService) {
+  public MarketDataCacheScheduler(MarketDataService marketDataService, MeterRegistry meterRegistry) {
     this.marketDataService = marketDataService;
+    this.runTimer = SchedulerMeters.runTimer(meterRegistry, "market-data-cache-evict");
+    this.evicted = SchedulerMeters.itemCounter(meterRegistry, "market-data-cache-evict");
   }
 
   @Scheduled(fixedDelayString = "${app.market-data.cache-evict-interval-ms:300000}")
   public void evictExpiredEntries() {
-    marketDataService.purgeExpired();
+    Timer.Sample sample = Timer.start();
+    try {
+      evicted.increment(marketDataService.purgeExpired());
+    } finally {
+      sample.stop(runTimer);
+    }
   }
 }
@@ -2,31 +2,65 @@ package com.myqyl.aitradex.service;
 
 import com.myqyl.aitradex.api.dto.MarketDataQuoteDto;
 import com.myqyl.aitradex.config.MarketDataProperties;
+import com.myqyl.aitradex.event.QuoteTickEvent;
 import com.myqyl.aitradex.marketdata.MarketDataAdapter;
+import com.myqyl.aitradex.profiling.QuoteFetchEvent;
 import com.myqyl.aitradex.repository.QuoteSnapshotRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 @Service
 public class MarketDataService {
 
+  private static final Logger log = LoggerFactory.getLogger(MarketDataService.class);
+
   private final List<MarketDataAdapter> adapters;
   private final QuoteSnapshotRepository quoteSnapshotRepository;
   private final MarketDataProperties properties;
+  private final ClusterEventBus eventBus;
   private final Map<String, CacheEntry> cache = new ConcurrentHashMap<>();
+  private final Map<String, AdapterMeters> adapterMeters = new HashMap<>();
+  private final Counter cacheHits;
+  private final Counter cacheMisses;
 
   public MarketDataService(
       List<MarketDataAdapter> adapters,
       QuoteSnapshotRepository quoteSnapshotRepository,
-      MarketDataProperties properties) {
+      MarketDataProperties properties,
+      ClusterEventBus eventBus,
+      MeterRegistry meterRegistry) {
     this.adapters = adapters;
     this.quoteSnapshotRepository = quoteSnapshotRepository;
     this.properties = properties;
+    this.eventBus = eventBus;
+    for (MarketDataAdapter adapter : adapters) {
+      adapterMeters.put(adapter.name().toLowerCase(), new AdapterMeters(adapter.name(), meterRegistry));
+    }
+    this.cacheHits = cacheRequests(meterRegistry, "hit");
+    this.cacheMisses = cacheRequests(meterRegistry, "miss");
+    Gauge.builder("aitradex.marketdata.cache.size", cache, Map::size)
+        .description("Quotes currently held in the market data cache, expired entries included")
+        .register(meterRegistry);
   }
 
   public MarketDataQuoteDto latestQuote(String symbol, String source) {
@@ -34,22 +68,87 @@ public class MarketDataService {
     String cacheKey = resolvedSource + ":" + symbol.toUpperCase();
     CacheEntry cached = cache.get(cacheKey);
     if (cached != null && !cached.isExpired()) {
+      cacheHits.increment();
       return cached.quote();
     }
+    cacheMisses.increment();
 
-    MarketDataQuoteDto quote = resolveAdapter(resolvedSource).latestQuote(symbol);
-    cache.put(cacheKey, new CacheEntry(quote, Instant.now().plus(properties.getCacheTtl())));
+    MarketDataQuoteDto quote = fetch(resolveAdapter(resolvedSource), symbol);
+    Instant fetchedAt = Instant.now();
+    cache.put(cacheKey, new CacheEntry(quote, fetchedAt.plus(properties.getCacheTtl())));
+    if (quote != null) {
+      eventBus.publish(new QuoteTickEvent(resolvedSource, quote, fetchedAt));
+    }
     return quote;
   }
 
+  /**
+   * Caches a quote another replica fetched, valid for the TTL counted from its fetch time, unless
+   * this replica already holds a fresher one.
+   */
+  @EventListener
+  public void onQuoteTick(QuoteTickEvent event) {
+    Instant expiresAt = event.fetchedAt().plus(properties.getCacheTtl());
+    if (Instant.now().isAfter(expiresAt)) {
+      return;
+    }
+    String cacheKey = event.source() + ":" + event.quote().symbol().toUpperCase();
+    cache.merge(cacheKey, new CacheEntry(event.quote(), expiresAt),
+        (current, remote) -> remote.expiresAt().isAfter(current.expiresAt()) ? remote : current);
+  }
+
   public MarketDataQuoteDto latestQuote(String symbol) {
     return latestQuote(symbol, properties.getDefaultSource());
   }
 
+  /**
+   * Returns the latest quote for each distinct symbol, keyed by upper-case symbol. Cached quotes
+   * are reused; the remaining symbols are fetched concurrently, one adapter call each. Symbols
+   * whose quote cannot be fetched are absent from the result.
+   */
+  public Map<String, MarketDataQuoteDto> latestQuotes(Collection<String> symbols) {
+    return latestQuotes(symbols, properties.getDefaultSource());
+  }
+
+  /**
+   * Same as {@link #latestQuotes(Collection)} for a specific source.
+   */
+  public Map<String, MarketDataQuoteDto> latestQuotes(Collection<String> symbols, String source) {
+    Set<String> distinct = new LinkedHashSet<>();
+    for (String symbol : symbols) {
+      if (symbol != null && !symbol.isBlank()) {
+        distinct.add(symbol.toUpperCase());
+      }
+    }
+    Map<String, MarketDataQuoteDto> quotes = new ConcurrentHashMap<>();
+    if (distinct.isEmpty()) {
+      return quotes;
+    }
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (String symbol : distinct) {
+        executor.execute(() -> {
+          try {
+            MarketDataQuoteDto quote = latestQuote(symbol, source);
+            if (quote != null) {
+              quotes.put(symbol, quote);
+            }
+          } catch (RuntimeException ex) {
+            log.debug("Failed to fetch quote for {}: {}", symbol, ex.getMessage());
+          }
+        });
+      }
+    }
+    return quotes;
+  }
+
   public List<String> listSources() {
     return adapters.stream().map(MarketDataAdapter::name).toList();
   }
 
+  /**
+   * Stored snapshot count for the quote-snapshots source; for live providers, the number of
+   * quotes fetched successfully since startup.
+   */
   public Map<String, Long> sourceCounts() {
     return adapters.stream()
         .collect(Collectors.toMap(
@@ -58,12 +157,46 @@ public class MarketDataService {
               String name = adapter.name();
               return "quote-snapshots".equalsIgnoreCase(name)
                   ? quoteSnapshotRepository.countBySource(name)
-                  : 0L;
+                  : adapterMeters.get(name.toLowerCase()).success().count();
             }));
   }
 
-  public void purgeExpired() {
-    cache.entrySet().removeIf(entry -> entry.getValue().isExpired());
+  /**
+   * Drops expired cache entries and returns how many were removed.
+   */
+  public int purgeExpired() {
+    int removed = 0;
+    for (Iterator<CacheEntry> it = cache.values().iterator(); it.hasNext(); ) {
+      if (it.next().isExpired()) {
+        it.remove();
+        removed++;
+      }
+    }
+    return removed;
+  }
+
+  private MarketDataQuoteDto fetch(MarketDataAdapter adapter, String symbol) {
+    AdapterMeters meters = adapterMeters.get(adapter.name().toLowerCase());
+    QuoteFetchEvent event = new QuoteFetchEvent();
+    event.begin();
+    long start = System.nanoTime();
+    try {
+      MarketDataQuoteDto quote = adapter.latestQuote(symbol);
+      meters.success().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      event.finish(adapter.name(), symbol, true);
+      return quote;
+    } catch (RuntimeException ex) {
+      meters.failure().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      event.finish(adapter.name(), symbol, false);
+      throw ex;
+    }
+  }
+
+  private static Counter cacheRequests(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("aitradex.marketdata.cache.requests")
+        .description("Market data cache lookups by result; hit ratio is hit / (hit + miss)")
+        .tag("result", result)
+        .register(meterRegistry);
   }
 
   private String resolveSource(String source) {
@@ -81,6 +214,21 @@ public class MarketDataService {
         .orElseThrow(() -> new IllegalArgumentException("Unknown market data source: " + source));
   }
 
+  private record AdapterMeters(Timer success, Timer failure) {
+    AdapterMeters(String source, MeterRegistry meterRegistry) {
+      this(adapterTimer(source, "success", meterRegistry), adapterTimer(source, "error", meterRegistry));
+    }
+
+    private static Timer adapterTimer(String source, String outcome, MeterRegistry meterRegistry) {
+      return Timer.builder("aitradex.marketdata.adapter.requests")
+          .description("Quote fetches against a market data provider")
+          .tag("source", source)
+          .tag("outcome", outcome)
+          .publishPercentileHistogram()
+          .register(meterRegistry);
+    }
+  }
+
   private record CacheEntry(MarketDataQuoteDto quote, Instant expiresAt) {
     boolean isExpired() {
       return Instant.now().isAfter(expiresAt);
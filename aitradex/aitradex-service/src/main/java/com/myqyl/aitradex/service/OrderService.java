@@ -1,23 +1,32 @@
 package com.myqyl.aitradex.service;
 
+import com.myqyl.aitradex.api.dto.BulkItemResult;
+import com.myqyl.aitradex.api.dto.BulkResultDto;
 import com.myqyl.aitradex.api.dto.CreateOrderRequest;
+import com.myqyl.aitradex.api.dto.MarketDataQuoteDto;
 import com.myqyl.aitradex.api.dto.OrderDto;
 import com.myqyl.aitradex.api.dto.UpdateOrderStatusRequest;
 import com.myqyl.aitradex.domain.Account;
 import com.myqyl.aitradex.domain.Order;
-import com.myqyl.aitradex.domain.OrderSide;
 import com.myqyl.aitradex.domain.OrderStatus;
 import com.myqyl.aitradex.domain.OrderType;
-import com.myqyl.aitradex.domain.Position;
+import com.myqyl.aitradex.event.OrderUpdatedEvent;
 import com.myqyl.aitradex.exception.NotFoundException;
 import com.myqyl.aitradex.repository.AccountRepository;
 import com.myqyl.aitradex.repository.OrderRepository;
-import com.myqyl.aitradex.repository.PositionRepository;
 import com.myqyl.aitradex.util.PriceUtils;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,41 +35,112 @@ public class OrderService {
 
   private final OrderRepository orderRepository;
   private final AccountRepository accountRepository;
-  private final PositionRepository positionRepository;
   private final MarketDataService marketDataService;
+  private final ExecutionPipeline executionPipeline;
+  private final ApplicationEventPublisher eventPublisher;
+  private final PreTradeRiskEngine riskEngine;
 
   public OrderService(
       OrderRepository orderRepository,
       AccountRepository accountRepository,
-      PositionRepository positionRepository,
-      MarketDataService marketDataService) {
+      MarketDataService marketDataService,
+      ExecutionPipeline executionPipeline,
+      ApplicationEventPublisher eventPublisher,
+      PreTradeRiskEngine riskEngine) {
     this.orderRepository = orderRepository;
     this.accountRepository = accountRepository;
-    this.positionRepository = positionRepository;
     this.marketDataService = marketDataService;
+    this.executionPipeline = executionPipeline;
+    this.eventPublisher = eventPublisher;
+    this.riskEngine = riskEngine;
   }
 
-  @Transactional
+  /**
+   * Creates an order. The price estimate happens up front; the risk check, the insert and the
+   * reservation run on the account's execution partition so they cannot race fills for the same
+   * account.
+   */
   public OrderDto create(CreateOrderRequest request) {
-    Account account =
-        accountRepository.findById(request.accountId()).orElseThrow(() -> accountNotFound(request.accountId()));
-    validateOrder(request, account);
-
-    Order order =
-        Order.builder()
-            .account(account)
-            .symbol(request.symbol().toUpperCase())
-            .side(request.side())
-            .type(request.type())
-            .status(OrderStatus.NEW)
-            .limitPrice(request.limitPrice())
-            .stopPrice(request.stopPrice())
-            .quantity(request.quantity())
-            .source(request.source())
-            .notes(request.notes())
-            .createdAt(OffsetDateTime.now())
-            .build();
-    return toDto(orderRepository.save(order));
+    if (!accountRepository.existsById(request.accountId())) {
+      throw accountNotFound(request.accountId());
+    }
+    validateOrder(request);
+    BigDecimal notional = estimateNotional(request, marketPrice(request.symbol()));
+
+    return executionPipeline.execute(request.accountId(), book -> {
+      Account account = book.account(request.accountId());
+      riskEngine.check(account.getId(), request.side(), request.symbol(), request.quantity(), notional);
+      Order order = orderRepository.save(newOrder(account, request));
+      riskEngine.reserve(order, notional);
+      return published(toDto(order));
+    });
+  }
+
+  /**
+   * Creates a batch of orders, e.g. a whole rebalance, returning one result per request in request
+   * order. Accounts are resolved with one query and market quotes for all MARKET orders are fetched
+   * once per distinct symbol. Each account's orders are then run through the
+   * {@link PreTradeRiskEngine}, each accepted order reserving cash or quantity before the next is
+   * checked, and inserted together in one pipeline transaction so Hibernate batches the
+   * statements. An order that fails validation is reported and skipped; it does not fail the rest
+   * of the batch.
+   */
+  public BulkResultDto<OrderDto> createAll(List<CreateOrderRequest> requests) {
+    List<BulkItemResult<OrderDto>> results = new ArrayList<>(Collections.nCopies(requests.size(), null));
+
+    Set<UUID> requestedAccounts = new HashSet<>();
+    Set<String> marketSymbols = new HashSet<>();
+    for (int i = 0; i < requests.size(); i++) {
+      CreateOrderRequest request = requests.get(i);
+      try {
+        validateOrder(request);
+        requestedAccounts.add(request.accountId());
+        if (request.type() == OrderType.MARKET) {
+          marketSymbols.add(request.symbol().toUpperCase());
+        }
+      } catch (IllegalArgumentException ex) {
+        results.set(i, BulkItemResult.failed(i, ex.getMessage()));
+      }
+    }
+
+    Set<UUID> knownAccounts =
+        requestedAccounts.isEmpty() ? Set.of() : accountRepository.findIdsByIdIn(requestedAccounts);
+    Map<String, MarketDataQuoteDto> quotes = marketDataService.latestQuotes(marketSymbols);
+
+    Map<UUID, List<PendingOrder>> byAccount = new LinkedHashMap<>();
+    for (int i = 0; i < requests.size(); i++) {
+      if (results.get(i) != null) {
+        continue;
+      }
+      CreateOrderRequest request = requests.get(i);
+      if (!knownAccounts.contains(request.accountId())) {
+        results.set(i, BulkItemResult.failed(i, accountNotFound(request.accountId()).getMessage()));
+        continue;
+      }
+      try {
+        MarketDataQuoteDto quote = quotes.get(request.symbol().toUpperCase());
+        BigDecimal notional = estimateNotional(request, quote != null ? priceOf(quote) : null);
+        byAccount.computeIfAbsent(request.accountId(), id -> new ArrayList<>())
+            .add(new PendingOrder(i, request, notional));
+      } catch (IllegalArgumentException ex) {
+        results.set(i, BulkItemResult.failed(i, ex.getMessage()));
+      }
+    }
+
+    Map<UUID, CompletableFuture<List<BulkItemResult<OrderDto>>>> futures = new LinkedHashMap<>();
+    byAccount.forEach((accountId, pending) ->
+        futures.put(accountId, executionPipeline.submit(accountId, book -> placeAll(book, accountId, pending))));
+
+    futures.forEach((accountId, future) -> {
+      try {
+        executionPipeline.await(accountId, future).forEach(result -> results.set(result.index(), result));
+      } catch (RuntimeException ex) {
+        for (PendingOrder pending : byAccount.get(accountId)) {
+          results.set(pending.index(), BulkItemResult.failed(pending.index(), ex.getMessage()));
+        }
+      }
+    });
+    return BulkResultDto.of(results);
   }
 
   @Transactional(readOnly = true)
@@ -83,28 +163,42 @@ public class OrderService {
     return orderRepository.findById(id).map(this::toDto).orElseThrow(() -> orderNotFound(id));
   }
 
-  @Transactional
+  /**
+   * Changes an order's status on its account's execution partition, so it cannot interleave with
+   * a fill for the same order. Reservations of an order leaving the open statuses are released
+   * once the change commits.
+   */
   public OrderDto updateStatus(UUID id, UpdateOrderStatusRequest request) {
-    Order order = orderRepository.findById(id).orElseThrow(() -> orderNotFound(id));
-    order.setStatus(request.status());
+    UUID accountId = orderRepository.findAccountIdById(id).orElseThrow(() -> orderNotFound(id));
 
-    if (request.routedAt() != null) {
-      order.setRoutedAt(request.routedAt());
-    } else if (request.status() == OrderStatus.ROUTED && order.getRoutedAt() == null) {
-      order.setRoutedAt(OffsetDateTime.now());
-    }
+    return executionPipeline.execute(accountId, book -> {
+      Order order = orderRepository.findById(id).orElseThrow(() -> orderNotFound(id));
+      order.setStatus(request.status());
+      riskEngine.onOrderStatus(accountId, id, request.status());
 
-    if (request.filledAt() != null) {
-      order.setFilledAt(request.filledAt());
-    } else if (request.status() == OrderStatus.FILLED && order.getFilledAt() == null) {
-      order.setFilledAt(OffsetDateTime.now());
-    }
+      if (request.routedAt() != null) {
+        order.setRoutedAt(request.routedAt());
+      } else if (request.status() == OrderStatus.ROUTED && order.getRoutedAt() == null) {
+        order.setRoutedAt(OffsetDateTime.now());
+      }
 
-    if (request.notes() != null) {
-      order.setNotes(request.notes());
-    }
+      if (request.filledAt() != null) {
+        order.setFilledAt(request.filledAt());
+      } else if (request.status() == OrderStatus.FILLED && order.getFilledAt() == null) {
+        order.setFilledAt(OffsetDateTime.now());
+      }
+
+      if (request.notes() != null) {
+        order.setNotes(request.notes());
+      }
 
-    return toDto(orderRepository.save(order));
+      return published(toDto(orderRepository.save(order)));
+    });
+  }
+
+  private OrderDto published(OrderDto order) {
+    eventPublisher.publishEvent(new OrderUpdatedEvent(order));
+    return order;
   }
 
   private OrderDto toDto(Order order) {
@@ -119,6 +213,8 @@ public class OrderService {
         order.getLimitPrice(),
         order.getStopPrice(),
         order.getQuantity(),
+        order.getFilledQuantity(),
+        order.getAvgFillPrice(),
         order.getRoutedAt(),
         order.getFilledAt(),
         order.getNotes(),
@@ -134,7 +230,16 @@ public class OrderService {
     return new NotFoundException("Account %s not found".formatted(id));
   }
 
-  private void validateOrder(CreateOrderRequest request, Account account) {
+  private void validateOrder(CreateOrderRequest request) {
+    if (request == null
+        || request.accountId() == null
+        || request.symbol() == null
+        || request.symbol().isBlank()
+        || request.side() == null
+        || request.type() == null
+        || request.source() == null) {
+      throw new IllegalArgumentException("accountId, symbol, side, type and source are required");
+    }
     if (request.quantity() == null || request.quantity().signum() <= 0) {
       throw new IllegalArgumentException("Order quantity must be positive");
     }
@@ -158,23 +263,55 @@ public class OrderService {
       default -> {
       }
     }
-    BigDecimal notional = estimateNotional(request);
-    if (request.side() == OrderSide.BUY) {
-      if (account.getCashBalance().compareTo(notional) < 0) {
-        throw new IllegalStateException("Insufficient cash balance for order");
+  }
+
+  private List<BulkItemResult<OrderDto>> placeAll(
+      ExecutionBook book, UUID accountId, List<PendingOrder> pending) {
+    Account account = book.account(accountId);
+    List<BulkItemResult<OrderDto>> results = new ArrayList<>(pending.size());
+    for (PendingOrder item : pending) {
+      CreateOrderRequest request = item.request();
+      try {
+        riskEngine.check(accountId, request.side(), request.symbol(), request.quantity(), item.notional());
+      } catch (IllegalStateException ex) {
+        results.add(BulkItemResult.failed(item.index(), ex.getMessage()));
+        continue;
       }
-      return;
-    }
-    Position position =
-        positionRepository
-            .findByAccountIdAndSymbolAndClosedAtIsNull(account.getId(), request.symbol().toUpperCase())
-            .orElseThrow(() -> new IllegalStateException("No open position to sell"));
-    if (position.getQuantity().compareTo(request.quantity()) < 0) {
-      throw new IllegalStateException("Order quantity exceeds available position size");
+      // persist only queues the insert; the whole account's orders are flushed as one JDBC batch.
+      Order order = orderRepository.save(newOrder(account, request));
+      riskEngine.reserve(order, item.notional());
+      results.add(BulkItemResult.ok(item.index(), published(toDto(order))));
     }
+    return results;
+  }
+
+  private Order newOrder(Account account, CreateOrderRequest request) {
+    return Order.builder()
+        .account(account)
+        .symbol(request.symbol().toUpperCase())
+        .side(request.side())
+        .type(request.type())
+        .status(OrderStatus.NEW)
+        .limitPrice(request.limitPrice())
+        .stopPrice(request.stopPrice())
+        .quantity(request.quantity())
+        .filledQuantity(BigDecimal.ZERO)
+        .source(request.source())
+        .notes(request.notes())
+        .createdAt(OffsetDateTime.now())
+        .build();
+  }
+
+  private BigDecimal marketPrice(String symbol) {
+    var quote = marketDataService.latestQuote(symbol);
+    return quote != null ? priceOf(quote) : null;
   }
 
-  private BigDecimal estimateNotional(CreateOrderRequest request) {
+  private static BigDecimal priceOf(MarketDataQuoteDto quote) {
+    return PriceUtils.firstAvailable(quote.close(), quote.open(), quote.high(), quote.low());
+  }
+
+  private BigDecimal estimateNotional(CreateOrderRequest request, BigDecimal marketPrice) {
     BigDecimal price = null;
     if (request.type() == OrderType.LIMIT) {
       price = request.limitPrice();
@@ -185,10 +322,7 @@ public class OrderService {
     }
 
     if (price == null && request.type() == OrderType.MARKET) {
-      var quote = marketDataService.latestQuote(request.symbol());
-      if (quote != null) {
-        price = PriceUtils.firstAvailable(quote.close(), quote.open(), quote.high(), quote.low());
-      }
+      price = marketPrice;
     }
 
     if (price == null) {
@@ -196,4 +330,6 @@ public class OrderService {
     }
     return price.multiply(request.quantity());
   }
+
+  private record PendingOrder(int index, CreateOrderRequest request, BigDecimal notional) {}
 }
@@ -0,0 +1,34 @@
+package com.myqyl.aitradex.service;
+
+import com.myqyl.aitradex.domain.OrderSide;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Slippage and partial-fill assumptions for paper fills.
+ *
+ * Prices move against the order by {@code slippageBps} but never past a limit. Each match fills
+ * at most {@code partialFillRatio} of the order's original quantity, so a ratio of 1 fills in one
+ * match and 0.25 spreads a fill over at least four quotes.
+ */
+record PaperFillModel(BigDecimal slippageBps, BigDecimal partialFillRatio) {
+
+  private static final BigDecimal BPS = new BigDecimal("10000");
+
+  BigDecimal price(OrderSide side, BigDecimal lastPrice, BigDecimal limitPrice) {
+    BigDecimal slip = lastPrice.multiply(slippageBps).divide(BPS, 8, RoundingMode.HALF_UP);
+    BigDecimal price = side == OrderSide.BUY ? lastPrice.add(slip) : lastPrice.subtract(slip);
+    if (limitPrice != null) {
+      price = side == OrderSide.BUY ? price.min(limitPrice) : price.max(limitPrice);
+    }
+    return price.stripTrailingZeros();
+  }
+
+  BigDecimal quantity(BigDecimal orderQuantity, BigDecimal remaining) {
+    if (partialFillRatio.compareTo(BigDecimal.ONE) >= 0) {
+      return remaining;
+    }
+    BigDecimal slice = orderQuantity.multiply(partialFillRatio).setScale(orderQuantity.scale(), RoundingMode.DOWN);
+    return slice.signum() <= 0 ? remaining : slice.min(remaining);
+  }
+}
@@ -0,0 +1,201 @@
+package com.myqyl.aitradex.service;
+
+import com.myqyl.aitradex.domain.OrderSide;
+import com.myqyl.aitradex.domain.OrderType;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Resting paper orders for one symbol, indexed by price.
+ *
+ * Prices are held as {@code long} ticks ({@code price * 10^priceScale}) in sorted maps of FIFO
+ * levels, one map per side and trigger kind, so evaluating a quote only touches the levels the
+ * price actually crosses. Not thread-safe on its own; {@link PaperTradingEngine} serializes
+ * access per book.
+ */
+final class PaperOrderBook {
+
+  private final String symbol;
+  private final int priceScale;
+
+  /** Buy limits, best (highest) first. */
+  private final NavigableMap<Long, ArrayDeque<RestingOrder>> buyLimits = new TreeMap<>(Comparator.reverseOrder());
+  /** Sell limits, best (lowest) first. */
+  private final NavigableMap<Long, ArrayDeque<RestingOrder>> sellLimits = new TreeMap<>();
+  /** Buy stops trigger when the price rises to the stop. */
+  private final NavigableMap<Long, ArrayDeque<RestingOrder>> buyStops = new TreeMap<>();
+  /** Sell stops trigger when the price falls to the stop. */
+  private final NavigableMap<Long, ArrayDeque<RestingOrder>> sellStops = new TreeMap<>(Comparator.reverseOrder());
+  private final ArrayDeque<RestingOrder> market = new ArrayDeque<>();
+  private final Map<UUID, RestingOrder> orders = new HashMap<>();
+
+  PaperOrderBook(String symbol, int priceScale) {
+    this.symbol = symbol;
+    this.priceScale = priceScale;
+  }
+
+  String symbol() {
+    return symbol;
+  }
+
+  int size() {
+    return orders.size();
+  }
+
+  boolean contains(UUID orderId) {
+    return orders.containsKey(orderId);
+  }
+
+  /**
+   * Adds an order, replacing any resting order with the same ID.
+   */
+  void add(UUID orderId, OrderSide side, OrderType type, BigDecimal limitPrice, BigDecimal stopPrice,
+      BigDecimal quantity, BigDecimal remaining) {
+    remove(orderId);
+    if (remaining.signum() <= 0) {
+      return;
+    }
+    RestingOrder order = new RestingOrder(orderId, side, type, limitPrice, quantity, remaining);
+    orders.put(orderId, order);
+    switch (type) {
+      case MARKET -> rest(order, market);
+      case LIMIT -> restLimit(order);
+      case STOP, STOP_LIMIT -> rest(order, side == OrderSide.BUY ? buyStops : sellStops, ticks(stopPrice));
+    }
+  }
+
+  boolean remove(UUID orderId) {
+    RestingOrder order = orders.remove(orderId);
+    if (order == null) {
+      return false;
+    }
+    order.level.remove(order);
+    if (order.level.isEmpty() && order.levels != null) {
+      order.levels.remove(order.levelKey, order.level);
+    }
+    return true;
+  }
+
+  /**
+   * Evaluates the book against a trade price: triggers crossed stops, then fills market orders and
+   * every limit the price crosses, best price first and FIFO within a level. Filled quantities are
+   * taken off the book immediately.
+   */
+  List<Fill> match(BigDecimal lastPrice, PaperFillModel fillModel) {
+    long price = ticks(lastPrice);
+    List<Fill> fills = new ArrayList<>();
+
+    trigger(buyStops.headMap(price, true));
+    trigger(sellStops.headMap(price, true));
+
+    for (Iterator<RestingOrder> it = market.iterator(); it.hasNext(); ) {
+      RestingOrder order = it.next();
+      fill(order, fillModel.price(order.side, lastPrice, null), fillModel, fills);
+      if (order.remaining.signum() <= 0) {
+        it.remove();
+      }
+    }
+    fillLevels(buyLimits.headMap(price, true), lastPrice, fillModel, fills);
+    fillLevels(sellLimits.headMap(price, true), lastPrice, fillModel, fills);
+    return fills;
+  }
+
+  private void trigger(NavigableMap<Long, ArrayDeque<RestingOrder>> crossed) {
+    if (crossed.isEmpty()) {
+      return;
+    }
+    List<ArrayDeque<RestingOrder>> levels = new ArrayList<>(crossed.values());
+    crossed.clear();
+    for (ArrayDeque<RestingOrder> level : levels) {
+      for (RestingOrder order : level) {
+        if (order.type == OrderType.STOP_LIMIT) {
+          restLimit(order);
+        } else {
+          rest(order, market);
+        }
+      }
+    }
+  }
+
+  private void fillLevels(NavigableMap<Long, ArrayDeque<RestingOrder>> crossed, BigDecimal lastPrice,
+      PaperFillModel fillModel, List<Fill> fills) {
+    for (Iterator<ArrayDeque<RestingOrder>> levels = crossed.values().iterator(); levels.hasNext(); ) {
+      ArrayDeque<RestingOrder> level = levels.next();
+      for (Iterator<RestingOrder> it = level.iterator(); it.hasNext(); ) {
+        RestingOrder order = it.next();
+        fill(order, fillModel.price(order.side, lastPrice, order.limitPrice), fillModel, fills);
+        if (order.remaining.signum() <= 0) {
+          it.remove();
+        }
+      }
+      if (level.isEmpty()) {
+        levels.remove();
+      }
+    }
+  }
+
+  private void fill(RestingOrder order, BigDecimal price, PaperFillModel fillModel, List<Fill> fills) {
+    BigDecimal quantity = fillModel.quantity(order.quantity, order.remaining);
+    order.remaining = order.remaining.subtract(quantity);
+    if (order.remaining.signum() <= 0) {
+      orders.remove(order.orderId);
+    }
+    fills.add(new Fill(order.orderId, price, quantity, order.remaining.signum() <= 0));
+  }
+
+  private void restLimit(RestingOrder order) {
+    rest(order, order.side == OrderSide.BUY ? buyLimits : sellLimits, ticks(order.limitPrice));
+  }
+
+  private void rest(RestingOrder order, NavigableMap<Long, ArrayDeque<RestingOrder>> levels, long key) {
+    ArrayDeque<RestingOrder> level = levels.computeIfAbsent(key, k -> new ArrayDeque<>());
+    level.addLast(order);
+    order.level = level;
+    order.levels = levels;
+    order.levelKey = key;
+  }
+
+  private void rest(RestingOrder order, ArrayDeque<RestingOrder> queue) {
+    queue.addLast(order);
+    order.level = queue;
+    order.levels = null;
+  }
+
+  private long ticks(BigDecimal price) {
+    return price.movePointRight(priceScale).setScale(0, RoundingMode.HALF_UP).longValueExact();
+  }
+
+  record Fill(UUID orderId, BigDecimal price, BigDecimal quantity, boolean complete) {}
+
+  private static final class RestingOrder {
+    private final UUID orderId;
+    private final OrderSide side;
+    private final OrderType type;
+    private final BigDecimal limitPrice;
+    private final BigDecimal quantity;
+    private BigDecimal remaining;
+    private ArrayDeque<RestingOrder> level;
+    private NavigableMap<Long, ArrayDeque<RestingOrder>> levels;
+    private long levelKey;
+
+    private RestingOrder(UUID orderId, OrderSide side, OrderType type, BigDecimal limitPrice,
+        BigDecimal quantity, BigDecimal remaining) {
+      this.orderId = orderId;
+      this.side = side;
+      this.type = type;
+      this.limitPrice = limitPrice;
+      this.quantity = quantity;
+      this.remaining = remaining;
+    }
+  }
+}
@@ -0,0 +1,264 @@
+package com.myqyl.aitradex.service;
+
+import com.myqyl.aitradex.api.dto.BulkItemResult;
+import com.myqyl.aitradex.api.dto.BulkResultDto;
+import com.myqyl.aitradex.api.dto.CreateExecutionRequest;
+import com.myqyl.aitradex.api.dto.ExecutionDto;
+import com.myqyl.aitradex.api.dto.MarketDataQuoteDto;
+import com.myqyl.aitradex.api.dto.OrderDto;
+import com.myqyl.aitradex.domain.Order;
+import com.myqyl.aitradex.domain.OrderSide;
+import com.myqyl.aitradex.domain.OrderStatus;
+import com.myqyl.aitradex.domain.OrderType;
+import com.myqyl.aitradex.event.OrderUpdatedEvent;
+import com.myqyl.aitradex.repository.OrderRepository;
+import com.myqyl.aitradex.util.PriceUtils;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Paper-trading matching engine for internal orders.
+ *
+ * Keeps one {@link PaperOrderBook} per symbol holding every open internal order, evaluates the
+ * books against the latest quote on each tick, and records the resulting fills through
+ * {@link ExecutionService#createAll}, so cash, positions and order totals settle exactly as for
+ * manually posted executions. Books are rebuilt from the database at startup and kept current
+ * from {@link OrderUpdatedEvent}s.
+ */
+@Service
+@ConditionalOnProperty(name = "app.paper-trading.enabled", havingValue = "true", matchIfMissing = false)
+public class PaperTradingEngine {
+
+  private static final Logger log = LoggerFactory.getLogger(PaperTradingEngine.class);
+  private static final Set<OrderStatus> OPEN_STATUSES = Set.of(OrderStatus.NEW, OrderStatus.PARTIALLY_FILLED);
+
+  private final OrderRepository orderRepository;
+  private final ExecutionService executionService;
+  private final ExecutionPipeline executionPipeline;
+  private final MarketDataService marketDataService;
+  private final PaperFillModel fillModel;
+  private final int priceScale;
+  private final String source;
+  private final String venue;
+  private final Map<String, PaperOrderBook> books = new ConcurrentHashMap<>();
+  private final Map<UUID, String> symbolByOrder = new ConcurrentHashMap<>();
+  /** Orders taken off the book whose fills were not recorded, waiting to be reloaded. */
+  private final Set<UUID> unsettled = ConcurrentHashMap.newKeySet();
+
+  public PaperTradingEngine(
+      OrderRepository orderRepository,
+      ExecutionService executionService,
+      ExecutionPipeline executionPipeline,
+      MarketDataService marketDataService,
+      @Value("${app.paper-trading.slippage-bps:5}") BigDecimal slippageBps,
+      @Value("${app.paper-trading.partial-fill-ratio:1}") BigDecimal partialFillRatio,
+      @Value("${app.paper-trading.price-scale:4}") int priceScale,
+      @Value("${app.paper-trading.source:}") String source,
+      @Value("${app.paper-trading.venue:PAPER}") String venue) {
+    this.orderRepository = orderRepository;
+    this.executionService = executionService;
+    this.executionPipeline = executionPipeline;
+    this.marketDataService = marketDataService;
+    this.fillModel = new PaperFillModel(slippageBps, partialFillRatio);
+    this.priceScale = priceScale;
+    this.source = source;
+    this.venue = venue;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    List<Order> open = orderRepository.findByStatusIn(OPEN_STATUSES);
+    for (Order order : open) {
+      rest(order);
+    }
+    log.info("Loaded {} open orders into {} paper order books", open.size(), books.size());
+  }
+
+  /**
+   * Adds newly placed orders to their book and drops orders that were cancelled, rejected or
+   * marked filled through the API.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onOrderUpdated(OrderUpdatedEvent event) {
+    OrderDto order = event.order();
+    if (OPEN_STATUSES.contains(order.status())) {
+      if (!symbolByOrder.containsKey(order.id())) {
+        BigDecimal filled = order.filledQuantity() != null ? order.filledQuantity() : BigDecimal.ZERO;
+        rest(order.id(), order.symbol(), order.side(), order.type(), order.limitPrice(), order.stopPrice(),
+            order.quantity(), order.quantity().subtract(filled));
+      }
+    } else {
+      remove(order.id());
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${app.paper-trading.tick-ms:1000}")
+  public void tick() {
+    restoreUnsettled();
+    Set<String> symbols = new HashSet<>(symbolByOrder.values());
+    if (symbols.isEmpty()) {
+      return;
+    }
+    Map<String, MarketDataQuoteDto> quotes = marketDataService.latestQuotes(symbols, source);
+    quotes.forEach((symbol, quote) -> {
+      BigDecimal price = PriceUtils.firstAvailable(quote.close(), quote.open(), quote.high(), quote.low());
+      if (price != null) {
+        onQuote(symbol, price);
+      }
+    });
+  }
+
+  /**
+   * Matches one symbol's book against a trade price and settles the fills. Returns the number of
+   * fills recorded.
+   *
+   * Matching takes the filled quantity off the book before the executions are written, so any fill
+   * that is not recorded puts its order back as the database has it: still resting with its
+   * persisted remaining quantity if it is open, gone otherwise. See {@link #restore}.
+   */
+  public int onQuote(String symbol, BigDecimal price) {
+    PaperOrderBook book = books.get(symbol.toUpperCase());
+    if (book == null) {
+      return 0;
+    }
+    List<PaperOrderBook.Fill> fills;
+    synchronized (book) {
+      fills = book.match(price, fillModel);
+    }
+    if (fills.isEmpty()) {
+      return 0;
+    }
+
+    OffsetDateTime now = OffsetDateTime.now();
+    List<CreateExecutionRequest> requests = new ArrayList<>(fills.size());
+    for (PaperOrderBook.Fill fill : fills) {
+      requests.add(new CreateExecutionRequest(fill.orderId(), fill.price(), fill.quantity(), venue, now));
+    }
+
+    BulkResultDto<ExecutionDto> result;
+    try {
+      result = executionService.createAll(requests);
+    } catch (RuntimeException ex) {
+      log.warn("Recording {} paper fills for {} failed; reloading the orders from the database",
+          fills.size(), symbol, ex);
+      restore(fills.stream().map(PaperOrderBook.Fill::orderId).collect(Collectors.toSet()));
+      return 0;
+    }
+
+    Set<UUID> rejected = new HashSet<>();
+    for (BulkItemResult<ExecutionDto> item : result.items()) {
+      PaperOrderBook.Fill fill = fills.get(item.index());
+      if (!item.success()) {
+        log.warn("Paper fill for order {} was rejected ({}); reloading it from the database",
+            fill.orderId(), item.error());
+        rejected.add(fill.orderId());
+      } else if (fill.complete()) {
+        symbolByOrder.remove(fill.orderId());
+      }
+    }
+    if (!rejected.isEmpty()) {
+      restore(rejected);
+    }
+    return result.succeeded();
+  }
+
+  public int restingOrderCount() {
+    return symbolByOrder.size();
+  }
+
+  private void rest(Order order) {
+    BigDecimal filled = order.getFilledQuantity() != null ? order.getFilledQuantity() : BigDecimal.ZERO;
+    rest(order.getId(), order.getSymbol(), order.getSide(), order.getType(), order.getLimitPrice(),
+        order.getStopPrice(), order.getQuantity(), order.getQuantity().subtract(filled));
+  }
+
+  private void rest(UUID orderId, String symbol, OrderSide side, OrderType type, BigDecimal limitPrice,
+      BigDecimal stopPrice, BigDecimal quantity, BigDecimal remaining) {
+    if (remaining.signum() <= 0) {
+      return;
+    }
+    String key = symbol.toUpperCase();
+    PaperOrderBook book = books.computeIfAbsent(key, s -> new PaperOrderBook(s, priceScale));
+    synchronized (book) {
+      book.add(orderId, side, type, limitPrice, stopPrice, quantity, remaining);
+    }
+    symbolByOrder.put(orderId, key);
+  }
+
+  /**
+   * Takes {@code orderIds} off the book and reloads them from the database.
+   *
+   * A fill that was not reported as recorded may still be queued on its account's
+   * {@link ExecutionPipeline} partition, so the orders are read by a task on that same partition,
+   * which runs only after everything queued before it has committed or rolled back. Orders whose
+   * reload fails stay off the book and are retried on the next tick.
+   */
+  private void restore(Set<UUID> orderIds) {
+    orderIds.forEach(this::remove);
+    unsettled.addAll(orderIds);
+    restoreUnsettled();
+  }
+
+  private void restoreUnsettled() {
+    if (unsettled.isEmpty()) {
+      return;
+    }
+    Set<UUID> pending = new HashSet<>(unsettled);
+    Map<UUID, List<UUID>> byAccount = new HashMap<>();
+    try {
+      for (OrderRepository.OrderAccountRow row : orderRepository.findAccountIdsByIdIn(pending)) {
+        byAccount.computeIfAbsent(row.getAccountId(), id -> new ArrayList<>()).add(row.getOrderId());
+        pending.remove(row.getOrderId());
+      }
+    } catch (RuntimeException ex) {
+      log.warn("Failed to look up {} paper orders to reload; retrying on the next tick: {}",
+          pending.size(), ex.getMessage());
+      return;
+    }
+    // Whatever is left no longer exists, so there is nothing to rest.
+    unsettled.removeAll(pending);
+
+    byAccount.forEach((accountId, orderIds) -> {
+      try {
+        List<Order> orders = executionPipeline.execute(accountId, book -> orderRepository.findAllById(orderIds));
+        for (Order order : orders) {
+          if (OPEN_STATUSES.contains(order.getStatus())) {
+            rest(order);
+          }
+        }
+        orderIds.forEach(unsettled::remove);
+      } catch (RuntimeException ex) {
+        log.warn("Failed to reload {} paper orders of account {}; retrying on the next tick: {}",
+            orderIds.size(), accountId, ex.getMessage());
+      }
+    });
+  }
+
+  private void remove(UUID orderId) {
+    String symbol = symbolByOrder.remove(orderId);
+    PaperOrderBook book = symbol != null ? books.get(symbol) : null;
+    if (book != null) {
+      synchronized (book) {
+        book.remove(orderId);
+      }
+    }
+  }
+}
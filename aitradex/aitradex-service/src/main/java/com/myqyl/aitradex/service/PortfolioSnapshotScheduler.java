@@ -1,6 +1,11 @@
 package com.myqyl.aitradex.service;
 
+import com.myqyl.aitradex.profiling.SnapshotRunEvent;
 import com.myqyl.aitradex.repository.AccountRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
@@ -10,20 +15,42 @@ public class PortfolioSnapshotScheduler {
 
   private final AccountRepository accountRepository;
   private final PortfolioSnapshotService snapshotService;
+  private final SchedulerCluster schedulerCluster;
   private final String source;
+  private final Timer runTimer;
+  private final Counter captured;
 
   public PortfolioSnapshotScheduler(
       AccountRepository accountRepository,
       PortfolioSnapshotService snapshotService,
-      @Value("${app.market-data.default-source:quote-snapshots}") String source) {
+      SchedulerCluster schedulerCluster,
+      @Value("${app.market-data.default-source:quote-snapshots}") String source,
+      MeterRegistry meterRegistry) {
     this.accountRepository = accountRepository;
     this.snapshotService = snapshotService;
+    this.schedulerCluster = schedulerCluster;
     this.source = source;
+    this.runTimer = SchedulerMeters.runTimer(meterRegistry, "portfolio-snapshot");
+    this.captured = SchedulerMeters.itemCounter(meterRegistry, "portfolio-snapshot");
   }
 
   @Scheduled(fixedDelayString = "${app.snapshots.poll-interval-ms:300000}")
   public void captureSnapshots() {
-    accountRepository.findAll()
-        .forEach(account -> snapshotService.createSnapshotForAccount(account.getId(), source));
+    SnapshotRunEvent event = new SnapshotRunEvent();
+    event.begin();
+    Timer.Sample sample = Timer.start();
+    AtomicInteger accounts = new AtomicInteger();
+    try {
+      accountRepository.findAll().stream()
+          .filter(account -> schedulerCluster.owns(account.getId()))
+          .forEach(account -> {
+            snapshotService.createSnapshotForAccount(account.getId(), source);
+            captured.increment();
+            accounts.incrementAndGet();
+          });
+    } finally {
+      sample.stop(runTimer);
+      event.finish(source, accounts.get());
+    }
   }
 }
@@ -21,10 +21,15 @@ public class PositionService {
 
   private final PositionRepository positionRepository;
   private final AccountRepository accountRepository;
+  private final PreTradeRiskEngine riskEngine;
 
-  public PositionService(PositionRepository positionRepository, AccountRepository accountRepository) {
+  public PositionService(
+      PositionRepository positionRepository,
+      AccountRepository accountRepository,
+      PreTradeRiskEngine riskEngine) {
     this.positionRepository = positionRepository;
     this.accountRepository = accountRepository;
+    this.riskEngine = riskEngine;
   }
 
   @Transactional
@@ -42,6 +47,7 @@ public class PositionService {
             .openedAt(request.openedAt())
             .build();
 
+    riskEngine.invalidate(account.getId());
     return toDto(positionRepository.save(position));
   }
 
@@ -58,6 +64,7 @@ public class PositionService {
     Position position =
         positionRepository.findById(positionId).orElseThrow(() -> positionNotFound(positionId));
     position.setClosedAt(request.closedAt() != null ? request.closedAt() : OffsetDateTime.now());
+    riskEngine.invalidate(position.getAccount().getId());
     return toDto(positionRepository.save(position));
   }
 
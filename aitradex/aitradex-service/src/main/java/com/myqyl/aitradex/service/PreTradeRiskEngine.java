@@ -0,0 +1,238 @@
+package com.myqyl.aitradex.service;
+
+import com.myqyl.aitradex.api.dto.RiskExposureDto;
+import com.myqyl.aitradex.config.RiskProperties;
+import com.myqyl.aitradex.domain.Account;
+import com.myqyl.aitradex.domain.Execution;
+import com.myqyl.aitradex.domain.Order;
+import com.myqyl.aitradex.domain.OrderSide;
+import com.myqyl.aitradex.domain.OrderStatus;
+import com.myqyl.aitradex.domain.OrderType;
+import com.myqyl.aitradex.domain.Position;
+import com.myqyl.aitradex.event.AccountChangedEvent;
+import com.myqyl.aitradex.event.ClusterEventsResyncEvent;
+import com.myqyl.aitradex.exception.NotFoundException;
+import com.myqyl.aitradex.repository.AccountRepository;
+import com.myqyl.aitradex.repository.OrderRepository;
+import com.myqyl.aitradex.repository.PositionRepository;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Pre-trade risk checks against cached per-account {@link AccountExposure} aggregates.
+ *
+ * An account's aggregate is loaded from the database the first time it is needed and then kept
+ * current from order placement, fills and order closes, so checks never re-read the database.
+ * Order placement and fills already run on the account's {@link ExecutionPipeline} partition;
+ * if the surrounding transaction rolls back, the aggregate is dropped and reloaded on next use.
+ * Writers outside the pipeline (manual position edits, stop-loss orders) call
+ * {@link #invalidate(UUID)}. Every change is also announced on the {@link ClusterEventBus} so
+ * other replicas drop their copy of the aggregate.
+ */
+@Component
+public class PreTradeRiskEngine {
+
+  private static final List<OrderStatus> OPEN_STATUSES = List.of(OrderStatus.NEW, OrderStatus.ROUTED,
+      OrderStatus.PARTIALLY_FILLED);
+
+  private final AccountRepository accountRepository;
+  private final PositionRepository positionRepository;
+  private final OrderRepository orderRepository;
+  private final RiskProperties limits;
+  private final ClusterEventBus eventBus;
+  private final Clock clock;
+  private final Map<UUID, AccountExposure> exposures = new ConcurrentHashMap<>();
+
+  @Autowired
+  public PreTradeRiskEngine(
+      AccountRepository accountRepository,
+      PositionRepository positionRepository,
+      OrderRepository orderRepository,
+      RiskProperties limits,
+      ClusterEventBus eventBus) {
+    this(accountRepository, positionRepository, orderRepository, limits, eventBus, Clock.systemUTC());
+  }
+
+  // Constructor for testing
+  PreTradeRiskEngine(
+      AccountRepository accountRepository,
+      PositionRepository positionRepository,
+      OrderRepository orderRepository,
+      RiskProperties limits,
+      ClusterEventBus eventBus,
+      Clock clock) {
+    this.accountRepository = accountRepository;
+    this.positionRepository = positionRepository;
+    this.orderRepository = orderRepository;
+    this.limits = limits;
+    this.eventBus = eventBus;
+    this.clock = clock;
+  }
+
+  /**
+   * Throws {@link IllegalStateException} if the order would breach a risk limit.
+   */
+  public void check(UUID accountId, OrderSide side, String symbol, BigDecimal quantity, BigDecimal notional) {
+    exposure(accountId).check(limits, today(), side, symbol.toUpperCase(), quantity, notional);
+  }
+
+  /**
+   * Reserves cash or position quantity for a saved order that passed {@link #check}.
+   */
+  public void reserve(Order order, BigDecimal notional) {
+    UUID accountId = order.getAccount().getId();
+    exposure(accountId).reserve(order.getId(), order.getSide(), order.getSymbol(), order.getQuantity(), notional);
+    invalidateOnRollback(accountId);
+    eventBus.publish(new AccountChangedEvent(accountId));
+  }
+
+  /**
+   * Applies a fill already written to the order, account and position.
+   */
+  public void onFill(Order order, Execution execution) {
+    UUID accountId = order.getAccount().getId();
+    eventBus.publish(new AccountChangedEvent(accountId));
+    AccountExposure exposure = exposures.get(accountId);
+    if (exposure == null) {
+      // Loaded lazily from the database, which will include this fill once committed.
+      return;
+    }
+    exposure.fill(today(), order.getId(), order.getSide(), order.getSymbol(), execution.getQuantity(),
+        execution.getPrice(), order.getStatus() == OrderStatus.FILLED);
+    invalidateOnRollback(accountId);
+  }
+
+  /**
+   * Releases whatever an order still has reserved once it leaves the open statuses. Inside a
+   * transaction the release waits for the commit, so a rolled-back status change never frees
+   * cash or position quantity another order could then claim.
+   */
+  public void onOrderStatus(UUID accountId, UUID orderId, OrderStatus status) {
+    if (OPEN_STATUSES.contains(status)) {
+      return;
+    }
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          release(accountId, orderId);
+        }
+      });
+    } else {
+      release(accountId, orderId);
+    }
+  }
+
+  private void release(UUID accountId, UUID orderId) {
+    AccountExposure exposure = exposures.get(accountId);
+    if (exposure != null) {
+      exposure.release(orderId);
+    }
+    eventBus.publish(new AccountChangedEvent(accountId));
+  }
+
+  /**
+   * Drops the account's aggregate now and again when the current transaction completes, so it is
+   * reloaded from committed state.
+   */
+  public void invalidate(UUID accountId) {
+    exposures.remove(accountId);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          exposures.remove(accountId);
+        }
+      });
+    }
+    eventBus.publish(new AccountChangedEvent(accountId));
+  }
+
+  /**
+   * Another replica changed the account; reload it from the database on next use.
+   */
+  @EventListener
+  public void onAccountChanged(AccountChangedEvent event) {
+    exposures.remove(event.accountId());
+  }
+
+  @EventListener
+  public void onResync(ClusterEventsResyncEvent event) {
+    exposures.clear();
+  }
+
+  public RiskExposureDto exposureOf(UUID accountId) {
+    AccountExposure.Snapshot snapshot = exposure(accountId).snapshot();
+    return new RiskExposureDto(
+        snapshot.accountId(),
+        snapshot.cash(),
+        snapshot.reservedCash(),
+        snapshot.availableCash(),
+        snapshot.openOrders(),
+        snapshot.grossNotional(),
+        snapshot.netNotional(),
+        snapshot.realizedPnlToday(),
+        snapshot.notionalBySymbol());
+  }
+
+  private AccountExposure exposure(UUID accountId) {
+    return exposures.computeIfAbsent(accountId, this::load);
+  }
+
+  private AccountExposure load(UUID accountId) {
+    Account account = accountRepository.findById(accountId)
+        .orElseThrow(() -> new NotFoundException("Account %s not found".formatted(accountId)));
+    AccountExposure exposure = new AccountExposure(accountId, account.getCashBalance(), today());
+    for (Position position : positionRepository.findByAccountIdAndClosedAtIsNullOrderByOpenedAtDesc(accountId)) {
+      exposure.addPosition(position.getSymbol(), position.getQuantity(), position.getCostBasis());
+    }
+    for (Order order : orderRepository.findByAccountIdAndStatusIn(accountId, OPEN_STATUSES)) {
+      BigDecimal filled = order.getFilledQuantity() != null ? order.getFilledQuantity() : BigDecimal.ZERO;
+      BigDecimal remaining = order.getQuantity().subtract(filled);
+      if (remaining.signum() > 0) {
+        BigDecimal price = reservationPrice(order);
+        exposure.reserve(order.getId(), order.getSide(), order.getSymbol(), remaining,
+            price != null ? price.multiply(remaining) : BigDecimal.ZERO);
+      }
+    }
+    return exposure;
+  }
+
+  private static BigDecimal reservationPrice(Order order) {
+    if (order.getType() == OrderType.LIMIT || order.getType() == OrderType.STOP_LIMIT) {
+      return order.getLimitPrice();
+    }
+    if (order.getType() == OrderType.STOP) {
+      return order.getStopPrice();
+    }
+    return order.getAvgFillPrice();
+  }
+
+  private void invalidateOnRollback(UUID accountId) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        if (status != STATUS_COMMITTED) {
+          exposures.remove(accountId);
+        }
+      }
+    });
+  }
+
+  private LocalDate today() {
+    return LocalDate.now(clock.withZone(limits.getTradingZone()));
+  }
+}
@@ -0,0 +1,294 @@
+package com.myqyl.aitradex.service;
+
+import com.myqyl.aitradex.api.dto.RecordingDto;
+import com.myqyl.aitradex.exception.NotFoundException;
+import com.myqyl.aitradex.profiling.ProfilingTemplate;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Java Flight Recorder sessions for this replica.
+ *
+ * An always-on recording with {@link ProfilingTemplate#CONTINUOUS} keeps the last
+ * {@code continuous-max-age} of data in a disk-backed ring, so a latency spike can be examined
+ * after the fact, and is written to the profiling directory on shutdown. On-demand recordings
+ * use a sharper template for a bounded time and are written to the same directory when they stop.
+ * Finished recordings are kept until deleted; starting one beyond {@code max-recordings} drops the
+ * oldest finished one.
+ */
+@Service
+public class ProfilingService {
+
+  private static final Logger log = LoggerFactory.getLogger(ProfilingService.class);
+  private static final DateTimeFormatter FILE_TIME =
+      DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+  private final Path directory;
+  private final boolean continuousEnabled;
+  private final Duration continuousMaxAge;
+  private final DataSize continuousMaxSize;
+  private final Duration maxDuration;
+  private final int maxRecordings;
+  private final Map<Long, OnDemand> recordings = new ConcurrentHashMap<>();
+  private Recording continuous;
+
+  public ProfilingService(
+      @Value("${app.profiling.directory:${java.io.tmpdir}/aitradex-jfr}") Path directory,
+      @Value("${app.profiling.continuous-enabled:true}") boolean continuousEnabled,
+      @Value("${app.profiling.continuous-max-age:6h}") Duration continuousMaxAge,
+      @Value("${app.profiling.continuous-max-size:250MB}") DataSize continuousMaxSize,
+      @Value("${app.profiling.max-duration:30m}") Duration maxDuration,
+      @Value("${app.profiling.max-recordings:4}") int maxRecordings) {
+    this.directory = directory;
+    this.continuousEnabled = continuousEnabled;
+    this.continuousMaxAge = continuousMaxAge;
+    this.continuousMaxSize = continuousMaxSize;
+    this.maxDuration = maxDuration;
+    this.maxRecordings = Math.max(1, maxRecordings);
+  }
+
+  @PostConstruct
+  public void start() throws IOException {
+    Files.createDirectories(directory);
+    if (!continuousEnabled) {
+      return;
+    }
+    continuous = new Recording(ProfilingTemplate.CONTINUOUS.settings());
+    continuous.setName("aitradex-continuous");
+    continuous.setToDisk(true);
+    continuous.setMaxAge(continuousMaxAge);
+    continuous.setMaxSize(continuousMaxSize.toBytes());
+    continuous.setDumpOnExit(true);
+    continuous.setDestination(directory.resolve("aitradex-continuous-exit.jfr"));
+    continuous.start();
+    log.info("Continuous JFR recording started, keeping {} / {}", continuousMaxAge, continuousMaxSize);
+  }
+
+  /**
+   * Stops every recording, which writes it to its file, then releases it.
+   */
+  @PreDestroy
+  public void shutdown() {
+    recordings.values().forEach(onDemand -> stopAndClose(onDemand.recording()));
+    recordings.clear();
+    if (continuous != null) {
+      stopAndClose(continuous);
+    }
+  }
+
+  /**
+   * Starts a recording with {@code template} that stops by itself after {@code duration} (capped
+   * at the configured maximum, which is also the default).
+   */
+  public synchronized RecordingDto start(ProfilingTemplate template, Duration duration) {
+    if (recordings.size() >= maxRecordings && !dropOldestFinished()) {
+      throw new IllegalStateException("%d recordings are already running".formatted(recordings.size()));
+    }
+    Duration effective = duration == null || duration.compareTo(maxDuration) > 0 ? maxDuration : duration;
+    Recording recording = new Recording(template.settings());
+    String name = "aitradex-" + template.name().toLowerCase() + "-" + FILE_TIME.format(Instant.now());
+    recording.setName(name);
+    recording.setToDisk(true);
+    recording.setDuration(effective);
+    Path file = directory.resolve(name + "-" + recording.getId() + ".jfr");
+    try {
+      recording.setDestination(file);
+    } catch (IOException ex) {
+      recording.close();
+      throw new UncheckedIOException(ex);
+    }
+    recording.start();
+    recordings.put(recording.getId(), new OnDemand(recording, template, file));
+    log.info("JFR recording {} started with template {} for {}", name, template, effective);
+    return describe(recordings.get(recording.getId()));
+  }
+
+  /**
+   * Stops a running recording early; its file is then complete.
+   */
+  public RecordingDto stop(long id) {
+    OnDemand onDemand = find(id);
+    if (onDemand.recording().getState() == RecordingState.RUNNING) {
+      onDemand.recording().stop();
+      log.info("JFR recording {} stopped", onDemand.recording().getName());
+    }
+    return describe(onDemand);
+  }
+
+  public List<RecordingDto> list() {
+    return recordings.values().stream()
+        .sorted(Comparator.comparingLong(onDemand -> onDemand.recording().getId()))
+        .map(this::describe)
+        .toList();
+  }
+
+  /**
+   * Closes a recording and deletes its file.
+   */
+  public void delete(long id) {
+    OnDemand onDemand = recordings.remove(id);
+    if (onDemand == null) {
+      throw new NotFoundException("Recording %d not found".formatted(id));
+    }
+    onDemand.recording().close();
+    deleteQuietly(onDemand.file());
+  }
+
+  /**
+   * The recording's data: its file once stopped, otherwise a copy of what it holds so far.
+   */
+  public RecordingFile file(long id) {
+    OnDemand onDemand = find(id);
+    if (isFinished(onDemand.recording()) && Files.exists(onDemand.file())) {
+      return new RecordingFile(onDemand.file(), onDemand.file().getFileName().toString(), false);
+    }
+    return dump(onDemand.recording());
+  }
+
+  /**
+   * A copy of what the continuous recording currently holds, up to {@code continuous-max-age}.
+   */
+  public RecordingFile continuousFile() {
+    if (continuous == null) {
+      throw new NotFoundException("Continuous recording is disabled");
+    }
+    return dump(continuous);
+  }
+
+  /**
+   * Copies {@code file} to {@code out}, deleting it afterwards if it was a temporary dump.
+   */
+  public void write(RecordingFile file, OutputStream out) throws IOException {
+    try {
+      Files.copy(file.path(), out);
+    } finally {
+      if (file.temporary()) {
+        deleteQuietly(file.path());
+      }
+    }
+  }
+
+  private RecordingFile dump(Recording recording) {
+    String fileName = recording.getName() + "-" + FILE_TIME.format(Instant.now()) + ".jfr";
+    Path file = null;
+    try {
+      file = Files.createTempFile(directory, "dump-", ".jfr");
+      recording.dump(file);
+    } catch (IOException ex) {
+      if (file != null) {
+        deleteQuietly(file);
+      }
+      throw new UncheckedIOException(ex);
+    }
+    return new RecordingFile(file, fileName, true);
+  }
+
+  /**
+   * JFR closes a recording with a destination once it has written the file, so a stopped
+   * recording may report either state.
+   */
+  private static boolean isFinished(Recording recording) {
+    RecordingState state = recording.getState();
+    return state == RecordingState.STOPPED || state == RecordingState.CLOSED;
+  }
+
+  private static void stopAndClose(Recording recording) {
+    try {
+      if (recording.getState() == RecordingState.RUNNING) {
+        recording.stop();
+      }
+    } catch (RuntimeException ex) {
+      log.warn("Failed to stop JFR recording {}: {}", recording.getName(), ex.getMessage());
+    } finally {
+      recording.close();
+    }
+  }
+
+  private boolean dropOldestFinished() {
+    return recordings.values().stream()
+        .filter(onDemand -> isFinished(onDemand.recording()))
+        .min(Comparator.comparingLong(onDemand -> onDemand.recording().getId()))
+        .map(onDemand -> {
+          delete(onDemand.recording().getId());
+          return true;
+        })
+        .orElse(false);
+  }
+
+  private OnDemand find(long id) {
+    OnDemand onDemand = recordings.get(id);
+    if (onDemand == null) {
+      throw new NotFoundException("Recording %d not found".formatted(id));
+    }
+    return onDemand;
+  }
+
+  private RecordingDto describe(OnDemand onDemand) {
+    Recording recording = onDemand.recording();
+    Instant startedAt = recording.getStartTime();
+    Instant stoppedAt = recording.getStopTime();
+    Instant stopsAt = stoppedAt != null ? stoppedAt
+        : startedAt != null && recording.getDuration() != null ? startedAt.plus(recording.getDuration()) : null;
+    long size = recording.getSize();
+    boolean finished = isFinished(recording);
+    if (finished) {
+      try {
+        size = Files.size(onDemand.file());
+      } catch (IOException ex) {
+        // not written yet; keep the in-memory size
+      }
+    }
+    return new RecordingDto(
+        recording.getId(),
+        recording.getName(),
+        onDemand.template().name(),
+        finished ? RecordingState.STOPPED.name() : recording.getState().name(),
+        startedAt != null ? OffsetDateTime.ofInstant(startedAt, ZoneOffset.UTC) : null,
+        stopsAt != null ? OffsetDateTime.ofInstant(stopsAt, ZoneOffset.UTC) : null,
+        size);
+  }
+
+  private static void deleteQuietly(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException ex) {
+      log.warn("Failed to delete JFR file {}: {}", file, ex.getMessage());
+    }
+  }
+
+  /**
+   * A {@code .jfr} file to send; temporary dumps are deleted once written.
+   */
+  public record RecordingFile(Path path, String fileName, boolean temporary) {
+    public long size() {
+      try {
+        return Files.size(path);
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    }
+  }
+
+  private record OnDemand(Recording recording, ProfilingTemplate template, Path file) {}
+}
@@ -3,6 +3,9 @@ package com.myqyl.aitradex.service;
 import com.myqyl.aitradex.api.dto.MarketDataQuoteDto;
 import com.myqyl.aitradex.api.dto.QuoteStreamSubscription;
 import com.myqyl.aitradex.config.MarketDataProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Map;
@@ -27,6 +30,9 @@ import org.springframework.stereotype.Service;
 public class QuoteStreamingService {
 
   private static final Logger log = LoggerFactory.getLogger(QuoteStreamingService.class);
+  /** Per-poll delivery logging; sampled in logback-spring.xml. */
+  private static final Logger deliveryLog =
+      LoggerFactory.getLogger(QuoteStreamingService.class.getName() + ".deliveries");
   private static final Duration DEFAULT_POLL_INTERVAL = Duration.ofSeconds(10);
   private static final Duration DEFAULT_MAX_DURATION = Duration.ofMinutes(5);
 
@@ -34,26 +40,41 @@ public class QuoteStreamingService {
   private final MarketDataProperties marketDataProperties;
   private final ScheduledExecutorService scheduler;
   private final Map<String, ActiveSubscription> subscriptions = new ConcurrentHashMap<>();
+  private final Timer fanOutLag;
+  private final Timer deliveries;
 
   @Autowired
-  public QuoteStreamingService(MarketDataService marketDataService, MarketDataProperties marketDataProperties) {
-    this.marketDataService = marketDataService;
-    this.marketDataProperties = marketDataProperties;
-    this.scheduler = Executors.newScheduledThreadPool(4, r -> {
+  public QuoteStreamingService(
+      MarketDataService marketDataService,
+      MarketDataProperties marketDataProperties,
+      MeterRegistry meterRegistry) {
+    this(marketDataService, marketDataProperties, Executors.newScheduledThreadPool(4, r -> {
       Thread thread = new Thread(r, "quote-stream-");
       thread.setDaemon(true);
       return thread;
-    });
+    }), meterRegistry);
   }
 
   // Constructor for testing
   QuoteStreamingService(
       MarketDataService marketDataService,
       MarketDataProperties marketDataProperties,
-      ScheduledExecutorService scheduler) {
+      ScheduledExecutorService scheduler,
+      MeterRegistry meterRegistry) {
     this.marketDataService = marketDataService;
     this.marketDataProperties = marketDataProperties;
     this.scheduler = scheduler;
+    Gauge.builder("aitradex.quotes.stream.subscribers", subscriptions, Map::size)
+        .description("Open quote stream subscriptions")
+        .register(meterRegistry);
+    this.fanOutLag = Timer.builder("aitradex.quotes.stream.fanout.lag")
+        .description("Delay between a subscription's scheduled poll time and the poll starting")
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+    this.deliveries = Timer.builder("aitradex.quotes.stream.deliveries")
+        .description("Quote fetch plus subscriber callback for one poll")
+        .publishPercentileHistogram()
+        .register(meterRegistry);
   }
 
   /**
@@ -109,11 +130,14 @@ public class QuoteStreamingService {
           return;
         }
 
+        long started = System.nanoTime();
+        fanOutLag.record(Math.max(0, started - sub.claimDueNanos()), TimeUnit.NANOSECONDS);
         MarketDataQuoteDto quote = marketDataService.latestQuote(normalizedSymbol, resolvedSource);
         sub.incrementPollCount();
         callback.accept(quote);
+        deliveries.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
         
-        log.debug("Delivered quote for {} to subscription {} (poll #{})",
+        deliveryLog.debug("Delivered quote for {} to subscription {} (poll #{})",
             normalizedSymbol, subscriptionId, sub.getPollCount());
       } catch (Exception ex) {
         log.error("Error fetching quote for subscription {}: {}", subscriptionId, ex.getMessage());
@@ -122,6 +146,7 @@ public class QuoteStreamingService {
     };
 
     // Schedule the polling task
+    long firstDueNanos = System.nanoTime();
     ScheduledFuture<?> future = scheduler.scheduleAtFixedRate(
         pollTask,
         0, // Start immediately
@@ -136,7 +161,8 @@ public class QuoteStreamingService {
         startTime,
         expiresAt,
         pollInterval,
-        future);
+        future,
+        firstDueNanos);
     subscriptions.put(subscriptionId, subscription);
 
     return new QuoteStreamSubscription(
@@ -246,7 +272,9 @@ public class QuoteStreamingService {
     private final Instant expiresAt;
     private final Duration pollInterval;
     private final ScheduledFuture<?> future;
+    private final long firstDueNanos;
     private int pollCount = 0;
+    private long ticks = 0;
 
     ActiveSubscription(
         String id,
@@ -255,7 +283,8 @@ public class QuoteStreamingService {
         Instant startTime,
         Instant expiresAt,
         Duration pollInterval,
-        ScheduledFuture<?> future) {
+        ScheduledFuture<?> future,
+        long firstDueNanos) {
       this.id = id;
       this.symbol = symbol;
       this.source = source;
@@ -263,6 +292,7 @@ public class QuoteStreamingService {
       this.expiresAt = expiresAt;
       this.pollInterval = pollInterval;
       this.future = future;
+      this.firstDueNanos = firstDueNanos;
     }
 
     String id() { return id; }
@@ -274,6 +304,9 @@ public class QuoteStreamingService {
     ScheduledFuture<?> future() { return future; }
     
     synchronized int getPollCount() { return pollCount; }
+
+    /** Fixed-rate due time of the poll now running; advances one interval per call. */
+    synchronized long claimDueNanos() { return firstDueNanos + ticks++ * pollInterval.toNanos(); }
     synchronized void incrementPollCount() { pollCount++; }
   }
 }
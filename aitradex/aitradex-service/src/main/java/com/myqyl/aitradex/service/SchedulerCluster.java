@@ -0,0 +1,159 @@
+package com.myqyl.aitradex.service;
+
+import com.myqyl.aitradex.config.SchedulerClusterProperties;
+import com.myqyl.aitradex.repository.SchedulerNodeRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.net.InetAddress;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Splits per-account scheduled work (stop-loss checks, portfolio snapshots) across service
+ * replicas. Every replica heartbeats a lease row in {@code scheduler_nodes}; the replicas with a
+ * live lease form a {@link ConsistentHashRing} and each replica only processes the accounts that
+ * hash to it. A replica that misses heartbeats for a full lease TTL stops claiming work before the
+ * others drop it from their ring, so an account is never owned by two replicas that both consider
+ * themselves healthy. During the few seconds in which replicas hold different views of the
+ * membership, {@link #tryLock} closes the remaining overlap with a Postgres advisory lock.
+ */
+@Component
+public class SchedulerCluster {
+
+  private static final Logger log = LoggerFactory.getLogger(SchedulerCluster.class);
+
+  private final SchedulerNodeRepository nodeRepository;
+  private final SchedulerClusterProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final LongSupplier nanoClock;
+  private final String nodeId;
+  private volatile ConsistentHashRing ring = ConsistentHashRing.empty();
+  private volatile long leaseExpiresAtNanos;
+
+  @Autowired
+  public SchedulerCluster(
+      SchedulerNodeRepository nodeRepository,
+      SchedulerClusterProperties properties,
+      MeterRegistry meterRegistry) {
+    this(nodeRepository, properties, meterRegistry, System::nanoTime);
+  }
+
+  // Constructor for testing
+  SchedulerCluster(
+      SchedulerNodeRepository nodeRepository,
+      SchedulerClusterProperties properties,
+      MeterRegistry meterRegistry,
+      LongSupplier nanoClock) {
+    this.nodeRepository = nodeRepository;
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    this.nanoClock = nanoClock;
+    this.nodeId = resolveNodeId(properties.getNodeId());
+    this.leaseExpiresAtNanos = nanoClock.getAsLong();
+    if (properties.getLeaseTtl().toMillis() < 2 * properties.getHeartbeatMs()) {
+      log.warn("Scheduler lease TTL {} is under two heartbeats ({} ms); replicas will flap",
+          properties.getLeaseTtl(), properties.getHeartbeatMs());
+    }
+  }
+
+  @PostConstruct
+  public void registerMetrics() {
+    Gauge.builder("aitradex.scheduler.cluster.members", this, cluster -> cluster.members().size())
+        .description("Replicas with a live scheduler lease, as seen by this replica")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Renews this replica's lease and rebuilds the ring when the set of live replicas changed.
+   */
+  @Scheduled(fixedDelayString = "${app.scheduler.cluster.heartbeat-ms:5000}")
+  public void heartbeat() {
+    if (!properties.isEnabled()) {
+      return;
+    }
+    long sentAt = nanoClock.getAsLong();
+    double ttlSeconds = properties.getLeaseTtl().toMillis() / 1000.0;
+    try {
+      nodeRepository.heartbeat(nodeId);
+      List<String> live = nodeRepository.findLiveNodeIds(ttlSeconds);
+      if (!live.equals(ring.members())) {
+        log.info("Scheduler membership changed on {}: {} -> {}, rebalancing accounts",
+            nodeId, ring.members(), live);
+        ring = ConsistentHashRing.of(live, properties.getVirtualNodes());
+        nodeRepository.deleteExpired(ttlSeconds * 2);
+      }
+      leaseExpiresAtNanos = sentAt + properties.getLeaseTtl().toNanos();
+    } catch (RuntimeException ex) {
+      log.warn("Scheduler heartbeat failed on {}: {}", nodeId, ex.getMessage());
+    }
+  }
+
+  /**
+   * Whether this replica should process {@code accountId} on this tick. Always true when
+   * coordination is disabled; always false while this replica's lease has lapsed.
+   */
+  public boolean owns(UUID accountId) {
+    if (!properties.isEnabled()) {
+      return true;
+    }
+    if (nanoClock.getAsLong() - leaseExpiresAtNanos >= 0) {
+      return false;
+    }
+    return nodeId.equals(ring.ownerOf(accountId.toString()));
+  }
+
+  /**
+   * Takes the transaction-scoped advisory lock for {@code job} on {@code accountId}; false if
+   * another replica is processing the same account right now. Must be called inside a
+   * transaction.
+   */
+  public boolean tryLock(String job, UUID accountId) {
+    if (!properties.isEnabled()) {
+      return true;
+    }
+    return nodeRepository.tryAdvisoryXactLock(ConsistentHashRing.hash(job + ":" + accountId));
+  }
+
+  public String nodeId() {
+    return nodeId;
+  }
+
+  public List<String> members() {
+    return ring.members();
+  }
+
+  @PreDestroy
+  public void release() {
+    if (!properties.isEnabled()) {
+      return;
+    }
+    try {
+      nodeRepository.release(nodeId);
+      log.info("Released scheduler lease for {}", nodeId);
+    } catch (RuntimeException ex) {
+      log.warn("Could not release scheduler lease for {}: {}", nodeId, ex.getMessage());
+    }
+  }
+
+  private static String resolveNodeId(String configured) {
+    if (configured != null && !configured.isBlank()) {
+      return configured;
+    }
+    String host;
+    try {
+      host = InetAddress.getLocalHost().getHostName();
+    } catch (Exception ex) {
+      host = "node";
+    }
+    // Suffix keeps a restarted pod with the same hostname from inheriting its predecessor's lease
+    return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+  }
+}
@@ -0,0 +1,30 @@
+package com.myqyl.aitradex.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Shared meter names for the {@code @Scheduled} jobs so every job reports run duration and
+ * items processed under the same series, distinguished by the {@code job} tag.
+ */
+final class SchedulerMeters {
+
+  private SchedulerMeters() {
+  }
+
+  static Timer runTimer(MeterRegistry meterRegistry, String job) {
+    return Timer.builder("aitradex.scheduler.runs")
+        .description("Duration of a scheduled job run")
+        .tag("job", job)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
+  static Counter itemCounter(MeterRegistry meterRegistry, String job) {
+    return Counter.builder("aitradex.scheduler.items")
+        .description("Items processed by a scheduled job")
+        .tag("job", job)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,68 @@
+package com.myqyl.aitradex.service;
+
+import com.myqyl.aitradex.event.ClusterEventsResyncEvent;
+import com.myqyl.aitradex.event.EntityCacheEvictedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.hibernate.Cache;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the Hibernate second-level cache consistent across replicas. Each replica's cache is
+ * local, so a write on one replica is published as an {@link EntityCacheEvictedEvent} and the
+ * others evict the entity plus its query region. Query regions follow the naming
+ * {@code query.<EntityName>} used in the repositories' cache hints.
+ */
+@Component
+public class SecondLevelCacheSync {
+
+  static final String QUERY_REGION_PREFIX = "query.";
+
+  private final EntityManagerFactory entityManagerFactory;
+  private final ClusterEventBus eventBus;
+  private final Map<String, Class<?>> entityTypes = new HashMap<>();
+
+  public SecondLevelCacheSync(EntityManagerFactory entityManagerFactory, ClusterEventBus eventBus) {
+    this.entityManagerFactory = entityManagerFactory;
+    this.eventBus = eventBus;
+    for (EntityType<?> type : entityManagerFactory.getMetamodel().getEntities()) {
+      entityTypes.put(type.getName(), type.getJavaType());
+    }
+  }
+
+  /**
+   * Called by {@link com.myqyl.aitradex.config.SecondLevelCacheListener} from within the writing
+   * transaction; the event is sent once it commits.
+   */
+  public void changed(Object entity) {
+    Object id = entityManagerFactory.getPersistenceUnitUtil().getIdentifier(entity);
+    if (id instanceof UUID uuid) {
+      String name = entityManagerFactory.getMetamodel().entity(entity.getClass()).getName();
+      eventBus.publish(new EntityCacheEvictedEvent(name, uuid));
+    }
+  }
+
+  @EventListener
+  public void onEntityCacheEvicted(EntityCacheEvictedEvent event) {
+    Class<?> type = entityTypes.get(event.entity());
+    if (type == null) {
+      return;
+    }
+    entityManagerFactory.getCache().evict(type, event.id());
+    hibernateCache().evictQueryRegion(QUERY_REGION_PREFIX + event.entity());
+  }
+
+  @EventListener
+  public void onResync(ClusterEventsResyncEvent event) {
+    entityManagerFactory.getCache().evictAll();
+    hibernateCache().evictQueryRegions();
+  }
+
+  private Cache hibernateCache() {
+    return entityManagerFactory.getCache().unwrap(Cache.class);
+  }
+}
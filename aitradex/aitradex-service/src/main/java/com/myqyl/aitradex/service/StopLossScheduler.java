@@ -1,5 +1,8 @@
 package com.myqyl.aitradex.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
@@ -8,17 +11,30 @@ import org.springframework.stereotype.Component;
 public class StopLossScheduler {
 
   private final StopLossService stopLossService;
+  private final SchedulerCluster schedulerCluster;
   private final String source;
+  private final Timer runTimer;
+  private final Counter triggered;
 
   public StopLossScheduler(
       StopLossService stopLossService,
-      @Value("${app.stop-loss.source:quote-snapshots}") String source) {
+      SchedulerCluster schedulerCluster,
+      @Value("${app.stop-loss.source:quote-snapshots}") String source,
+      MeterRegistry meterRegistry) {
     this.stopLossService = stopLossService;
+    this.schedulerCluster = schedulerCluster;
     this.source = source;
+    this.runTimer = SchedulerMeters.runTimer(meterRegistry, "stop-loss");
+    this.triggered = SchedulerMeters.itemCounter(meterRegistry, "stop-loss");
   }
 
   @Scheduled(fixedDelayString = "${app.stop-loss.poll-interval-ms:60000}")
   public void pollStopLosses() {
-    stopLossService.enforceStopLosses(source);
+    Timer.Sample sample = Timer.start();
+    try {
+      triggered.increment(stopLossService.enforceStopLosses(source, schedulerCluster::owns));
+    } finally {
+      sample.stop(runTimer);
+    }
   }
 }
@@ -8,11 +8,16 @@ import com.myqyl.aitradex.domain.OrderSource;
 import com.myqyl.aitradex.domain.OrderStatus;
 import com.myqyl.aitradex.domain.OrderType;
 import com.myqyl.aitradex.domain.Position;
+import com.myqyl.aitradex.profiling.StopLossRunEvent;
 import com.myqyl.aitradex.repository.OrderRepository;
 import com.myqyl.aitradex.repository.PositionRepository;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,26 +31,60 @@ public class StopLossService {
   private final OrderRepository orderRepository;
   private final MarketDataService marketDataService;
   private final AuditLogService auditLogService;
+  private final PreTradeRiskEngine riskEngine;
+  private final SchedulerCluster schedulerCluster;
 
   public StopLossService(
       PositionRepository positionRepository,
       OrderRepository orderRepository,
       MarketDataService marketDataService,
-      AuditLogService auditLogService) {
+      AuditLogService auditLogService,
+      PreTradeRiskEngine riskEngine,
+      SchedulerCluster schedulerCluster) {
     this.positionRepository = positionRepository;
     this.orderRepository = orderRepository;
     this.marketDataService = marketDataService;
     this.auditLogService = auditLogService;
+    this.riskEngine = riskEngine;
+    this.schedulerCluster = schedulerCluster;
   }
 
   @Transactional
   public int enforceStopLosses(String source) {
-    List<Position> positions = positionRepository.findByClosedAtIsNullAndStopLossIsNotNull();
+    return enforceStopLosses(source, accountId -> true);
+  }
+
+  /**
+   * Checks stop losses on the accounts accepted by {@code accountFilter}. Accounts another replica
+   * is checking at the same moment are skipped; that replica places any order.
+   */
+  @Transactional
+  public int enforceStopLosses(String source, Predicate<UUID> accountFilter) {
+    StopLossRunEvent event = new StopLossRunEvent();
+    event.begin();
+    List<Position> positions = List.of();
+    int triggered = 0;
+    try {
+      positions = positionRepository.findByClosedAtIsNullAndStopLossIsNotNull();
+      triggered = enforce(positions, source, accountFilter);
+      return triggered;
+    } finally {
+      event.finish(source, positions.size(), triggered);
+    }
+  }
+
+  private int enforce(List<Position> positions, String source, Predicate<UUID> accountFilter) {
+    Map<UUID, Boolean> locked = new HashMap<>();
     int triggered = 0;
     for (Position position : positions) {
       if (position.getQuantity() == null || position.getQuantity().signum() <= 0) {
         continue;
       }
+      UUID accountId = position.getAccount().getId();
+      if (!accountFilter.test(accountId)
+          || !locked.computeIfAbsent(accountId, id -> schedulerCluster.tryLock("stop-loss", id))) {
+        continue;
+      }
       BigDecimal stopLoss = position.getStopLoss();
       if (stopLoss == null) {
         continue;
@@ -77,7 +116,8 @@ public class StopLossService {
               .createdAt(OffsetDateTime.now())
               .build();
       orderRepository.save(order);
-      auditLogService.create(
+      riskEngine.invalidate(position.getAccount().getId());
+      auditLogService.record(
           new CreateAuditLogRequest(
               "system",
               ActorType.SYSTEM,
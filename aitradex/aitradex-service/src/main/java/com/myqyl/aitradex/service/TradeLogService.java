@@ -1,6 +1,9 @@
 package com.myqyl.aitradex.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.myqyl.aitradex.api.dto.CreateTradeLogRequest;
+import com.myqyl.aitradex.api.dto.LogPageDto;
 import com.myqyl.aitradex.api.dto.TradeLogDto;
 import com.myqyl.aitradex.domain.Account;
 import com.myqyl.aitradex.domain.TradeLog;
@@ -18,13 +21,24 @@ public class TradeLogService {
 
   private final TradeLogRepository tradeLogRepository;
   private final AccountRepository accountRepository;
+  private final LogWriteBehindQueue writeBehind;
+  private final ObjectMapper objectMapper;
 
   public TradeLogService(
-      TradeLogRepository tradeLogRepository, AccountRepository accountRepository) {
+      TradeLogRepository tradeLogRepository,
+      AccountRepository accountRepository,
+      LogWriteBehindQueue writeBehind,
+      ObjectMapper objectMapper) {
     this.tradeLogRepository = tradeLogRepository;
     this.accountRepository = accountRepository;
+    this.writeBehind = writeBehind;
+    this.objectMapper = objectMapper;
   }
 
+  /**
+   * Writes a trade log entry immediately and returns it; used by the API, where the caller wants
+   * the stored entry back.
+   */
   @Transactional
   public TradeLogDto create(CreateTradeLogRequest request) {
     Account account =
@@ -42,13 +56,39 @@ public class TradeLogService {
     return toDto(tradeLogRepository.save(log));
   }
 
+  /**
+   * Queues a trade log entry for the write-behind flusher. Meant for trading paths, which should
+   * not wait on a log insert; the entry becomes visible once the next batch is flushed.
+   */
+  public void record(UUID accountId, String action, String reason, String metadata) {
+    writeBehind.appendTrade(accountId, action, reason, metadata);
+  }
+
+  /**
+   * Lists trade log entries newest first within {@code [from, to)}, one keyset page at a time.
+   * {@code metadata} optionally restricts the result to entries whose metadata contains the given
+   * JSON object, e.g. {@code {"symbol":"AAPL"}}.
+   */
   @Transactional(readOnly = true)
-  public List<TradeLogDto> list(UUID accountId) {
+  public LogPageDto<TradeLogDto> list(
+      UUID accountId,
+      String action,
+      String metadata,
+      OffsetDateTime from,
+      OffsetDateTime to,
+      String cursor,
+      Integer limit) {
+    LogCursor start = LogCursor.start(cursor, to);
+    int size = LogCursor.limit(limit);
+    String containment = metadataFilter(metadata);
+    String actionFilter = action != null && !action.isBlank() ? action : null;
     List<TradeLog> logs =
         accountId != null
-            ? tradeLogRepository.findByAccountIdOrderByOccurredAtDesc(accountId)
-            : tradeLogRepository.findAllByOrderByOccurredAtDesc();
-    return logs.stream().map(this::toDto).toList();
+            ? tradeLogRepository.findPageByAccountId(
+                accountId, LogCursor.from(from), start.occurredAt(), start.id(), actionFilter, containment, size + 1)
+            : tradeLogRepository.findPage(
+                LogCursor.from(from), start.occurredAt(), start.id(), actionFilter, containment, size + 1);
+    return LogCursor.page(logs, size, log -> new LogCursor(log.getOccurredAt(), log.getId()), this::toDto);
   }
 
   @Transactional(readOnly = true)
@@ -66,6 +106,20 @@ public class TradeLogService {
         log.getOccurredAt());
   }
 
+  private String metadataFilter(String metadata) {
+    if (metadata == null || metadata.isBlank()) {
+      return null;
+    }
+    try {
+      if (!objectMapper.readTree(metadata).isObject()) {
+        throw new IllegalArgumentException("metadata filter must be a JSON object");
+      }
+    } catch (JsonProcessingException ex) {
+      throw new IllegalArgumentException("metadata filter is not valid JSON");
+    }
+    return metadata;
+  }
+
   private NotFoundException tradeLogNotFound(UUID id) {
     return new NotFoundException("Trade log %s not found".formatted(id));
   }
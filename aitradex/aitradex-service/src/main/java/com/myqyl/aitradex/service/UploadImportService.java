@@ -0,0 +1,585 @@
+package com.myqyl.aitradex.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myqyl.aitradex.api.dto.StartUploadImportRequest;
+import com.myqyl.aitradex.api.dto.UploadImportDto;
+import com.myqyl.aitradex.config.RiskProperties;
+import com.myqyl.aitradex.domain.Account;
+import com.myqyl.aitradex.domain.Execution;
+import com.myqyl.aitradex.domain.ImportKind;
+import com.myqyl.aitradex.domain.Order;
+import com.myqyl.aitradex.domain.OrderSource;
+import com.myqyl.aitradex.domain.OrderStatus;
+import com.myqyl.aitradex.domain.OrderType;
+import com.myqyl.aitradex.domain.Position;
+import com.myqyl.aitradex.domain.TradeLog;
+import com.myqyl.aitradex.domain.Upload;
+import com.myqyl.aitradex.domain.UploadImport;
+import com.myqyl.aitradex.domain.UploadStatus;
+import com.myqyl.aitradex.domain.UploadType;
+import com.myqyl.aitradex.exception.NotFoundException;
+import com.myqyl.aitradex.repository.AccountRepository;
+import com.myqyl.aitradex.repository.ExecutionRepository;
+import com.myqyl.aitradex.repository.OrderRepository;
+import com.myqyl.aitradex.repository.TradeLogRepository;
+import com.myqyl.aitradex.repository.UploadImportRepository;
+import com.myqyl.aitradex.repository.UploadRepository;
+import com.myqyl.aitradex.upload.LedgerRow;
+import com.myqyl.aitradex.upload.LedgerRow.PortfolioRow;
+import com.myqyl.aitradex.upload.LedgerRow.TradeRow;
+import com.myqyl.aitradex.upload.LedgerRowReader;
+import com.myqyl.aitradex.upload.ValidationError;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Imports stored portfolio update and trade log uploads (CSV or XLSX) into the ledger.
+ *
+ * The file is streamed through a {@link LedgerRowReader} on a background thread and written in
+ * chunks of {@code chunkRows}. Each chunk runs as one {@link ExecutionPipeline} task for the
+ * account, so its writes are batched into one transaction together with the import checkpoint;
+ * an interrupted or failed import restarts after the last committed row. Rows already in the
+ * ledger are recognised by natural key and skipped: open positions by account and symbol, trades
+ * by {@link TradeLog#getExternalRef()}.
+ *
+ * Portfolio rows upsert the account's open positions. Trade log rows add a filled order, its
+ * execution and a trade log entry; they are history and do not move positions or cash, which
+ * come from the portfolio import.
+ */
+@Service
+public class UploadImportService {
+
+  private static final Logger log = LoggerFactory.getLogger(UploadImportService.class);
+  private static final String IMPORT_VENUE = "IMPORT";
+
+  private final UploadRepository uploadRepository;
+  private final UploadImportRepository uploadImportRepository;
+  private final AccountRepository accountRepository;
+  private final OrderRepository orderRepository;
+  private final ExecutionRepository executionRepository;
+  private final TradeLogRepository tradeLogRepository;
+  private final ExecutionPipeline executionPipeline;
+  private final PreTradeRiskEngine riskEngine;
+  private final RiskProperties riskProperties;
+  private final ObjectMapper objectMapper;
+  private final TransactionTemplate transactionTemplate;
+  private final int chunkRows;
+  private final int maxErrors;
+  private final ExecutorService importExecutor;
+  private final Set<UUID> running = ConcurrentHashMap.newKeySet();
+
+  public UploadImportService(
+      UploadRepository uploadRepository,
+      UploadImportRepository uploadImportRepository,
+      AccountRepository accountRepository,
+      OrderRepository orderRepository,
+      ExecutionRepository executionRepository,
+      TradeLogRepository tradeLogRepository,
+      ExecutionPipeline executionPipeline,
+      PreTradeRiskEngine riskEngine,
+      RiskProperties riskProperties,
+      ObjectMapper objectMapper,
+      TransactionTemplate transactionTemplate,
+      @Value("${app.uploads.import-chunk-rows:1000}") int chunkRows,
+      @Value("${app.uploads.import-concurrency:1}") int importConcurrency,
+      @Value("${app.uploads.max-validation-errors:50}") int maxErrors) {
+    this.uploadRepository = uploadRepository;
+    this.uploadImportRepository = uploadImportRepository;
+    this.accountRepository = accountRepository;
+    this.orderRepository = orderRepository;
+    this.executionRepository = executionRepository;
+    this.tradeLogRepository = tradeLogRepository;
+    this.executionPipeline = executionPipeline;
+    this.riskEngine = riskEngine;
+    this.riskProperties = riskProperties;
+    this.objectMapper = objectMapper;
+    this.transactionTemplate = transactionTemplate;
+    this.chunkRows = Math.max(1, chunkRows);
+    this.maxErrors = Math.max(1, maxErrors);
+    AtomicInteger index = new AtomicInteger();
+    this.importExecutor = Executors.newFixedThreadPool(Math.max(1, importConcurrency), runnable -> {
+      Thread thread = new Thread(runnable, "upload-import-" + index.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Starts, or resumes, importing a stored CSV or XLSX upload into an account and returns at once with the
+   * import in PROCESSING. A completed import is returned unchanged.
+   */
+  public UploadImportDto start(UUID uploadId, StartUploadImportRequest request) {
+    UploadImport state = transactionTemplate.execute(status -> {
+      Upload upload = uploadRepository.findById(uploadId).orElseThrow(() -> uploadNotFound(uploadId));
+      if (upload.getStoredPath() == null) {
+        throw new IllegalStateException("Upload has no stored file to import");
+      }
+      if (upload.getType() == UploadType.JSON) {
+        throw new IllegalArgumentException("Only CSV and Excel uploads can be imported");
+      }
+      Account account = accountRepository.findById(request.accountId())
+          .orElseThrow(() -> accountNotFound(request.accountId()));
+
+      Optional<UploadImport> existing = uploadImportRepository.findByUploadId(uploadId);
+      UploadImport current;
+      if (existing.isPresent()) {
+        current = existing.get();
+        if (current.getKind() != request.kind() || !current.getAccount().getId().equals(account.getId())) {
+          throw new IllegalStateException("Upload %s is already imported as %s into account %s"
+              .formatted(uploadId, current.getKind(), current.getAccount().getId()));
+        }
+        if (current.getStatus() == UploadStatus.COMPLETED) {
+          return current;
+        }
+      } else {
+        current = UploadImport.builder()
+            .upload(upload)
+            .account(account)
+            .kind(request.kind())
+            .startedAt(OffsetDateTime.now())
+            .build();
+      }
+      current.setStatus(UploadStatus.PROCESSING);
+      current.setCompletedAt(null);
+      return uploadImportRepository.save(current);
+    });
+    UploadImportDto started = toDto(state);
+
+    if (state.getStatus() == UploadStatus.PROCESSING && running.add(uploadId)) {
+      try {
+        importExecutor.execute(() -> {
+          try {
+            run(uploadId);
+          } finally {
+            running.remove(uploadId);
+          }
+        });
+      } catch (RuntimeException ex) {
+        running.remove(uploadId);
+        throw ex;
+      }
+    }
+    return started;
+  }
+
+  @Transactional(readOnly = true)
+  public UploadImportDto get(UUID uploadId) {
+    return uploadImportRepository.findByUploadId(uploadId)
+        .map(this::toDto)
+        .orElseThrow(() -> new NotFoundException("Import of upload %s not found".formatted(uploadId)));
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    importExecutor.shutdownNow();
+  }
+
+  /**
+   * Runs the import to completion on the calling thread, starting after the last committed row.
+   */
+  void run(UUID uploadId) {
+    ImportRun run;
+    try {
+      run = transactionTemplate.execute(status -> {
+        UploadImport state = uploadImportRepository.findByUploadId(uploadId)
+            .orElseThrow(() -> new NotFoundException("Import of upload %s not found".formatted(uploadId)));
+        return new ImportRun(uploadId, state.getAccount().getId(), state.getKind(),
+            Path.of(state.getUpload().getStoredPath()), state.getUpload().getType(), state.getLastCommittedRow(),
+            previousErrors(state.getErrorReport()));
+      });
+    } catch (RuntimeException ex) {
+      log.error("Failed to start import of upload {}: {}", uploadId, ex.getMessage(), ex);
+      return;
+    }
+
+    try (LedgerRowReader reader = LedgerRowReader.open(run.path(), run.type(), run.kind())) {
+      reader.start();
+      List<LedgerRow> chunk = new ArrayList<>(chunkRows);
+      List<ValidationError> rejected = new ArrayList<>();
+      long chunkStarted = System.nanoTime();
+      LedgerRow row;
+      while ((row = reader.next(rejected)) != null) {
+        // Rows up to the checkpoint were committed by an earlier run, including any rejected ones.
+        rejected.removeIf(error -> error.row() <= run.checkpoint());
+        if (row.row() <= run.checkpoint()) {
+          continue;
+        }
+        chunk.add(row);
+        if (chunk.size() == chunkRows) {
+          commitChunk(run, chunk, rejected, reader.lastRow(), chunkStarted);
+          chunk = new ArrayList<>(chunkRows);
+          rejected.clear();
+          chunkStarted = System.nanoTime();
+        }
+      }
+      rejected.removeIf(error -> error.row() <= run.checkpoint());
+      if (!chunk.isEmpty() || !rejected.isEmpty() || reader.lastRow() > run.checkpoint()) {
+        commitChunk(run, chunk, rejected, reader.lastRow(), chunkStarted);
+      }
+      finish(run, UploadStatus.COMPLETED, null);
+    } catch (IOException | RuntimeException ex) {
+      log.error("Import of upload {} failed after row {}: {}", uploadId, run.checkpoint(), ex.getMessage(), ex);
+      finish(run, UploadStatus.FAILED, "Import failed: " + ex.getMessage());
+    }
+  }
+
+  private void commitChunk(
+      ImportRun run, List<LedgerRow> rows, List<ValidationError> rejected, int throughRow, long chunkStarted) {
+    ChunkCounts counts = executionPipeline.execute(run.accountId(), book -> {
+      UploadImport state = uploadImportRepository.findByUploadId(run.uploadId())
+          .orElseThrow(() -> new NotFoundException("Import of upload %s not found".formatted(run.uploadId())));
+      Account account = book.account(run.accountId());
+      ChunkCounts written = run.kind() == ImportKind.PORTFOLIO
+          ? upsertPositions(book, account, rows)
+          : insertTrades(account, run.uploadId(), rows);
+
+      long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - chunkStarted);
+      state.setLastCommittedRow(throughRow);
+      state.setRowsImported(state.getRowsImported() + written.imported());
+      state.setRowsSkipped(state.getRowsSkipped() + written.skipped());
+      state.setRowsRejected(state.getRowsRejected() + rejected.size());
+      state.setChunksCommitted(state.getChunksCommitted() + 1);
+      state.setLastChunkRows(rows.size() + rejected.size());
+      state.setLastChunkMillis(millis);
+      state.setErrorReport(serializeErrors(run.errors(rejected, maxErrors), state.getRowsRejected()));
+      uploadImportRepository.save(state);
+      riskEngine.invalidate(run.accountId());
+      return written;
+    });
+    run.committed(throughRow, rejected, maxErrors);
+
+    long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - chunkStarted));
+    int processed = rows.size() + rejected.size();
+    log.info("Upload {} import chunk through row {}: {} imported, {} skipped, {} rejected in {} ms ({} rows/s)",
+        run.uploadId(), throughRow, counts.imported(), counts.skipped(), rejected.size(), millis,
+        processed * 1000L / millis);
+  }
+
+  private ChunkCounts upsertPositions(ExecutionBook book, Account account, List<LedgerRow> rows) {
+    int imported = 0;
+    int skipped = 0;
+    for (LedgerRow ledgerRow : rows) {
+      PortfolioRow row = (PortfolioRow) ledgerRow;
+      OffsetDateTime at = atStartOfDay(row.date());
+      Optional<Position> open = book.openPosition(account.getId(), row.symbol());
+      if (open.isPresent() && at.isBefore(open.get().getOpenedAt())) {
+        skipped++;
+      } else if (row.exited()) {
+        if (open.isPresent()) {
+          open.get().setClosedAt(at);
+          book.closed(account.getId(), row.symbol());
+          imported++;
+        } else {
+          skipped++;
+        }
+      } else if (open.isPresent()) {
+        if (applyHolding(open.get(), row)) {
+          imported++;
+        } else {
+          skipped++;
+        }
+      } else {
+        book.open(Position.builder()
+            .account(account)
+            .symbol(row.symbol())
+            .quantity(row.shares())
+            .costBasis(row.price().setScale(8, RoundingMode.HALF_UP))
+            .stopLoss(row.stopLoss())
+            .openedAt(at)
+            .build());
+        imported++;
+      }
+    }
+    return new ChunkCounts(imported, skipped);
+  }
+
+  private static boolean applyHolding(Position position, PortfolioRow row) {
+    BigDecimal costBasis = row.price().setScale(8, RoundingMode.HALF_UP);
+    if (position.getQuantity().compareTo(row.shares()) == 0
+        && position.getCostBasis().compareTo(costBasis) == 0
+        && sameValue(position.getStopLoss(), row.stopLoss())) {
+      return false;
+    }
+    position.setQuantity(row.shares());
+    position.setCostBasis(costBasis);
+    position.setStopLoss(row.stopLoss());
+    return true;
+  }
+
+  private ChunkCounts insertTrades(Account account, UUID uploadId, List<LedgerRow> rows) {
+    if (rows.isEmpty()) {
+      return new ChunkCounts(0, 0);
+    }
+    List<String> refs = rows.stream().map(row -> ((TradeRow) row).externalRef()).toList();
+    Set<String> existing = tradeLogRepository.findExternalRefsByAccountIdAndExternalRefIn(account.getId(), refs);
+
+    List<TradeRow> fresh = new ArrayList<>();
+    List<Order> orders = new ArrayList<>();
+    for (LedgerRow ledgerRow : rows) {
+      TradeRow row = (TradeRow) ledgerRow;
+      if (existing.contains(row.externalRef())) {
+        continue;
+      }
+      OffsetDateTime at = atStartOfDay(row.date());
+      fresh.add(row);
+      orders.add(Order.builder()
+          .account(account)
+          .symbol(row.symbol())
+          .side(row.side())
+          .type(OrderType.MARKET)
+          .status(OrderStatus.FILLED)
+          .quantity(row.quantity())
+          .filledQuantity(row.quantity())
+          .avgFillPrice(row.price())
+          .source(OrderSource.MANUAL)
+          .routedAt(at)
+          .filledAt(at)
+          .notes(truncate(row.reason(), 512))
+          .createdAt(at)
+          .build());
+    }
+    if (fresh.isEmpty()) {
+      return new ChunkCounts(0, rows.size());
+    }
+
+    // saveAll only queues the inserts; the chunk is flushed as JDBC batches on commit.
+    orders = orderRepository.saveAll(orders);
+    List<Execution> executions = new ArrayList<>(fresh.size());
+    List<TradeLog> logs = new ArrayList<>(fresh.size());
+    for (int i = 0; i < fresh.size(); i++) {
+      TradeRow row = fresh.get(i);
+      Order order = orders.get(i);
+      executions.add(Execution.builder()
+          .order(order)
+          .price(row.price())
+          .quantity(row.quantity())
+          .venue(IMPORT_VENUE)
+          .executedAt(order.getFilledAt())
+          .build());
+      logs.add(TradeLog.builder()
+          .account(account)
+          .action(row.side().name())
+          .reason(truncate(row.reason(), 512))
+          .metadata(tradeMetadata(uploadId, row, order))
+          .occurredAt(order.getFilledAt())
+          .externalRef(row.externalRef())
+          .build());
+    }
+    executionRepository.saveAll(executions);
+    tradeLogRepository.saveAll(logs);
+    return new ChunkCounts(fresh.size(), rows.size() - fresh.size());
+  }
+
+  private void finish(ImportRun run, UploadStatus status, String failure) {
+    try {
+      transactionTemplate.executeWithoutResult(tx -> {
+        UploadImport state = uploadImportRepository.findByUploadId(run.uploadId()).orElse(null);
+        if (state == null) {
+          return;
+        }
+        state.setStatus(status);
+        state.setCompletedAt(OffsetDateTime.now());
+        if (failure != null) {
+          List<ValidationError> errors = run.errors(List.of(new ValidationError(0, failure)), maxErrors + 1);
+          state.setErrorReport(serializeErrors(errors, state.getRowsRejected()));
+        }
+        uploadImportRepository.save(state);
+      });
+    } catch (RuntimeException ex) {
+      log.error("Failed to record import result for upload {}: {}", run.uploadId(), ex.getMessage(), ex);
+    }
+  }
+
+  private UploadImportDto toDto(UploadImport state) {
+    Double rowsPerSecond = null;
+    if (state.getLastChunkRows() != null && state.getLastChunkMillis() != null) {
+      rowsPerSecond = state.getLastChunkRows() * 1000.0 / Math.max(1L, state.getLastChunkMillis());
+    }
+    return new UploadImportDto(
+        state.getUpload().getId(),
+        state.getAccount().getId(),
+        state.getKind(),
+        state.getStatus(),
+        state.getLastCommittedRow(),
+        state.getRowsImported(),
+        state.getRowsSkipped(),
+        state.getRowsRejected(),
+        state.getChunksCommitted(),
+        rowsPerSecond,
+        state.getErrorReport(),
+        state.getStartedAt(),
+        state.getCompletedAt());
+  }
+
+  private OffsetDateTime atStartOfDay(LocalDate date) {
+    return date.atStartOfDay(riskProperties.getTradingZone()).toOffsetDateTime();
+  }
+
+  private String tradeMetadata(UUID uploadId, TradeRow row, Order order) {
+    Map<String, Object> metadata = new LinkedHashMap<>();
+    metadata.put("uploadId", uploadId);
+    metadata.put("row", row.row());
+    metadata.put("orderId", order.getId());
+    metadata.put("costBasis", row.costBasis());
+    metadata.put("pnl", row.pnl());
+    try {
+      return objectMapper.writeValueAsString(metadata);
+    } catch (JsonProcessingException ex) {
+      log.warn("Failed to serialize trade log metadata: {}", ex.getMessage(), ex);
+      return null;
+    }
+  }
+
+  private List<ValidationError> previousErrors(String errorReport) {
+    List<ValidationError> errors = new ArrayList<>();
+    if (errorReport == null) {
+      return errors;
+    }
+    try {
+      for (JsonNode error : objectMapper.readTree(errorReport).path("errors")) {
+        if (error.path("row").asInt() > 0) {
+          errors.add(new ValidationError(error.path("row").asInt(), error.path("message").asText()));
+        }
+      }
+    } catch (JsonProcessingException ex) {
+      log.warn("Ignoring unreadable import error report: {}", ex.getMessage());
+    }
+    return errors;
+  }
+
+  private String serializeErrors(List<ValidationError> errors, int rejectedRows) {
+    List<Map<String, Object>> entries = new ArrayList<>(errors.size());
+    for (ValidationError error : errors) {
+      Map<String, Object> entry = new HashMap<>();
+      entry.put("row", error.row());
+      entry.put("message", error.message());
+      entries.add(entry);
+    }
+    Map<String, Object> payload = new HashMap<>();
+    payload.put("errors", entries);
+    payload.put("errorCount", rejectedRows);
+    try {
+      return objectMapper.writeValueAsString(payload);
+    } catch (JsonProcessingException ex) {
+      log.warn("Failed to serialize import errors: {}", ex.getMessage(), ex);
+      return "{\"errors\":[],\"errorCount\":0}";
+    }
+  }
+
+  private static boolean sameValue(BigDecimal a, BigDecimal b) {
+    return a == null ? b == null : b != null && a.compareTo(b) == 0;
+  }
+
+  private static String truncate(String value, int length) {
+    return value == null || value.length() <= length ? value : value.substring(0, length);
+  }
+
+  private NotFoundException uploadNotFound(UUID id) {
+    return new NotFoundException("Upload %s not found".formatted(id));
+  }
+
+  private NotFoundException accountNotFound(UUID id) {
+    return new NotFoundException("Account %s not found".formatted(id));
+  }
+
+  private record ChunkCounts(int imported, int skipped) {}
+
+  /**
+   * Per-run state: the checkpoint reached so far and the first row errors kept for the report.
+   */
+  private static final class ImportRun {
+    private final UUID uploadId;
+    private final UUID accountId;
+    private final ImportKind kind;
+    private final Path path;
+    private final UploadType type;
+    private final List<ValidationError> errors;
+    private int checkpoint;
+
+    private ImportRun(
+        UUID uploadId,
+        UUID accountId,
+        ImportKind kind,
+        Path path,
+        UploadType type,
+        int checkpoint,
+        List<ValidationError> errors) {
+      this.uploadId = uploadId;
+      this.accountId = accountId;
+      this.kind = kind;
+      this.path = path;
+      this.type = type;
+      this.checkpoint = checkpoint;
+      this.errors = errors;
+    }
+
+    UUID uploadId() {
+      return uploadId;
+    }
+
+    UUID accountId() {
+      return accountId;
+    }
+
+    ImportKind kind() {
+      return kind;
+    }
+
+    Path path() {
+      return path;
+    }
+
+    UploadType type() {
+      return type;
+    }
+
+    int checkpoint() {
+      return checkpoint;
+    }
+
+    void committed(int row, List<ValidationError> rejected, int max) {
+      checkpoint = row;
+      errors.clear();
+      errors.addAll(errors(rejected, max));
+    }
+
+    /**
+     * The kept errors plus {@code added}, capped at {@code max}.
+     */
+    List<ValidationError> errors(List<ValidationError> added, int max) {
+      List<ValidationError> merged = new ArrayList<>(errors);
+      for (ValidationError error : added) {
+        if (merged.size() < max) {
+          merged.add(error);
+        }
+      }
+      return merged;
+    }
+  }
+}
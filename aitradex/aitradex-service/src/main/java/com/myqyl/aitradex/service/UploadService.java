@@ -6,6 +6,7 @@ import com.myqyl.aitradex.api.dto.CreateAuditLogRequest;
 import com.myqyl.aitradex.api.dto.CreateUploadRequest;
 import com.myqyl.aitradex.api.dto.UpdateUploadStatusRequest;
 import com.myqyl.aitradex.api.dto.UploadDto;
+import com.myqyl.aitradex.api.dto.UploadProgressDto;
 import com.myqyl.aitradex.domain.ActorType;
 import com.myqyl.aitradex.domain.Upload;
 import com.myqyl.aitradex.domain.UploadStatus;
@@ -14,23 +15,36 @@ import com.myqyl.aitradex.domain.User;
 import com.myqyl.aitradex.exception.NotFoundException;
 import com.myqyl.aitradex.repository.UploadRepository;
 import com.myqyl.aitradex.repository.UserRepository;
-import java.io.BufferedReader;
+import com.myqyl.aitradex.upload.StoredContent;
+import com.myqyl.aitradex.upload.UploadContent;
+import com.myqyl.aitradex.upload.UploadStore;
+import com.myqyl.aitradex.upload.UploadValidationProgress;
+import com.myqyl.aitradex.upload.UploadValidator;
+import com.myqyl.aitradex.upload.ValidationError;
+import com.myqyl.aitradex.upload.ValidationResult;
+import jakarta.annotation.PreDestroy;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 @Service
@@ -40,27 +54,39 @@ public class UploadService {
 
   private final UploadRepository uploadRepository;
   private final UserRepository userRepository;
-  private final Path uploadDirectory;
   private final long maxUploadBytes;
-  private final int maxValidationErrors;
   private final ObjectMapper objectMapper;
   private final AuditLogService auditLogService;
+  private final UploadValidator uploadValidator;
+  private final UploadStore uploadStore;
+  private final TransactionTemplate transactionTemplate;
+  private final ExecutorService validationExecutor;
+  private final Map<UUID, UploadValidationProgress> validations = new ConcurrentHashMap<>();
 
   public UploadService(
       UploadRepository uploadRepository,
       UserRepository userRepository,
-      @Value("${app.uploads.directory}") String uploadDirectory,
       @Value("${app.uploads.max-size-mb:25}") long maxUploadSizeMb,
-      @Value("${app.uploads.max-validation-errors:50}") int maxValidationErrors,
+      @Value("${app.uploads.validation-concurrency:2}") int validationConcurrency,
       ObjectMapper objectMapper,
-      AuditLogService auditLogService) {
+      AuditLogService auditLogService,
+      UploadValidator uploadValidator,
+      UploadStore uploadStore,
+      TransactionTemplate transactionTemplate) {
     this.uploadRepository = uploadRepository;
     this.userRepository = userRepository;
-    this.uploadDirectory = Path.of(uploadDirectory);
     this.maxUploadBytes = maxUploadSizeMb * 1024 * 1024;
-    this.maxValidationErrors = maxValidationErrors;
     this.objectMapper = objectMapper;
     this.auditLogService = auditLogService;
+    this.uploadValidator = uploadValidator;
+    this.uploadStore = uploadStore;
+    this.transactionTemplate = transactionTemplate;
+    AtomicInteger index = new AtomicInteger();
+    this.validationExecutor = Executors.newFixedThreadPool(Math.max(1, validationConcurrency), runnable -> {
+      Thread thread = new Thread(runnable, "upload-validator-" + index.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
   }
 
   @Transactional
@@ -97,127 +123,204 @@ public class UploadService {
     return toDto(uploadRepository.save(upload));
   }
 
-  @Transactional
+  /**
+   * Stores an uploaded file in the content-addressed {@link UploadStore} and records the upload.
+   * The file is streamed to disk and hashed before any transaction starts; only the metadata insert
+   * holds a database connection. Re-uploading identical content reuses the stored object.
+   */
   public UploadDto storeFile(UUID userId, UploadType type, MultipartFile file) {
-    User user = userRepository.findById(userId).orElseThrow(() -> userNotFound(userId));
+    if (!userRepository.existsById(userId)) {
+      throw userNotFound(userId);
+    }
     validateFile(type, file);
-    Upload upload =
-        Upload.builder()
-            .user(user)
-            .type(type)
-            .status(UploadStatus.PROCESSING)
-            .fileName(file.getOriginalFilename())
-            .build();
-    upload = uploadRepository.save(upload);
 
-    try {
-      Files.createDirectories(uploadDirectory);
-      String targetName = upload.getId() + "-" + safeFilename(file.getOriginalFilename());
-      Path targetPath = uploadDirectory.resolve(targetName);
-      Files.copy(file.getInputStream(), targetPath, StandardCopyOption.REPLACE_EXISTING);
-      upload.setStoredPath(targetPath.toString());
-      upload.setStatus(UploadStatus.PROCESSING);
+    StoredContent content = null;
+    String failure = null;
+    try (InputStream in = file.getInputStream()) {
+      content = uploadStore.store(in, maxUploadBytes);
+      if (content.duplicate()) {
+        log.info("Upload {} from user {} matches stored content {}", file.getOriginalFilename(), userId,
+            content.contentHash());
+      }
     } catch (IOException ex) {
-      log.error("Failed to store uploaded file for upload {}: {}", upload.getId(), ex.getMessage(), ex);
-      upload.setStatus(UploadStatus.FAILED);
-      upload.setErrorReport(ex.getMessage());
-      upload.setCompletedAt(OffsetDateTime.now());
+      log.error("Failed to store uploaded file {}: {}", file.getOriginalFilename(), ex.getMessage(), ex);
+      failure = ex.getMessage();
     }
 
-    return toDto(uploadRepository.save(upload));
+    StoredContent stored = content;
+    String error = failure;
+    return transactionTemplate.execute(status -> {
+      User user = userRepository.findById(userId).orElseThrow(() -> userNotFound(userId));
+      Upload upload =
+          Upload.builder()
+              .user(user)
+              .type(type)
+              .status(stored != null ? UploadStatus.PROCESSING : UploadStatus.FAILED)
+              .fileName(file.getOriginalFilename())
+              .build();
+      if (stored != null) {
+        upload.setStoredPath(stored.path().toString());
+        upload.setContentHash(stored.contentHash());
+        upload.setSizeBytes(stored.size());
+      } else {
+        upload.setErrorReport(error);
+        upload.setCompletedAt(OffsetDateTime.now());
+      }
+      return toDto(uploadRepository.save(upload));
+    });
   }
 
-  @Transactional
-  public UploadDto validateAndStage(UUID id) {
+  /**
+   * Returns the stored file of an upload, for streaming back to the client.
+   */
+  public UploadContent content(UUID id) {
     Upload upload = uploadRepository.findById(id).orElseThrow(() -> uploadNotFound(id));
-    if (upload.getStoredPath() == null) {
-      throw new IllegalStateException("Upload has no stored file to validate");
+    Path path = upload.getStoredPath() != null ? Path.of(upload.getStoredPath()) : null;
+    if (path == null || !Files.isRegularFile(path)) {
+      throw new NotFoundException("Upload %s has no stored file".formatted(id));
     }
+    return new UploadContent(upload.getFileName(), upload.getContentHash(), path, sizeOf(path));
+  }
 
-    upload.setStatus(UploadStatus.PROCESSING);
-    uploadRepository.save(upload);
-
-    Path path = Path.of(upload.getStoredPath());
-    List<Map<String, Object>> errors = new ArrayList<>();
-    int parsedRows = 0;
+  /**
+   * Writes stored content to {@code out} with a zero-copy channel transfer.
+   */
+  public void writeContent(UploadContent content, OutputStream out) throws IOException {
+    uploadStore.transferTo(content.path(), Channels.newChannel(out));
+  }
 
-    try {
-      if (upload.getType() == UploadType.CSV) {
-        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
-          String headerLine = reader.readLine();
-          if (headerLine == null || headerLine.isBlank()) {
-            errors.add(error(1, "CSV header row is missing"));
-          } else {
-            String[] headers = headerLine.split(",", -1);
-            String line;
-            int rowIndex = 1;
-            while ((line = reader.readLine()) != null) {
-              rowIndex++;
-              if (line.isBlank()) {
-                errors.add(error(rowIndex, "Row is empty"));
-              } else {
-                String[] values = line.split(",", -1);
-                if (values.length != headers.length) {
-                  errors.add(
-                      error(
-                          rowIndex,
-                          "Column count mismatch (expected %d, got %d)"
-                              .formatted(headers.length, values.length)));
-                }
-                for (int i = 0; i < values.length; i++) {
-                  if (values[i].isBlank()) {
-                    errors.add(error(rowIndex, "Column %d is blank".formatted(i + 1)));
-                    break;
-                  }
-                }
-              }
-              if (!line.isBlank()) {
-                parsedRows++;
-              }
-              if (errors.size() >= maxValidationErrors) {
-                break;
-              }
-            }
-          }
-        }
-      } else if (upload.getType() == UploadType.JSON) {
-        var node = objectMapper.readTree(Files.readString(path));
-        if (node.isArray()) {
-          parsedRows = node.size();
-          if (parsedRows == 0) {
-            errors.add(error(1, "JSON array is empty"));
-          }
-        } else if (!node.isMissingNode() && !node.isNull()) {
-          parsedRows = 1;
-        } else {
-          errors.add(error(1, "JSON payload is empty"));
+  /**
+   * Starts validating a stored upload and returns at once with the upload in PROCESSING. The file
+   * is streamed and validated in parallel chunks on a background thread, outside any transaction;
+   * {@link #progress(UUID)} reports how far it has got, and the upload moves to COMPLETED or FAILED
+   * with its error report when done.
+   */
+  public UploadDto validateAndStage(UUID id) {
+    Upload upload = transactionTemplate.execute(status -> {
+      Upload existing = uploadRepository.findById(id).orElseThrow(() -> uploadNotFound(id));
+      if (existing.getStoredPath() == null) {
+        throw new IllegalStateException("Upload has no stored file to validate");
+      }
+      if (!validations.containsKey(id)) {
+        if (reuseValidation(existing)) {
+          return uploadRepository.save(existing);
         }
-      } else {
-        errors.add(error(0, "Excel validation is not yet supported"));
+        existing.setStatus(UploadStatus.PROCESSING);
+        existing.setCompletedAt(null);
       }
-    } catch (IOException ex) {
-      errors.add(error(0, "Failed to read upload file: " + ex.getMessage()));
+      return uploadRepository.save(existing);
+    });
+    UploadDto started = toDto(upload);
+    if (upload.getStatus() != UploadStatus.PROCESSING) {
+      return started;
     }
 
-    upload.setParsedRowCount(parsedRows);
-    upload.setErrorReport(serializeErrors(errors));
-    if (errors.isEmpty()) {
-      upload.setStatus(UploadStatus.COMPLETED);
-    } else {
-      upload.setStatus(UploadStatus.FAILED);
+    Path path = Path.of(upload.getStoredPath());
+    UploadValidationProgress progress = new UploadValidationProgress(id, sizeOf(path));
+    if (validations.putIfAbsent(id, progress) != null) {
+      return started;
     }
-    upload.setCompletedAt(OffsetDateTime.now());
+    try {
+      validationExecutor.execute(() -> runValidation(id, upload.getType(), path, progress));
+    } catch (RuntimeException ex) {
+      validations.remove(id);
+      throw ex;
+    }
+    return started;
+  }
 
-    auditLogService.create(
-        new CreateAuditLogRequest(
-            "system",
-            ActorType.SYSTEM,
-            "UPLOAD_VALIDATED",
-            "upload:" + upload.getId(),
-            null,
-            "status:" + upload.getStatus()));
+  public UploadProgressDto progress(UUID id) {
+    UploadValidationProgress running = validations.get(id);
+    if (running != null) {
+      return new UploadProgressDto(
+          id,
+          UploadStatus.PROCESSING,
+          running.getBytesRead(),
+          running.getTotalBytes(),
+          running.getRowsParsed(),
+          running.getErrorCount(),
+          running.getStartedAt());
+    }
+    Upload upload = uploadRepository.findById(id).orElseThrow(() -> uploadNotFound(id));
+    long size = upload.getStoredPath() != null ? sizeOf(Path.of(upload.getStoredPath())) : 0L;
+    long read = upload.getStatus() == UploadStatus.COMPLETED || upload.getStatus() == UploadStatus.FAILED ? size : 0L;
+    return new UploadProgressDto(
+        id,
+        upload.getStatus(),
+        read,
+        size,
+        upload.getParsedRowCount() != null ? upload.getParsedRowCount() : 0,
+        null,
+        null);
+  }
 
-    return toDto(uploadRepository.save(upload));
+  @PreDestroy
+  public void shutdown() {
+    validationExecutor.shutdownNow();
+  }
+
+  private void runValidation(UUID id, UploadType type, Path path, UploadValidationProgress progress) {
+    ValidationResult result;
+    try {
+      result = uploadValidator.validate(path, type, progress);
+    } catch (RuntimeException ex) {
+      log.error("Validation of upload {} failed: {}", id, ex.getMessage(), ex);
+      result = new ValidationResult(progress.getRowsParsed(),
+          List.of(new ValidationError(0, "Validation failed: " + ex.getMessage())));
+    }
+    try {
+      completeValidation(id, result);
+    } catch (RuntimeException ex) {
+      log.error("Failed to record validation result for upload {}: {}", id, ex.getMessage(), ex);
+    } finally {
+      validations.remove(id);
+    }
+  }
+
+  private void completeValidation(UUID id, ValidationResult result) {
+    transactionTemplate.executeWithoutResult(status -> {
+      Upload upload = uploadRepository.findById(id).orElseThrow(() -> uploadNotFound(id));
+      upload.setParsedRowCount(result.parsedRows());
+      upload.setErrorReport(serializeErrors(result.errors()));
+      upload.setStatus(result.isValid() ? UploadStatus.COMPLETED : UploadStatus.FAILED);
+      upload.setCompletedAt(OffsetDateTime.now());
+
+      auditLogService.record(
+          new CreateAuditLogRequest(
+              "system",
+              ActorType.SYSTEM,
+              "UPLOAD_VALIDATED",
+              "upload:" + upload.getId(),
+              null,
+              "status:" + upload.getStatus()));
+
+      uploadRepository.save(upload);
+    });
+  }
+
+  /**
+   * Copies the outcome of an earlier successful validation of identical content, so the same broker
+   * export uploaded again is not re-read. Failed results are never reused: a failure may come from
+   * validation rules that have since changed, so that content is validated again.
+   */
+  private boolean reuseValidation(Upload upload) {
+    if (upload.getContentHash() == null) {
+      return false;
+    }
+    return uploadRepository
+        .findFirstByContentHashAndTypeAndStatusAndIdNotOrderByCompletedAtDesc(
+            upload.getContentHash(), upload.getType(), UploadStatus.COMPLETED, upload.getId())
+        .filter(previous -> previous.getCompletedAt() != null && previous.getParsedRowCount() != null)
+        .map(previous -> {
+          upload.setStatus(previous.getStatus());
+          upload.setParsedRowCount(previous.getParsedRowCount());
+          upload.setErrorReport(previous.getErrorReport());
+          upload.setCompletedAt(OffsetDateTime.now());
+          log.info("Upload {} reuses the validation result of upload {} with identical content",
+              upload.getId(), previous.getId());
+          return true;
+        })
+        .orElse(false);
   }
 
   @Transactional(readOnly = true)
@@ -248,6 +351,8 @@ public class UploadService {
         upload.getStatus(),
         upload.getFileName(),
         upload.getStoredPath(),
+        upload.getContentHash(),
+        upload.getSizeBytes(),
         upload.getParsedRowCount(),
         upload.getErrorReport(),
         upload.getCreatedAt(),
@@ -262,23 +367,24 @@ public class UploadService {
     return new NotFoundException("User %s not found".formatted(id));
   }
 
-  private String safeFilename(String filename) {
-    if (filename == null || filename.isBlank()) {
-      return "upload.bin";
+  private static long sizeOf(Path path) {
+    try {
+      return Files.size(path);
+    } catch (IOException ex) {
+      return 0L;
     }
-    return filename.replaceAll("[^a-zA-Z0-9._-]", "_");
   }
 
-  private Map<String, Object> error(int row, String message) {
-    Map<String, Object> entry = new HashMap<>();
-    entry.put("row", row);
-    entry.put("message", message);
-    return entry;
-  }
-
-  private String serializeErrors(List<Map<String, Object>> errors) {
+  private String serializeErrors(List<ValidationError> errors) {
+    List<Map<String, Object>> entries = new ArrayList<>(errors.size());
+    for (ValidationError error : errors) {
+      Map<String, Object> entry = new HashMap<>();
+      entry.put("row", error.row());
+      entry.put("message", error.message());
+      entries.add(entry);
+    }
     Map<String, Object> payload = new HashMap<>();
-    payload.put("errors", errors);
+    payload.put("errors", entries);
     payload.put("errorCount", errors.size());
     try {
       return objectMapper.writeValueAsString(payload);
@@ -0,0 +1,50 @@
+package com.myqyl.aitradex.upload;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.LongConsumer;
+
+/**
+ * Reports the running number of bytes read, for upload progress.
+ */
+final class CountingInputStream extends FilterInputStream {
+
+  private final LongConsumer listener;
+  private long count;
+
+  CountingInputStream(InputStream in, LongConsumer listener) {
+    super(in);
+    this.listener = listener;
+  }
+
+  @Override
+  public int read() throws IOException {
+    int b = super.read();
+    if (b != -1) {
+      advance(1);
+    }
+    return b;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    int read = super.read(b, off, len);
+    if (read > 0) {
+      advance(read);
+    }
+    return read;
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    long skipped = super.skip(n);
+    advance(skipped);
+    return skipped;
+  }
+
+  private void advance(long bytes) {
+    count += bytes;
+    listener.accept(count);
+  }
+}
@@ -0,0 +1,37 @@
+package com.myqyl.aitradex.upload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * UTF-8 CSV rows read with {@link CsvTokenizer}.
+ */
+final class CsvRowSource implements RowSource {
+
+  private final Reader reader;
+  private final CsvTokenizer tokenizer;
+
+  CsvRowSource(InputStream in) {
+    this.reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+    this.tokenizer = new CsvTokenizer(reader);
+  }
+
+  @Override
+  public List<String> next() throws IOException {
+    return tokenizer.next();
+  }
+
+  @Override
+  public int rowNumber() {
+    return tokenizer.recordLine();
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+}
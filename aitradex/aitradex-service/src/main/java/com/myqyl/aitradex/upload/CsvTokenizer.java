@@ -0,0 +1,120 @@
+package com.myqyl.aitradex.upload;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 CSV tokenizer.
+ *
+ * Reads one record at a time from the underlying reader, so memory is bounded by the longest
+ * record rather than the file. Supports quoted fields containing commas, doubled quotes and line
+ * breaks, and both LF and CRLF record separators.
+ */
+final class CsvTokenizer {
+
+  private static final int EOF = -1;
+
+  private final Reader reader;
+  private final char[] buffer = new char[8192];
+  private int position;
+  private int limit;
+  private int line = 1;
+  private int recordLine;
+  private final StringBuilder field = new StringBuilder();
+
+  CsvTokenizer(Reader reader) {
+    this.reader = reader;
+  }
+
+  /**
+   * Returns the next record's fields, or null at end of input. An empty line yields a single
+   * empty field.
+   */
+  List<String> next() throws IOException {
+    int c = read();
+    if (c == EOF) {
+      return null;
+    }
+    recordLine = line;
+    List<String> fields = new ArrayList<>();
+    field.setLength(0);
+    boolean quoted = false;
+    boolean fieldStart = true;
+
+    while (true) {
+      if (quoted) {
+        if (c == EOF) {
+          throw new IOException("Unterminated quoted field starting on line " + recordLine);
+        }
+        if (c == '"') {
+          int nextChar = peek();
+          if (nextChar == '"') {
+            read();
+            field.append('"');
+          } else {
+            quoted = false;
+          }
+        } else {
+          if (c == '\n') {
+            line++;
+          }
+          field.append((char) c);
+        }
+      } else if (c == '"' && fieldStart) {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+        fieldStart = true;
+        c = read();
+        continue;
+      } else if (c == '\r' || c == '\n' || c == EOF) {
+        if (c == '\r' && peek() == '\n') {
+          read();
+        }
+        if (c != EOF) {
+          line++;
+        }
+        fields.add(field.toString());
+        return fields;
+      } else {
+        field.append((char) c);
+      }
+      fieldStart = false;
+      c = read();
+    }
+  }
+
+  /**
+   * 1-based line on which the record last returned by {@link #next()} started.
+   */
+  int recordLine() {
+    return recordLine;
+  }
+
+  private int read() throws IOException {
+    if (position == limit && !fill()) {
+      return EOF;
+    }
+    return buffer[position++];
+  }
+
+  private int peek() throws IOException {
+    if (position == limit && !fill()) {
+      return EOF;
+    }
+    return buffer[position];
+  }
+
+  private boolean fill() throws IOException {
+    int read = reader.read(buffer, 0, buffer.length);
+    if (read <= 0) {
+      return false;
+    }
+    position = 0;
+    limit = read;
+    return true;
+  }
+}
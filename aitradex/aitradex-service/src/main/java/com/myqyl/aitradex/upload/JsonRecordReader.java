@@ -0,0 +1,90 @@
+package com.myqyl.aitradex.upload;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JSON rows: either a top-level array of objects, streamed one element at a time, or a single
+ * object. Nested values are kept as their JSON text.
+ */
+final class JsonRecordReader implements RecordReader {
+
+  private final ObjectMapper objectMapper;
+  private final JsonParser parser;
+  private boolean array;
+  private boolean singlePending;
+  private int row;
+
+  JsonRecordReader(ObjectMapper objectMapper, InputStream in) throws IOException {
+    this.objectMapper = objectMapper;
+    this.parser = objectMapper.createParser(in);
+  }
+
+  @Override
+  public ValidationError start() throws IOException {
+    JsonToken token = parser.nextToken();
+    if (token == null || token == JsonToken.VALUE_NULL) {
+      return new ValidationError(1, "JSON payload is empty");
+    }
+    array = token == JsonToken.START_ARRAY;
+    singlePending = !array;
+    return null;
+  }
+
+  @Override
+  public UploadRecord next() throws IOException {
+    if (array) {
+      JsonToken token = parser.nextToken();
+      if (token == null || token == JsonToken.END_ARRAY) {
+        return null;
+      }
+    } else if (singlePending) {
+      singlePending = false;
+    } else {
+      return null;
+    }
+    row++;
+    return readValue();
+  }
+
+  @Override
+  public void check(UploadRecord record, List<ValidationError> errors) {
+    if (record.values() == null) {
+      errors.add(new ValidationError(record.row(), "Row must be a JSON object"));
+    }
+  }
+
+  @Override
+  public ValidationError finish(int parsedRows) {
+    return array && parsedRows == 0 ? new ValidationError(1, "JSON array is empty") : null;
+  }
+
+  @Override
+  public void close() throws IOException {
+    parser.close();
+  }
+
+  private UploadRecord readValue() throws IOException {
+    if (parser.currentToken() != JsonToken.START_OBJECT) {
+      parser.skipChildren();
+      return new UploadRecord(row, List.of(), null);
+    }
+    List<String> names = new ArrayList<>();
+    List<String> values = new ArrayList<>();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      names.add(parser.currentName());
+      JsonToken value = parser.nextToken();
+      if (value.isStructStart()) {
+        values.add(objectMapper.writeValueAsString(parser.readValueAsTree()));
+      } else {
+        values.add(value == JsonToken.VALUE_NULL ? null : parser.getValueAsString());
+      }
+    }
+    return new UploadRecord(row, names, values);
+  }
+}
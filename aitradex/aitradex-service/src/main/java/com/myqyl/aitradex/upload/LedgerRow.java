@@ -0,0 +1,47 @@
+package com.myqyl.aitradex.upload;
+
+import com.myqyl.aitradex.domain.OrderSide;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One typed row of a ledger import, read by {@link LedgerRowReader}. {@code row} is the 1-based
+ * row number (the line a CSV record started on).
+ */
+public sealed interface LedgerRow {
+
+  int row();
+
+  LocalDate date();
+
+  String symbol();
+
+  /**
+   * A holding from a portfolio update CSV. {@code exited} is set when the row records the holding
+   * being sold off (zero shares or a SELL action).
+   */
+  record PortfolioRow(
+      int row,
+      LocalDate date,
+      String symbol,
+      BigDecimal shares,
+      BigDecimal price,
+      BigDecimal stopLoss,
+      boolean exited) implements LedgerRow {}
+
+  /**
+   * A buy or sell from a trade log CSV. {@code externalRef} is the row's natural key, used to
+   * recognise trades that were already imported.
+   */
+  record TradeRow(
+      int row,
+      LocalDate date,
+      String symbol,
+      OrderSide side,
+      BigDecimal quantity,
+      BigDecimal price,
+      BigDecimal costBasis,
+      BigDecimal pnl,
+      String reason,
+      String externalRef) implements LedgerRow {}
+}
@@ -0,0 +1,225 @@
+package com.myqyl.aitradex.upload;
+
+import com.myqyl.aitradex.domain.ImportKind;
+import com.myqyl.aitradex.domain.OrderSide;
+import com.myqyl.aitradex.domain.UploadType;
+import com.myqyl.aitradex.upload.LedgerRow.PortfolioRow;
+import com.myqyl.aitradex.upload.LedgerRow.TradeRow;
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streams the typed rows of a portfolio update or trade log, as written by the trading scripts
+ * ({@code chatgpt_portfolio_update.csv} and {@code chatgpt_trade_log.csv}), from a CSV file or the
+ * first worksheet of an XLSX workbook with the same columns.
+ *
+ * Columns are matched by header name, case-insensitively, so extra or reordered columns are fine.
+ * Blank lines and portfolio TOTAL rows are skipped; rows that cannot be mapped are reported to the
+ * caller and skipped.
+ */
+public final class LedgerRowReader implements Closeable {
+
+  private static final String DATE = "date";
+  private static final String TICKER = "ticker";
+  private static final String SHARES = "shares";
+  private static final String BUY_PRICE = "buy price";
+  private static final String COST_BASIS = "cost basis";
+  private static final String STOP_LOSS = "stop loss";
+  private static final String ACTION = "action";
+  private static final String SHARES_BOUGHT = "shares bought";
+  private static final String SHARES_SOLD = "shares sold";
+  private static final String SELL_PRICE = "sell price";
+  private static final String PNL = "pnl";
+  private static final String REASON = "reason";
+
+  private final ImportKind kind;
+  private final RowSource rows;
+  private final Map<String, Integer> columns = new HashMap<>();
+  /** Occurrences of each trade key on the current date, so identical same-day trades stay distinct. */
+  private final Map<String, Integer> tradeKeys = new HashMap<>();
+  private LocalDate tradeKeyDate;
+  private int lastRow;
+
+  private LedgerRowReader(RowSource rows, ImportKind kind) {
+    this.rows = rows;
+    this.kind = kind;
+  }
+
+  /**
+   * Opens a stored CSV or XLSX upload.
+   */
+  public static LedgerRowReader open(Path path, UploadType type, ImportKind kind) throws IOException {
+    return new LedgerRowReader(RowSource.open(path, type, bytes -> {}), kind);
+  }
+
+  /**
+   * Reads the header row. Throws if the header lacks a column the import kind needs.
+   */
+  public void start() throws IOException {
+    List<String> header = rows.next();
+    if (header == null || (header.size() == 1 && header.get(0).isBlank())) {
+      throw new IllegalArgumentException("CSV header row is missing");
+    }
+    lastRow = rows.rowNumber();
+    for (int i = 0; i < header.size(); i++) {
+      columns.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+    }
+    List<String> required = kind == ImportKind.PORTFOLIO
+        ? List.of(DATE, TICKER, SHARES, BUY_PRICE)
+        : List.of(DATE, TICKER, SHARES_BOUGHT, BUY_PRICE, SHARES_SOLD, SELL_PRICE);
+    for (String column : required) {
+      if (!columns.containsKey(column)) {
+        throw new IllegalArgumentException("%s upload is missing column '%s'".formatted(kind, column));
+      }
+    }
+  }
+
+  /**
+   * Returns the next importable row, or null at end of input. Rows that cannot be mapped are added
+   * to {@code rejected}.
+   */
+  public LedgerRow next(List<ValidationError> rejected) throws IOException {
+    List<String> values;
+    while ((values = rows.next()) != null) {
+      lastRow = rows.rowNumber();
+      if (values.size() == 1 && values.get(0).isBlank()) {
+        continue;
+      }
+      try {
+        LedgerRow row = kind == ImportKind.PORTFOLIO ? portfolioRow(values) : tradeRow(values);
+        if (row != null) {
+          return row;
+        }
+      } catch (IllegalArgumentException ex) {
+        rejected.add(new ValidationError(lastRow, ex.getMessage()));
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Row number of the last record read, including skipped and rejected ones.
+   */
+  public int lastRow() {
+    return lastRow;
+  }
+
+  private PortfolioRow portfolioRow(List<String> values) {
+    String symbol = symbol(values);
+    if (symbol.equals("TOTAL")) {
+      return null;
+    }
+    LocalDate date = date(values);
+    BigDecimal shares = required(values, SHARES);
+    BigDecimal price = decimal(values, BUY_PRICE);
+    BigDecimal costBasis = decimal(values, COST_BASIS);
+    if (price == null && costBasis != null && shares.signum() > 0) {
+      price = costBasis.divide(shares, 8, RoundingMode.HALF_UP);
+    }
+    boolean exited = shares.signum() == 0 || text(values, ACTION).toUpperCase(Locale.ROOT).startsWith("SELL");
+    if (price == null && !exited) {
+      throw new IllegalArgumentException("Column 'buy price' is required");
+    }
+    return new PortfolioRow(lastRow, date, symbol, shares, price, decimal(values, STOP_LOSS), exited);
+  }
+
+  private TradeRow tradeRow(List<String> values) {
+    LocalDate date = date(values);
+    String symbol = symbol(values);
+    BigDecimal bought = decimal(values, SHARES_BOUGHT);
+    BigDecimal sold = decimal(values, SHARES_SOLD);
+    OrderSide side;
+    BigDecimal quantity;
+    BigDecimal price;
+    if (bought != null && bought.signum() > 0) {
+      side = OrderSide.BUY;
+      quantity = bought;
+      price = required(values, BUY_PRICE);
+    } else if (sold != null && sold.signum() > 0) {
+      side = OrderSide.SELL;
+      quantity = sold;
+      price = required(values, SELL_PRICE);
+    } else {
+      throw new IllegalArgumentException("Row has neither shares bought nor shares sold");
+    }
+    if (price.signum() <= 0) {
+      throw new IllegalArgumentException("Trade price must be positive");
+    }
+    String reason = text(values, REASON);
+    return new TradeRow(lastRow, date, symbol, side, quantity, price, decimal(values, COST_BASIS),
+        decimal(values, PNL), reason.isEmpty() ? null : reason, tradeKey(date, symbol, side, quantity, price));
+  }
+
+  private String tradeKey(LocalDate date, String symbol, OrderSide side, BigDecimal quantity, BigDecimal price) {
+    if (!date.equals(tradeKeyDate)) {
+      tradeKeys.clear();
+      tradeKeyDate = date;
+    }
+    String key = "%s|%s|%s|%s|%s".formatted(date, symbol, side,
+        quantity.stripTrailingZeros().toPlainString(), price.stripTrailingZeros().toPlainString());
+    int occurrence = tradeKeys.merge(key, 1, Integer::sum);
+    return occurrence == 1 ? key : key + "#" + occurrence;
+  }
+
+  private String symbol(List<String> values) {
+    String symbol = text(values, TICKER).toUpperCase(Locale.ROOT);
+    if (symbol.isEmpty()) {
+      throw new IllegalArgumentException("Column 'ticker' is blank");
+    }
+    if (symbol.length() > 32) {
+      throw new IllegalArgumentException("Ticker '%s' is too long".formatted(symbol));
+    }
+    return symbol;
+  }
+
+  private LocalDate date(List<String> values) {
+    String text = text(values, DATE);
+    try {
+      return LocalDate.parse(text.length() > 10 ? text.substring(0, 10) : text);
+    } catch (DateTimeParseException ex) {
+      throw new IllegalArgumentException("Column 'date' is not an ISO date: '%s'".formatted(text));
+    }
+  }
+
+  private BigDecimal required(List<String> values, String column) {
+    BigDecimal value = decimal(values, column);
+    if (value == null) {
+      throw new IllegalArgumentException("Column '%s' is required".formatted(column));
+    }
+    if (value.signum() < 0) {
+      throw new IllegalArgumentException("Column '%s' must not be negative".formatted(column));
+    }
+    return value;
+  }
+
+  private BigDecimal decimal(List<String> values, String column) {
+    String text = text(values, column);
+    if (text.isEmpty()) {
+      return null;
+    }
+    try {
+      return new BigDecimal(text);
+    } catch (NumberFormatException ex) {
+      throw new IllegalArgumentException("Column '%s' is not a number: '%s'".formatted(column, text));
+    }
+  }
+
+  private String text(List<String> values, String column) {
+    Integer index = columns.get(column);
+    return index != null && index < values.size() ? values.get(index).trim() : "";
+  }
+
+  @Override
+  public void close() throws IOException {
+    rows.close();
+  }
+}
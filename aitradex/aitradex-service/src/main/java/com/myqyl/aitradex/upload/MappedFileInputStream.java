@@ -0,0 +1,96 @@
+package com.myqyl.aitradex.upload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a file through memory-mapped windows instead of read system calls, so large uploads are
+ * consumed straight from the page cache. At most one window of {@code windowBytes} is mapped at a
+ * time.
+ */
+public final class MappedFileInputStream extends InputStream {
+
+  static final long DEFAULT_WINDOW_BYTES = 64L * 1024 * 1024;
+
+  private final FileChannel channel;
+  private final long size;
+  private final long windowBytes;
+  private long windowStart;
+  private MappedByteBuffer window;
+
+  public MappedFileInputStream(Path path) throws IOException {
+    this(path, DEFAULT_WINDOW_BYTES);
+  }
+
+  MappedFileInputStream(Path path, long windowBytes) throws IOException {
+    this.channel = FileChannel.open(path, StandardOpenOption.READ);
+    this.size = channel.size();
+    this.windowBytes = Math.max(1, windowBytes);
+  }
+
+  @Override
+  public int read() throws IOException {
+    return ensureWindow() ? window.get() & 0xFF : -1;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+    if (!ensureWindow()) {
+      return -1;
+    }
+    int count = Math.min(len, window.remaining());
+    window.get(b, off, count);
+    return count;
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    long position = position();
+    long skipped = Math.max(0, Math.min(n, size - position));
+    if (skipped > 0) {
+      map(position + skipped);
+    }
+    return skipped;
+  }
+
+  @Override
+  public int available() {
+    return (int) Math.min(Integer.MAX_VALUE, size - position());
+  }
+
+  @Override
+  public void close() throws IOException {
+    window = null;
+    channel.close();
+  }
+
+  private long position() {
+    return window == null ? windowStart : windowStart + window.position();
+  }
+
+  private boolean ensureWindow() throws IOException {
+    if (window != null && window.hasRemaining()) {
+      return true;
+    }
+    long next = position();
+    if (next >= size) {
+      return false;
+    }
+    map(next);
+    return true;
+  }
+
+  private void map(long position) throws IOException {
+    windowStart = position;
+    window = position < size
+        ? channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(windowBytes, size - position))
+        : null;
+  }
+}
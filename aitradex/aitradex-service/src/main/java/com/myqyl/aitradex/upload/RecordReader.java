@@ -0,0 +1,41 @@
+package com.myqyl.aitradex.upload;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Streams the rows of one upload format and knows that format's row rules.
+ */
+interface RecordReader extends Closeable {
+
+  /**
+   * Reads any preamble (e.g. a header row). Returns an error if the upload cannot contain rows.
+   */
+  ValidationError start() throws IOException;
+
+  /**
+   * Returns the next row, or null at end of input.
+   */
+  UploadRecord next() throws IOException;
+
+  /**
+   * Validates one row. Called concurrently from validation workers, so must not touch reader
+   * state beyond what {@link #start()} established.
+   */
+  void check(UploadRecord record, List<ValidationError> errors);
+
+  /**
+   * Whether the row counts towards the parsed row total.
+   */
+  default boolean counts(UploadRecord record) {
+    return true;
+  }
+
+  /**
+   * Returns an error that only shows once the whole input has been read, if any.
+   */
+  default ValidationError finish(int parsedRows) {
+    return null;
+  }
+}
@@ -0,0 +1,36 @@
+package com.myqyl.aitradex.upload;
+
+import com.myqyl.aitradex.domain.UploadType;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * Streams the rows of a tabular upload (CSV or an XLSX worksheet) as cell text, one row at a time.
+ */
+interface RowSource extends Closeable {
+
+  /**
+   * Returns the next row's cells, or null at end of input. A blank CSV line yields a single empty
+   * cell.
+   */
+  List<String> next() throws IOException;
+
+  /**
+   * The 1-based row number of the row last returned by {@link #next()}.
+   */
+  int rowNumber();
+
+  /**
+   * Opens a CSV or XLSX upload, reporting the approximate number of file bytes consumed.
+   */
+  static RowSource open(Path path, UploadType type, LongConsumer bytesRead) throws IOException {
+    return switch (type) {
+      case CSV -> new CsvRowSource(new CountingInputStream(new MappedFileInputStream(path), bytesRead));
+      case EXCEL -> new XlsxSheetReader(path, bytesRead);
+      default -> throw new IllegalArgumentException("%s uploads are not tabular".formatted(type));
+    };
+  }
+}
@@ -0,0 +1,9 @@
+package com.myqyl.aitradex.upload;
+
+import java.nio.file.Path;
+
+/**
+ * A file in the {@link UploadStore}. {@code duplicate} is set when identical content was already
+ * stored, in which case {@code path} is the existing object.
+ */
+public record StoredContent(String contentHash, Path path, long size, boolean duplicate) {}
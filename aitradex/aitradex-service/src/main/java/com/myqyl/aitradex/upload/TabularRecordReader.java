@@ -0,0 +1,69 @@
+package com.myqyl.aitradex.upload;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Tabular rows (CSV, or an XLSX worksheet): a header followed by records with the same number of
+ * non-blank columns.
+ */
+final class TabularRecordReader implements RecordReader {
+
+  private final RowSource rows;
+  private final String format;
+  private List<String> header;
+
+  TabularRecordReader(RowSource rows, String format) {
+    this.rows = rows;
+    this.format = format;
+  }
+
+  @Override
+  public ValidationError start() throws IOException {
+    header = rows.next();
+    if (header == null || (header.size() == 1 && header.get(0).isBlank())) {
+      return new ValidationError(1, "%s header row is missing".formatted(format));
+    }
+    header = List.copyOf(header);
+    return null;
+  }
+
+  @Override
+  public UploadRecord next() throws IOException {
+    List<String> values = rows.next();
+    return values != null ? new UploadRecord(rows.rowNumber(), header, values) : null;
+  }
+
+  @Override
+  public boolean counts(UploadRecord record) {
+    return !isBlank(record);
+  }
+
+  @Override
+  public void check(UploadRecord record, List<ValidationError> errors) {
+    if (isBlank(record)) {
+      errors.add(new ValidationError(record.row(), "Row is empty"));
+      return;
+    }
+    List<String> values = record.values();
+    if (values.size() != header.size()) {
+      errors.add(new ValidationError(record.row(),
+          "Column count mismatch (expected %d, got %d)".formatted(header.size(), values.size())));
+    }
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i).isBlank()) {
+        errors.add(new ValidationError(record.row(), "Column %d is blank".formatted(i + 1)));
+        break;
+      }
+    }
+  }
+
+  private static boolean isBlank(UploadRecord record) {
+    return record.values().size() == 1 && record.values().get(0).isBlank();
+  }
+
+  @Override
+  public void close() throws IOException {
+    rows.close();
+  }
+}
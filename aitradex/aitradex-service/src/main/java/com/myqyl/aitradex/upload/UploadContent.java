@@ -0,0 +1,8 @@
+package com.myqyl.aitradex.upload;
+
+import java.nio.file.Path;
+
+/**
+ * The stored file of an upload, as served back to clients.
+ */
+public record UploadContent(String fileName, String contentHash, Path path, long size) {}
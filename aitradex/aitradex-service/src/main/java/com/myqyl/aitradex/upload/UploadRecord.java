@@ -0,0 +1,11 @@
+package com.myqyl.aitradex.upload;
+
+import java.util.List;
+
+/**
+ * One data row read from an upload. {@code row} is the 1-based row number reported in errors.
+ * {@code names} are the column names for {@code values} (the CSV header, or a JSON object's
+ * keys); {@code values} is null when the row is not tabular, e.g. a JSON array element that is
+ * not an object.
+ */
+record UploadRecord(int row, List<String> names, List<String> values) {}
@@ -0,0 +1,123 @@
+package com.myqyl.aitradex.upload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Content-addressed storage for upload files.
+ *
+ * Files are streamed to a temporary file while their SHA-256 is computed, then moved to
+ * {@code objects/<first two hex digits>/<hash>}. Identical content is stored once: a second copy
+ * is discarded and the existing object reused. Objects are never modified after the move, so they
+ * can be read and served without locking.
+ */
+@Component
+public class UploadStore {
+
+  private static final int BUFFER_BYTES = 64 * 1024;
+
+  private final Path objects;
+  private final Path incoming;
+
+  public UploadStore(@Value("${app.uploads.directory}") String directory) {
+    Path root = Path.of(directory);
+    this.objects = root.resolve("objects");
+    this.incoming = root.resolve("incoming");
+  }
+
+  /**
+   * Stores the stream's content, reading at most {@code maxBytes}.
+   *
+   * @throws IllegalArgumentException if the content is larger than {@code maxBytes}
+   */
+  public StoredContent store(InputStream in, long maxBytes) throws IOException {
+    Files.createDirectories(incoming);
+    Path temp = Files.createTempFile(incoming, "upload-", ".part");
+    try {
+      MessageDigest digest = sha256();
+      long size = 0;
+      try (ReadableByteChannel source = Channels.newChannel(in);
+          FileChannel target = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        while (source.read(buffer) != -1) {
+          buffer.flip();
+          size += buffer.remaining();
+          if (size > maxBytes) {
+            throw new IllegalArgumentException("Uploaded file exceeds size limit");
+          }
+          digest.update(buffer.duplicate());
+          while (buffer.hasRemaining()) {
+            target.write(buffer);
+          }
+          buffer.clear();
+        }
+      }
+
+      String hash = HexFormat.of().formatHex(digest.digest());
+      Path object = path(hash);
+      if (Files.exists(object)) {
+        Files.delete(temp);
+        return new StoredContent(hash, object, size, true);
+      }
+      Files.createDirectories(object.getParent());
+      try {
+        Files.move(temp, object, StandardCopyOption.ATOMIC_MOVE);
+      } catch (FileAlreadyExistsException ex) {
+        // Stored concurrently by another request.
+        Files.delete(temp);
+        return new StoredContent(hash, object, size, true);
+      }
+      return new StoredContent(hash, object, size, false);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /**
+   * Path of the object with the given content hash; the file may not exist.
+   */
+  public Path path(String contentHash) {
+    if (contentHash == null || contentHash.length() < 3 || !contentHash.matches("[0-9a-f]+")) {
+      throw new IllegalArgumentException("Invalid content hash");
+    }
+    return objects.resolve(contentHash.substring(0, 2)).resolve(contentHash);
+  }
+
+  /**
+   * Copies a stored file to {@code target} with {@link FileChannel#transferTo}, which lets the
+   * kernel move the bytes without passing them through Java heap buffers where the target allows.
+   */
+  public long transferTo(Path path, WritableByteChannel target) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      long position = 0;
+      while (position < size) {
+        position += channel.transferTo(position, size - position, target);
+      }
+      return size;
+    }
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 is not available", ex);
+    }
+  }
+}
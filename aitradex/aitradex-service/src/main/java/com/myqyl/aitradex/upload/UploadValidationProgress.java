@@ -0,0 +1,58 @@
+package com.myqyl.aitradex.upload;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Live progress of one upload validation, updated by the validation threads and read by the API.
+ */
+public final class UploadValidationProgress {
+
+  private final UUID uploadId;
+  private final long totalBytes;
+  private final OffsetDateTime startedAt = OffsetDateTime.now();
+  private volatile long bytesRead;
+  private volatile int rowsParsed;
+  private volatile int errorCount;
+
+  public UploadValidationProgress(UUID uploadId, long totalBytes) {
+    this.uploadId = uploadId;
+    this.totalBytes = totalBytes;
+  }
+
+  public UUID getUploadId() {
+    return uploadId;
+  }
+
+  public long getTotalBytes() {
+    return totalBytes;
+  }
+
+  public OffsetDateTime getStartedAt() {
+    return startedAt;
+  }
+
+  public long getBytesRead() {
+    return bytesRead;
+  }
+
+  public int getRowsParsed() {
+    return rowsParsed;
+  }
+
+  public int getErrorCount() {
+    return errorCount;
+  }
+
+  void bytesRead(long bytesRead) {
+    this.bytesRead = bytesRead;
+  }
+
+  void rowsParsed(int rowsParsed) {
+    this.rowsParsed = rowsParsed;
+  }
+
+  void errorCount(int errorCount) {
+    this.errorCount = errorCount;
+  }
+}
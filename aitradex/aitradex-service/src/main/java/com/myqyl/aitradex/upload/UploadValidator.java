@@ -0,0 +1,205 @@
+package com.myqyl.aitradex.upload;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myqyl.aitradex.domain.UploadType;
+import com.myqyl.aitradex.profiling.UploadValidationEvent;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Streaming, chunked validation of stored upload files.
+ *
+ * One thread reads the file through a format-specific {@link RecordReader} and hands rows to a
+ * shared worker pool in chunks of {@code chunkRows}. At most {@code 2 * workers} chunks are in
+ * flight at once and only the first {@code maxErrors} errors (by row) are kept, so memory stays
+ * constant regardless of file size. Reading stops early once the error cap is reached.
+ */
+@Component
+public class UploadValidator {
+
+  private final ObjectMapper objectMapper;
+  private final int chunkRows;
+  private final int maxErrors;
+  private final int maxInFlight;
+  private final ExecutorService workers;
+
+  public UploadValidator(
+      ObjectMapper objectMapper,
+      @Value("${app.uploads.validation-workers:0}") int workerCount,
+      @Value("${app.uploads.validation-chunk-rows:5000}") int chunkRows,
+      @Value("${app.uploads.max-validation-errors:50}") int maxErrors) {
+    this.objectMapper = objectMapper;
+    this.chunkRows = Math.max(1, chunkRows);
+    this.maxErrors = Math.max(1, maxErrors);
+    int threads = workerCount > 0 ? workerCount : Runtime.getRuntime().availableProcessors();
+    this.maxInFlight = threads * 2;
+    AtomicInteger index = new AtomicInteger();
+    this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+      Thread thread = new Thread(runnable, "upload-validation-" + index.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  public ValidationResult validate(Path path, UploadType type, UploadValidationProgress progress) {
+    UploadValidationEvent event = new UploadValidationEvent();
+    event.begin();
+    ValidationResult result = null;
+    try {
+      result = validateRecords(path, type, progress);
+      return result;
+    } finally {
+      event.finish(type.name(), sizeOf(path),
+          result != null ? result.parsedRows() : 0, result != null ? result.errors().size() : 0);
+    }
+  }
+
+  private ValidationResult validateRecords(Path path, UploadType type, UploadValidationProgress progress) {
+    ErrorCollector errors = new ErrorCollector(maxErrors);
+    Semaphore permits = new Semaphore(maxInFlight);
+    int parsedRows = 0;
+    try (RecordReader reader = open(type, path, progress)) {
+      ValidationError startError = reader.start();
+      if (startError != null) {
+        errors.add(startError);
+        return errors.result(0);
+      }
+
+      List<UploadRecord> chunk = new ArrayList<>(chunkRows);
+      UploadRecord record;
+      while (!errors.isFull() && (record = reader.next()) != null) {
+        if (reader.counts(record)) {
+          parsedRows++;
+        }
+        chunk.add(record);
+        if (chunk.size() == chunkRows) {
+          submit(reader, chunk, errors, permits);
+          chunk = new ArrayList<>(chunkRows);
+          progress.rowsParsed(parsedRows);
+          progress.errorCount(errors.size());
+        }
+      }
+      if (!chunk.isEmpty()) {
+        submit(reader, chunk, errors, permits);
+      }
+      awaitChunks(permits);
+      errors.add(reader.finish(parsedRows));
+    } catch (IOException ex) {
+      awaitChunks(permits);
+      errors.add(new ValidationError(0, "Failed to read upload file: " + ex.getMessage()));
+    }
+    progress.rowsParsed(parsedRows);
+    progress.errorCount(errors.size());
+    return errors.result(parsedRows);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    workers.shutdownNow();
+  }
+
+  private static long sizeOf(Path path) {
+    try {
+      return Files.size(path);
+    } catch (IOException ex) {
+      return -1;
+    }
+  }
+
+  private RecordReader open(UploadType type, Path path, UploadValidationProgress progress) throws IOException {
+    return switch (type) {
+      case CSV -> new TabularRecordReader(RowSource.open(path, type, progress::bytesRead), "CSV");
+      case EXCEL -> new TabularRecordReader(RowSource.open(path, type, progress::bytesRead), "Worksheet");
+      case JSON -> new JsonRecordReader(objectMapper,
+          new CountingInputStream(new MappedFileInputStream(path), progress::bytesRead));
+    };
+  }
+
+  private void submit(RecordReader reader, List<UploadRecord> chunk, ErrorCollector errors, Semaphore permits) {
+    permits.acquireUninterruptibly();
+    try {
+      workers.execute(() -> {
+        try {
+          List<ValidationError> found = new ArrayList<>();
+          for (UploadRecord record : chunk) {
+            reader.check(record, found);
+          }
+          errors.addAll(found);
+        } catch (RuntimeException ex) {
+          errors.add(new ValidationError(chunk.get(0).row(), "Validation failed: " + ex.getMessage()));
+        } finally {
+          permits.release();
+        }
+      });
+    } catch (RuntimeException ex) {
+      permits.release();
+      throw ex;
+    }
+  }
+
+  private void awaitChunks(Semaphore permits) {
+    permits.acquireUninterruptibly(maxInFlight);
+    permits.release(maxInFlight);
+  }
+
+  /**
+   * Keeps the {@code max} lowest-row errors seen so far.
+   */
+  private static final class ErrorCollector {
+    private static final Comparator<Entry> BY_ROW_DESC =
+        Comparator.comparingInt((Entry e) -> e.error.row()).thenComparingLong(e -> e.sequence).reversed();
+
+    private final int max;
+    private final PriorityQueue<Entry> worst = new PriorityQueue<>(BY_ROW_DESC);
+    private long sequence;
+
+    private ErrorCollector(int max) {
+      this.max = max;
+    }
+
+    private synchronized void add(ValidationError error) {
+      if (error == null) {
+        return;
+      }
+      Entry entry = new Entry(error, sequence++);
+      if (worst.size() < max) {
+        worst.add(entry);
+      } else if (BY_ROW_DESC.compare(entry, worst.peek()) > 0) {
+        worst.poll();
+        worst.add(entry);
+      }
+    }
+
+    private synchronized void addAll(List<ValidationError> errors) {
+      errors.forEach(this::add);
+    }
+
+    private synchronized boolean isFull() {
+      return worst.size() >= max;
+    }
+
+    private synchronized int size() {
+      return worst.size();
+    }
+
+    private synchronized ValidationResult result(int parsedRows) {
+      List<Entry> entries = new ArrayList<>(worst);
+      entries.sort(BY_ROW_DESC.reversed());
+      return new ValidationResult(parsedRows, entries.stream().map(e -> e.error).toList());
+    }
+
+    private record Entry(ValidationError error, long sequence) {}
+  }
+}
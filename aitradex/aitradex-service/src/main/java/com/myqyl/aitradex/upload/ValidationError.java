@@ -0,0 +1,3 @@
+package com.myqyl.aitradex.upload;
+
+public record ValidationError(int row, String message) {}
@@ -0,0 +1,14 @@
+package com.myqyl.aitradex.upload;
+
+import java.util.List;
+
+/**
+ * Outcome of validating one upload; {@code errors} is sorted by row and capped at the configured
+ * maximum.
+ */
+public record ValidationResult(int parsedRows, List<ValidationError> errors) {
+
+  public boolean isValid() {
+    return errors.isEmpty();
+  }
+}
@@ -0,0 +1,379 @@
+package com.myqyl.aitradex.upload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Streams the rows of the first worksheet of an XLSX workbook.
+ *
+ * The worksheet XML is read with a StAX cursor straight from its zip entry, so only the current
+ * row is held in memory; no workbook object model is built. Shared strings and the cell styles
+ * (to tell dates from plain numbers) are loaded once up front. Cell values are rendered the way
+ * the CSV export of the same sheet would show them: numbers in plain notation, date-formatted
+ * cells as ISO dates. Rows without any value are skipped, and gaps between cells become empty
+ * strings. Legacy binary {@code .xls} workbooks are not supported.
+ */
+final class XlsxSheetReader implements RowSource {
+
+  private static final String RELATIONSHIPS_NS =
+      "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+  private static final String DEFAULT_SHEET = "xl/worksheets/sheet1.xml";
+  private static final LocalDate EXCEL_EPOCH = LocalDate.of(1899, 12, 30);
+  private static final MathContext EXCEL_PRECISION = new MathContext(15);
+
+  private final ZipFile zip;
+  private final List<String> sharedStrings;
+  private final boolean[] dateStyles;
+  private final InputStream sheetStream;
+  private final XMLStreamReader sheet;
+  private final StringBuilder text = new StringBuilder();
+  private int rowNumber;
+
+  XlsxSheetReader(Path path, LongConsumer bytesRead) throws IOException {
+    try {
+      this.zip = new ZipFile(path.toFile());
+    } catch (ZipException ex) {
+      throw new IOException("Workbook is not an .xlsx file; legacy .xls workbooks are not supported", ex);
+    }
+    try {
+      this.sharedStrings = readSharedStrings();
+      this.dateStyles = readDateStyles();
+      ZipEntry entry = zip.getEntry(firstSheetPath());
+      if (entry == null) {
+        throw new IOException("Workbook has no worksheet");
+      }
+      long fileSize = Files.size(path);
+      long sheetSize = entry.getSize();
+      this.sheetStream = new CountingInputStream(zip.getInputStream(entry), read ->
+          bytesRead.accept(sheetSize > 0 ? Math.min(fileSize, read * fileSize / sheetSize) : 0));
+      this.sheet = xmlFactory().createXMLStreamReader(sheetStream);
+    } catch (IOException | XMLStreamException | RuntimeException ex) {
+      zip.close();
+      throw ex instanceof IOException io ? io : new IOException("Workbook is malformed: " + ex.getMessage(), ex);
+    }
+  }
+
+  @Override
+  public List<String> next() throws IOException {
+    try {
+      while (sheet.hasNext()) {
+        if (sheet.next() == XMLStreamConstants.START_ELEMENT && sheet.getLocalName().equals("row")) {
+          String r = sheet.getAttributeValue(null, "r");
+          rowNumber = r != null ? Integer.parseInt(r) : rowNumber + 1;
+          List<String> cells = readRow();
+          if (cells.stream().anyMatch(cell -> !cell.isEmpty())) {
+            return cells;
+          }
+        }
+      }
+      return null;
+    } catch (XMLStreamException | NumberFormatException ex) {
+      throw new IOException("Worksheet is malformed: " + ex.getMessage(), ex);
+    }
+  }
+
+  @Override
+  public int rowNumber() {
+    return rowNumber;
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      sheet.close();
+    } catch (XMLStreamException ex) {
+      // Closing the cursor only releases parser state; the streams are closed below.
+    } finally {
+      sheetStream.close();
+      zip.close();
+    }
+  }
+
+  private List<String> readRow() throws XMLStreamException {
+    List<String> cells = new ArrayList<>();
+    while (sheet.hasNext()) {
+      int event = sheet.next();
+      if (event == XMLStreamConstants.START_ELEMENT && sheet.getLocalName().equals("c")) {
+        String ref = sheet.getAttributeValue(null, "r");
+        int column = ref != null ? columnIndex(ref) : cells.size();
+        String type = sheet.getAttributeValue(null, "t");
+        String style = sheet.getAttributeValue(null, "s");
+        String value = readCell(type, style);
+        while (cells.size() < column) {
+          cells.add("");
+        }
+        if (column < cells.size()) {
+          cells.set(column, value);
+        } else {
+          cells.add(value);
+        }
+      } else if (event == XMLStreamConstants.END_ELEMENT && sheet.getLocalName().equals("row")) {
+        break;
+      }
+    }
+    return cells;
+  }
+
+  /**
+   * Reads a {@code <c>} element up to its end tag and renders its value.
+   */
+  private String readCell(String type, String style) throws XMLStreamException {
+    text.setLength(0);
+    boolean capture = false;
+    while (sheet.hasNext()) {
+      int event = sheet.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        String name = sheet.getLocalName();
+        capture = name.equals("v") || name.equals("t");
+      } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+        if (capture) {
+          text.append(sheet.getText());
+        }
+      } else if (event == XMLStreamConstants.END_ELEMENT) {
+        String name = sheet.getLocalName();
+        if (name.equals("c")) {
+          break;
+        }
+        if (name.equals("v") || name.equals("t")) {
+          capture = false;
+        }
+      }
+    }
+    String raw = text.toString();
+    if (type == null || type.equals("n")) {
+      return raw.isEmpty() ? "" : number(raw, isDateStyle(style));
+    }
+    return switch (type) {
+      case "s" -> sharedString(raw);
+      case "b" -> raw.equals("1") ? "TRUE" : "FALSE";
+      default -> raw;
+    };
+  }
+
+  private String sharedString(String index) {
+    try {
+      return sharedStrings.get(Integer.parseInt(index.trim()));
+    } catch (NumberFormatException | IndexOutOfBoundsException ex) {
+      return "";
+    }
+  }
+
+  private boolean isDateStyle(String style) {
+    if (style == null) {
+      return false;
+    }
+    try {
+      int index = Integer.parseInt(style);
+      return index >= 0 && index < dateStyles.length && dateStyles[index];
+    } catch (NumberFormatException ex) {
+      return false;
+    }
+  }
+
+  static String number(String raw, boolean date) {
+    BigDecimal value;
+    try {
+      value = new BigDecimal(raw.trim());
+    } catch (NumberFormatException ex) {
+      return raw;
+    }
+    if (date) {
+      long days = value.longValue();
+      BigDecimal fraction = value.subtract(BigDecimal.valueOf(days));
+      LocalDate day = EXCEL_EPOCH.plusDays(days);
+      if (fraction.signum() == 0) {
+        return day.toString();
+      }
+      long seconds = fraction.multiply(BigDecimal.valueOf(86_400)).setScale(0, RoundingMode.HALF_UP).longValue();
+      return LocalDateTime.of(day, LocalTime.MIDNIGHT).plusSeconds(seconds).toString();
+    }
+    // Excel keeps 15 significant digits; anything beyond is binary floating point noise.
+    return value.round(EXCEL_PRECISION).stripTrailingZeros().toPlainString();
+  }
+
+  static int columnIndex(String ref) {
+    int column = 0;
+    for (int i = 0; i < ref.length(); i++) {
+      char c = ref.charAt(i);
+      if (c < 'A' || c > 'Z') {
+        break;
+      }
+      column = column * 26 + (c - 'A' + 1);
+    }
+    return column - 1;
+  }
+
+  private String firstSheetPath() throws IOException, XMLStreamException {
+    String relationId = null;
+    ZipEntry workbook = zip.getEntry("xl/workbook.xml");
+    if (workbook != null) {
+      try (InputStream in = zip.getInputStream(workbook)) {
+        XMLStreamReader xml = xmlFactory().createXMLStreamReader(in);
+        while (xml.hasNext() && relationId == null) {
+          if (xml.next() == XMLStreamConstants.START_ELEMENT && xml.getLocalName().equals("sheet")) {
+            relationId = xml.getAttributeValue(RELATIONSHIPS_NS, "id");
+          }
+        }
+        xml.close();
+      }
+    }
+    ZipEntry rels = zip.getEntry("xl/_rels/workbook.xml.rels");
+    if (relationId == null || rels == null) {
+      return DEFAULT_SHEET;
+    }
+    try (InputStream in = zip.getInputStream(rels)) {
+      XMLStreamReader xml = xmlFactory().createXMLStreamReader(in);
+      try {
+        while (xml.hasNext()) {
+          if (xml.next() == XMLStreamConstants.START_ELEMENT
+              && xml.getLocalName().equals("Relationship")
+              && relationId.equals(xml.getAttributeValue(null, "Id"))) {
+            String target = xml.getAttributeValue(null, "Target");
+            return target.startsWith("/") ? target.substring(1) : "xl/" + target;
+          }
+        }
+      } finally {
+        xml.close();
+      }
+    }
+    return DEFAULT_SHEET;
+  }
+
+  private List<String> readSharedStrings() throws IOException, XMLStreamException {
+    List<String> strings = new ArrayList<>();
+    ZipEntry entry = zip.getEntry("xl/sharedStrings.xml");
+    if (entry == null) {
+      return strings;
+    }
+    try (InputStream in = zip.getInputStream(entry)) {
+      XMLStreamReader xml = xmlFactory().createXMLStreamReader(in);
+      StringBuilder item = new StringBuilder();
+      boolean inText = false;
+      int phoneticDepth = 0;
+      while (xml.hasNext()) {
+        int event = xml.next();
+        if (event == XMLStreamConstants.START_ELEMENT) {
+          switch (xml.getLocalName()) {
+            case "si" -> item.setLength(0);
+            case "rPh" -> phoneticDepth++;
+            case "t" -> inText = phoneticDepth == 0;
+            default -> {
+            }
+          }
+        } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+          if (inText) {
+            item.append(xml.getText());
+          }
+        } else if (event == XMLStreamConstants.END_ELEMENT) {
+          switch (xml.getLocalName()) {
+            case "si" -> strings.add(item.toString());
+            case "rPh" -> phoneticDepth--;
+            case "t" -> inText = false;
+            default -> {
+            }
+          }
+        }
+      }
+      xml.close();
+    }
+    return strings;
+  }
+
+  private boolean[] readDateStyles() throws IOException, XMLStreamException {
+    ZipEntry entry = zip.getEntry("xl/styles.xml");
+    if (entry == null) {
+      return new boolean[0];
+    }
+    Map<Integer, Boolean> customFormats = new HashMap<>();
+    List<Boolean> styles = new ArrayList<>();
+    try (InputStream in = zip.getInputStream(entry)) {
+      XMLStreamReader xml = xmlFactory().createXMLStreamReader(in);
+      boolean inCellXfs = false;
+      while (xml.hasNext()) {
+        int event = xml.next();
+        if (event == XMLStreamConstants.START_ELEMENT) {
+          String name = xml.getLocalName();
+          if (name.equals("numFmt")) {
+            customFormats.put(Integer.parseInt(xml.getAttributeValue(null, "numFmtId")),
+                isDateFormat(xml.getAttributeValue(null, "formatCode")));
+          } else if (name.equals("cellXfs")) {
+            inCellXfs = true;
+          } else if (name.equals("xf") && inCellXfs) {
+            String id = xml.getAttributeValue(null, "numFmtId");
+            int formatId = id != null ? Integer.parseInt(id) : 0;
+            styles.add(customFormats.getOrDefault(formatId, isBuiltInDateFormat(formatId)));
+          }
+        } else if (event == XMLStreamConstants.END_ELEMENT && xml.getLocalName().equals("cellXfs")) {
+          inCellXfs = false;
+        }
+      }
+      xml.close();
+    }
+    boolean[] dates = new boolean[styles.size()];
+    for (int i = 0; i < dates.length; i++) {
+      dates[i] = styles.get(i);
+    }
+    return dates;
+  }
+
+  private static boolean isBuiltInDateFormat(int id) {
+    return (id >= 14 && id <= 22) || (id >= 27 && id <= 36) || (id >= 45 && id <= 47) || (id >= 50 && id <= 58);
+  }
+
+  /**
+   * Whether a custom number format shows a date or time, ignoring quoted literals, escaped
+   * characters and bracketed sections such as colours.
+   */
+  static boolean isDateFormat(String code) {
+    if (code == null) {
+      return false;
+    }
+    boolean quoted = false;
+    boolean bracket = false;
+    for (int i = 0; i < code.length(); i++) {
+      char c = code.charAt(i);
+      if (quoted) {
+        quoted = c != '"';
+      } else if (bracket) {
+        bracket = c != ']';
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == '[') {
+        bracket = true;
+      } else if (c == '\\') {
+        i++;
+      } else if ("yYmMdDhHsS".indexOf(c) >= 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static XMLInputFactory xmlFactory() {
+    XMLInputFactory factory = XMLInputFactory.newFactory();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+    return factory;
+  }
+}
@@ -0,0 +1,71 @@
+package com.myqyl.aitradex.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for LeaderElectedLiquibase coordination; the migration itself is not run.
+ */
+class LeaderElectedLiquibaseTest {
+
+  @Test
+  void leaderMode_waitsForTheLockHolderAndSkipsMigrating() throws Exception {
+    List<String> statements = new ArrayList<>();
+    LeaderElectedLiquibase liquibase = new LeaderElectedLiquibase(LeaderElectedLiquibase.Mode.LEADER);
+    liquibase.setDataSource(dataSource(statements, false));
+
+    liquibase.afterPropertiesSet();
+
+    assertEquals(LeaderElectedLiquibase.Outcome.WAITED_FOR_LEADER, liquibase.getOutcome());
+    assertEquals(List.of("select pg_try_advisory_lock(?)", "select pg_advisory_lock(?)",
+        "select pg_advisory_unlock(?)"), statements);
+  }
+
+  @Test
+  void skipMode_neverTouchesTheDatabase() throws Exception {
+    DataSource dataSource = mock(DataSource.class);
+    LeaderElectedLiquibase liquibase = new LeaderElectedLiquibase(LeaderElectedLiquibase.Mode.SKIP);
+    liquibase.setDataSource(dataSource);
+
+    liquibase.afterPropertiesSet();
+
+    assertEquals(LeaderElectedLiquibase.Outcome.SKIPPED, liquibase.getOutcome());
+    verifyNoInteractions(dataSource);
+  }
+
+  @Test
+  void disabled_reportsDisabled() throws Exception {
+    LeaderElectedLiquibase liquibase = new LeaderElectedLiquibase(LeaderElectedLiquibase.Mode.LEADER);
+    liquibase.setShouldRun(false);
+
+    liquibase.afterPropertiesSet();
+
+    assertEquals(LeaderElectedLiquibase.Outcome.DISABLED, liquibase.getOutcome());
+  }
+
+  private static DataSource dataSource(List<String> statements, boolean lockAvailable) throws Exception {
+    DataSource dataSource = mock(DataSource.class);
+    Connection connection = mock(Connection.class);
+    when(dataSource.getConnection()).thenReturn(connection);
+    when(connection.prepareStatement(anyString())).thenAnswer(invocation -> {
+      String sql = invocation.getArgument(0);
+      statements.add(sql);
+      PreparedStatement statement = mock(PreparedStatement.class);
+      ResultSet rs = mock(ResultSet.class);
+      when(rs.next()).thenReturn(true);
+      when(rs.getBoolean(1)).thenReturn(!sql.contains("try") || lockAvailable);
+      when(statement.executeQuery()).thenReturn(rs);
+      return statement;
+    });
+    return dataSource;
+  }
+}
@@ -0,0 +1,94 @@
+package com.myqyl.aitradex.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Unit tests for read-only routing, fallback and the replica lag check.
+ */
+class ReadReplicaRoutingDataSourceTest {
+
+  private final DataSource primary = mock(DataSource.class);
+  private final DataSource replica = mock(DataSource.class);
+  private final Connection primaryConnection = mock(Connection.class);
+  private final Connection replicaConnection = mock(Connection.class);
+  private ReadReplicaRoutingDataSource routing;
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    when(primary.getConnection()).thenReturn(primaryConnection);
+    when(replica.getConnection()).thenReturn(replicaConnection);
+    routing = new ReadReplicaRoutingDataSource(primary, replica);
+    routing.afterPropertiesSet();
+  }
+
+  @AfterEach
+  void tearDown() {
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+  }
+
+  @Test
+  void getConnection_routesOnlyReadOnlyTransactionsToTheReplica() throws SQLException {
+    assertSame(primaryConnection, routing.getConnection());
+
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    assertSame(replicaConnection, routing.getConnection());
+    assertEquals(1, routing.primaryConnections());
+    assertEquals(1, routing.replicaConnections());
+  }
+
+  @Test
+  void getConnection_fallsBackToThePrimaryAndTakesTheReplicaOutOfRotation() throws SQLException {
+    when(replica.getConnection()).thenThrow(new SQLException("connection refused"));
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+    assertSame(primaryConnection, routing.getConnection());
+    assertFalse(routing.isReplicaAvailable());
+    assertSame(primaryConnection, routing.getConnection());
+    assertEquals(1, routing.fallbacks());
+  }
+
+  @Test
+  void check_removesALaggingReplicaAndRestoresItOnceCaughtUp() throws SQLException {
+    ResultSet rs = mock(ResultSet.class);
+    Statement statement = mock(Statement.class);
+    when(replicaConnection.createStatement()).thenReturn(statement);
+    when(statement.executeQuery(ReplicaLagMonitor.LAG_QUERY)).thenReturn(rs);
+    when(rs.next()).thenReturn(true);
+    when(rs.getDouble(1)).thenReturn(5.0, 0.2);
+    ReadReplicaProperties properties = new ReadReplicaProperties();
+    properties.setMaxLag(Duration.ofSeconds(2));
+    ReplicaLagMonitor monitor = new ReplicaLagMonitor(routing, properties, new SimpleMeterRegistry());
+
+    monitor.check();
+    assertFalse(routing.isReplicaAvailable());
+    assertEquals(5.0, monitor.lagSeconds());
+
+    monitor.check();
+    assertTrue(routing.isReplicaAvailable());
+  }
+
+  @Test
+  void check_marksAnUnreachableReplicaUnavailable() throws SQLException {
+    when(replica.getConnection()).thenThrow(new SQLException("timeout"));
+    ReplicaLagMonitor monitor =
+        new ReplicaLagMonitor(routing, new ReadReplicaProperties(), new SimpleMeterRegistry());
+
+    monitor.check();
+
+    assertFalse(routing.isReplicaAvailable());
+    assertTrue(Double.isNaN(monitor.lagSeconds()));
+  }
+}
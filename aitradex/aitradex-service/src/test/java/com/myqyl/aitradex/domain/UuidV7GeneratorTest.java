@@ -0,0 +1,45 @@
+package com.myqyl.aitradex.domain;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for UuidV7Generator layout and ordering.
+ */
+class UuidV7GeneratorTest {
+
+  @Test
+  void next_setsVersionSevenAndRfcVariant() {
+    UUID id = UuidV7Generator.next();
+
+    assertEquals(7, id.version());
+    assertEquals(2, id.variant());
+  }
+
+  @Test
+  void next_embedsTheCurrentUnixMillis() {
+    long now = System.currentTimeMillis();
+    UUID id = UuidV7Generator.next();
+
+    // A preceding burst may have pushed the timestamp slightly past the wall clock
+    long millis = id.getMostSignificantBits() >>> 16;
+    assertTrue(Math.abs(millis - now) < 1000, "timestamp " + millis + " vs " + now);
+  }
+
+  @Test
+  void next_isStrictlyIncreasingAndUniqueWithinABurst() {
+    Set<UUID> seen = new HashSet<>();
+    UUID previous = UuidV7Generator.next();
+    for (int i = 0; i < 100_000; i++) {
+      UUID id = UuidV7Generator.next();
+      assertTrue(Long.compareUnsigned(id.getMostSignificantBits(), previous.getMostSignificantBits()) > 0,
+          "ids must sort in generation order");
+      assertTrue(seen.add(id));
+      previous = id;
+    }
+  }
+}
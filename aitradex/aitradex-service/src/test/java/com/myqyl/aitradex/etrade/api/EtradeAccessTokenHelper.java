@@ -59,7 +59,7 @@ public class EtradeAccessTokenHelper {
       // Actually, we need to catch the exception or modify approach
       // For now, let's use a mock repository approach or catch the save exception
       EtradeOAuthService oauthService = new EtradeOAuthService(
-          properties, authorizationApi, tokenEncryption, null);
+          properties, authorizationApi, tokenEncryption, null, null);
 
       // Step 1: Get request token
       UUID testUserId = UUID.randomUUID();
@@ -0,0 +1,34 @@
+package com.myqyl.aitradex.etrade.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the endpoint tag EtradeApiClient attaches to request metrics.
+ */
+class EtradeApiClientMetricsTest {
+
+  private static final String BASE = "https://apisb.etrade.com";
+
+  @Test
+  void endpointOf_replacesAccountKeysAndOrderIds() {
+    assertEquals("/v1/accounts/{id}/portfolio",
+        EtradeApiClient.endpointOf(BASE + "/v1/accounts/dBZOKt9xDrtRSAOl4MSiiA/portfolio"));
+    assertEquals("/v1/accounts/{id}/orders/{id}/change/preview",
+        EtradeApiClient.endpointOf(BASE + "/v1/accounts/dBZOKt9xDrtRSAOl4MSiiA/orders/482/change/preview"));
+    assertEquals("/v1/accounts/list", EtradeApiClient.endpointOf(BASE + "/v1/accounts/list.json"));
+  }
+
+  @Test
+  void endpointOf_replacesFreeFormInput() {
+    assertEquals("/v1/market/quote/{id}", EtradeApiClient.endpointOf(BASE + "/v1/market/quote/AAPL,MSFT"));
+    assertEquals("/v1/market/lookup/{id}", EtradeApiClient.endpointOf(BASE + "/v1/market/lookup/apple"));
+    assertEquals("/oauth/request_token", EtradeApiClient.endpointOf(BASE + "/oauth/request_token"));
+  }
+
+  @Test
+  void endpointOf_toleratesUnparseableUrls() {
+    assertEquals("unparseable", EtradeApiClient.endpointOf(BASE + "/v1/market/lookup/bank of america"));
+  }
+}
@@ -0,0 +1,52 @@
+package com.myqyl.aitradex.etrade.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * Unit tests for EtradeLazyInitPostProcessor.
+ */
+class EtradeLazyInitPostProcessorTest {
+
+  @Test
+  void disabled_marksEtradeBeansAndControllersLazy() {
+    DefaultListableBeanFactory beanFactory = beanFactory();
+
+    process(beanFactory, "false");
+
+    assertTrue(beanFactory.getBeanDefinition("etradeService").isLazyInit());
+    assertTrue(beanFactory.getBeanDefinition("etradeController").isLazyInit());
+    assertFalse(beanFactory.getBeanDefinition("orderService").isLazyInit());
+  }
+
+  @Test
+  void enabled_leavesBeansEager() {
+    DefaultListableBeanFactory beanFactory = beanFactory();
+
+    process(beanFactory, "true");
+
+    assertFalse(beanFactory.getBeanDefinition("etradeService").isLazyInit());
+    assertFalse(beanFactory.getBeanDefinition("etradeController").isLazyInit());
+  }
+
+  private static void process(DefaultListableBeanFactory beanFactory, String enabled) {
+    EtradeLazyInitPostProcessor processor = new EtradeLazyInitPostProcessor();
+    processor.setEnvironment(new MockEnvironment().withProperty("app.etrade.enabled", enabled));
+    processor.postProcessBeanFactory(beanFactory);
+  }
+
+  private static DefaultListableBeanFactory beanFactory() {
+    DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+    beanFactory.registerBeanDefinition("etradeService",
+        new RootBeanDefinition("com.myqyl.aitradex.etrade.service.EtradeQuoteService"));
+    beanFactory.registerBeanDefinition("etradeController",
+        new RootBeanDefinition("com.myqyl.aitradex.api.controller.EtradeQuoteController"));
+    beanFactory.registerBeanDefinition("orderService",
+        new RootBeanDefinition("com.myqyl.aitradex.service.OrderService"));
+    return beanFactory;
+  }
+}
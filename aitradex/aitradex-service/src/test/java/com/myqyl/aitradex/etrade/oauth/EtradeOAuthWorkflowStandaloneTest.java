@@ -74,7 +74,7 @@ class EtradeOAuthWorkflowStandaloneTest {
         properties, oauthTemplate, null);
     
     // Create OAuth service with mocked repository (we won't use it for steps 1-2)
-    oauthService = new EtradeOAuthService(properties, authorizationApi, tokenEncryption, null);
+    oauthService = new EtradeOAuthService(properties, authorizationApi, tokenEncryption, null, null);
     
     log.info("Running OAuth workflow standalone tests against E*TRADE sandbox: {}", properties.getBaseUrl());
     log.info("Consumer Key: {}", maskKey(properties.getConsumerKey()));
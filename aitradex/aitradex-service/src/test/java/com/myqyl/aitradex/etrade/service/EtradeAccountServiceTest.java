@@ -0,0 +1,108 @@
+package com.myqyl.aitradex.etrade.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myqyl.aitradex.etrade.accounts.dto.AccountPortfolioDto;
+import com.myqyl.aitradex.etrade.accounts.dto.PortfolioResponse;
+import com.myqyl.aitradex.etrade.accounts.dto.PositionDto;
+import com.myqyl.aitradex.etrade.client.EtradeAccountClient;
+import com.myqyl.aitradex.etrade.client.EtradeApiClientAccountAPI;
+import com.myqyl.aitradex.etrade.domain.EtradePortfolioPosition;
+import com.myqyl.aitradex.etrade.domain.EtradeTransaction;
+import com.myqyl.aitradex.etrade.repository.EtradeAccountRepository;
+import com.myqyl.aitradex.etrade.repository.EtradeBalanceRepository;
+import com.myqyl.aitradex.etrade.repository.EtradePortfolioPositionRepository;
+import com.myqyl.aitradex.etrade.repository.EtradeTransactionRepository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * Unit tests for the bulk portfolio and transaction reconciliation in EtradeAccountService.
+ */
+class EtradeAccountServiceTest {
+
+  private EtradeApiClientAccountAPI accountsApi;
+  private EtradePortfolioPositionRepository positionRepository;
+  private EtradeTransactionRepository transactionRepository;
+  private EtradeAccountService service;
+
+  @BeforeEach
+  void setUp() {
+    accountsApi = mock(EtradeApiClientAccountAPI.class);
+    positionRepository = mock(EtradePortfolioPositionRepository.class);
+    transactionRepository = mock(EtradeTransactionRepository.class);
+    service = new EtradeAccountService(
+        mock(EtradeAccountRepository.class),
+        accountsApi,
+        mock(EtradeAccountClient.class),
+        mock(EtradeBalanceRepository.class),
+        transactionRepository,
+        positionRepository,
+        new ObjectMapper());
+  }
+
+  @Test
+  void getAccountPortfolio_loadsExistingPositionsOnceAndSavesInOneBatch() {
+    UUID accountId = UUID.randomUUID();
+    List<PositionDto> positions = new ArrayList<>();
+    for (long i = 1; i <= 500; i++) {
+      PositionDto dto = new PositionDto();
+      dto.setPositionId(i);
+      dto.setQuantity(10.0);
+      positions.add(dto);
+    }
+    AccountPortfolioDto portfolio = new AccountPortfolioDto();
+    portfolio.setPositions(positions);
+    when(accountsApi.viewPortfolio(eq(accountId), eq("key"), any()))
+        .thenReturn(new PortfolioResponse(List.of(portfolio)));
+
+    EtradePortfolioPosition existing = new EtradePortfolioPosition();
+    existing.setId(UUID.randomUUID());
+    existing.setAccountId(accountId);
+    existing.setPositionId(1L);
+    when(positionRepository.findByAccountIdAndPositionIdIn(eq(accountId), anyCollection()))
+        .thenReturn(List.of(existing));
+
+    service.getAccountPortfolio(accountId, "key");
+
+    verify(positionRepository, times(1)).findByAccountIdAndPositionIdIn(eq(accountId), anyCollection());
+    verify(positionRepository, never()).findByAccountIdAndPositionId(any(), any());
+    verify(positionRepository, never()).save(any());
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Collection<EtradePortfolioPosition>> saved = ArgumentCaptor.forClass(Collection.class);
+    verify(positionRepository, times(1)).saveAll(saved.capture());
+    assertEquals(500, saved.getValue().size());
+    assertTrue(saved.getValue().contains(existing));
+    assertEquals(1, saved.getValue().stream().filter(p -> p.getId() != null).count());
+  }
+
+  @Test
+  void upsertTransactions_countsOnlyTransactionsNotStoredBefore() {
+    UUID accountId = UUID.randomUUID();
+    EtradeTransaction existing = new EtradeTransaction();
+    existing.setAccountId(accountId);
+    existing.setTransactionId("1");
+    when(transactionRepository.findByTransactionIdIn(anyList())).thenReturn(List.of(existing));
+
+    int inserted = service.upsertTransactions(accountId, List.of(
+        Map.of("transactionId", "1", "transactionDate", 1000L),
+        Map.of("transactionId", "2", "transactionDate", 2000L),
+        Map.of("transactionId", "2", "transactionDate", 2000L)));
+
+    assertEquals(1, inserted);
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Collection<EtradeTransaction>> saved = ArgumentCaptor.forClass(Collection.class);
+    verify(transactionRepository).saveAll(saved.capture());
+    assertEquals(2, saved.getValue().size());
+  }
+}
@@ -0,0 +1,84 @@
+package com.myqyl.aitradex.etrade.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.myqyl.aitradex.etrade.config.EtradeProperties;
+import com.myqyl.aitradex.etrade.domain.EtradeOrder;
+import com.myqyl.aitradex.etrade.repository.EtradeOrderRepository;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for adaptive open-order polling in EtradeOrderTrackingService.
+ */
+class EtradeOrderTrackingServiceTest {
+
+  private static final Instant NOW = Instant.parse("2026-03-02T15:00:00Z");
+
+  private final UUID accountId = UUID.randomUUID();
+  private EtradeOrderRepository orderRepository;
+  private EtradeOrderService orderService;
+  private EtradeProperties.OrderTracking config;
+  private EtradeOrderTrackingService service;
+
+  @BeforeEach
+  void setUp() {
+    orderRepository = mock(EtradeOrderRepository.class);
+    orderService = mock(EtradeOrderService.class);
+    config = new EtradeProperties.OrderTracking();
+    config.setRequestsPerSecond(0);
+    service = new EtradeOrderTrackingService(orderRepository, orderService, config, Clock.fixed(NOW, ZoneOffset.UTC));
+  }
+
+  @Test
+  void pollInterval_growsWithOrderAgeWithinBounds() {
+    assertEquals(Duration.ofSeconds(2), EtradeOrderTrackingService.pollInterval(Duration.ofSeconds(5), config));
+    assertEquals(Duration.ofSeconds(30), EtradeOrderTrackingService.pollInterval(Duration.ofMinutes(5), config));
+    assertEquals(Duration.ofSeconds(60), EtradeOrderTrackingService.pollInterval(Duration.ofHours(3), config));
+  }
+
+  @Test
+  void pollOpenOrders_pollsFreshOrdersAndSchedulesNextCheck() {
+    when(orderRepository.findByOrderStatusInAndEtradeOrderIdIsNotNull(anyCollection()))
+        .thenReturn(List.of(order(NOW.minusSeconds(3)), order(NOW.minus(Duration.ofDays(2)))));
+
+    service.pollOpenOrders();
+    service.pollOpenOrders();
+
+    // Oldest open order is from 02/28 New York time; one day of slack gives 02/27
+    verify(orderService, times(1)).refreshOrders(accountId, "KEY", "02272026");
+    assertEquals(NOW.plusSeconds(2), service.nextPollAt(accountId));
+  }
+
+  @Test
+  void pollOpenOrders_forgetsAccountsWithoutOpenOrders() {
+    when(orderRepository.findByOrderStatusInAndEtradeOrderIdIsNotNull(anyCollection()))
+        .thenReturn(List.of(order(NOW.minusSeconds(3))))
+        .thenReturn(List.of());
+
+    service.pollOpenOrders();
+    service.pollOpenOrders();
+
+    verify(orderService, times(1)).refreshOrders(eq(accountId), eq("KEY"), anyString());
+    assertNull(service.nextPollAt(accountId));
+  }
+
+  private EtradeOrder order(Instant placedAt) {
+    EtradeOrder order = new EtradeOrder();
+    order.setAccountId(accountId);
+    order.setAccountIdKey("KEY");
+    order.setEtradeOrderId(UUID.randomUUID().toString());
+    order.setOrderStatus("OPEN");
+    order.setPlacedAt(OffsetDateTime.ofInstant(placedAt, ZoneOffset.UTC));
+    return order;
+  }
+}
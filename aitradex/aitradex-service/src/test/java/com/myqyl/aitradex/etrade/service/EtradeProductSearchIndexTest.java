@@ -0,0 +1,81 @@
+package com.myqyl.aitradex.etrade.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.myqyl.aitradex.etrade.domain.EtradeLookupProduct;
+import com.myqyl.aitradex.etrade.market.dto.LookupProductDto;
+import com.myqyl.aitradex.etrade.repository.EtradeLookupProductRepository;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the in-memory lookup product prefix index.
+ */
+class EtradeProductSearchIndexTest {
+
+  private EtradeLookupProductRepository repository;
+  private EtradeProductSearchIndex index;
+
+  @BeforeEach
+  void setUp() {
+    repository = mock(EtradeLookupProductRepository.class);
+    when(repository.findAll()).thenReturn(List.of(
+        product("AAPL", "EQUITY", "Apple Inc"),
+        product("AA", "EQUITY", "Alcoa Corp"),
+        product("MSFT", "EQUITY", "Microsoft Corp")));
+    index = new EtradeProductSearchIndex(repository);
+    index.load();
+  }
+
+  @Test
+  void search_ranksExactSymbolBeforeLongerPrefixes() {
+    List<String> symbols = index.search("aa", 10).stream().map(LookupProductDto::getSymbol).toList();
+
+    assertEquals(List.of("AA", "AAPL"), symbols);
+  }
+
+  @Test
+  void search_ordersEachPassByShortestMatchingTerm() {
+    index.indexAll(List.of(
+        product("AB", "EQUITY", "AB Holdings"),
+        product("A", "EQUITY", "Agilent Technologies"),
+        product("XYZ", "EQUITY", "Amalgamated Alloys"),
+        product("LONGSYM", "EQUITY", "Al Group")));
+
+    List<String> symbols = index.search("a", 10).stream().map(LookupProductDto::getSymbol).toList();
+
+    assertEquals(List.of("A", "AA", "AB", "AAPL", "LONGSYM", "XYZ"), symbols);
+    assertEquals(List.of("A", "AA", "AB", "AAPL", "LONGSYM"),
+        index.search("a", 5).stream().map(LookupProductDto::getSymbol).toList());
+  }
+
+  @Test
+  void search_matchesDescriptionWords() {
+    List<String> symbols = index.search("corp", 10).stream().map(LookupProductDto::getSymbol).toList();
+
+    assertEquals(2, symbols.size());
+    assertTrue(symbols.containsAll(List.of("AA", "MSFT")));
+    assertTrue(index.search("zzz", 10).isEmpty());
+    assertTrue(index.search("  ", 10).isEmpty());
+  }
+
+  @Test
+  void indexAll_replacesDescriptionTerms() {
+    index.indexAll(List.of(product("MSFT", "EQUITY", "Microsoft Corporation")));
+
+    assertEquals(3, index.size());
+    assertEquals(List.of("AA"), index.search("corp ", 1).stream().map(LookupProductDto::getSymbol).toList());
+    assertEquals("Microsoft Corporation", index.search("corporation", 10).get(0).getDescription());
+    assertTrue(index.search("micro", 10).stream().anyMatch(p -> p.getSymbol().equals("MSFT")));
+  }
+
+  private static EtradeLookupProduct product(String symbol, String type, String description) {
+    EtradeLookupProduct product = new EtradeLookupProduct();
+    product.setSymbol(symbol);
+    product.setProductType(type);
+    product.setDescription(description);
+    return product;
+  }
+}
@@ -0,0 +1,158 @@
+package com.myqyl.aitradex.etrade.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.myqyl.aitradex.etrade.client.EtradeAccountClient;
+import com.myqyl.aitradex.etrade.config.EtradeProperties;
+import com.myqyl.aitradex.etrade.domain.EtradeAccount;
+import com.myqyl.aitradex.etrade.domain.EtradeTransactionSyncState;
+import com.myqyl.aitradex.etrade.repository.EtradeAccountRepository;
+import com.myqyl.aitradex.etrade.repository.EtradeTransactionSyncStateRepository;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Unit tests for EtradeTransactionBackfillService marker walking and checkpointing.
+ */
+class EtradeTransactionBackfillServiceTest {
+
+  private final UUID accountId = UUID.randomUUID();
+  private EtradeAccountClient accountClient;
+  private EtradeAccountService accountService;
+  private EtradeTransactionSyncStateRepository syncStateRepository;
+  private EtradeTransactionBackfillService service;
+  private EtradeTransactionSyncState state;
+  private final Set<String> storedIds = new HashSet<>();
+
+  @BeforeEach
+  void setUp() {
+    EtradeAccountRepository accountRepository = mock(EtradeAccountRepository.class);
+    EtradeAccount account = new EtradeAccount();
+    account.setId(accountId);
+    account.setAccountIdKey("KEY");
+    when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
+
+    state = new EtradeTransactionSyncState();
+    state.setAccountId(accountId);
+    syncStateRepository = mock(EtradeTransactionSyncStateRepository.class);
+    when(syncStateRepository.findByAccountId(accountId)).thenAnswer(inv -> Optional.of(state));
+    when(syncStateRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+    accountClient = mock(EtradeAccountClient.class);
+    accountService = mock(EtradeAccountService.class);
+    when(accountService.upsertTransactions(eq(accountId), anyList())).thenAnswer(inv -> {
+      List<Map<String, Object>> transactions = inv.getArgument(1);
+      return (int) transactions.stream().filter(txn -> storedIds.add((String) txn.get("transactionId"))).count();
+    });
+
+    EtradeProperties.TransactionSync config = new EtradeProperties.TransactionSync();
+    config.setGlobalRequestsPerSecond(0);
+    config.setPerAccountMinInterval(Duration.ZERO);
+
+    service = new EtradeTransactionBackfillService(accountRepository, syncStateRepository, accountClient,
+        accountService, new TransactionTemplate(mock(PlatformTransactionManager.class)), config,
+        Executors.newSingleThreadExecutor());
+  }
+
+  @Test
+  void backfillAccount_walksMarkersUntilNoMorePages() {
+    when(accountClient.getTransactions(eq(accountId), eq("KEY"), isNull(), anyInt(), any(), any(), any(), any(), any()))
+        .thenReturn(page(true, "m1", txn("1", 2000L), txn("2", 1900L)));
+    when(accountClient.getTransactions(eq(accountId), eq("KEY"), eq("m1"), anyInt(), any(), any(), any(), any(), any()))
+        .thenReturn(page(false, null, txn("3", 1800L)));
+
+    service.backfillAccount(accountId);
+
+    verify(accountService, times(2)).upsertTransactions(eq(accountId), anyList());
+    assertEquals(EtradeTransactionSyncState.STATUS_BACKFILLED, state.getStatus());
+    assertEquals(2, state.getPagesFetched());
+    assertEquals(3, state.getTransactionsSynced());
+    assertEquals(2000L, state.getNewestTransactionDate());
+    assertNull(state.getBackfillMarker());
+    assertNotNull(state.getBackfillCompletedAt());
+  }
+
+  @Test
+  void backfillAccount_resumesFromCheckpointMarker() {
+    state.setStatus(EtradeTransactionSyncState.STATUS_BACKFILLING);
+    state.setBackfillMarker("m5");
+    when(accountClient.getTransactions(eq(accountId), eq("KEY"), eq("m5"), anyInt(), any(), any(), any(), any(), any()))
+        .thenReturn(page(false, null, txn("9", 1000L)));
+
+    service.backfillAccount(accountId);
+
+    verify(accountClient, never())
+        .getTransactions(eq(accountId), eq("KEY"), isNull(), anyInt(), any(), any(), any(), any(), any());
+    assertEquals(EtradeTransactionSyncState.STATUS_BACKFILLED, state.getStatus());
+  }
+
+  @Test
+  void backfillAccount_failureKeepsLastCommittedMarker() {
+    when(accountClient.getTransactions(eq(accountId), eq("KEY"), isNull(), anyInt(), any(), any(), any(), any(), any()))
+        .thenReturn(page(true, "m1", txn("1", 2000L)));
+    when(accountClient.getTransactions(eq(accountId), eq("KEY"), eq("m1"), anyInt(), any(), any(), any(), any(), any()))
+        .thenThrow(new RuntimeException("429 Too Many Requests"));
+
+    service.backfillAccount(accountId);
+
+    assertEquals(EtradeTransactionSyncState.STATUS_FAILED, state.getStatus());
+    assertEquals("m1", state.getBackfillMarker());
+    assertEquals("429 Too Many Requests", state.getLastError());
+  }
+
+  @Test
+  void deltaSyncAccount_countsOnlyNewTransactionsAcrossOverlappingWindows() {
+    state.setStatus(EtradeTransactionSyncState.STATUS_BACKFILLED);
+    state.setNewestTransactionDate(2000L);
+    state.setTransactionsSynced(2);
+    storedIds.addAll(List.of("1", "2"));
+    when(accountClient.getTransactions(eq(accountId), eq("KEY"), isNull(), anyInt(), notNull(), notNull(), any(), any(), any()))
+        .thenReturn(page(false, null, txn("2", 2000L), txn("3", 2100L)))
+        .thenReturn(page(false, null, txn("2", 2000L), txn("3", 2100L), txn("4", 2200L)));
+
+    service.deltaSyncAccount(accountId);
+    service.deltaSyncAccount(accountId);
+
+    verify(accountService, times(2)).upsertTransactions(eq(accountId), anyList());
+    assertEquals(4, state.getTransactionsSynced());
+    assertEquals(2200L, state.getNewestTransactionDate());
+    assertEquals(EtradeTransactionSyncState.STATUS_BACKFILLED, state.getStatus());
+    assertNotNull(state.getLastDeltaSyncAt());
+  }
+
+  @Test
+  void nextMarker_fallsBackToNextUrl() {
+    assertEquals("abc", EtradeTransactionBackfillService.nextMarker(
+        Map.of("next", "https://api.etrade.com/v1/accounts/K/transactions?marker=abc&count=50")));
+    assertEquals("xyz", EtradeTransactionBackfillService.nextMarker(Map.of("marker", "xyz", "next", "ignored")));
+    assertNull(EtradeTransactionBackfillService.nextMarker(Map.of()));
+  }
+
+  @SafeVarargs
+  private static Map<String, Object> page(boolean more, String marker, Map<String, Object>... transactions) {
+    Map<String, Object> result = new HashMap<>();
+    result.put("moreTransactions", more);
+    if (marker != null) {
+      result.put("marker", marker);
+    }
+    result.put("transactions", List.of(transactions));
+    return result;
+  }
+
+  private static Map<String, Object> txn(String id, Long date) {
+    return Map.of("transactionId", id, "transactionDate", date);
+  }
+}
@@ -0,0 +1,62 @@
+package com.myqyl.aitradex.etrade.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.myqyl.aitradex.etrade.domain.EtradeOptionChainSnapshot;
+import com.myqyl.aitradex.etrade.market.dto.OptionDto;
+import com.myqyl.aitradex.etrade.market.dto.OptionGreeksDto;
+import com.myqyl.aitradex.etrade.market.dto.OptionPairDto;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the columnar option chain encoding.
+ */
+class OptionChainColumnsTest {
+
+  @Test
+  void apply_sortsByStrikeAndKeepsArraysAligned() {
+    OptionPairDto high = pair(110.0, option(110.0, 1.2, 0.35), null);
+    OptionPairDto low = pair(null, option(90.0, 11.5, 0.9), option(90.0, 0.4, -0.1));
+    OptionPairDto noStrike = pair(null, null, null);
+
+    EtradeOptionChainSnapshot snapshot = new EtradeOptionChainSnapshot();
+    int count = OptionChainColumns.apply(snapshot, List.of(high, noStrike, low));
+
+    assertEquals(2, count);
+    assertEquals(2, snapshot.getStrikeCount());
+    assertArrayEquals(new Double[] {90.0, 110.0}, snapshot.getStrikes());
+    assertArrayEquals(new Double[] {11.5, 1.2}, snapshot.getCallBid());
+    assertArrayEquals(new Double[] {0.9, 0.35}, snapshot.getCallDelta());
+    assertArrayEquals(new Double[] {0.4, null}, snapshot.getPutBid());
+    assertArrayEquals(new Double[] {-0.1, null}, snapshot.getPutDelta());
+    assertArrayEquals(new Double[] {null, null}, snapshot.getCallGamma());
+  }
+
+  @Test
+  void apply_withoutPairsWritesEmptyArrays() {
+    EtradeOptionChainSnapshot snapshot = new EtradeOptionChainSnapshot();
+
+    assertEquals(0, OptionChainColumns.apply(snapshot, null));
+    assertEquals(0, snapshot.getStrikes().length);
+    assertEquals(0, snapshot.getPutVega().length);
+  }
+
+  private static OptionPairDto pair(Double strike, OptionDto call, OptionDto put) {
+    OptionPairDto pair = new OptionPairDto();
+    pair.setStrikePrice(strike);
+    pair.setCall(call);
+    pair.setPut(put);
+    return pair;
+  }
+
+  private static OptionDto option(double strike, double bid, double delta) {
+    OptionDto option = new OptionDto();
+    option.setStrikePrice(strike);
+    option.setBid(bid);
+    OptionGreeksDto greeks = new OptionGreeksDto();
+    greeks.setDelta(delta);
+    option.setOptionGreeks(greeks);
+    return option;
+  }
+}
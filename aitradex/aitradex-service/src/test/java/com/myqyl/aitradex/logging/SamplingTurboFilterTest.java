@@ -0,0 +1,68 @@
+package com.myqyl.aitradex.logging;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for SamplingTurboFilter category matching and rates.
+ */
+class SamplingTurboFilterTest {
+
+  private final LoggerContext context = new LoggerContext();
+  private final SamplingTurboFilter filter = new SamplingTurboFilter();
+
+  @BeforeEach
+  void setUp() {
+    context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.DEBUG);
+    filter.setContext(context);
+    filter.setRates("com.example.Streams.deliveries=10, com.example.persist=4");
+    filter.start();
+  }
+
+  @Test
+  void decide_keepsOneInNForTheCategoryAndItsChildren() {
+    assertEquals(10, kept("com.example.Streams.deliveries", Level.DEBUG, 100));
+    assertEquals(25, kept("com.example.persist.Quotes", Level.INFO, 100));
+  }
+
+  @Test
+  void decide_leavesOtherLoggersAndWarningsAlone() {
+    assertEquals(100, kept("com.example.Streams", Level.DEBUG, 100));
+    assertEquals(100, kept("com.example.Streams.deliveries", Level.WARN, 100));
+  }
+
+  @Test
+  void decide_doesNotCountEventsBelowTheLoggerLevel() {
+    Logger logger = context.getLogger("com.example.Streams.deliveries");
+    logger.setLevel(Level.INFO);
+    for (int i = 0; i < 5; i++) {
+      filter.decide(null, logger, Level.DEBUG, "tick", null, null);
+    }
+
+    assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.INFO, "tick", null, null));
+  }
+
+  @Test
+  void setRates_ignoresMalformedEntries() {
+    filter.setRates("=5,com.example.persist=abc,com.example.persist");
+
+    assertEquals(10, kept("com.example.persist", Level.INFO, 10));
+  }
+
+  private int kept(String loggerName, Level level, int events) {
+    Logger logger = context.getLogger(loggerName);
+    int kept = 0;
+    for (int i = 0; i < events; i++) {
+      if (filter.decide(null, logger, level, "event", null, null) != FilterReply.DENY) {
+        kept++;
+      }
+    }
+    return kept;
+  }
+}
@@ -0,0 +1,105 @@
+package com.myqyl.aitradex.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myqyl.aitradex.api.dto.MarketDataQuoteDto;
+import com.myqyl.aitradex.event.AccountChangedEvent;
+import com.myqyl.aitradex.event.ClusterEvent;
+import com.myqyl.aitradex.event.EntityCacheEvictedEvent;
+import com.myqyl.aitradex.event.QuoteTickEvent;
+import com.myqyl.aitradex.event.TokenInvalidatedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for ClusterEventBus coalescing, payload packing and delivery.
+ */
+class ClusterEventBusTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+  private final List<Object> delivered = new ArrayList<>();
+  private ClusterEventBus nodeA;
+  private ClusterEventBus nodeB;
+
+  @BeforeEach
+  void setUp() {
+    nodeA = bus("node-a", new ArrayList<>());
+    nodeB = bus("node-b", delivered);
+  }
+
+  @Test
+  void publish_coalescesBurstsPerKeyToTheLatestEvent() {
+    UUID account = UUID.randomUUID();
+    nodeA.publish(quote("AAPL", "190.10"));
+    nodeA.publish(quote("AAPL", "190.25"));
+    nodeA.publish(new AccountChangedEvent(account));
+    nodeA.publish(new AccountChangedEvent(account));
+    nodeA.publish(new TokenInvalidatedEvent(account));
+
+    List<ClusterEvent> events = nodeA.drain();
+
+    assertEquals(3, events.size());
+    QuoteTickEvent tick = (QuoteTickEvent) events.stream()
+        .filter(QuoteTickEvent.class::isInstance).findFirst().orElseThrow();
+    assertEquals(new BigDecimal("190.25"), tick.quote().close());
+    assertEquals(0, nodeA.pending());
+  }
+
+  @Test
+  void deliver_republishesOtherReplicasEventsLocally() {
+    UUID account = UUID.randomUUID();
+    UUID user = UUID.randomUUID();
+    List<String> payloads = nodeA.pack(List.of(quote("MSFT", "410.00"), new AccountChangedEvent(account),
+        new EntityCacheEvictedEvent("User", user)));
+
+    payloads.forEach(nodeB::deliver);
+
+    assertEquals(3, delivered.size());
+    assertEquals(quote("MSFT", "410.00"), delivered.get(0));
+    assertEquals(new AccountChangedEvent(account), delivered.get(1));
+    assertEquals(new EntityCacheEvictedEvent("User", user), delivered.get(2));
+  }
+
+  @Test
+  void deliver_ignoresOwnNotifications() {
+    nodeB.pack(List.of(new AccountChangedEvent(UUID.randomUUID()))).forEach(nodeB::deliver);
+
+    assertTrue(delivered.isEmpty());
+  }
+
+  @Test
+  void pack_splitsBatchesUnderTheNotifyPayloadLimit() {
+    List<ClusterEvent> events = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      events.add(quote("SYM" + i, "10.00"));
+    }
+
+    List<String> payloads = nodeA.pack(events);
+
+    assertTrue(payloads.size() > 1);
+    payloads.forEach(payload -> assertTrue(
+        payload.getBytes(StandardCharsets.UTF_8).length <= ClusterEventBus.MAX_PAYLOAD_BYTES));
+    payloads.forEach(nodeB::deliver);
+    assertEquals(200, delivered.size());
+  }
+
+  private ClusterEventBus bus(String nodeId, List<Object> sink) {
+    return new ClusterEventBus(() -> null, objectMapper, sink::add, nodeId, new SimpleMeterRegistry(),
+        true, "aitradex_events", 50);
+  }
+
+  private static QuoteTickEvent quote(String symbol, String close) {
+    MarketDataQuoteDto quote = new MarketDataQuoteDto(symbol, OffsetDateTime.parse("2026-03-02T15:00:00Z"),
+        null, null, null, new BigDecimal(close), 1000L, "alphavantage");
+    return new QuoteTickEvent("alphavantage", quote, Instant.parse("2026-03-02T15:00:01Z"));
+  }
+}
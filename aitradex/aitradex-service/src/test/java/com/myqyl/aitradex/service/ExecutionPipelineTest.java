@@ -0,0 +1,191 @@
+package com.myqyl.aitradex.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.myqyl.aitradex.repository.AccountRepository;
+import com.myqyl.aitradex.repository.PositionRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Unit tests for per-account ordering and failure isolation in ExecutionPipeline.
+ */
+class ExecutionPipelineTest {
+
+  private ExecutionPipeline pipeline;
+  private PlatformTransactionManager transactionManager;
+
+  @BeforeEach
+  void setUp() {
+    transactionManager = mock(PlatformTransactionManager.class);
+    when(transactionManager.getTransaction(any())).thenAnswer(inv -> new SimpleTransactionStatus());
+    pipeline = new ExecutionPipeline(
+        new TransactionTemplate(transactionManager),
+        mock(AccountRepository.class),
+        mock(PositionRepository.class),
+        3, 16, 10_000);
+  }
+
+  @AfterEach
+  void tearDown() {
+    pipeline.shutdown();
+  }
+
+  @Test
+  void submit_appliesEachAccountsTasksSequentiallyInOrder() throws Exception {
+    UUID[] accounts = {UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()};
+    // Unsynchronized state is safe only if every task for an account runs on one thread in order
+    List<List<Integer>> applied = new ArrayList<>();
+    long[] counters = new long[accounts.length];
+    for (int i = 0; i < accounts.length; i++) {
+      applied.add(new ArrayList<>());
+    }
+
+    ExecutorService producers = Executors.newFixedThreadPool(accounts.length);
+    List<CompletableFuture<?>> futures = new ArrayList<>();
+    List<Future<?>> submitted = new ArrayList<>();
+    for (int a = 0; a < accounts.length; a++) {
+      int account = a;
+      submitted.add(producers.submit(() -> {
+        for (int seq = 0; seq < 2_000; seq++) {
+          int value = seq;
+          CompletableFuture<Long> future = pipeline.submit(accounts[account], book -> {
+            applied.get(account).add(value);
+            return ++counters[account];
+          });
+          synchronized (futures) {
+            futures.add(future);
+          }
+        }
+      }));
+    }
+    for (Future<?> f : submitted) {
+      f.get(10, TimeUnit.SECONDS);
+    }
+    CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+    producers.shutdown();
+
+    for (int a = 0; a < accounts.length; a++) {
+      assertEquals(2_000, counters[a]);
+      for (int seq = 0; seq < 2_000; seq++) {
+        assertEquals(Integer.valueOf(seq), applied.get(a).get(seq));
+      }
+    }
+  }
+
+  @Test
+  void execute_failingTaskDoesNotAffectOthersInBatch() {
+    UUID accountId = UUID.randomUUID();
+    CompletableFuture<String> first = pipeline.submit(accountId, book -> "ok");
+    IllegalStateException ex = assertThrows(IllegalStateException.class,
+        () -> pipeline.execute(accountId, book -> {
+          throw new IllegalStateException("Insufficient cash balance for order");
+        }));
+
+    assertEquals("Insufficient cash balance for order", ex.getMessage());
+    assertEquals("ok", first.join());
+    assertEquals(Integer.valueOf(42), pipeline.execute(accountId, book -> 42));
+  }
+
+  @Test
+  void execute_rollsBackABatchWithAFailedTaskAndRerunsEachTaskAlone() throws Exception {
+    UUID accountId = UUID.randomUUID();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<Boolean> blocker = pipeline.submit(accountId, book -> {
+      started.countDown();
+      try {
+        return release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException ex) {
+        throw new IllegalStateException(ex);
+      }
+    });
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    AtomicInteger firstRuns = new AtomicInteger();
+    CompletableFuture<Integer> first = pipeline.submit(accountId, book -> firstRuns.incrementAndGet());
+    CompletableFuture<Object> failing = pipeline.submit(accountId, book -> {
+      throw new IllegalStateException("Insufficient cash balance for order");
+    });
+    CompletableFuture<String> last = pipeline.submit(accountId, book -> "ok");
+    release.countDown();
+
+    assertTrue(blocker.get(5, TimeUnit.SECONDS));
+    assertEquals(Integer.valueOf(2), first.get(5, TimeUnit.SECONDS));
+    assertEquals("ok", last.get(5, TimeUnit.SECONDS));
+    assertTrue(assertThrows(Exception.class, failing::join).getCause() instanceof IllegalStateException);
+    // The batch of three and the failing task on its own are marked rollback-only; nothing else is
+    ArgumentCaptor<TransactionStatus> statuses = ArgumentCaptor.forClass(TransactionStatus.class);
+    verify(transactionManager, times(5)).commit(statuses.capture());
+    assertEquals(List.of(false, true, false, true, false),
+        statuses.getAllValues().stream().map(TransactionStatus::isRollbackOnly).toList());
+  }
+
+  @Test
+  void await_cancelsATimedOutTaskThatHasNotStartedSoItNeverRuns() throws Exception {
+    ExecutionPipeline shortTimeout = new ExecutionPipeline(
+        new TransactionTemplate(transactionManager), mock(AccountRepository.class), mock(PositionRepository.class),
+        1, 16, 100);
+    try {
+      UUID accountId = UUID.randomUUID();
+      CountDownLatch started = new CountDownLatch(1);
+      CountDownLatch release = new CountDownLatch(1);
+      CompletableFuture<Boolean> blocker = shortTimeout.submit(accountId, book -> {
+        started.countDown();
+        try {
+          return release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+          throw new IllegalStateException(ex);
+        }
+      });
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+      AtomicInteger runs = new AtomicInteger();
+
+      IllegalStateException ex = assertThrows(IllegalStateException.class,
+          () -> shortTimeout.execute(accountId, book -> runs.incrementAndGet()));
+      release.countDown();
+
+      assertTrue(ex.getMessage().endsWith("it was not applied"));
+      assertTrue(blocker.get(5, TimeUnit.SECONDS));
+      assertEquals(Integer.valueOf(7), shortTimeout.execute(accountId, book -> 7));
+      assertEquals(0, runs.get());
+    } finally {
+      shortTimeout.shutdown();
+    }
+  }
+
+  @Test
+  void await_waitsForATimedOutTaskThatHasAlreadyStarted() {
+    ExecutionPipeline shortTimeout = new ExecutionPipeline(
+        new TransactionTemplate(transactionManager), mock(AccountRepository.class), mock(PositionRepository.class),
+        1, 16, 50);
+    try {
+      String result = shortTimeout.execute(UUID.randomUUID(), book -> {
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(200));
+        return "applied";
+      });
+
+      assertEquals("applied", result);
+    } finally {
+      shortTimeout.shutdown();
+    }
+  }
+}
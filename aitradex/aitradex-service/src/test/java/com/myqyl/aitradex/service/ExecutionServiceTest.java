@@ -0,0 +1,76 @@
+package com.myqyl.aitradex.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.myqyl.aitradex.api.dto.CreateExecutionRequest;
+import com.myqyl.aitradex.domain.Account;
+import com.myqyl.aitradex.domain.Order;
+import com.myqyl.aitradex.domain.OrderSide;
+import com.myqyl.aitradex.domain.OrderStatus;
+import com.myqyl.aitradex.repository.AccountRepository;
+import com.myqyl.aitradex.repository.ExecutionRepository;
+import com.myqyl.aitradex.repository.OrderRepository;
+import com.myqyl.aitradex.repository.PositionRepository;
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for incremental fill totals in ExecutionService.
+ */
+class ExecutionServiceTest {
+
+  private ExecutionRepository executionRepository;
+  private Order order;
+  private ExecutionService service;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    Account account = Account.builder().id(UUID.randomUUID()).cashBalance(new BigDecimal("10000")).build();
+    order = Order.builder()
+        .id(UUID.randomUUID())
+        .account(account)
+        .symbol("AAPL")
+        .side(OrderSide.BUY)
+        .status(OrderStatus.NEW)
+        .quantity(new BigDecimal("30"))
+        .filledQuantity(BigDecimal.ZERO)
+        .build();
+
+    executionRepository = mock(ExecutionRepository.class);
+    when(executionRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+    OrderRepository orderRepository = mock(OrderRepository.class);
+    when(orderRepository.findAccountIdById(order.getId())).thenReturn(Optional.of(account.getId()));
+    when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+    AccountRepository accountRepository = mock(AccountRepository.class);
+    when(accountRepository.findById(account.getId())).thenReturn(Optional.of(account));
+    PositionRepository positionRepository = mock(PositionRepository.class);
+    when(positionRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+    ExecutionPipeline pipeline = mock(ExecutionPipeline.class);
+    when(pipeline.execute(any(), any())).thenAnswer(inv ->
+        ((Function<ExecutionBook, ?>) inv.getArgument(1)).apply(new ExecutionBook(accountRepository, positionRepository)));
+
+    service = new ExecutionService(executionRepository, orderRepository, pipeline, mock(PreTradeRiskEngine.class));
+  }
+
+  @Test
+  void create_maintainsFilledQuantityAndAveragePriceWithoutRereadingExecutions() {
+    service.create(new CreateExecutionRequest(order.getId(), new BigDecimal("100"), new BigDecimal("10"), "TEST", null));
+    assertEquals(OrderStatus.PARTIALLY_FILLED, order.getStatus());
+
+    service.create(new CreateExecutionRequest(order.getId(), new BigDecimal("103"), new BigDecimal("20"), "TEST", null));
+
+    assertEquals(0, new BigDecimal("30").compareTo(order.getFilledQuantity()));
+    assertEquals(0, new BigDecimal("102").compareTo(order.getAvgFillPrice()));
+    assertEquals(OrderStatus.FILLED, order.getStatus());
+    assertNotNull(order.getFilledAt());
+    verify(executionRepository, never()).findByOrderIdOrderByExecutedAtDesc(any());
+  }
+}
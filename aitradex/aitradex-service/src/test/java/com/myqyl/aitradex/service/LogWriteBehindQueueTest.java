@@ -0,0 +1,142 @@
+package com.myqyl.aitradex.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.myqyl.aitradex.api.dto.LogPageDto;
+import com.myqyl.aitradex.domain.Account;
+import com.myqyl.aitradex.domain.ActorType;
+import com.myqyl.aitradex.domain.AuditLog;
+import com.myqyl.aitradex.domain.TradeLog;
+import com.myqyl.aitradex.repository.AccountRepository;
+import com.myqyl.aitradex.repository.AuditLogRepository;
+import com.myqyl.aitradex.repository.TradeLogRepository;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Unit tests for the trade/audit log write-behind queue and keyset cursors.
+ */
+class LogWriteBehindQueueTest {
+
+  private final UUID accountId = UUID.randomUUID();
+  private final UUID missingAccountId = UUID.randomUUID();
+  private final List<TradeLog> savedTrades = new ArrayList<>();
+  private final List<AuditLog> savedAudits = new ArrayList<>();
+  private TradeLogRepository tradeLogRepository;
+  private AuditLogRepository auditLogRepository;
+  private AccountRepository accountRepository;
+
+  @BeforeEach
+  void setUp() {
+    tradeLogRepository = mock(TradeLogRepository.class);
+    auditLogRepository = mock(AuditLogRepository.class);
+    accountRepository = mock(AccountRepository.class);
+    when(accountRepository.getReferenceById(any())).thenAnswer(inv ->
+        Account.builder().id(inv.getArgument(0)).build());
+    when(tradeLogRepository.saveAll(anyList())).thenAnswer(inv -> {
+      List<TradeLog> logs = inv.getArgument(0);
+      if (logs.stream().anyMatch(log -> log.getAccount().getId().equals(missingAccountId))) {
+        throw new IllegalStateException("fk_trade_logs_account");
+      }
+      savedTrades.addAll(logs);
+      return logs;
+    });
+    when(auditLogRepository.saveAll(anyList())).thenAnswer(inv -> {
+      savedAudits.addAll(inv.getArgument(0));
+      return inv.getArgument(0);
+    });
+  }
+
+  @Test
+  void flush_writesQueuedEntriesInBatches() {
+    LogWriteBehindQueue queue = queue(10, 2);
+    queue.appendTrade(accountId, "BUY", "entry", "{\"symbol\":\"AAPL\"}");
+    queue.appendTrade(accountId, "SELL", "exit", null);
+    queue.appendAudit(audit("STOP_LOSS_TRIGGERED"));
+
+    assertEquals(3, queue.pending());
+    verifyNoInteractions(tradeLogRepository, auditLogRepository);
+
+    assertEquals(2, queue.flush());
+    assertEquals(1, queue.flush());
+    assertEquals(0, queue.flush());
+
+    verify(tradeLogRepository, times(1)).saveAll(anyList());
+    assertEquals(List.of("BUY", "SELL"), savedTrades.stream().map(TradeLog::getAction).toList());
+    assertEquals("{\"symbol\":\"AAPL\"}", savedTrades.get(0).getMetadata());
+    assertNotNull(savedTrades.get(0).getOccurredAt());
+    assertEquals(1, savedAudits.size());
+    assertEquals(3, queue.written());
+  }
+
+  @Test
+  void flush_retriesFailedBatchPerEntryAndDropsOnlyTheBadOne() {
+    LogWriteBehindQueue queue = queue(10, 10);
+    queue.appendTrade(accountId, "BUY", null, null);
+    queue.appendTrade(missingAccountId, "BUY", null, null);
+    queue.appendAudit(audit("UPLOAD_VALIDATED"));
+
+    assertEquals(3, queue.flush());
+
+    assertEquals(1, savedTrades.size());
+    assertEquals(accountId, savedTrades.get(0).getAccount().getId());
+    assertEquals(1, savedAudits.size());
+    assertEquals(2, queue.written());
+    assertEquals(1, queue.dropped());
+  }
+
+  @Test
+  void append_writesOnCallerThreadWhenQueueIsFull() {
+    LogWriteBehindQueue queue = queue(1, 10);
+    queue.appendTrade(accountId, "BUY", null, null);
+    queue.appendTrade(accountId, "SELL", null, null);
+
+    assertEquals(1, queue.pending());
+    assertEquals(List.of("SELL"), savedTrades.stream().map(TradeLog::getAction).toList());
+  }
+
+  @Test
+  void cursor_pagesFromLastReturnedRow() {
+    OffsetDateTime at = OffsetDateTime.parse("2025-07-07T14:30:00.123456-04:00");
+    UUID first = UUID.randomUUID();
+    UUID second = UUID.randomUUID();
+    List<LogCursor> rows = List.of(
+        new LogCursor(at, first), new LogCursor(at, second), new LogCursor(at.minusSeconds(1), UUID.randomUUID()));
+
+    LogPageDto<UUID> page = LogCursor.page(rows, 2, row -> row, LogCursor::id);
+
+    assertEquals(List.of(first, second), page.items());
+    assertEquals(new LogCursor(at, second), LogCursor.start(page.nextCursor(), null));
+    assertNull(LogCursor.page(rows, 3, row -> row, LogCursor::id).nextCursor());
+    assertEquals(LogCursor.LATEST, LogCursor.start(null, null).occurredAt());
+    assertThrows(IllegalArgumentException.class, () -> LogCursor.decode("not-a-cursor"));
+    assertThrows(IllegalArgumentException.class, () -> LogCursor.limit(LogCursor.MAX_LIMIT + 1));
+  }
+
+  private LogWriteBehindQueue queue(int capacity, int batchSize) {
+    return new LogWriteBehindQueue(
+        tradeLogRepository,
+        auditLogRepository,
+        accountRepository,
+        mock(PlatformTransactionManager.class),
+        capacity,
+        batchSize,
+        50);
+  }
+
+  private static AuditLog audit(String action) {
+    return AuditLog.builder()
+        .actor("system")
+        .actorType(ActorType.SYSTEM)
+        .action(action)
+        .entityRef("position:" + UUID.randomUUID())
+        .build();
+  }
+}
@@ -0,0 +1,154 @@
+package com.myqyl.aitradex.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.myqyl.aitradex.api.dto.BulkResultDto;
+import com.myqyl.aitradex.api.dto.CreateOrderRequest;
+import com.myqyl.aitradex.api.dto.MarketDataQuoteDto;
+import com.myqyl.aitradex.api.dto.OrderDto;
+import com.myqyl.aitradex.api.dto.UpdateOrderStatusRequest;
+import com.myqyl.aitradex.config.RiskProperties;
+import com.myqyl.aitradex.domain.Account;
+import com.myqyl.aitradex.domain.Order;
+import com.myqyl.aitradex.domain.OrderSide;
+import com.myqyl.aitradex.domain.OrderSource;
+import com.myqyl.aitradex.domain.OrderStatus;
+import com.myqyl.aitradex.domain.OrderType;
+import com.myqyl.aitradex.domain.Position;
+import com.myqyl.aitradex.exception.NotFoundException;
+import com.myqyl.aitradex.repository.AccountRepository;
+import com.myqyl.aitradex.repository.OrderRepository;
+import com.myqyl.aitradex.repository.PositionRepository;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Unit tests for bulk order placement and status changes in OrderService.
+ */
+class OrderServiceTest {
+
+  private Account account;
+  private OrderRepository orderRepository;
+  private MarketDataService marketDataService;
+  private ExecutionPipeline pipeline;
+  private OrderService service;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    account = Account.builder().id(UUID.randomUUID()).cashBalance(new BigDecimal("1000")).build();
+    AccountRepository accountRepository = mock(AccountRepository.class);
+    when(accountRepository.findById(account.getId())).thenReturn(Optional.of(account));
+    when(accountRepository.findIdsByIdIn(anyCollection())).thenReturn(Set.of(account.getId()));
+
+    PositionRepository positionRepository = mock(PositionRepository.class);
+    Position msft = Position.builder().account(account).symbol("MSFT").quantity(new BigDecimal("5"))
+        .costBasis(new BigDecimal("300")).build();
+
+    orderRepository = mock(OrderRepository.class);
+    when(orderRepository.save(any(Order.class))).thenAnswer(inv -> {
+      Order order = inv.getArgument(0);
+      order.setId(UUID.randomUUID());
+      return order;
+    });
+
+    marketDataService = mock(MarketDataService.class);
+    when(marketDataService.latestQuotes(anyCollection())).thenReturn(Map.of("AAPL", quote("AAPL", "100"), "MSFT", quote("MSFT", "400")));
+
+    pipeline = mock(ExecutionPipeline.class);
+    when(pipeline.submit(any(), any())).thenAnswer(inv -> CompletableFuture.completedFuture(
+        ((Function<ExecutionBook, ?>) inv.getArgument(1)).apply(new ExecutionBook(accountRepository, positionRepository))));
+    when(pipeline.await(any(), any())).thenAnswer(inv -> ((CompletableFuture<?>) inv.getArgument(1)).join());
+    when(pipeline.execute(any(), any())).thenAnswer(inv ->
+        ((Function<ExecutionBook, ?>) inv.getArgument(1)).apply(new ExecutionBook(accountRepository, positionRepository)));
+
+    when(positionRepository.findByAccountIdAndClosedAtIsNullOrderByOpenedAtDesc(account.getId()))
+        .thenReturn(List.of(msft));
+    PreTradeRiskEngine riskEngine =
+        new PreTradeRiskEngine(accountRepository, positionRepository, orderRepository, new RiskProperties(),
+            ClusterEventBus.inProcess());
+
+    service = new OrderService(orderRepository, accountRepository, marketDataService, pipeline,
+        mock(ApplicationEventPublisher.class), riskEngine);
+  }
+
+  @Test
+  void createAll_checksOrdersAgainstOneCumulativeSnapshot() {
+    BulkResultDto<OrderDto> result = service.createAll(List.of(
+        order(OrderSide.BUY, OrderType.MARKET, "AAPL", "6", null),
+        order(OrderSide.BUY, OrderType.LIMIT, "IBM", "2", "250"),
+        order(OrderSide.SELL, OrderType.MARKET, "MSFT", "3", null),
+        order(OrderSide.SELL, OrderType.LIMIT, "MSFT", "3", "400"),
+        order(OrderSide.BUY, OrderType.LIMIT, "IBM", "1", "350")));
+
+    assertEquals(5, result.submitted());
+    assertEquals(3, result.succeeded());
+    assertTrue(result.items().get(0).success());
+    assertEquals("Insufficient cash balance for order", result.items().get(1).error());
+    assertTrue(result.items().get(2).success());
+    assertEquals("Order quantity exceeds available position size", result.items().get(3).error());
+    assertTrue(result.items().get(4).success());
+    for (int i = 0; i < 5; i++) {
+      assertEquals(i, result.items().get(i).index());
+    }
+
+    verify(marketDataService).latestQuotes(Set.of("AAPL", "MSFT"));
+    verify(marketDataService, never()).latestQuote(any());
+    verify(pipeline, times(1)).submit(eq(account.getId()), any());
+    verify(orderRepository, times(3)).save(any(Order.class));
+    assertEquals(0, new BigDecimal("1000").compareTo(account.getCashBalance()));
+  }
+
+  @Test
+  void createAll_reportsInvalidItemsWithoutFailingTheBatch() {
+    UUID unknownAccount = UUID.randomUUID();
+    BulkResultDto<OrderDto> result = service.createAll(List.of(
+        new CreateOrderRequest(unknownAccount, "AAPL", OrderSide.BUY, OrderType.LIMIT, OrderSource.AUTOMATION,
+            new BigDecimal("10"), null, BigDecimal.ONE, null),
+        order(OrderSide.BUY, OrderType.LIMIT, "AAPL", "0", "10"),
+        order(OrderSide.BUY, OrderType.LIMIT, "AAPL", "1", "10")));
+
+    assertEquals(1, result.succeeded());
+    assertEquals("Account %s not found".formatted(unknownAccount), result.items().get(0).error());
+    assertEquals("Order quantity must be positive", result.items().get(1).error());
+    assertTrue(result.items().get(2).success());
+  }
+
+  @Test
+  void updateStatus_runsOnTheOrdersAccountPartition() {
+    Order order = Order.builder().id(UUID.randomUUID()).account(account).symbol("AAPL").side(OrderSide.BUY)
+        .type(OrderType.LIMIT).status(OrderStatus.NEW).limitPrice(BigDecimal.TEN).quantity(BigDecimal.ONE).build();
+    when(orderRepository.findAccountIdById(order.getId())).thenReturn(Optional.of(account.getId()));
+    when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+    doReturn(order).when(orderRepository).save(order);
+
+    OrderDto updated = service.updateStatus(order.getId(),
+        new UpdateOrderStatusRequest(OrderStatus.CANCELLED, null, null, "user cancel"));
+
+    assertEquals(OrderStatus.CANCELLED, updated.status());
+    assertEquals("user cancel", updated.notes());
+    verify(pipeline).execute(eq(account.getId()), any());
+    assertThrows(NotFoundException.class, () -> service.updateStatus(UUID.randomUUID(),
+        new UpdateOrderStatusRequest(OrderStatus.CANCELLED, null, null, null)));
+  }
+
+  private CreateOrderRequest order(OrderSide side, OrderType type, String symbol, String quantity, String limit) {
+    return new CreateOrderRequest(account.getId(), symbol, side, type, OrderSource.AUTOMATION,
+        limit != null ? new BigDecimal(limit) : null, null, new BigDecimal(quantity), null);
+  }
+
+  private static MarketDataQuoteDto quote(String symbol, String close) {
+    return new MarketDataQuoteDto(symbol, null, null, null, null, new BigDecimal(close), null, "test");
+  }
+}
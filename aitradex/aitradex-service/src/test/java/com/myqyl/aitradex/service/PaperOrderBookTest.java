@@ -0,0 +1,91 @@
+package com.myqyl.aitradex.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.myqyl.aitradex.domain.OrderSide;
+import com.myqyl.aitradex.domain.OrderType;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for paper order book matching and the paper fill model.
+ */
+class PaperOrderBookTest {
+
+  private static final PaperFillModel NO_SLIPPAGE = new PaperFillModel(BigDecimal.ZERO, BigDecimal.ONE);
+
+  private final PaperOrderBook book = new PaperOrderBook("AAPL", 4);
+
+  @Test
+  void match_fillsOnlyLimitsThePriceCrossesBestFirst() {
+    UUID buy99 = add(OrderSide.BUY, OrderType.LIMIT, "99", null, "10");
+    UUID buy101 = add(OrderSide.BUY, OrderType.LIMIT, "101", null, "10");
+    UUID sell102 = add(OrderSide.SELL, OrderType.LIMIT, "102", null, "10");
+
+    List<PaperOrderBook.Fill> fills = book.match(new BigDecimal("100"), NO_SLIPPAGE);
+
+    assertEquals(1, fills.size());
+    assertEquals(buy101, fills.get(0).orderId());
+    assertEquals(0, new BigDecimal("100").compareTo(fills.get(0).price()));
+    assertTrue(fills.get(0).complete());
+    assertTrue(book.contains(buy99));
+    assertTrue(book.contains(sell102));
+    assertEquals(2, book.size());
+
+    fills = book.match(new BigDecimal("103"), NO_SLIPPAGE);
+    assertEquals(List.of(sell102), fills.stream().map(PaperOrderBook.Fill::orderId).toList());
+  }
+
+  @Test
+  void match_triggersStopsThenFillsStopLimitsAtTheirLimit() {
+    UUID sellStop = add(OrderSide.SELL, OrderType.STOP, null, "95", "5");
+    UUID buyStopLimit = add(OrderSide.BUY, OrderType.STOP_LIMIT, "106", "105", "5");
+
+    assertTrue(book.match(new BigDecimal("100"), NO_SLIPPAGE).isEmpty());
+
+    List<PaperOrderBook.Fill> fills = book.match(new BigDecimal("94"), NO_SLIPPAGE);
+    assertEquals(List.of(sellStop), fills.stream().map(PaperOrderBook.Fill::orderId).toList());
+
+    PaperFillModel slippage = new PaperFillModel(new BigDecimal("100"), BigDecimal.ONE);
+    fills = book.match(new BigDecimal("105"), slippage);
+    assertEquals(buyStopLimit, fills.get(0).orderId());
+    assertEquals(0, new BigDecimal("106").compareTo(fills.get(0).price()));
+    assertEquals(0, book.size());
+  }
+
+  @Test
+  void match_partialFillsLeaveTheRemainderResting() {
+    UUID market = add(OrderSide.BUY, OrderType.MARKET, null, null, "10");
+    PaperFillModel quarter = new PaperFillModel(new BigDecimal("10"), new BigDecimal("0.25"));
+
+    PaperOrderBook.Fill first = book.match(new BigDecimal("200"), quarter).get(0);
+    assertEquals(0, new BigDecimal("2").compareTo(first.quantity()));
+    assertEquals(0, new BigDecimal("200.2").compareTo(first.price()));
+    assertFalse(first.complete());
+
+    BigDecimal filled = first.quantity();
+    for (int i = 0; i < 4; i++) {
+      filled = filled.add(book.match(new BigDecimal("200"), quarter).get(0).quantity());
+    }
+    assertEquals(0, new BigDecimal("10").compareTo(filled));
+    assertFalse(book.contains(market));
+  }
+
+  @Test
+  void remove_dropsRestingOrder() {
+    UUID order = add(OrderSide.BUY, OrderType.LIMIT, "101", null, "1");
+
+    assertTrue(book.remove(order));
+    assertFalse(book.remove(order));
+    assertTrue(book.match(new BigDecimal("100"), NO_SLIPPAGE).isEmpty());
+  }
+
+  private UUID add(OrderSide side, OrderType type, String limit, String stop, String quantity) {
+    UUID id = UUID.randomUUID();
+    book.add(id, side, type, limit != null ? new BigDecimal(limit) : null, stop != null ? new BigDecimal(stop) : null,
+        new BigDecimal(quantity), new BigDecimal(quantity));
+    return id;
+  }
+}
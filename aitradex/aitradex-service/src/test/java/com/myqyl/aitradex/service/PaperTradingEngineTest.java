@@ -0,0 +1,98 @@
+package com.myqyl.aitradex.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.myqyl.aitradex.api.dto.BulkItemResult;
+import com.myqyl.aitradex.api.dto.BulkResultDto;
+import com.myqyl.aitradex.api.dto.ExecutionDto;
+import com.myqyl.aitradex.domain.Order;
+import com.myqyl.aitradex.domain.OrderSide;
+import com.myqyl.aitradex.domain.OrderStatus;
+import com.myqyl.aitradex.domain.OrderType;
+import com.myqyl.aitradex.repository.OrderRepository;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for PaperTradingEngine settlement and recovery of unrecorded fills.
+ */
+class PaperTradingEngineTest {
+
+  private final OrderRepository orderRepository = mock(OrderRepository.class);
+  private final ExecutionService executionService = mock(ExecutionService.class);
+  private final ExecutionPipeline executionPipeline = mock(ExecutionPipeline.class);
+  private final MarketDataService marketDataService = mock(MarketDataService.class);
+  private PaperTradingEngine engine;
+  private final UUID accountId = UUID.randomUUID();
+  private Order order;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    engine = new PaperTradingEngine(orderRepository, executionService, executionPipeline, marketDataService,
+        BigDecimal.ZERO, BigDecimal.ONE, 4, "", "PAPER");
+    order = Order.builder()
+        .id(UUID.randomUUID())
+        .symbol("AAPL")
+        .side(OrderSide.BUY)
+        .type(OrderType.LIMIT)
+        .status(OrderStatus.NEW)
+        .limitPrice(new BigDecimal("101"))
+        .quantity(BigDecimal.TEN)
+        .build();
+    when(orderRepository.findByStatusIn(anySet())).thenReturn(List.of(order));
+    when(orderRepository.findAllById(anyList())).thenReturn(List.of(order));
+    OrderRepository.OrderAccountRow row = mock(OrderRepository.OrderAccountRow.class);
+    when(row.getOrderId()).thenReturn(order.getId());
+    when(row.getAccountId()).thenReturn(accountId);
+    when(orderRepository.findAccountIdsByIdIn(anyCollection())).thenReturn(List.of(row));
+    when(executionPipeline.execute(eq(accountId), any()))
+        .thenAnswer(inv -> ((Function<ExecutionBook, ?>) inv.getArgument(1)).apply(null));
+    engine.load();
+  }
+
+  @Test
+  void onQuote_keepsTheOrderRestingWhenRecordingTheFillFails() {
+    when(executionService.createAll(anyList())).thenThrow(new IllegalStateException("database down"));
+
+    assertEquals(0, engine.onQuote("AAPL", new BigDecimal("100")));
+
+    assertEquals(1, engine.restingOrderCount());
+    doReturn(BulkResultDto.of(List.of(BulkItemResult.ok(0, null)))).when(executionService).createAll(anyList());
+    assertEquals(1, engine.onQuote("AAPL", new BigDecimal("100")));
+    assertEquals(0, engine.restingOrderCount());
+  }
+
+  @Test
+  void onQuote_dropsARejectedFillWhoseOrderIsNoLongerOpen() {
+    order.setStatus(OrderStatus.CANCELLED);
+    BulkResultDto<ExecutionDto> rejected = BulkResultDto.of(List.of(BulkItemResult.failed(0, "Order is cancelled")));
+    when(executionService.createAll(anyList())).thenReturn(rejected);
+
+    assertEquals(0, engine.onQuote("AAPL", new BigDecimal("100")));
+
+    assertEquals(0, engine.restingOrderCount());
+    verify(executionPipeline).execute(eq(accountId), any());
+  }
+
+  @Test
+  void onQuote_keepsAnOrderOffTheBookUntilItCanBeReloadedAfterPendingFills() {
+    when(executionService.createAll(anyList())).thenThrow(new IllegalStateException("database down"));
+    when(executionPipeline.execute(eq(accountId), any())).thenThrow(new IllegalStateException("Timed out"));
+
+    engine.onQuote("AAPL", new BigDecimal("100"));
+
+    assertEquals(0, engine.restingOrderCount());
+    verify(orderRepository, never()).findAllById(any());
+
+    doAnswer(inv -> List.of(order)).when(executionPipeline).execute(eq(accountId), any());
+    engine.tick();
+    assertEquals(1, engine.restingOrderCount());
+  }
+}
@@ -0,0 +1,164 @@
+package com.myqyl.aitradex.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.myqyl.aitradex.api.dto.RiskExposureDto;
+import com.myqyl.aitradex.config.RiskProperties;
+import com.myqyl.aitradex.domain.Account;
+import com.myqyl.aitradex.domain.Execution;
+import com.myqyl.aitradex.domain.Order;
+import com.myqyl.aitradex.domain.OrderSide;
+import com.myqyl.aitradex.domain.OrderStatus;
+import com.myqyl.aitradex.domain.OrderType;
+import com.myqyl.aitradex.domain.Position;
+import com.myqyl.aitradex.repository.AccountRepository;
+import com.myqyl.aitradex.repository.OrderRepository;
+import com.myqyl.aitradex.repository.PositionRepository;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Unit tests for PreTradeRiskEngine limits and incremental exposure.
+ */
+class PreTradeRiskEngineTest {
+
+  private Account account;
+  private RiskProperties limits;
+  private PreTradeRiskEngine engine;
+
+  @BeforeEach
+  void setUp() {
+    account = Account.builder().id(UUID.randomUUID()).cashBalance(new BigDecimal("10000")).build();
+    AccountRepository accountRepository = mock(AccountRepository.class);
+    when(accountRepository.findById(account.getId())).thenReturn(Optional.of(account));
+
+    PositionRepository positionRepository = mock(PositionRepository.class);
+    when(positionRepository.findByAccountIdAndClosedAtIsNullOrderByOpenedAtDesc(account.getId())).thenReturn(List.of(
+        Position.builder().account(account).symbol("MSFT").quantity(new BigDecimal("10"))
+            .costBasis(new BigDecimal("400")).build()));
+
+    OrderRepository orderRepository = mock(OrderRepository.class);
+    Order resting = order(OrderSide.BUY, "IBM", "10", "200");
+    resting.setId(UUID.randomUUID());
+    resting.setFilledQuantity(BigDecimal.ZERO);
+    when(orderRepository.findByAccountIdAndStatusIn(eq(account.getId()), anyCollection())).thenReturn(List.of(resting));
+
+    limits = new RiskProperties();
+    engine = new PreTradeRiskEngine(accountRepository, positionRepository, orderRepository, limits,
+        ClusterEventBus.inProcess(), Clock.fixed(Instant.parse("2026-03-02T15:00:00Z"), ZoneOffset.UTC));
+  }
+
+  @Test
+  void check_accountsForCashReservedByOpenOrders() {
+    // 10000 cash, 2000 already reserved by the resting IBM order.
+    engine.check(account.getId(), OrderSide.BUY, "AAPL", new BigDecimal("40"), new BigDecimal("8000"));
+    IllegalStateException ex = assertThrows(IllegalStateException.class,
+        () -> engine.check(account.getId(), OrderSide.BUY, "AAPL", new BigDecimal("41"), new BigDecimal("8200")));
+    assertEquals("Insufficient cash balance for order", ex.getMessage());
+
+    Order first = placed(OrderSide.BUY, "AAPL", "40", "200");
+    engine.reserve(first, new BigDecimal("8000"));
+    assertThrows(IllegalStateException.class,
+        () -> engine.check(account.getId(), OrderSide.BUY, "AAPL", BigDecimal.ONE, new BigDecimal("200")));
+  }
+
+  @Test
+  void onFill_movesReservationIntoPositionAndReleasesTheRest() {
+    Order buy = placed(OrderSide.BUY, "AAPL", "10", "100");
+    engine.reserve(buy, new BigDecimal("1000"));
+
+    buy.setStatus(OrderStatus.PARTIALLY_FILLED);
+    engine.onFill(buy, fill(buy, "95", "4"));
+    RiskExposureDto exposure = engine.exposureOf(account.getId());
+    assertEquals(0, new BigDecimal("9620").compareTo(exposure.cash()));
+    assertEquals(0, new BigDecimal("2600").compareTo(exposure.reservedCash()));
+    assertEquals(0, new BigDecimal("380").compareTo(exposure.notionalBySymbol().get("AAPL")));
+
+    engine.onOrderStatus(account.getId(), buy.getId(), OrderStatus.CANCELLED);
+    exposure = engine.exposureOf(account.getId());
+    assertEquals(0, new BigDecimal("2000").compareTo(exposure.reservedCash()));
+    assertEquals(1, exposure.openOrders());
+    assertEquals(0, new BigDecimal("4380").compareTo(exposure.grossNotional()));
+  }
+
+  @Test
+  void onOrderStatus_releasesOnlyOnceTheTransactionCommits() {
+    Order buy = placed(OrderSide.BUY, "AAPL", "10", "100");
+    engine.reserve(buy, new BigDecimal("1000"));
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      engine.onOrderStatus(account.getId(), buy.getId(), OrderStatus.CANCELLED);
+      assertEquals(0, new BigDecimal("3000").compareTo(engine.exposureOf(account.getId()).reservedCash()));
+
+      TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    assertEquals(0, new BigDecimal("2000").compareTo(engine.exposureOf(account.getId()).reservedCash()));
+  }
+
+  @Test
+  void check_enforcesConfiguredLimits() {
+    limits.setMaxOrderNotional(new BigDecimal("5000"));
+    limits.setMaxPositionPct(new BigDecimal("40"));
+    UUID accountId = account.getId();
+
+    assertThrows(IllegalStateException.class,
+        () -> engine.check(accountId, OrderSide.BUY, "AAPL", BigDecimal.TEN, new BigDecimal("5001")));
+    // MSFT is 4000 of 14000 equity; another 2000 takes it to 42.86%.
+    IllegalStateException pct = assertThrows(IllegalStateException.class,
+        () -> engine.check(accountId, OrderSide.BUY, "MSFT", new BigDecimal("5"), new BigDecimal("2000")));
+    assertTrue(pct.getMessage().contains("above the 40% limit"));
+
+    engine.reserve(placed(OrderSide.SELL, "MSFT", "6", "410"), new BigDecimal("2460"));
+    assertEquals("Order quantity exceeds available position size", assertThrows(IllegalStateException.class,
+        () -> engine.check(accountId, OrderSide.SELL, "MSFT", new BigDecimal("5"), new BigDecimal("2050"))).getMessage());
+
+    limits.setMaxOpenOrders(2);
+    assertEquals("Open order limit of 2 reached", assertThrows(IllegalStateException.class,
+        () -> engine.check(accountId, OrderSide.BUY, "AAPL", BigDecimal.ONE, BigDecimal.TEN)).getMessage());
+  }
+
+  @Test
+  void check_blocksBuysOnceDailyLossLimitIsReached() {
+    limits.setMaxDailyLoss(new BigDecimal("500"));
+    Order sell = placed(OrderSide.SELL, "MSFT", "10", "340");
+    engine.reserve(sell, new BigDecimal("3400"));
+    sell.setStatus(OrderStatus.FILLED);
+    engine.onFill(sell, fill(sell, "340", "10"));
+
+    assertEquals(0, new BigDecimal("-600").compareTo(engine.exposureOf(account.getId()).realizedPnlToday()));
+    assertThrows(IllegalStateException.class,
+        () -> engine.check(account.getId(), OrderSide.BUY, "AAPL", BigDecimal.ONE, BigDecimal.TEN));
+  }
+
+  private Order placed(OrderSide side, String symbol, String quantity, String limit) {
+    engine.check(account.getId(), side, symbol, new BigDecimal(quantity),
+        new BigDecimal(quantity).multiply(new BigDecimal(limit)));
+    Order order = order(side, symbol, quantity, limit);
+    order.setId(UUID.randomUUID());
+    order.setStatus(OrderStatus.NEW);
+    return order;
+  }
+
+  private Order order(OrderSide side, String symbol, String quantity, String limit) {
+    return Order.builder().account(account).symbol(symbol).side(side).type(OrderType.LIMIT)
+        .limitPrice(new BigDecimal(limit)).quantity(new BigDecimal(quantity)).build();
+  }
+
+  private static Execution fill(Order order, String price, String quantity) {
+    return Execution.builder().order(order).price(new BigDecimal(price)).quantity(new BigDecimal(quantity)).build();
+  }
+}
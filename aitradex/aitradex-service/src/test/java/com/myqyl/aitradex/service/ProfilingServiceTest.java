@@ -0,0 +1,106 @@
+package com.myqyl.aitradex.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.myqyl.aitradex.api.dto.RecordingDto;
+import com.myqyl.aitradex.exception.NotFoundException;
+import com.myqyl.aitradex.profiling.ProfilingTemplate;
+import com.myqyl.aitradex.profiling.StopLossRunEvent;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Unit tests for ProfilingService recording lifecycle, files and limits.
+ */
+class ProfilingServiceTest {
+
+  @TempDir
+  Path directory;
+
+  private ProfilingService service;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    service = new ProfilingService(directory, false, Duration.ofMinutes(5), DataSize.ofMegabytes(10),
+        Duration.ofMinutes(1), 2);
+    service.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    service.shutdown();
+  }
+
+  @Test
+  void stop_writesARecordingWithTheCustomEvents() throws Exception {
+    RecordingDto started = service.start(ProfilingTemplate.CPU, Duration.ofSeconds(30));
+    StopLossRunEvent event = new StopLossRunEvent();
+    event.begin();
+    event.finish("test", 3, 1);
+
+    RecordingDto stopped = service.stop(started.id());
+
+    assertEquals("STOPPED", stopped.state());
+    ProfilingService.RecordingFile file = service.file(started.id());
+    assertFalse(file.temporary());
+    List<RecordedEvent> events = RecordingFile.readAllEvents(file.path());
+    RecordedEvent run = events.stream()
+        .filter(recorded -> recorded.getEventType().getName().equals("com.myqyl.aitradex.StopLossRun"))
+        .findFirst()
+        .orElseThrow();
+    assertEquals(3, run.getInt("positions"));
+    assertNotNull(run.getStackTrace());
+  }
+
+  @Test
+  void file_dumpsARunningRecordingToATemporaryFile() throws Exception {
+    RecordingDto started = service.start(ProfilingTemplate.LOCKS, null);
+
+    ProfilingService.RecordingFile file = service.file(started.id());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    service.write(file, out);
+
+    assertTrue(file.temporary());
+    assertTrue(out.size() > 0);
+    assertFalse(Files.exists(file.path()));
+    assertEquals("RUNNING", service.list().get(0).state());
+  }
+
+  @Test
+  void start_capsTheDurationAndDropsTheOldestFinishedRecording() {
+    RecordingDto first = service.start(ProfilingTemplate.CPU, Duration.ofHours(2));
+    assertEquals(Duration.ofMinutes(1), Duration.between(first.startedAt(), first.stopsAt()));
+    service.stop(first.id());
+    RecordingDto second = service.start(ProfilingTemplate.ALLOCATION, Duration.ofSeconds(30));
+
+    RecordingDto third = service.start(ProfilingTemplate.LOCKS, Duration.ofSeconds(30));
+
+    assertEquals(List.of(second.id(), third.id()), service.list().stream().map(RecordingDto::id).toList());
+    assertThrows(IllegalStateException.class, () -> service.start(ProfilingTemplate.CPU, null));
+  }
+
+  @Test
+  void continuousFile_requiresTheContinuousRecording() {
+    assertThrows(NotFoundException.class, () -> service.continuousFile());
+    assertThrows(NotFoundException.class, () -> service.file(12345L));
+  }
+
+  @Test
+  void settings_keepContinuousEventsCheapAndOnDemandEventsComplete() {
+    assertEquals("20 ms", ProfilingTemplate.CONTINUOUS.settings().get("com.myqyl.aitradex.QuoteFetch#threshold"));
+    assertEquals("false", ProfilingTemplate.CONTINUOUS.settings().get("com.myqyl.aitradex.StopLossRun#stackTrace"));
+    assertEquals("0 ms", ProfilingTemplate.CONTINUOUS.settings().get("com.myqyl.aitradex.SnapshotRun#threshold"));
+    assertEquals("0 ms", ProfilingTemplate.CPU.settings().get("com.myqyl.aitradex.QuoteFetch#threshold"));
+    assertEquals("10 ms", ProfilingTemplate.CPU.settings().get("jdk.ExecutionSample#period"));
+  }
+}
@@ -0,0 +1,108 @@
+package com.myqyl.aitradex.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.myqyl.aitradex.config.SchedulerClusterProperties;
+import com.myqyl.aitradex.repository.SchedulerNodeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for scheduler leases and the consistent-hash account split.
+ */
+class SchedulerClusterTest {
+
+  private final AtomicLong nanos = new AtomicLong(1_000_000_000L);
+  private final List<UUID> accounts = new ArrayList<>();
+  private SchedulerNodeRepository nodeRepository;
+  private SchedulerClusterProperties properties;
+
+  @BeforeEach
+  void setUp() {
+    for (int i = 0; i < 3000; i++) {
+      accounts.add(new UUID(i * 7919L, i));
+    }
+    nodeRepository = mock(SchedulerNodeRepository.class);
+    properties = new SchedulerClusterProperties();
+    properties.setLeaseTtl(Duration.ofSeconds(20));
+  }
+
+  @Test
+  void ring_splitsAccountsEvenlyAndMovesOnlyTheDepartedNodesShare() {
+    ConsistentHashRing three = ConsistentHashRing.of(List.of("a", "b", "c"), 128);
+    ConsistentHashRing two = ConsistentHashRing.of(List.of("a", "b"), 128);
+
+    Map<String, Integer> load = new HashMap<>();
+    int moved = 0;
+    for (UUID account : accounts) {
+      String before = three.ownerOf(account.toString());
+      load.merge(before, 1, Integer::sum);
+      String after = two.ownerOf(account.toString());
+      if (!before.equals("c")) {
+        assertEquals(before, after, "accounts on surviving nodes must stay put");
+      } else {
+        moved++;
+      }
+    }
+    load.values().forEach(count -> assertTrue(count > 700 && count < 1300, "uneven split: " + load));
+    assertEquals(load.get("c"), moved);
+  }
+
+  @Test
+  void owns_eachAccountExactlyOnceAcrossLiveReplicas() {
+    List<SchedulerCluster> replicas = List.of(replica("node-a"), replica("node-b"), replica("node-c"));
+    when(nodeRepository.findLiveNodeIds(anyDouble())).thenReturn(List.of("node-a", "node-b", "node-c"));
+    replicas.forEach(SchedulerCluster::heartbeat);
+
+    for (UUID account : accounts) {
+      assertEquals(1, replicas.stream().filter(replica -> replica.owns(account)).count());
+    }
+  }
+
+  @Test
+  void owns_nothingOnceTheLeaseLapses() {
+    SchedulerCluster cluster = replica("node-a");
+    when(nodeRepository.findLiveNodeIds(anyDouble())).thenReturn(List.of("node-a"));
+    assertFalse(cluster.owns(accounts.get(0)), "no lease before the first heartbeat");
+
+    cluster.heartbeat();
+    assertTrue(cluster.owns(accounts.get(0)));
+
+    doThrow(new IllegalStateException("database down")).when(nodeRepository).heartbeat("node-a");
+    nanos.addAndGet(Duration.ofSeconds(19).toNanos());
+    cluster.heartbeat();
+    assertTrue(cluster.owns(accounts.get(0)));
+
+    nanos.addAndGet(Duration.ofSeconds(2).toNanos());
+    assertFalse(cluster.owns(accounts.get(0)));
+  }
+
+  @Test
+  void disabled_ownsEverythingWithoutTouchingTheDatabase() {
+    properties.setEnabled(false);
+    SchedulerCluster cluster = replica("node-a");
+    cluster.heartbeat();
+
+    assertTrue(cluster.owns(accounts.get(0)));
+    assertTrue(cluster.tryLock("stop-loss", accounts.get(0)));
+    verifyNoInteractions(nodeRepository);
+  }
+
+  private SchedulerCluster replica(String nodeId) {
+    SchedulerClusterProperties replicaProperties = new SchedulerClusterProperties();
+    replicaProperties.setEnabled(properties.isEnabled());
+    replicaProperties.setLeaseTtl(properties.getLeaseTtl());
+    replicaProperties.setNodeId(nodeId);
+    return new SchedulerCluster(nodeRepository, replicaProperties, new SimpleMeterRegistry(), nanos::get);
+  }
+}
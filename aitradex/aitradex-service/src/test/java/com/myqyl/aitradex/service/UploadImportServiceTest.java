@@ -0,0 +1,201 @@
+package com.myqyl.aitradex.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myqyl.aitradex.config.RiskProperties;
+import com.myqyl.aitradex.domain.Account;
+import com.myqyl.aitradex.domain.ImportKind;
+import com.myqyl.aitradex.domain.Order;
+import com.myqyl.aitradex.domain.OrderSide;
+import com.myqyl.aitradex.domain.Position;
+import com.myqyl.aitradex.domain.TradeLog;
+import com.myqyl.aitradex.domain.Upload;
+import com.myqyl.aitradex.domain.UploadImport;
+import com.myqyl.aitradex.domain.UploadStatus;
+import com.myqyl.aitradex.domain.UploadType;
+import com.myqyl.aitradex.repository.AccountRepository;
+import com.myqyl.aitradex.repository.ExecutionRepository;
+import com.myqyl.aitradex.repository.OrderRepository;
+import com.myqyl.aitradex.repository.PositionRepository;
+import com.myqyl.aitradex.repository.TradeLogRepository;
+import com.myqyl.aitradex.repository.UploadImportRepository;
+import com.myqyl.aitradex.repository.UploadRepository;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Unit tests for chunked, resumable ledger imports in UploadImportService.
+ */
+class UploadImportServiceTest {
+
+  private static final String TRADE_LOG = """
+      Date,Ticker,Shares Bought,Buy Price,Cost Basis,PnL,Reason,Shares Sold,Sell Price
+      2025-07-07,AZTR,55.0,0.25,13.75,0.0,MANUAL BUY - New position,,
+      2025-07-07,CSAI,,,1.9,5.7,MANUAL SELL - Rotated into AZTR,15.0,2.28
+      2025-07-08,IINN,,,30.0,0.0,Missing shares,,
+      2025-07-08,IINN,20.0,1.5,30.0,0.0,MANUAL BUY - New position,,
+      2025-07-21,CADL,,,25.2,8.5,MANUAL SELL,5.0,6.59
+      """;
+
+  @TempDir
+  Path dir;
+
+  private Account account;
+  private UploadImport state;
+  private UploadImportRepository uploadImportRepository;
+  private PositionRepository positionRepository;
+  private TradeLogRepository tradeLogRepository;
+  private final List<Order> savedOrders = new ArrayList<>();
+  private final List<TradeLog> savedLogs = new ArrayList<>();
+  private final Map<String, Position> positions = new HashMap<>();
+  private UploadImportService service;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    account = Account.builder().id(UUID.randomUUID()).cashBalance(new BigDecimal("1000")).build();
+    AccountRepository accountRepository = mock(AccountRepository.class);
+    when(accountRepository.findById(account.getId())).thenReturn(Optional.of(account));
+    positionRepository = mock(PositionRepository.class);
+    when(positionRepository.save(any())).thenAnswer(inv -> {
+      Position position = inv.getArgument(0);
+      positions.put(position.getSymbol(), position);
+      return position;
+    });
+    when(positionRepository.findByAccountIdAndSymbolAndClosedAtIsNull(any(), any())).thenAnswer(inv ->
+        Optional.ofNullable(positions.get(inv.<String>getArgument(1))).filter(p -> p.getClosedAt() == null));
+
+    uploadImportRepository = mock(UploadImportRepository.class);
+    when(uploadImportRepository.findByUploadId(any())).thenAnswer(inv -> Optional.ofNullable(state));
+    OrderRepository orderRepository = mock(OrderRepository.class);
+    when(orderRepository.saveAll(anyList())).thenAnswer(inv -> {
+      List<Order> orders = inv.getArgument(0);
+      orders.forEach(order -> order.setId(UUID.randomUUID()));
+      savedOrders.addAll(orders);
+      return orders;
+    });
+    tradeLogRepository = mock(TradeLogRepository.class);
+    when(tradeLogRepository.findExternalRefsByAccountIdAndExternalRefIn(any(), any())).thenReturn(Set.of());
+    when(tradeLogRepository.saveAll(anyList())).thenAnswer(inv -> {
+      savedLogs.addAll(inv.getArgument(0));
+      return inv.getArgument(0);
+    });
+
+    ExecutionPipeline pipeline = mock(ExecutionPipeline.class);
+    when(pipeline.execute(any(), any())).thenAnswer(inv ->
+        ((Function<ExecutionBook, ?>) inv.getArgument(1)).apply(new ExecutionBook(accountRepository, positionRepository)));
+
+    service = new UploadImportService(
+        mock(UploadRepository.class),
+        uploadImportRepository,
+        accountRepository,
+        orderRepository,
+        mock(ExecutionRepository.class),
+        tradeLogRepository,
+        pipeline,
+        mock(PreTradeRiskEngine.class),
+        new RiskProperties(),
+        new ObjectMapper(),
+        new TransactionTemplate(mock(PlatformTransactionManager.class)),
+        2,
+        1,
+        50);
+  }
+
+  @Test
+  void run_tradeLogCommitsChunksSkipsKnownTradesAndReportsRejectedRows() throws IOException {
+    state = importOf(ImportKind.TRADE_LOG, TRADE_LOG);
+    when(tradeLogRepository.findExternalRefsByAccountIdAndExternalRefIn(any(), any()))
+        .thenReturn(Set.of("2025-07-07|AZTR|BUY|55|0.25"));
+
+    service.run(state.getUpload().getId());
+
+    assertEquals(UploadStatus.COMPLETED, state.getStatus());
+    assertEquals(6, state.getLastCommittedRow());
+    assertEquals(2, state.getChunksCommitted());
+    assertEquals(3, state.getRowsImported());
+    assertEquals(1, state.getRowsSkipped());
+    assertEquals(1, state.getRowsRejected());
+    assertTrue(state.getErrorReport().contains("neither shares bought nor shares sold"));
+    assertEquals(List.of("CSAI", "IINN", "CADL"), savedOrders.stream().map(Order::getSymbol).toList());
+    assertEquals(OrderSide.SELL, savedOrders.get(0).getSide());
+    assertEquals(0, new BigDecimal("15.0").compareTo(savedOrders.get(0).getFilledQuantity()));
+    assertEquals("2025-07-21|CADL|SELL|5|6.59", savedLogs.get(2).getExternalRef());
+  }
+
+  @Test
+  void run_resumesAfterLastCommittedRow() throws IOException {
+    state = importOf(ImportKind.TRADE_LOG, TRADE_LOG);
+    state.setLastCommittedRow(4);
+    state.setRowsImported(2);
+
+    service.run(state.getUpload().getId());
+
+    assertEquals(UploadStatus.COMPLETED, state.getStatus());
+    assertEquals(List.of("IINN", "CADL"), savedOrders.stream().map(Order::getSymbol).toList());
+    assertEquals(4, state.getRowsImported());
+    assertEquals(0, state.getRowsRejected());
+  }
+
+  @Test
+  void run_portfolioUpsertsOpenPositionsAndClosesExits() throws IOException {
+    Position existing = Position.builder()
+        .account(account)
+        .symbol("ABEO")
+        .quantity(new BigDecimal("6"))
+        .costBasis(new BigDecimal("5.77"))
+        .stopLoss(new BigDecimal("4.9"))
+        .openedAt(OffsetDateTime.parse("2025-06-01T00:00:00Z"))
+        .build();
+    positions.put("ABEO", existing);
+    state = importOf(ImportKind.PORTFOLIO, """
+        Date,Ticker,Shares,Buy Price,Cost Basis,Stop Loss,Current Price,Total Value,PnL,Action,Cash Balance,Total Equity
+        2025-06-30,ABEO,6.0,5.77,34.62,4.9,5.68,34.08,-0.54,HOLD,,
+        2025-06-30,CADL,5.0,5.04,25.2,4.03,5.06,25.3,0.1,HOLD,,
+        2025-06-30,TOTAL,,,,,,92.53,4.21,,11.68,104.21
+        2025-07-01,ABEO,6.0,5.77,34.62,5.2,5.9,35.4,0.78,HOLD,,
+        2025-07-02,CADL,5.0,5.04,25.2,4.03,3.9,19.5,-5.7,SELL - Stop Loss Triggered,,
+        """);
+
+    service.run(state.getUpload().getId());
+
+    assertEquals(UploadStatus.COMPLETED, state.getStatus());
+    assertEquals(3, state.getRowsImported());
+    assertEquals(1, state.getRowsSkipped());
+    assertEquals(0, new BigDecimal("5.2").compareTo(existing.getStopLoss()));
+    Position cadl = positions.get("CADL");
+    assertEquals(0, new BigDecimal("5.04").compareTo(cadl.getCostBasis()));
+    assertEquals(OffsetDateTime.parse("2025-07-02T00:00-04:00"), cadl.getClosedAt());
+    assertNull(existing.getClosedAt());
+  }
+
+  private UploadImport importOf(ImportKind kind, String csv) throws IOException {
+    Path file = Files.writeString(dir.resolve(kind + ".csv"), csv);
+    Upload upload = Upload.builder().id(UUID.randomUUID()).type(UploadType.CSV).storedPath(file.toString()).build();
+    return UploadImport.builder()
+        .upload(upload)
+        .account(account)
+        .kind(kind)
+        .status(UploadStatus.PROCESSING)
+        .build();
+  }
+}
@@ -0,0 +1,87 @@
+package com.myqyl.aitradex.upload;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for content-addressed upload storage and memory-mapped reads.
+ */
+class UploadStoreTest {
+
+  private static final String CSV = "Date,Ticker,Shares\n2025-07-07,AZTR,55\n";
+  private static final String CSV_SHA256 = sha256Hex(CSV);
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void store_hashesContentAndDeduplicatesIdenticalFiles() throws IOException {
+    UploadStore store = new UploadStore(dir.toString());
+
+    StoredContent first = store.store(stream(CSV), 1024);
+    StoredContent second = store.store(stream(CSV), 1024);
+
+    assertEquals(CSV_SHA256, first.contentHash());
+    assertFalse(first.duplicate());
+    assertTrue(second.duplicate());
+    assertEquals(first.path(), second.path());
+    assertEquals(dir.resolve("objects").resolve(CSV_SHA256.substring(0, 2)).resolve(CSV_SHA256), first.path());
+    assertEquals(CSV, Files.readString(first.path()));
+    try (var incoming = Files.list(dir.resolve("incoming"))) {
+      assertEquals(0, incoming.count());
+    }
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertEquals(CSV.length(), store.transferTo(first.path(), Channels.newChannel(out)));
+    assertEquals(CSV, out.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void store_rejectsOversizedContentWithoutLeavingFiles() throws IOException {
+    UploadStore store = new UploadStore(dir.toString());
+
+    assertThrows(IllegalArgumentException.class, () -> store.store(stream(CSV), 10));
+    assertFalse(Files.exists(dir.resolve("objects")));
+    try (var incoming = Files.list(dir.resolve("incoming"))) {
+      assertEquals(0, incoming.count());
+    }
+  }
+
+  @Test
+  void mappedStream_readsAcrossWindows() throws IOException {
+    Path file = Files.writeString(dir.resolve("rows.csv"), CSV);
+
+    try (InputStream in = new MappedFileInputStream(file, 7)) {
+      assertEquals('D', in.read());
+      assertEquals(4, in.skip(4));
+      assertEquals(CSV.substring(5), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+      assertEquals(-1, in.read());
+    }
+  }
+
+  private static InputStream stream(String value) {
+    return new ByteArrayInputStream(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static String sha256Hex(String value) {
+    try {
+      return HexFormat.of().formatHex(
+          MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+}
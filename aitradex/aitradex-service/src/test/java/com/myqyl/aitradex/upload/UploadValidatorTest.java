@@ -0,0 +1,187 @@
+package com.myqyl.aitradex.upload;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myqyl.aitradex.domain.UploadType;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for streaming upload validation.
+ */
+class UploadValidatorTest {
+
+  @TempDir
+  Path dir;
+
+  private final UploadValidator validator = new UploadValidator(new ObjectMapper(), 3, 2, 5);
+
+  @AfterEach
+  void tearDown() {
+    validator.shutdown();
+  }
+
+  @Test
+  void tokenizer_handlesQuotedCommasQuotesAndLineBreaks() throws IOException {
+    CsvTokenizer tokenizer = new CsvTokenizer(new StringReader(
+        "symbol,notes\r\n\"AAPL\",\"buy, then \"\"hold\"\"\"\n\"MSFT\",\"two\nlines\"\nIBM,"));
+
+    assertEquals(List.of("symbol", "notes"), tokenizer.next());
+    assertEquals(List.of("AAPL", "buy, then \"hold\""), tokenizer.next());
+    assertEquals(List.of("MSFT", "two\nlines"), tokenizer.next());
+    assertEquals(3, tokenizer.recordLine());
+    assertEquals(List.of("IBM", ""), tokenizer.next());
+    assertEquals(5, tokenizer.recordLine());
+    assertNull(tokenizer.next());
+  }
+
+  @Test
+  void validate_csvReportsRowErrorsInOrderAcrossParallelChunks() throws IOException {
+    Path file = write("trades.csv", """
+        symbol,side,quantity
+        AAPL,BUY,10
+        "MSFT, Inc",SELL,5
+
+        IBM,BUY
+        TSLA,,3
+        NVDA,BUY,1
+        """);
+    UploadValidationProgress progress = new UploadValidationProgress(UUID.randomUUID(), Files.size(file));
+
+    ValidationResult result = validator.validate(file, UploadType.CSV, progress);
+
+    assertEquals(5, result.parsedRows());
+    assertEquals(List.of(
+        new ValidationError(4, "Row is empty"),
+        new ValidationError(5, "Column count mismatch (expected 3, got 2)"),
+        new ValidationError(6, "Column 2 is blank")), result.errors());
+    assertEquals(Files.size(file), progress.getBytesRead());
+    assertEquals(3, progress.getErrorCount());
+  }
+
+  @Test
+  void validate_keepsOnlyTheFirstErrorsUpToTheCap() throws IOException {
+    StringBuilder csv = new StringBuilder("a,b\n");
+    for (int i = 0; i < 100; i++) {
+      csv.append("x\n");
+    }
+    ValidationResult result = validator.validate(write("bad.csv", csv.toString()), UploadType.CSV,
+        new UploadValidationProgress(UUID.randomUUID(), 0));
+
+    assertEquals(5, result.errors().size());
+    assertEquals(List.of(2, 3, 4, 5, 6), result.errors().stream().map(ValidationError::row).toList());
+  }
+
+  @Test
+  void validate_jsonStreamsArrayElements() throws IOException {
+    Path file = write("rows.json", "[{\"symbol\":\"AAPL\",\"lots\":[1,2]}, 42, {\"symbol\":\"MSFT\"}]");
+
+    ValidationResult result = validator.validate(file, UploadType.JSON,
+        new UploadValidationProgress(UUID.randomUUID(), 0));
+
+    assertEquals(3, result.parsedRows());
+    assertEquals(List.of(new ValidationError(2, "Row must be a JSON object")), result.errors());
+  }
+
+  @Test
+  void validate_jsonRejectsEmptyPayloads() throws IOException {
+    assertEquals(List.of(new ValidationError(1, "JSON array is empty")),
+        validator.validate(write("empty.json", "[]"), UploadType.JSON,
+            new UploadValidationProgress(UUID.randomUUID(), 0)).errors());
+    assertEquals(List.of(new ValidationError(1, "JSON payload is empty")),
+        validator.validate(write("blank.json", "  "), UploadType.JSON,
+            new UploadValidationProgress(UUID.randomUUID(), 0)).errors());
+  }
+
+  @Test
+  void xlsx_streamsFirstSheetWithSharedStringsDatesAndGaps() throws IOException {
+    try (RowSource rows = RowSource.open(workbook(), UploadType.EXCEL, bytes -> {})) {
+      assertEquals(List.of("Date", "Ticker", "Shares", "Buy Price"), rows.next());
+      assertEquals(1, rows.rowNumber());
+      assertEquals(List.of("2025-07-07", "AZTR", "55", "0.25"), rows.next());
+      assertEquals(List.of("2025-07-08", "IINN", "", "1.5"), rows.next());
+      assertEquals(4, rows.rowNumber());
+      assertNull(rows.next());
+    }
+  }
+
+  @Test
+  void validate_xlsxUsesTheTabularRowRules() throws IOException {
+    Path file = workbook();
+    UploadValidationProgress progress = new UploadValidationProgress(UUID.randomUUID(), Files.size(file));
+
+    ValidationResult result = validator.validate(file, UploadType.EXCEL, progress);
+
+    assertEquals(2, result.parsedRows());
+    assertEquals(List.of(new ValidationError(4, "Column 3 is blank")), result.errors());
+    assertTrue(progress.getBytesRead() > 0);
+  }
+
+  @Test
+  void validate_rejectsLegacyXls() throws IOException {
+    ValidationResult result = validator.validate(write("statement.xls", "\u00d0\u00cf\u0011\u00e0 binary"),
+        UploadType.EXCEL, new UploadValidationProgress(UUID.randomUUID(), 0));
+
+    assertEquals(1, result.errors().size());
+    assertTrue(result.errors().get(0).message().contains("legacy .xls"));
+  }
+
+  /**
+   * Writes a minimal workbook: shared strings, a custom date style on column A, a skipped empty
+   * row 3 and a missing C4 cell.
+   */
+  private Path workbook() throws IOException {
+    Path file = dir.resolve("statement.xlsx");
+    try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(file))) {
+      entry(zip, "xl/workbook.xml", """
+          <workbook xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main"
+              xmlns:r="http://schemas.openxmlformats.org/officeDocument/2006/relationships">
+            <sheets><sheet name="Trades" sheetId="1" r:id="rId7"/></sheets>
+          </workbook>""");
+      entry(zip, "xl/_rels/workbook.xml.rels", """
+          <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">
+            <Relationship Id="rId7" Target="worksheets/trades.xml"/>
+          </Relationships>""");
+      entry(zip, "xl/sharedStrings.xml", """
+          <sst xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main">
+            <si><t>Date</t></si><si><t>Ticker</t></si><si><r><t>Sha</t></r><r><t>res</t></r></si>
+            <si><t>Buy Price</t></si><si><t>AZTR</t></si>
+          </sst>""");
+      entry(zip, "xl/styles.xml", """
+          <styleSheet xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main">
+            <numFmts><numFmt numFmtId="164" formatCode="yyyy\\-mm\\-dd"/></numFmts>
+            <cellStyleXfs><xf numFmtId="0"/></cellStyleXfs>
+            <cellXfs><xf numFmtId="0"/><xf numFmtId="164"/></cellXfs>
+          </styleSheet>""");
+      entry(zip, "xl/worksheets/trades.xml", """
+          <worksheet xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main"><sheetData>
+            <row r="1"><c r="A1" t="s"><v>0</v></c><c r="B1" t="s"><v>1</v></c><c r="C1" t="s"><v>2</v></c><c r="D1" t="s"><v>3</v></c></row>
+            <row r="2"><c r="A2" s="1"><v>45845</v></c><c r="B2" t="s"><v>4</v></c><c r="C2"><v>55</v></c><c r="D2"><v>0.25000000000000001</v></c></row>
+            <row r="3"><c r="A3" s="1"/></row>
+            <row r="4"><c r="A4" s="1"><v>45846</v></c><c r="B4" t="inlineStr"><is><t>IINN</t></is></c><c r="D4"><f>C4*1</f><v>1.5</v></c></row>
+          </sheetData></worksheet>""");
+    }
+    return file;
+  }
+
+  private static void entry(ZipOutputStream zip, String name, String content) throws IOException {
+    zip.putNextEntry(new ZipEntry(name));
+    zip.write(content.getBytes(StandardCharsets.UTF_8));
+    zip.closeEntry();
+  }
+
+  private Path write(String name, String content) throws IOException {
+    return Files.writeString(dir.resolve(name), content);
+  }
+}
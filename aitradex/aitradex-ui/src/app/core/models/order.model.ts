@@ -9,6 +9,8 @@ export interface Order {
   limitPrice?: number;
   stopPrice?: number;
   quantity: number;
+  filledQuantity?: number;
+  avgFillPrice?: number;
   routedAt?: string;
   filledAt?: string;
   notes?: string;
@@ -5,8 +5,36 @@ export interface Upload {
   status: string;
   fileName: string;
   storedPath?: string;
+  contentHash?: string;
+  sizeBytes?: number;
   parsedRowCount?: number;
   errorReport?: string;
   createdAt?: string;
   completedAt?: string;
 }
+
+export interface UploadProgress {
+  uploadId: string;
+  status: string;
+  bytesRead: number;
+  totalBytes: number;
+  rowsParsed: number;
+  errorCount?: number;
+  startedAt?: string;
+}
+
+export interface UploadImport {
+  uploadId: string;
+  accountId: string;
+  kind: 'PORTFOLIO' | 'TRADE_LOG';
+  status: string;
+  lastCommittedRow: number;
+  rowsImported: number;
+  rowsSkipped: number;
+  rowsRejected: number;
+  chunksCommitted: number;
+  lastChunkRowsPerSecond?: number;
+  errorReport?: string;
+  startedAt?: string;
+  completedAt?: string;
+}
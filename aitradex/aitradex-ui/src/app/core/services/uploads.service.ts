@@ -2,7 +2,7 @@ import { HttpClient, HttpParams } from '@angular/common/http';
 import { Injectable } from '@angular/core';
 import { Observable } from 'rxjs';
 import { environment } from '../../../environments/environment';
-import { Upload } from '../models/upload.model';
+import { Upload, UploadImport, UploadProgress } from '../models/upload.model';
 
 @Injectable({ providedIn: 'root' })
 export class UploadsService {
@@ -29,7 +29,27 @@ export class UploadsService {
     return this.http.post<Upload>(`${this.baseUrl}/file`, formData);
   }
 
+  get(id: string): Observable<Upload> {
+    return this.http.get<Upload>(`${this.baseUrl}/${id}`);
+  }
+
+  content(id: string): Observable<Blob> {
+    return this.http.get(`${this.baseUrl}/${id}/content`, { responseType: 'blob' });
+  }
+
   validate(id: string): Observable<Upload> {
     return this.http.post<Upload>(`${this.baseUrl}/${id}/validate`, {});
   }
+
+  progress(id: string): Observable<UploadProgress> {
+    return this.http.get<UploadProgress>(`${this.baseUrl}/${id}/progress`);
+  }
+
+  startImport(id: string, accountId: string, kind: UploadImport['kind']): Observable<UploadImport> {
+    return this.http.post<UploadImport>(`${this.baseUrl}/${id}/import`, { accountId, kind });
+  }
+
+  importStatus(id: string): Observable<UploadImport> {
+    return this.http.get<UploadImport>(`${this.baseUrl}/${id}/import`);
+  }
 }
@@ -1,21 +1,29 @@
-import { Component } from '@angular/core';
+import { Component, OnDestroy } from '@angular/core';
+import { Subscription, switchMap, takeWhile, timer } from 'rxjs';
 import { UploadsService } from '../../core/services/uploads.service';
-import { Upload } from '../../core/models/upload.model';
+import { Upload, UploadProgress } from '../../core/models/upload.model';
 
 @Component({
   selector: 'app-uploads',
   templateUrl: './uploads.component.html',
   styleUrls: ['./uploads.component.css']
 })
-export class UploadsComponent {
+export class UploadsComponent implements OnDestroy {
   uploads: Upload[] = [];
+  progress: Record<string, UploadProgress> = {};
   userId = '';
   type = 'CSV';
   file?: File;
   error = '';
 
+  private polls: Record<string, Subscription> = {};
+
   constructor(private uploadsService: UploadsService) {}
 
+  ngOnDestroy(): void {
+    Object.values(this.polls).forEach((poll) => poll.unsubscribe());
+  }
+
   onFileChange(event: Event): void {
     const input = event.target as HTMLInputElement;
     this.file = input.files ? input.files[0] : undefined;
@@ -36,12 +44,41 @@ export class UploadsComponent {
   validate(upload: Upload): void {
     this.uploadsService.validate(upload.id).subscribe({
       next: (updated) => {
-        this.uploads = this.uploads.map((item) => (item.id === updated.id ? updated : item));
+        this.replace(updated);
+        this.watchProgress(updated.id);
       },
       error: () => (this.error = 'Unable to validate upload.')
     });
   }
 
+  percent(id: string): number {
+    const progress = this.progress[id];
+    return progress && progress.totalBytes ? Math.floor((progress.bytesRead / progress.totalBytes) * 100) : 0;
+  }
+
+  private watchProgress(id: string): void {
+    this.polls[id]?.unsubscribe();
+    this.polls[id] = timer(0, 1000)
+      .pipe(
+        switchMap(() => this.uploadsService.progress(id)),
+        takeWhile((progress) => progress.status === 'PROCESSING', true)
+      )
+      .subscribe({
+        next: (progress) => {
+          this.progress[id] = progress;
+          if (progress.status !== 'PROCESSING') {
+            delete this.progress[id];
+            this.uploadsService.get(id).subscribe((upload) => this.replace(upload));
+          }
+        },
+        error: () => (this.error = 'Unable to load validation progress.')
+      });
+  }
+
+  private replace(updated: Upload): void {
+    this.uploads = this.uploads.map((item) => (item.id === updated.id ? updated : item));
+  }
+
   loadUploads(): void {
     this.uploadsService.list(this.userId || undefined).subscribe({
       next: (uploads) => (this.uploads = uploads),